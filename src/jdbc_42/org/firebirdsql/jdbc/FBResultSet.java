@@ -54,6 +54,11 @@ public class FBResultSet extends AbstractResultSet {
         super(rowDescriptor, rows, listener);
     }
 
+    public FBResultSet(RowDescriptor rowDescriptor, List<RowValue> rows, FBObjectListener.ResultSetListener listener,
+            boolean metaDataQuery) throws SQLException {
+        super(rowDescriptor, rows, listener, metaDataQuery);
+    }
+
     public FBResultSet(RowDescriptor rowDescriptor, List<RowValue> rows) throws SQLException {
         super(rowDescriptor, rows);
     }
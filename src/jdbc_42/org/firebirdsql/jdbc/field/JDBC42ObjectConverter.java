@@ -18,9 +18,12 @@
  */
 package org.firebirdsql.jdbc.field;
 
+import org.firebirdsql.gds.ng.DatatypeCoder;
+
 import java.sql.SQLException;
 import java.sql.Types;
 import java.time.*;
+import java.time.format.DateTimeParseException;
 
 /**
  * Implementation of {@link ObjectConverter} to support JDBC 4.2 type conversions.
@@ -92,4 +95,63 @@ public class JDBC42ObjectConverter implements ObjectConverter {
         }
         return false;
     }
+
+    @Override
+    public <T> T getObject(final FBField field, final Class<T> type) throws SQLException {
+        final DatatypeCoder datatypeCoder = field.getDatatypeCoder();
+        final byte[] fieldData = field.getFieldDataBuffer();
+        final int offset = field.getFieldDataOffset();
+        if (type == LocalDate.class) {
+            switch (field.requiredType) {
+            case Types.DATE:
+                return type.cast(LocalDate.ofEpochDay(datatypeCoder.decodeLocalDateEpochDay(fieldData, offset)));
+            case Types.TIMESTAMP:
+                return type.cast(LocalDate.ofEpochDay(
+                        datatypeCoder.decodeLocalDateTimeEpochDay(fieldData, offset)));
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+                try {
+                    return type.cast(LocalDate.parse(field.getString().trim()));
+                } catch (DateTimeParseException e) {
+                    throw new TypeConversionException(FBField.OBJECT_CONVERSION_ERROR + " " + e.getMessage());
+                }
+            }
+        } else if (type == LocalTime.class) {
+            switch (field.requiredType) {
+            case Types.TIME:
+                return type.cast(LocalTime.ofNanoOfDay(datatypeCoder.decodeLocalTimeNanoOfDay(fieldData, offset)));
+            case Types.TIMESTAMP:
+                return type.cast(LocalTime.ofNanoOfDay(
+                        datatypeCoder.decodeLocalDateTimeNanoOfDay(fieldData, offset)));
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+                try {
+                    return type.cast(LocalTime.parse(field.getString().trim()));
+                } catch (DateTimeParseException e) {
+                    throw new TypeConversionException(FBField.OBJECT_CONVERSION_ERROR + " " + e.getMessage());
+                }
+            }
+        } else if (type == LocalDateTime.class) {
+            switch (field.requiredType) {
+            case Types.DATE:
+                return type.cast(LocalDate.ofEpochDay(datatypeCoder.decodeLocalDateEpochDay(fieldData, offset))
+                        .atStartOfDay());
+            case Types.TIMESTAMP:
+                return type.cast(LocalDateTime.of(
+                        LocalDate.ofEpochDay(datatypeCoder.decodeLocalDateTimeEpochDay(fieldData, offset)),
+                        LocalTime.ofNanoOfDay(datatypeCoder.decodeLocalDateTimeNanoOfDay(fieldData, offset))));
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+                try {
+                    return type.cast(LocalDateTime.parse(field.getString().trim()));
+                } catch (DateTimeParseException e) {
+                    throw new TypeConversionException(FBField.OBJECT_CONVERSION_ERROR + " " + e.getMessage());
+                }
+            }
+        }
+        throw new TypeConversionException(FBField.OBJECT_CONVERSION_ERROR);
+    }
 }
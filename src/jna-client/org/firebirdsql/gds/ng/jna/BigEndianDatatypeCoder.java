@@ -47,9 +47,9 @@ public final class BigEndianDatatypeCoder extends DefaultDatatypeCoder {
     }
 
     @Override
-    public short decodeShort(byte[] byte_int) {
-        int b1 = byte_int[1] & 0xFF;
-        int b2 = byte_int[0] & 0xFF;
+    public short decodeShort(byte[] data, int offset) {
+        int b1 = data[offset + 1] & 0xFF;
+        int b2 = data[offset] & 0xFF;
 
         return (short) (b1 + (b2 << 8));
     }
@@ -28,6 +28,7 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ng.AbstractFbBlob;
 import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.jna.fbclient.FbClientLibrary;
 import org.firebirdsql.jna.fbclient.ISC_STATUS;
@@ -108,7 +109,8 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
             checkBlobClosed();
 
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 if (isOutput()) {
                     clientLibrary.isc_create_blob2(statusVector, db.getJnaHandle(), getTransaction().getJnaHandle(),
                             getJnaHandle(), blobId, (short) bpb.length, bpb);
@@ -116,6 +118,8 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
                     clientLibrary.isc_open_blob2(statusVector, db.getJnaHandle(), getTransaction().getJnaHandle(),
                             getJnaHandle(), blobId, (short) bpb.length, bpb);
                 }
+            } finally {
+                lock.close();
             }
             processStatusVector();
             setOpen(true);
@@ -146,9 +150,12 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
             checkBlobOpen();
 
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_get_segment(statusVector, getJnaHandle(), actualLength, (short) sizeRequested,
                         responseBuffer);
+            } finally {
+                lock.close();
             }
             final int status = statusVector[1].intValue();
             // status 0 means: more to come, isc_segment means: buffer was too small, rest will be returned on next call
@@ -184,8 +191,11 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
             checkBlobOpen();
 
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_put_segment(statusVector, getJnaHandle(), (short) segment.length, segment);
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -198,12 +208,15 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
             checkTransactionActive();
 
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 // result is the current position in the blob (see .NET provider source)
                 // We ignore the result TODO check if useful; not used in wire protocol either
                 IntByReference result = new IntByReference();
                 clientLibrary.isc_seek_blob(statusVector, getJnaHandle(), (short) seekMode.getSeekModeId(), offset,
                         result);
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -216,10 +229,13 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
         synchronized (getSynchronizationObject()) {
             checkDatabaseAttached();
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_blob_info(statusVector, getJnaHandle(),
                         (short) requestItems.length, requestItems,
                         (short) bufferLength, responseBuffer);
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -233,8 +249,11 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
     protected void closeImpl() throws SQLException {
         synchronized (getSynchronizationObject()) {
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_close_blob(statusVector, getJnaHandle());
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -244,8 +263,11 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
     protected void cancelImpl() throws SQLException {
         synchronized (getSynchronizationObject()) {
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_cancel_blob(statusVector, getJnaHandle());
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -78,7 +78,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
 
     @Override
     protected void internalDetach() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 clientLibrary.isc_detach_database(statusVector, handle);
                 processStatusVector();
@@ -94,6 +95,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -112,7 +115,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         final byte[] dbName = getEncoding().encodeToCharset(connection.getAttachUrl());
         final byte[] dpbArray = dpb.toBytesWithType();
 
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 if (create) {
                     clientLibrary.isc_create_database(statusVector, (short) dbName.length, dbName, handle,
@@ -136,6 +140,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             }
             setAttached();
             afterAttachActions();
+        } finally {
+            lock.close();
         }
     }
 
@@ -164,13 +170,16 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
     @Override
     public void dropDatabase() throws SQLException {
         checkConnected();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 clientLibrary.isc_drop_database(statusVector, handle);
                 processStatusVector();
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -193,13 +202,16 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         checkConnected();
         final IntByReference transactionHandle = new IntByReference(0);
         byte[] tpbArray = tpb.toBytesWithType();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_start_transaction(statusVector, transactionHandle, (short) 1, handle, (short) tpbArray.length, tpbArray);
             processStatusVector();
 
             final JnaTransaction transaction = new JnaTransaction(this, transactionHandle, TransactionState.ACTIVE);
             transactionAdded(transaction);
             return transaction;
+        } finally {
+            lock.close();
         }
     }
 
@@ -212,7 +224,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             transactionIdBuffer[i] = (byte) (transactionId >>> (i * 8));
         }
         final IntByReference transactionHandle = new IntByReference(0);
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_reconnect_transaction(statusVector, handle, transactionHandle,
                     (short) transactionIdBuffer.length, transactionIdBuffer);
             processStatusVector();
@@ -220,6 +233,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             final JnaTransaction transaction = new JnaTransaction(this, transactionHandle, TransactionState.PREPARED);
             transactionAdded(transaction);
             return transaction;
+        } finally {
+            lock.close();
         }
     }
 
@@ -246,10 +261,13 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
     @Override
     public byte[] getDatabaseInfo(final byte[] requestItems, final int maxBufferLength) throws SQLException {
         final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(maxBufferLength);
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_database_info(statusVector, handle, (short) requestItems.length, requestItems,
                     (short) maxBufferLength, responseBuffer);
             processStatusVector();
+        } finally {
+            lock.close();
         }
         byte[] responseArray = new byte[maxBufferLength];
         responseBuffer.get(responseArray);
@@ -275,7 +293,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         }
 
         final byte[] statementArray = getEncoding().encodeToCharset(statementText);
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_dsql_execute_immediate(statusVector, handle,
                     transaction != null ? ((JnaTransaction) transaction).getJnaHandle() : new IntByReference(),
                     (short) statementArray.length, statementArray, getConnectionDialect(), null);
@@ -285,6 +304,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
                 setAttached();
                 afterAttachActions();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -318,10 +339,13 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
     @Override
     public JnaEventHandle createEventHandle(String eventName, EventHandler eventHandler) throws SQLException {
         final JnaEventHandle eventHandle = new JnaEventHandle(eventName, eventHandler, getEncoding());
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             int size = clientLibrary.isc_event_block(eventHandle.getEventBuffer(), eventHandle.getResultBuffer(),
                     (short) 1, eventHandle.getEventNameMemory());
             eventHandle.setSize(size);
+        } finally {
+            lock.close();
         }
         return eventHandle;
     }
@@ -330,9 +354,12 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
     public void countEvents(EventHandle eventHandle) throws SQLException {
         final JnaEventHandle jnaEventHandle = validateEventHandle(eventHandle);
 
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_event_counts(statusVector, (short) jnaEventHandle.getSize(),
                     jnaEventHandle.getEventBuffer().getValue(), jnaEventHandle.getResultBuffer().getValue());
+        } finally {
+            lock.close();
         }
         jnaEventHandle.setEventCount(statusVector[0].intValue());
     }
@@ -342,7 +369,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         checkConnected();
         final JnaEventHandle jnaEventHandle = validateEventHandle(eventHandle);
 
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             if (Platform.isWindows()) {
                 ((WinFbClientLibrary) clientLibrary).isc_que_events(statusVector, getJnaHandle(), jnaEventHandle.getJnaEventId(),
                         (short) jnaEventHandle.getSize(), jnaEventHandle.getEventBuffer().getValue(),
@@ -353,6 +381,8 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
                         jnaEventHandle.getCallback(), jnaEventHandle.getResultBuffer().getValue());
             }
             processStatusVector();
+        } finally {
+            lock.close();
         }
     }
 
@@ -361,13 +391,16 @@ public final class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         checkConnected();
         final JnaEventHandle jnaEventHandle = validateEventHandle(eventHandle);
 
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 clientLibrary.isc_cancel_events(statusVector, getJnaHandle(), jnaEventHandle.getJnaEventId());
                 processStatusVector();
             } finally {
                 jnaEventHandle.releaseMemory(clientLibrary);
             }
+        } finally {
+            lock.close();
         }
     }
 
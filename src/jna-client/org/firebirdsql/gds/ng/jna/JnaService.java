@@ -24,6 +24,7 @@ import org.firebirdsql.gds.ServiceParameterBuffer;
 import org.firebirdsql.gds.ServiceRequestBuffer;
 import org.firebirdsql.gds.ng.AbstractFbService;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.ParameterConverter;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.jdbc.FBSQLException;
@@ -70,12 +71,15 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
                 : serviceParameterBuffer.toBytesWithType();
         final byte[] serviceRequestBufferBytes = serviceRequestBuffer == null ? null : serviceRequestBuffer.toBytes();
         final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(maxBufferLength);
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_service_query(statusVector, handle, new IntByReference(0),
                     (short) (serviceParameterBufferBytes != null ? serviceParameterBufferBytes.length : 0), serviceParameterBufferBytes,
                     (short) (serviceRequestBufferBytes != null ? serviceRequestBufferBytes.length : 0), serviceRequestBufferBytes,
                     (short) maxBufferLength, responseBuffer);
             processStatusVector();
+        } finally {
+            lock.close();
         }
         byte[] responseArray = new byte[maxBufferLength];
         responseBuffer.get(responseArray);
@@ -85,10 +89,13 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
     @Override
     public void startServiceAction(ServiceRequestBuffer serviceRequestBuffer) throws SQLException {
         final byte[] serviceRequestBufferBytes = serviceRequestBuffer == null ? null : serviceRequestBuffer.toBytes();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             clientLibrary.isc_service_start(statusVector, handle, new IntByReference(0),
                     (short) (serviceRequestBufferBytes != null ? serviceRequestBufferBytes.length : 0), serviceRequestBufferBytes);
             processStatusVector();
+        } finally {
+            lock.close();
         }
     }
 
@@ -101,7 +108,8 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
         final byte[] serviceName = getEncoding().encodeToCharset(connection.getAttachUrl());
         final byte[] spbArray = spb.toBytesWithType();
 
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 clientLibrary.isc_service_attach(statusVector, (short) serviceName.length, serviceName, handle,
                         (short) spbArray.length, spbArray);
@@ -120,6 +128,8 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
             }
             setAttached();
             afterAttachActions();
+        } finally {
+            lock.close();
         }
     }
 
@@ -138,7 +148,8 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
 
     @Override
     protected void internalDetach() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 clientLibrary.isc_service_detach(statusVector, handle);
                 processStatusVector();
@@ -154,6 +165,8 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
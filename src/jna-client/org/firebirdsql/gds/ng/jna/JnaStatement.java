@@ -79,8 +79,11 @@ public class JnaStatement extends AbstractFbStatement {
     protected void free(int option) throws SQLException {
         synchronized (getSynchronizationObject()) {
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_dsql_free_statement(statusVector, handle, (short) option);
+            } finally {
+                lock.close();
             }
             processStatusVector();
             // Reset statement information
@@ -124,7 +127,8 @@ public class JnaStatement extends AbstractFbStatement {
             }
             resetAll();
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 if (currentState == StatementState.NEW) {
                     clientLibrary.isc_dsql_allocate_statement(statusVector, db.getJnaHandle(), handle);
                     processStatusVector();
@@ -145,6 +149,8 @@ public class JnaStatement extends AbstractFbStatement {
                 final int responseLength = getDefaultSqlInfoSize();
                 byte[] statementInfo = getSqlInfo(statementInfoRequestItems, responseLength);
                 parseStatementInfo(statementInfo);
+            } finally {
+                lock.close();
             }
             switchState(StatementState.PREPARED);
         }
@@ -159,7 +165,8 @@ public class JnaStatement extends AbstractFbStatement {
             reset(false);
 
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 switchState(StatementState.EXECUTING);
 
                 setXSqlDaData(inXSqlDa, getParameterDescriptor(), parameters);
@@ -195,6 +202,8 @@ public class JnaStatement extends AbstractFbStatement {
                 if (getState() != StatementState.ERROR) {
                     switchState(statementType.isTypeWithCursor() ? StatementState.CURSOR_OPEN : StatementState.PREPARED);
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -333,7 +342,8 @@ public class JnaStatement extends AbstractFbStatement {
             if (isAllRowsFetched()) return;
 
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 ISC_STATUS fetchStatus = clientLibrary.isc_dsql_fetch(statusVector, handle, outXSqlDa.version,
                         outXSqlDa);
                 processStatusVector();
@@ -348,6 +358,8 @@ public class JnaStatement extends AbstractFbStatement {
                 } else {
                     // TODO Log, raise exception, or simply 'not possible'?
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -359,10 +371,13 @@ public class JnaStatement extends AbstractFbStatement {
         synchronized (getSynchronizationObject()) {
             checkStatementValid();
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_dsql_sql_info(statusVector, handle,
                         (short) requestItems.length, requestItems,
                         (short) bufferLength, responseBuffer);
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -389,12 +404,15 @@ public class JnaStatement extends AbstractFbStatement {
         synchronized (getSynchronizationObject()) {
             checkStatementValid();
             final JnaDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_dsql_set_cursor_name(statusVector, handle,
                         // Null termination is needed due to a quirk of the protocol
                         db.getEncoding().encodeToCharset(cursorName + '\0'),
                         // Cursor type
                         (short) 0);
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
@@ -22,6 +22,7 @@ package org.firebirdsql.gds.ng.jna;
 
 import com.sun.jna.ptr.IntByReference;
 import org.firebirdsql.gds.ng.AbstractFbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.jna.fbclient.FbClientLibrary;
 import org.firebirdsql.jna.fbclient.ISC_STATUS;
@@ -83,8 +84,11 @@ public class JnaTransaction extends AbstractFbTransaction {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 switchState(TransactionState.COMMITTING);
-                synchronized (db.getSynchronizationObject()) {
+                final LockCloseable lock = db.withLock();
+                try {
                     clientLibrary.isc_commit_transaction(statusVector, handle);
+                } finally {
+                    lock.close();
                 }
                 processStatusVector();
                 switchState(TransactionState.COMMITTED);
@@ -103,8 +107,11 @@ public class JnaTransaction extends AbstractFbTransaction {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 switchState(TransactionState.ROLLING_BACK);
-                synchronized (db.getSynchronizationObject()) {
+                final LockCloseable lock = db.withLock();
+                try {
                     clientLibrary.isc_rollback_transaction(statusVector, handle);
+                } finally {
+                    lock.close();
                 }
                 processStatusVector();
                 switchState(TransactionState.ROLLED_BACK);
@@ -123,13 +130,16 @@ public class JnaTransaction extends AbstractFbTransaction {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 switchState(TransactionState.PREPARING);
-                synchronized (db.getSynchronizationObject()) {
+                final LockCloseable lock = db.withLock();
+                try {
                     if (recoveryInformation == null || recoveryInformation.length == 0) {
                         clientLibrary.isc_prepare_transaction(statusVector, handle);
                     } else {
                         clientLibrary.isc_prepare_transaction2(statusVector, handle, (short) recoveryInformation.length,
                                 recoveryInformation);
                     }
+                } finally {
+                    lock.close();
                 }
                 processStatusVector();
                 switchState(TransactionState.PREPARED);
@@ -147,9 +157,12 @@ public class JnaTransaction extends AbstractFbTransaction {
         synchronized (getSynchronizationObject()) {
             final JnaDatabase db = getDatabase();
             db.checkConnected();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 clientLibrary.isc_transaction_info(statusVector, handle, (short) requestItems.length, requestItems,
                         (short) maxBufferLength, responseBuffer);
+            } finally {
+                lock.close();
             }
             processStatusVector();
         }
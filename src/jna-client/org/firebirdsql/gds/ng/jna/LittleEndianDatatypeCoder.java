@@ -47,9 +47,9 @@ public final class LittleEndianDatatypeCoder extends DefaultDatatypeCoder {
     }
 
     @Override
-    public short decodeShort(byte[] byte_int) {
-        int b1 = byte_int[0] & 0xFF;
-        int b2 = byte_int[1] & 0xFF;
+    public short decodeShort(byte[] data, int offset) {
+        int b1 = data[offset] & 0xFF;
+        int b2 = data[offset + 1] & 0xFF;
 
         return (short) (b1 + (b2 << 8));
     }
@@ -65,11 +65,11 @@ public final class LittleEndianDatatypeCoder extends DefaultDatatypeCoder {
     }
 
     @Override
-    public int decodeInt(byte[] byte_int) {
-        int b1 = byte_int[0] & 0xFF;
-        int b2 = byte_int[1] & 0xFF;
-        int b3 = byte_int[2] & 0xFF;
-        int b4 = byte_int[3] & 0xFF;
+    public int decodeInt(byte[] data, int offset) {
+        int b1 = data[offset] & 0xFF;
+        int b2 = data[offset + 1] & 0xFF;
+        int b3 = data[offset + 2] & 0xFF;
+        int b4 = data[offset + 3] & 0xFF;
         return (b1 + (b2 << 8) + (b3 << 16) + (b4 << 24));
     }
 
@@ -88,15 +88,15 @@ public final class LittleEndianDatatypeCoder extends DefaultDatatypeCoder {
     }
 
     @Override
-    public long decodeLong(byte[] byte_int) {
-        long b1 = byte_int[0] & 0xFF;
-        long b2 = byte_int[1] & 0xFF;
-        long b3 = byte_int[2] & 0xFF;
-        long b4 = byte_int[3] & 0xFF;
-        long b5 = byte_int[4] & 0xFF;
-        long b6 = byte_int[5] & 0xFF;
-        long b7 = byte_int[6] & 0xFF;
-        long b8 = byte_int[7] & 0xFF;
+    public long decodeLong(byte[] data, int offset) {
+        long b1 = data[offset] & 0xFF;
+        long b2 = data[offset + 1] & 0xFF;
+        long b3 = data[offset + 2] & 0xFF;
+        long b4 = data[offset + 3] & 0xFF;
+        long b5 = data[offset + 4] & 0xFF;
+        long b6 = data[offset + 5] & 0xFF;
+        long b7 = data[offset + 6] & 0xFF;
+        long b8 = data[offset + 7] & 0xFF;
         return (b1 + (b2 << 8) + (b3 << 16) + (b4 << 24) + (b5 << 32)
                 + (b6 << 40) + (b7 << 48) + (b8 << 56));
     }
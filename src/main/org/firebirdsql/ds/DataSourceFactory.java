@@ -34,6 +34,7 @@ import javax.naming.Reference;
 import javax.naming.spi.ObjectFactory;
 
 import org.firebirdsql.jdbc.FBConnectionProperties;
+import org.firebirdsql.pool.FBPoolingDataSource;
 
 /**
  * ObjectFactory for the DataSources in org.firebirdsql.ds.
@@ -54,6 +55,9 @@ public class DataSourceFactory implements ObjectFactory {
         if (className.equals("org.firebirdsql.ds.FBXADataSource")) {
             return loadXADS(ref);
         }
+        if (className.equals("org.firebirdsql.pool.FBPoolingDataSource")) {
+            return loadPoolingDS(ref);
+        }
         
         return null;
     }
@@ -72,6 +76,42 @@ public class DataSourceFactory implements ObjectFactory {
         return ds;
     }
     
+    private Object loadPoolingDS(Reference ref) throws Exception {
+        FBPoolingDataSource ds = new FBPoolingDataSource();
+        loadAbstractCommonDataSource(ds, ref);
+
+        String minPoolSize = getRefAddr(ref, FBConnectionPoolDataSource.REF_MIN_POOL_SIZE);
+        if (minPoolSize != null) {
+            ds.setMinPoolSize(Integer.parseInt(minPoolSize));
+        }
+        String maxPoolSize = getRefAddr(ref, FBConnectionPoolDataSource.REF_MAX_POOL_SIZE);
+        if (maxPoolSize != null) {
+            ds.setMaxPoolSize(Integer.parseInt(maxPoolSize));
+        }
+        String connectionTimeout = getRefAddr(ref, FBConnectionPoolDataSource.REF_CONNECTION_TIMEOUT);
+        if (connectionTimeout != null) {
+            ds.setConnectionTimeout(Long.parseLong(connectionTimeout));
+        }
+        String idleTimeout = getRefAddr(ref, FBConnectionPoolDataSource.REF_IDLE_TIMEOUT);
+        if (idleTimeout != null) {
+            ds.setIdleTimeout(Long.parseLong(idleTimeout));
+        }
+        String validationInterval = getRefAddr(ref, FBConnectionPoolDataSource.REF_VALIDATION_INTERVAL);
+        if (validationInterval != null) {
+            ds.setValidationInterval(Long.parseLong(validationInterval));
+        }
+        String leakDetectionThreshold = getRefAddr(ref, FBConnectionPoolDataSource.REF_LEAK_DETECTION_THRESHOLD);
+        if (leakDetectionThreshold != null) {
+            ds.setLeakDetectionThreshold(Long.parseLong(leakDetectionThreshold));
+        }
+        String housekeepingInterval = getRefAddr(ref, FBConnectionPoolDataSource.REF_HOUSEKEEPING_INTERVAL);
+        if (housekeepingInterval != null) {
+            ds.setHousekeepingInterval(Long.parseLong(housekeepingInterval));
+        }
+
+        return ds;
+    }
+
     private void loadAbstractCommonDataSource(FBAbstractCommonDataSource ds, Reference ref) throws Exception {
         RefAddr propertyContent = ref.get(FBAbstractCommonDataSource.REF_PROPERTIES);
         if (propertyContent != null) {
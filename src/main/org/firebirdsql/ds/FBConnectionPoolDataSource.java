@@ -41,7 +41,8 @@ import org.firebirdsql.jdbc.FBSQLException;
  * Please be aware that this is not a connectionpool. This class provides
  * PooledConnection objects for connection pool implementations (eg as provided
  * by a JEE application server). If you need a standalone connectionpool,
- * consider using a connectionpool implementation like c3p0, BoneCP or DBCP.
+ * consider using {@link org.firebirdsql.pool.FBPoolingDataSource} or a
+ * connectionpool implementation like c3p0, BoneCP or DBCP.
  * </p>
  * 
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
@@ -49,6 +50,15 @@ import org.firebirdsql.jdbc.FBSQLException;
  */
 public class FBConnectionPoolDataSource extends FBAbstractCommonDataSource implements ConnectionPoolDataSource, Referenceable {
 
+    // Reference addresses of the pool properties of org.firebirdsql.pool.FBPoolingDataSource
+    protected static final String REF_MIN_POOL_SIZE = "minPoolSize";
+    protected static final String REF_MAX_POOL_SIZE = "maxPoolSize";
+    protected static final String REF_CONNECTION_TIMEOUT = "connectionTimeout";
+    protected static final String REF_IDLE_TIMEOUT = "idleTimeout";
+    protected static final String REF_VALIDATION_INTERVAL = "validationInterval";
+    protected static final String REF_LEAK_DETECTION_THRESHOLD = "leakDetectionThreshold";
+    protected static final String REF_HOUSEKEEPING_INTERVAL = "housekeepingInterval";
+
     private volatile transient FBDataSource internalDs;
 
     public PooledConnection getPooledConnection() throws SQLException {
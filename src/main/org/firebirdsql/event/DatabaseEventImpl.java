@@ -0,0 +1,66 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ * 
+ * Copyright (C) All Rights Reserved.
+ * 
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *  
+ *   - Redistributions of source code must retain the above copyright 
+ *     notice, this list of conditions and the following disclaimer.
+ *   - Redistributions in binary form must reproduce the above 
+ *     copyright notice, this list of conditions and the following 
+ *     disclaimer in the documentation and/or other materials provided 
+ *     with the distribution.
+ *   - Neither the name of the firebird development team nor the names
+ *     of its contributors may be used to endorse or promote products 
+ *     derived from this software without specific prior written 
+ *     permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, 
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, 
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS 
+ * OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED 
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF 
+ * SUCH DAMAGE.
+ */
+package org.firebirdsql.event;
+
+/**
+ * Implementation of {@link DatabaseEvent}.
+ */
+class DatabaseEventImpl implements DatabaseEvent {
+
+    private int eventCount;
+
+    private String eventName;
+
+    public DatabaseEventImpl(String eventName, int eventCount) {
+        this.eventName = eventName;
+        this.eventCount = eventCount;
+    }
+
+    public int getEventCount() {
+        return this.eventCount;
+    }
+
+    public String getEventName() {
+        return this.eventName;
+    }
+
+    public String toString() {
+        return "DatabaseEvent['" + eventName + " * " + eventCount + "]";
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.event;
+
+import org.firebirdsql.gds.EventHandle;
+import org.firebirdsql.gds.EventHandler;
+import org.firebirdsql.gds.impl.GDSFactory;
+import org.firebirdsql.gds.impl.GDSType;
+import org.firebirdsql.gds.ng.EventBlockHandle;
+import org.firebirdsql.gds.ng.FbDatabase;
+import org.firebirdsql.gds.ng.IConnectionProperties;
+import org.firebirdsql.jdbc.FBSQLException;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+import org.firebirdsql.util.SQLExceptionChainBuilder;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Event hub multiplexing the event registrations of multiple {@link FBEventManager} instances for the same database
+ * over a single attachment.
+ * <p>
+ * Event names are combined into event blocks of at most {@link EventBlockHandle#MAX_EVENT_COUNT} events, which are
+ * queued on the server as a single request (if supported by the database type, otherwise each event is queued
+ * separately). Adding or removing an event replaces the event block containing the event; the counts known for the
+ * other events of that block are carried over so no occurrences are missed. Listeners are notified through the
+ * executor specified when they were added.
+ * </p>
+ * <p>
+ * Hubs are shared through {@link #acquire(GDSType, IConnectionProperties)}, and closed when the last user called
+ * {@link #release()}.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class FBEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(FBEventHub.class);
+
+    /**
+     * Hubs (or the pending attachment of a hub) by connection key; guarded by itself.
+     */
+    private static final Map<List<Object>, Future<FBEventHub>> HUBS = new HashMap<>();
+
+    private final List<Object> key;
+    private final FbDatabase database;
+    private final int maxEventsPerBlock;
+    private final Map<String, List<Registration>> registrations = new HashMap<>();
+    private final Map<String, EventBlock> blockByEvent = new HashMap<>();
+    private final List<EventBlock> blocks = new ArrayList<>();
+    private int referenceCount;
+    private boolean closed;
+
+    /**
+     * Creates an event hub for an attached database.
+     *
+     * @param key
+     *         Key of this hub in the shared hubs (or {@code null} if not shared)
+     * @param database
+     *         Attached database
+     * @param useEventBlocks
+     *         {@code true} to combine events into event blocks
+     */
+    FBEventHub(List<Object> key, FbDatabase database, boolean useEventBlocks) {
+        this.key = key;
+        this.database = database;
+        maxEventsPerBlock = useEventBlocks ? EventBlockHandle.MAX_EVENT_COUNT : 1;
+    }
+
+    /**
+     * Gets the shared event hub for the database, creating and attaching it if necessary.
+     * <p>
+     * The attachment is made without holding the lock on the shared hubs, so a slow attachment only blocks callers
+     * for the same database. Concurrent callers for the same database wait for that attachment, and receive its
+     * exception if it fails.
+     * </p>
+     * <p>
+     * Each successful call should be paired with a call to {@link #release()}.
+     * </p>
+     *
+     * @param gdsType
+     *         GDS type
+     * @param connectionProperties
+     *         Connection properties for the database
+     * @return Event hub
+     * @throws SQLException
+     *         For errors attaching to the database
+     */
+    static FBEventHub acquire(final GDSType gdsType, final IConnectionProperties connectionProperties)
+            throws SQLException {
+        final List<Object> key = createKey(gdsType, connectionProperties);
+        while (true) {
+            FutureTask<FBEventHub> attachTask = null;
+            Future<FBEventHub> hubFuture;
+            synchronized (HUBS) {
+                hubFuture = HUBS.get(key);
+                if (hubFuture == null) {
+                    hubFuture = attachTask = new FutureTask<>(new Callable<FBEventHub>() {
+                        @Override
+                        public FBEventHub call() throws SQLException {
+                            return attach(key, gdsType, connectionProperties);
+                        }
+                    });
+                    HUBS.put(key, attachTask);
+                }
+            }
+            if (attachTask != null) {
+                attachTask.run();
+            }
+
+            final FBEventHub hub = awaitHub(key, hubFuture);
+            synchronized (HUBS) {
+                // The hub might have been released and closed after it was attached, if so try again
+                if (HUBS.get(key) == hubFuture) {
+                    hub.referenceCount++;
+                    return hub;
+                }
+            }
+        }
+    }
+
+    /**
+     * Attaches to the database and creates the hub, closing the database if the attachment fails.
+     */
+    private static FBEventHub attach(List<Object> key, GDSType gdsType, IConnectionProperties connectionProperties)
+            throws SQLException {
+        final FbDatabase database = GDSFactory.getDatabaseFactoryForType(gdsType)
+                .connect(connectionProperties.asImmutable());
+        try {
+            database.attach();
+            return new FBEventHub(key, database, database.supportsEventBlocks());
+        } catch (SQLException | RuntimeException e) {
+            try {
+                database.close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the attachment of a hub, removing it from the shared hubs if the attachment failed.
+     */
+    private static FBEventHub awaitHub(List<Object> key, Future<FBEventHub> hubFuture) throws SQLException {
+        try {
+            return hubFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FBSQLException("Interrupted while waiting for the attachment of the event hub",
+                    FBSQLException.SQL_STATE_CONNECTION_FAILURE);
+        } catch (ExecutionException e) {
+            synchronized (HUBS) {
+                if (HUBS.get(key) == hubFuture) {
+                    HUBS.remove(key);
+                }
+            }
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FBSQLException(e);
+        }
+    }
+
+    /**
+     * Releases this hub, closing it if this was the last user.
+     *
+     * @throws SQLException
+     *         For errors closing the hub
+     */
+    void release() throws SQLException {
+        synchronized (HUBS) {
+            if (--referenceCount > 0) return;
+            HUBS.remove(key);
+        }
+        close();
+    }
+
+    /**
+     * Creates the key of the shared hub for the connection properties.
+     * <p>
+     * The password is only included as a digest, so the (static) map of hubs does not hold it in plain text.
+     * </p>
+     */
+    private static List<Object> createKey(GDSType gdsType, IConnectionProperties props) throws SQLException {
+        return Arrays.<Object>asList(gdsType, props.getServerName(), props.getPortNumber(), props.getDatabaseName(),
+                props.getUser(), passwordDigest(props.getPassword()), props.getRoleName(), props.getEncoding(),
+                props.getCharSet());
+    }
+
+    private static String passwordDigest(String password) throws SQLException {
+        if (password == null) return null;
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(password.getBytes("UTF-8"));
+            final StringBuilder sb = new StringBuilder(2 * digest.length);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            throw new FBSQLException(e);
+        }
+    }
+
+    /**
+     * Adds a listener for an event, queueing the event on the server if this is the first listener for the event.
+     *
+     * @param owner
+     *         Owner of the registration (the event manager adding the listener)
+     * @param eventName
+     *         Name of the event
+     * @param listener
+     *         Listener
+     * @param executor
+     *         Executor to notify the listener
+     * @throws SQLException
+     *         If this hub is closed, or for errors queueing the event
+     */
+    synchronized void addEventListener(Object owner, String eventName, EventListener listener, Executor executor)
+            throws SQLException {
+        checkOpen();
+        List<Registration> eventRegistrations = registrations.get(eventName);
+        if (eventRegistrations == null) {
+            addEvent(eventName);
+            eventRegistrations = new ArrayList<>();
+            registrations.put(eventName, eventRegistrations);
+        }
+        eventRegistrations.add(new Registration(owner, listener, executor));
+    }
+
+    /**
+     * Removes the registration of a listener for an event, cancelling the event on the server if this was the last
+     * listener for the event.
+     * <p>
+     * Only the registration added by the same owner is removed, registrations of the same listener by other owners
+     * (eg another event manager sharing this hub) are kept.
+     * </p>
+     *
+     * @param owner
+     *         Owner of the registration
+     * @param eventName
+     *         Name of the event
+     * @param listener
+     *         Listener
+     * @throws SQLException
+     *         For errors cancelling the event
+     */
+    synchronized void removeEventListener(Object owner, String eventName, EventListener listener)
+            throws SQLException {
+        final List<Registration> eventRegistrations = registrations.get(eventName);
+        if (eventRegistrations == null) return;
+        for (Iterator<Registration> iterator = eventRegistrations.iterator(); iterator.hasNext(); ) {
+            final Registration registration = iterator.next();
+            if (registration.owner == owner && registration.listener == listener) {
+                iterator.remove();
+                break;
+            }
+        }
+        if (eventRegistrations.isEmpty()) {
+            registrations.remove(eventName);
+            if (!closed) {
+                removeEvent(eventName);
+            }
+        }
+    }
+
+    /**
+     * @return Number of event blocks currently queued
+     */
+    synchronized int getEventBlockCount() {
+        return blocks.size();
+    }
+
+    private void addEvent(String eventName) throws SQLException {
+        final EventBlock lastBlock = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (lastBlock == null || lastBlock.eventNames.size() >= maxEventsPerBlock) {
+            queueBlock(new EventBlock(Collections.singletonList(eventName)), null);
+        } else {
+            final List<String> eventNames = new ArrayList<>(lastBlock.eventNames);
+            eventNames.add(eventName);
+            replaceBlock(lastBlock, eventNames);
+        }
+    }
+
+    private void removeEvent(String eventName) throws SQLException {
+        final EventBlock block = blockByEvent.get(eventName);
+        if (block == null) return;
+        final List<String> eventNames = new ArrayList<>(block.eventNames);
+        eventNames.remove(eventName);
+        if (eventNames.isEmpty()) {
+            cancelBlock(block);
+        } else {
+            replaceBlock(block, eventNames);
+        }
+    }
+
+    /**
+     * Replaces an event block with a new block for the specified events, carrying over the known event counts.
+     */
+    private void replaceBlock(EventBlock oldBlock, List<String> eventNames) throws SQLException {
+        final EventBlock newBlock = new EventBlock(eventNames);
+        cancelBlock(oldBlock);
+        queueBlock(newBlock, oldBlock);
+    }
+
+    private void queueBlock(EventBlock block, EventBlock previousBlock) throws SQLException {
+        block.createHandle(previousBlock);
+        database.queueEvent(block.handle);
+        blocks.add(block);
+        for (String eventName : block.eventNames) {
+            blockByEvent.put(eventName, block);
+        }
+    }
+
+    private void cancelBlock(EventBlock block) throws SQLException {
+        block.cancelled = true;
+        blocks.remove(block);
+        for (String eventName : block.eventNames) {
+            if (blockByEvent.get(eventName) == block) {
+                blockByEvent.remove(eventName);
+            }
+        }
+        database.cancelEvent(block.handle);
+    }
+
+    private void dispatch(String eventName, int eventCount) {
+        final List<Registration> eventRegistrations = registrations.get(eventName);
+        if (eventRegistrations == null) return;
+        final DatabaseEvent event = new DatabaseEventImpl(eventName, eventCount);
+        for (final Registration registration : eventRegistrations) {
+            try {
+                registration.executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            registration.listener.eventOccurred(event);
+                        } catch (RuntimeException e) {
+                            log.warn("Exception in event listener for event " + event.getEventName(), e);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Unable to dispatch event " + eventName, e);
+            }
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new FBSQLException("Event hub is closed");
+        }
+    }
+
+    private synchronized void close() throws SQLException {
+        if (closed) return;
+        closed = true;
+        final SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<>();
+        for (EventBlock block : new ArrayList<>(blocks)) {
+            try {
+                cancelBlock(block);
+            } catch (SQLException e) {
+                chain.append(e);
+            }
+        }
+        registrations.clear();
+        try {
+            database.close();
+        } catch (SQLException e) {
+            chain.append(e);
+        }
+        if (chain.hasException()) throw chain.getException();
+    }
+
+    /**
+     * Event block: the events queued together using a single event handle.
+     */
+    private final class EventBlock implements EventHandler {
+
+        private final List<String> eventNames;
+        private final boolean[] initialized;
+        private EventHandle handle;
+        private boolean cancelled;
+
+        private EventBlock(List<String> eventNames) {
+            this.eventNames = Collections.unmodifiableList(new ArrayList<>(eventNames));
+            initialized = new boolean[eventNames.size()];
+        }
+
+        /**
+         * Creates the event handle, taking over the event counts of the previous block for the same events.
+         */
+        private void createHandle(EventBlock previousBlock) throws SQLException {
+            if (maxEventsPerBlock == 1) {
+                handle = database.createEventHandle(eventNames.get(0), this);
+                return;
+            }
+            final EventBlockHandle blockHandle = database.createEventBlockHandle(eventNames, this);
+            if (previousBlock != null) {
+                for (int idx = 0; idx < eventNames.size(); idx++) {
+                    final int previousIdx = previousBlock.eventNames.indexOf(eventNames.get(idx));
+                    if (previousIdx != -1 && previousBlock.initialized[previousIdx]) {
+                        blockHandle.setServerEventCount(idx,
+                                ((EventBlockHandle) previousBlock.handle).getServerEventCount(previousIdx));
+                        initialized[idx] = true;
+                    }
+                }
+            }
+            handle = blockHandle;
+        }
+
+        @Override
+        public void eventOccurred(EventHandle eventHandle) {
+            synchronized (FBEventHub.this) {
+                if (cancelled || closed) return;
+                try {
+                    database.countEvents(eventHandle);
+                } catch (SQLException e) {
+                    log.warn("Exception processing event counts", e);
+                }
+
+                for (int idx = 0; idx < eventNames.size(); idx++) {
+                    final int eventCount = eventHandle instanceof EventBlockHandle
+                            ? ((EventBlockHandle) eventHandle).getEventCount(idx)
+                            : eventHandle.getEventCount();
+                    if (!initialized[idx]) {
+                        // First notification reports the current count of the event
+                        initialized[idx] = true;
+                    } else if (eventCount > 0) {
+                        dispatch(eventNames.get(idx), eventCount);
+                    }
+                }
+
+                try {
+                    database.queueEvent(eventHandle);
+                } catch (SQLException e) {
+                    log.warn("Exception registering for event", e);
+                }
+            }
+        }
+    }
+
+    private static final class Registration {
+        private final Object owner;
+        private final EventListener listener;
+        private final Executor executor;
+
+        private Registration(Object owner, EventListener listener, Executor executor) {
+            this.owner = owner;
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
+
+    /**
+     * Holder of the default executor: a single daemon thread shared by all hubs.
+     */
+    static final class DefaultExecutorHolder {
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Jaybird event dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
@@ -53,11 +53,18 @@ import org.firebirdsql.util.SQLExceptionChainBuilder;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
  * An {@link org.firebirdsql.event.EventManager} implementation to listen for database events.
+ * <p>
+ * By default, each event manager uses its own attachment to the database and its own thread to notify listeners. When
+ * {@link #setSharedAttachment(boolean) shared attachment} is enabled, all event managers for the same database (and
+ * user) share a single attachment, the event registrations are combined into event blocks, and listeners are
+ * notified using the {@link #setExecutor(java.util.concurrent.Executor) executor} of the event manager.
+ * </p>
  *
  * @author <a href="mailto:gab_reid@users.sourceforge.net">Gabriel Reid</a>
  */
@@ -75,6 +82,9 @@ public class FBEventManager implements EventManager {
     private EventDispatcher eventDispatcher;
     private Thread dispatchThread;
     private volatile long waitTimeout = 1000;
+    private boolean sharedAttachment;
+    private Executor executor;
+    private FBEventHub eventHub;
 
     @SuppressWarnings("UnusedDeclaration")
     public FBEventManager() {
@@ -89,6 +99,11 @@ public class FBEventManager implements EventManager {
         if (connected) {
             throw new IllegalStateException("Connect called while already connected");
         }
+        if (sharedAttachment) {
+            eventHub = FBEventHub.acquire(gdsType, connectionProperties);
+            connected = true;
+            return;
+        }
         final FbDatabaseFactory databaseFactory = GDSFactory.getDatabaseFactoryForType(gdsType);
 
         fbDatabase = databaseFactory.connect(connectionProperties);
@@ -105,6 +120,10 @@ public class FBEventManager implements EventManager {
         if (!connected) {
             throw new IllegalStateException("Disconnect called while not connected");
         }
+        if (eventHub != null) {
+            disconnectEventHub();
+            return;
+        }
         SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<SQLException>();
         try {
             try {
@@ -140,10 +159,90 @@ public class FBEventManager implements EventManager {
         if (chain.hasException()) throw chain.getException();
     }
 
+    private void disconnectEventHub() throws SQLException {
+        SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<SQLException>();
+        try {
+            synchronized (listenerMap) {
+                for (Map.Entry<String, Set<EventListener>> entry : listenerMap.entrySet()) {
+                    for (EventListener listener : entry.getValue()) {
+                        try {
+                            eventHub.removeEventListener(this, entry.getKey(), listener);
+                        } catch (SQLException e) {
+                            chain.append(e);
+                        }
+                    }
+                }
+                listenerMap.clear();
+            }
+        } finally {
+            try {
+                eventHub.release();
+            } catch (SQLException e) {
+                chain.append(e);
+            }
+            eventHub = null;
+            connected = false;
+        }
+        if (chain.hasException()) throw chain.getException();
+    }
+
     public boolean isConnected() {
         return connected;
     }
 
+    /**
+     * Set if this event manager shares its attachment with other event managers for the same database.
+     * <p>
+     * With a shared attachment, the events of all event managers for the same database, user and role are registered
+     * over a single attachment (and a single asynchronous channel), events are combined into event blocks where
+     * supported, and listeners are notified by the {@link #setExecutor(Executor) executor} instead of a dedicated thread
+     * per event manager. The attachment is closed when the last event manager using it is disconnected.
+     * </p>
+     * <p>
+     * This can only be changed while not connected.
+     * </p>
+     *
+     * @param sharedAttachment
+     *         <code>true</code> to share the attachment, <code>false</code> (default) to use a dedicated attachment
+     */
+    public void setSharedAttachment(boolean sharedAttachment) {
+        if (connected) {
+            throw new IllegalStateException("Cannot change shared attachment while connected");
+        }
+        this.sharedAttachment = sharedAttachment;
+    }
+
+    /**
+     * @return <code>true</code> if this event manager shares its attachment
+     * @see #setSharedAttachment(boolean)
+     */
+    public boolean isSharedAttachment() {
+        return sharedAttachment;
+    }
+
+    /**
+     * Set the executor used to notify the listeners of this event manager when using a
+     * {@link #setSharedAttachment(boolean) shared attachment}.
+     * <p>
+     * Listeners are notified on a thread of the executor, so (depending on the executor) notifications for the same
+     * listener may be delivered concurrently or out of order. Changes only apply to listeners added afterwards.
+     * </p>
+     *
+     * @param executor
+     *         Executor, or <code>null</code> (default) to use a single daemon thread shared by all event managers
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return Executor used to notify listeners, <code>null</code> if the default executor is used
+     * @see #setExecutor(Executor)
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
     public void setUser(String user) {
         connectionProperties.setUser(user);
     }
@@ -222,10 +321,25 @@ public class FBEventManager implements EventManager {
         }
         synchronized (listenerMap) {
             if (!listenerMap.containsKey(eventName)) {
-                registerListener(eventName);
+                if (eventHub == null) {
+                    registerListener(eventName);
+                }
                 listenerMap.put(eventName, new HashSet<EventListener>());
             }
             Set<EventListener> listenerSet = listenerMap.get(eventName);
+            if (eventHub != null && !listenerSet.contains(listener)) {
+                final Executor listenerExecutor = executor;
+                try {
+                    eventHub.addEventListener(this, eventName, listener, listenerExecutor != null
+                            ? listenerExecutor
+                            : FBEventHub.DefaultExecutorHolder.EXECUTOR);
+                } catch (SQLException e) {
+                    if (listenerSet.isEmpty()) {
+                        listenerMap.remove(eventName);
+                    }
+                    throw e;
+                }
+            }
             listenerSet.add(listener);
         }
     }
@@ -234,6 +348,17 @@ public class FBEventManager implements EventManager {
         if (eventName == null || listener == null) {
             throw new NullPointerException();
         }
+        if (eventHub != null) {
+            synchronized (listenerMap) {
+                final Set<EventListener> listenerSet = listenerMap.get(eventName);
+                if (listenerSet == null || !listenerSet.remove(listener)) return;
+                if (listenerSet.isEmpty()) {
+                    listenerMap.remove(eventName);
+                }
+                eventHub.removeEventListener(this, eventName, listener);
+            }
+            return;
+        }
         Set<EventListener> listenerSet = listenerMap.get(eventName);
         if (listenerSet != null) {
             listenerSet.remove(listener);
@@ -384,27 +509,3 @@ class OneTimeEventListener implements EventListener {
         return eventCount;
     }
 }
-
-class DatabaseEventImpl implements DatabaseEvent {
-
-    private int eventCount;
-
-    private String eventName;
-
-    public DatabaseEventImpl(String eventName, int eventCount) {
-        this.eventName = eventName;
-        this.eventCount = eventCount;
-    }
-
-    public int getEventCount() {
-        return this.eventCount;
-    }
-
-    public String getEventName() {
-        return this.eventName;
-    }
-
-    public String toString() {
-        return "DatabaseEvent['" + eventName + " * " + eventCount + "]";
-    }
-}
@@ -183,6 +183,18 @@ public interface ISCConstants {
     int isc_dpb_so_timeout              = 141;
     int isc_dpb_column_label_for_name   = 142;
     int isc_dpb_use_firebird_autocommit = 143;
+    int isc_dpb_use_fetch_arena         = 144;
+    int isc_dpb_prefetch_watermark      = 145;
+    int isc_dpb_adaptive_fetch_memory_limit = 146;
+    int isc_dpb_pipelined_batch         = 147;
+    int isc_dpb_statement_cache_size    = 148;
+    int isc_dpb_wire_compression        = 149;
+    int isc_dpb_meta_data_cache_ttl     = 150;
+    int isc_dpb_meta_data_cache_size    = 151;
+    int isc_dpb_result_set_spill_threshold = 152;
+    int isc_dpb_inline_blob_threshold   = 153;
+    int isc_dpb_lock_timeout            = 154;
+    int isc_dpb_use_socket_channel      = 155;
 
     /*************************************/
     /* Transaction parameter block stuff */
@@ -168,6 +168,11 @@ public class XSQLVAR implements DatatypeCoder {
         return (short) decodeInt(byte_int);		 
     }
 
+    @Override
+    public short decodeShort(byte[] data, int offset) {
+        return (short) decodeInt(data, offset);
+    }
+
     @Override
     public byte[] encodeInt(int value){
         return intToBytes(value);
@@ -198,6 +203,15 @@ public class XSQLVAR implements DatatypeCoder {
         return ((b1 << 24) + (b2 << 16) + (b3 << 8) + b4);
     }
 
+    @Override
+    public int decodeInt(byte[] data, int offset) {
+        int b1 = data[offset] & 0xFF;
+        int b2 = data[offset + 1] & 0xFF;
+        int b3 = data[offset + 2] & 0xFF;
+        int b4 = data[offset + 3] & 0xFF;
+        return ((b1 << 24) + (b2 << 16) + (b3 << 8) + b4);
+    }
+
     @Override
     public byte[] encodeLong(long value){
         return longToBytes(value);
@@ -237,6 +251,20 @@ public class XSQLVAR implements DatatypeCoder {
         + (b5 << 24) + (b6 << 16) + (b7 << 8) + b8);
     }
 
+    @Override
+    public long decodeLong(byte[] data, int offset) {
+        long b1 = data[offset] & 0xFF;
+        long b2 = data[offset + 1] & 0xFF;
+        long b3 = data[offset + 2] & 0xFF;
+        long b4 = data[offset + 3] & 0xFF;
+        long b5 = data[offset + 4] & 0xFF;
+        long b6 = data[offset + 5] & 0xFF;
+        long b7 = data[offset + 6] & 0xFF;
+        long b8 = data[offset + 7] & 0xFF;
+        return ((b1 << 56) + (b2 << 48) + (b3 << 40) + (b4 << 32)
+                + (b5 << 24) + (b6 << 16) + (b7 << 8) + b8);
+    }
+
     @Override
     public byte[] encodeFloat(float value){
         return encodeInt(Float.floatToIntBits(value));
@@ -247,6 +275,11 @@ public class XSQLVAR implements DatatypeCoder {
         return Float.intBitsToFloat(decodeInt(byte_int));
     }
 
+    @Override
+    public float decodeFloat(byte[] data, int offset) {
+        return Float.intBitsToFloat(decodeInt(data, offset));
+    }
+
     @Override
     public byte[] encodeDouble(double value){
         return encodeLong(Double.doubleToLongBits(value));
@@ -257,6 +290,11 @@ public class XSQLVAR implements DatatypeCoder {
         return Double.longBitsToDouble(decodeLong(byte_int));
     }
 
+    @Override
+    public double decodeDouble(byte[] data, int offset) {
+        return Double.longBitsToDouble(decodeLong(data, offset));
+    }
+
     // Strings with mapping
 
     /**
@@ -308,9 +346,15 @@ public class XSQLVAR implements DatatypeCoder {
      *         error occurs during the decoding
      */
     public String decodeString(byte[] value, String javaEncoding, String mappingPath) throws SQLException{
+        return decodeString(value, 0, value.length, javaEncoding, mappingPath);
+    }
+
+    @Override
+    public String decodeString(byte[] data, int offset, int length, String javaEncoding, String mappingPath)
+            throws SQLException {
         if (coder == null)
             coder = EncodingFactory.getEncoding(javaEncoding, mappingPath);
-        return coder.decodeFromCharset(value);
+        return coder.decodeFromCharset(data, offset, length);
     }
     
     // times,dates...
@@ -396,13 +440,12 @@ public class XSQLVAR implements DatatypeCoder {
          * see encodeTimestamp(...) for explanations
          */
 
-        byte[] date = new byte[4];
-        byte[] time = new byte[4];
-        
-        System.arraycopy(byte_int, 0, date, 0, 4);
-        System.arraycopy(byte_int, 4, time, 0, 4);
+        return decodeTimestampCalendar(byte_int, 0, c);
+    }
 
-        datetime d = new datetime(date,time);
+    @Override
+    public Timestamp decodeTimestampCalendar(byte[] data, int offset, Calendar c) {
+        datetime d = new datetime(data, offset, data, offset + 4);
         return d.toTimestamp(c);
     }
 
@@ -453,7 +496,12 @@ public class XSQLVAR implements DatatypeCoder {
     
 	@Override
     public Time decodeTimeCalendar(byte[] int_byte, Calendar c) {
-        datetime dt = new datetime(null,int_byte);
+        return decodeTimeCalendar(int_byte, 0, c);
+    }
+
+    @Override
+    public Time decodeTimeCalendar(byte[] data, int offset, Calendar c) {
+        datetime dt = new datetime(null, 0, data, offset);
         return dt.toTime(c);
     }
 
@@ -498,7 +546,12 @@ public class XSQLVAR implements DatatypeCoder {
     
 	@Override
     public Date decodeDateCalendar(byte[] byte_int, Calendar c) {
-       datetime dt = new datetime(byte_int, null);
+        return decodeDateCalendar(byte_int, 0, c);
+    }
+
+    @Override
+    public Date decodeDateCalendar(byte[] data, int offset, Calendar c) {
+        datetime dt = new datetime(data, offset, null, 0);
         return dt.toDate(c);
     }
 
@@ -507,6 +560,11 @@ public class XSQLVAR implements DatatypeCoder {
         return data[0] != 0;
     }
 
+    @Override
+    public boolean decodeBoolean(byte[] data, int offset) {
+        return data[offset] != 0;
+    }
+
     @Override
     public byte[] encodeBoolean(boolean value) {
         return new byte[] { (byte) (value ? 1 : 0) };
@@ -537,6 +595,46 @@ public class XSQLVAR implements DatatypeCoder {
         return result;
     }
 
+    @Override
+    public long decodeLocalDateEpochDay(byte[] date) {
+        return decodeLocalDateEpochDay(date, 0);
+    }
+
+    @Override
+    public long decodeLocalDateEpochDay(byte[] data, int offset) {
+        return decodeInt(data, offset) - 40587;
+    }
+
+    @Override
+    public long decodeLocalTimeNanoOfDay(byte[] time) {
+        return decodeLocalTimeNanoOfDay(time, 0);
+    }
+
+    @Override
+    public long decodeLocalTimeNanoOfDay(byte[] data, int offset) {
+        return decodeInt(data, offset) * 100000L;
+    }
+
+    @Override
+    public long decodeLocalDateTimeEpochDay(byte[] timestamp) {
+        return decodeLocalDateEpochDay(timestamp, 0);
+    }
+
+    @Override
+    public long decodeLocalDateTimeEpochDay(byte[] data, int offset) {
+        return decodeLocalDateEpochDay(data, offset);
+    }
+
+    @Override
+    public long decodeLocalDateTimeNanoOfDay(byte[] timestamp) {
+        return decodeLocalTimeNanoOfDay(timestamp, 4);
+    }
+
+    @Override
+    public long decodeLocalDateTimeNanoOfDay(byte[] data, int offset) {
+        return decodeLocalTimeNanoOfDay(data, offset + 4);
+    }
+
     @Override
     public IEncodingFactory getEncodingFactory() {
         return EncodingFactory.getDefaultInstance();
@@ -607,10 +705,10 @@ public class XSQLVAR implements DatatypeCoder {
             fractions = c.get(Calendar.MILLISECOND) * FRACTIONS_PER_MILLISECOND;
         }
 
-        datetime(byte[] date, byte[] time){
+        datetime(byte[] date, int dateOffset, byte[] time, int timeOffset){
 
             if (date != null){
-                int sql_date = decodeInt(date);
+                int sql_date = decodeInt(date, dateOffset);
                 int century;
                 sql_date -= 1721119 - 2400001;
                 century = (4 * sql_date - 1) / 146097;
@@ -635,7 +733,7 @@ public class XSQLVAR implements DatatypeCoder {
                 }
             }
             if (time != null){
-                int fractionsInDay = decodeInt(time);
+                int fractionsInDay = decodeInt(time, timeOffset);
                 hour = fractionsInDay / FRACTIONS_PER_HOUR;
                 fractionsInDay -= hour * FRACTIONS_PER_HOUR;
                 minute = fractionsInDay / FRACTIONS_PER_MINUTE;
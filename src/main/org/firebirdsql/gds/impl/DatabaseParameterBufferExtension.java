@@ -54,6 +54,18 @@ public interface DatabaseParameterBufferExtension extends DatabaseParameterBuffe
     int SO_TIMEOUT                      = ISCConstants.isc_dpb_so_timeout;
     int COLUMN_LABEL_FOR_NAME           = ISCConstants.isc_dpb_column_label_for_name;
     int USE_FIREBIRD_AUTOCOMMIT         = ISCConstants.isc_dpb_use_firebird_autocommit;
+    int USE_FETCH_ARENA                 = ISCConstants.isc_dpb_use_fetch_arena;
+    int PREFETCH_WATERMARK              = ISCConstants.isc_dpb_prefetch_watermark;
+    int ADAPTIVE_FETCH_MEMORY_LIMIT     = ISCConstants.isc_dpb_adaptive_fetch_memory_limit;
+    int PIPELINED_BATCH                 = ISCConstants.isc_dpb_pipelined_batch;
+    int STATEMENT_CACHE_SIZE            = ISCConstants.isc_dpb_statement_cache_size;
+    int WIRE_COMPRESSION                = ISCConstants.isc_dpb_wire_compression;
+    int META_DATA_CACHE_TTL             = ISCConstants.isc_dpb_meta_data_cache_ttl;
+    int META_DATA_CACHE_SIZE            = ISCConstants.isc_dpb_meta_data_cache_size;
+    int RESULT_SET_SPILL_THRESHOLD      = ISCConstants.isc_dpb_result_set_spill_threshold;
+    int INLINE_BLOB_THRESHOLD           = ISCConstants.isc_dpb_inline_blob_threshold;
+    int LOCK_TIMEOUT                    = ISCConstants.isc_dpb_lock_timeout;
+    int USE_SOCKET_CHANNEL              = ISCConstants.isc_dpb_use_socket_channel;
     
     /**
      * List of the DPB extensions. This array is used to filter the parameters
@@ -75,7 +87,19 @@ public interface DatabaseParameterBufferExtension extends DatabaseParameterBuffe
         OCTETS_AS_BYTES,
         SO_TIMEOUT,
         COLUMN_LABEL_FOR_NAME,
-        USE_FIREBIRD_AUTOCOMMIT
+        USE_FIREBIRD_AUTOCOMMIT,
+        USE_FETCH_ARENA,
+        PREFETCH_WATERMARK,
+        ADAPTIVE_FETCH_MEMORY_LIMIT,
+        PIPELINED_BATCH,
+        STATEMENT_CACHE_SIZE,
+        WIRE_COMPRESSION,
+        META_DATA_CACHE_TTL,
+        META_DATA_CACHE_SIZE,
+        RESULT_SET_SPILL_THRESHOLD,
+        INLINE_BLOB_THRESHOLD,
+        LOCK_TIMEOUT,
+        USE_SOCKET_CHANNEL
     };
 
     /**
@@ -67,4 +67,11 @@ public class XSQLVARBigEndianImpl extends XSQLVARImpl {
 
         return (short) ((b1 << 0) + (b2 << 8));
     }
+
+    public short decodeShort(byte[] data, int offset) {
+        int b1 = data[offset + 1] & 0xFF;
+        int b2 = data[offset] & 0xFF;
+
+        return (short) ((b1 << 0) + (b2 << 8));
+    }
 }
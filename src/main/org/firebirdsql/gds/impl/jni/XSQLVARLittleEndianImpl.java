@@ -83,6 +83,13 @@ public class XSQLVARLittleEndianImpl extends XSQLVARImpl {
         return (short) ((b1 << 0) + (b2 << 8));
     }
 
+    public short decodeShort(byte[] data, int offset) {
+        int b1 = data[offset] & 0xFF;
+        int b2 = data[offset + 1] & 0xFF;
+
+        return (short) ((b1 << 0) + (b2 << 8));
+    }
+
     public byte[] encodeInt(int value) {
         byte ret[] = new byte[4];
         ret[0] = (byte) ((value >>> 0) & 0xff);
@@ -100,6 +107,14 @@ public class XSQLVARLittleEndianImpl extends XSQLVARImpl {
         return ((b1 << 0) + (b2 << 8) + (b3 << 16) + (b4 << 24));
     }
 
+    public int decodeInt(byte[] data, int offset) {
+        int b1 = data[offset] & 0xFF;
+        int b2 = data[offset + 1] & 0xFF;
+        int b3 = data[offset + 2] & 0xFF;
+        int b4 = data[offset + 3] & 0xFF;
+        return ((b1 << 0) + (b2 << 8) + (b3 << 16) + (b4 << 24));
+    }
+
     public byte[] encodeLong(long value) {
         byte[] ret = new byte[8];
         ret[0] = (byte) (value >>> 0 & 0xFF);
@@ -126,6 +141,19 @@ public class XSQLVARLittleEndianImpl extends XSQLVARImpl {
                 + (b6 << 40) + (b7 << 48) + (b8 << 56));
     }
 
+    public long decodeLong(byte[] data, int offset) {
+        long b1 = data[offset] & 0xFF;
+        long b2 = data[offset + 1] & 0xFF;
+        long b3 = data[offset + 2] & 0xFF;
+        long b4 = data[offset + 3] & 0xFF;
+        long b5 = data[offset + 4] & 0xFF;
+        long b6 = data[offset + 5] & 0xFF;
+        long b7 = data[offset + 6] & 0xFF;
+        long b8 = data[offset + 7] & 0xFF;
+        return ((b1 << 0) + (b2 << 8) + (b3 << 16) + (b4 << 24) + (b5 << 32)
+                + (b6 << 40) + (b7 << 48) + (b8 << 56));
+    }
+
     public byte[] encodeFloat(float value) {
         return encodeInt(Float.floatToIntBits(value));
     }
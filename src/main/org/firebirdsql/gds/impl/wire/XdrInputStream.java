@@ -28,23 +28,30 @@ package org.firebirdsql.gds.impl.wire;
 
 import org.firebirdsql.encodings.Encoding;
 
-import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import javax.crypto.Cipher;
-import javax.crypto.spec.SecretKeySpec;
-import javax.crypto.CipherInputStream;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
 
 /**
  * <code>XdrInputStream</code> is an input stream for reading in data that
  * is in the XDR format. An <code>XdrInputStream</code> instance is wrapped
  * around an underlying <code>java.io.InputStream</code>.
  * <p>
+ * Data is read from the underlying stream into a (heap) {@link ByteBuffer}, and XDR values are decoded directly from
+ * that buffer. Contrary to a {@link java.io.BufferedInputStream}, the buffer is not synchronized. When decompression
+ * is enabled, compressed data is read into a separate buffer and inflated into the read buffer.
+ * </p>
+ * <p>
  * This class is not thread-safe.
  * </p>
  *
@@ -55,17 +62,45 @@ import javax.crypto.NoSuchPaddingException;
  */
 public final class XdrInputStream {
 
-    private InputStream in = null;
-
     private static final int DEFAULT_BUFFER_SIZE = 16384;
 
+    private InputStream in;
+    /**
+     * Buffer in read mode: position is the next byte to read, limit is the end of the data read from {@link #in}.
+     */
+    private final ByteBuffer buffer;
+    private final byte[] bufferArray;
+    private Cipher cipher;
+    private Inflater inflater;
+    private byte[] compressedBuffer;
+    /**
+     * Number of bytes in {@link #compressedBuffer} last passed to {@link #inflater}.
+     */
+    private int compressedLength;
+
     /**
      * Create a new instance of <code>XdrInputStream</code>.
      *
      * @param in The underlying <code>InputStream</code> to read from
      */
     public XdrInputStream(InputStream in) {
-        this.in = new BufferedInputStream(in, DEFAULT_BUFFER_SIZE);
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a new instance of <code>XdrInputStream</code> with the specified buffer size.
+     *
+     * @param in The underlying <code>InputStream</code> to read from
+     * @param bufferSize Size of the read buffer (minimum 8)
+     */
+    public XdrInputStream(InputStream in, int bufferSize) {
+        if (bufferSize < 8) {
+            throw new IllegalArgumentException("bufferSize should be at least 8, was " + bufferSize);
+        }
+        this.in = in;
+        buffer = ByteBuffer.allocate(bufferSize);
+        bufferArray = buffer.array();
+        buffer.limit(0);
     }
 
     /**
@@ -96,9 +131,13 @@ public final class XdrInputStream {
      */
     public int skipFully(int n) throws IOException {
         int total = 0;
-        int cur;
-        while (total < n && (cur = (int) in.skip(n - total)) > 0) {
-            total += cur;
+        while (total < n) {
+            if (!buffer.hasRemaining() && fill(1) == -1) {
+                break;
+            }
+            final int skip = Math.min(n - total, buffer.remaining());
+            buffer.position(buffer.position() + skip);
+            total += skip;
         }
         return total;
     }
@@ -144,8 +183,6 @@ public final class XdrInputStream {
         return encoding.decodeFromCharset(buffer);
     }
 
-    private final byte readBuffer[] = new byte[8];
-
     /**
      * Read in a <code>long</code>.
      *
@@ -154,15 +191,8 @@ public final class XdrInputStream {
      *         underlying input stream
      */
     public long readLong() throws IOException {
-        readFully(readBuffer, 0, 8);
-        return (((long) readBuffer[0] << 56) +
-                ((long) (readBuffer[1] & 0xFF) << 48) +
-                ((long) (readBuffer[2] & 0xFF) << 40) +
-                ((long) (readBuffer[3] & 0xFF) << 32) +
-                ((long) (readBuffer[4] & 0xFF) << 24) +
-                ((readBuffer[5] & 0xFF) << 16) +
-                ((readBuffer[6] & 0xFF) << 8) +
-                ((readBuffer[7] & 0xFF)));
+        ensureAvailable(8);
+        return buffer.getLong();
     }
 
     /**
@@ -173,34 +203,29 @@ public final class XdrInputStream {
      *         underlying input stream
      */
     public int readInt() throws IOException {
-        int ch1 = in.read();
-        int ch2 = in.read();
-        int ch3 = in.read();
-        int ch4 = in.read();
-        if ((ch1 | ch2 | ch3 | ch4) < 0)
-            throw new EOFException();
-        return ((ch1 << 24) + (ch2 << 16) + (ch3 << 8) + (ch4));
+        ensureAvailable(4);
+        return buffer.getInt();
     }
 
     /**
      * Read in a <code>short</code>.
      *
-     * @return The <code>short</code> that was read
+     * @return The <code>short</code> that was read (as an unsigned value)
      * @throws IOException if an error occurs while reading from the
      *         underlying input stream
      */
     public int readShort() throws IOException {
-        int ch1 = in.read();
-        int ch2 = in.read();
-        if ((ch1 | ch2) < 0)
-            throw new EOFException();
-        return (ch1 << 8) + (ch2);
+        ensureAvailable(2);
+        return buffer.getShort() & 0xFFFF;
     }
 
     /**
      * Read a given amount of data from the underlying input stream. The data
      * that is read is stored in <code>b</code>, starting from offset
      * <code>off</code>.
+     * <p>
+     * Reads larger than the internal buffer are read directly from the underlying stream into <code>b</code>.
+     * </p>
      *
      * @param b The byte buffer to hold the data that is read
      * @param off The offset at which to start storing data in <code>b</code>
@@ -211,12 +236,23 @@ public final class XdrInputStream {
     public void readFully(byte b[], int off, int len) throws IOException {
         if (len < 0)
             throw new IndexOutOfBoundsException();
-        int n = 0;
-        while (n < len) {
-            int count = in.read(b, off + n, len - n);
-            if (count < 0)
-                throw new EOFException();
-            n += count;
+        final int buffered = Math.min(len, buffer.remaining());
+        buffer.get(b, off, buffered);
+        off += buffered;
+        len -= buffered;
+        if (len == 0) return;
+
+        if (len >= bufferArray.length) {
+            while (len > 0) {
+                final int count = readFromSource(b, off, len);
+                if (count < 0)
+                    throw new EOFException();
+                off += count;
+                len -= count;
+            }
+        } else {
+            ensureAvailable(len);
+            buffer.get(b, off, len);
         }
     }
 
@@ -227,17 +263,141 @@ public final class XdrInputStream {
      *         input stream
      */
     public void close() throws IOException {
-        in.close();
+        buffer.limit(0);
+        try {
+            in.close();
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
     }
 
     public void setArc4Key(byte[] key) throws IOException, NoSuchAlgorithmException, NoSuchPaddingException,
             InvalidKeyException {
-        if (in instanceof CipherInputStream) {
+        if (cipher != null) {
             throw new IOException("Input stream already encrypted");
         }
         Cipher rc4 = Cipher.getInstance("ARCFOUR");
         SecretKeySpec rc4Key = new SecretKeySpec(key, "ARCFOUR");
         rc4.init(Cipher.DECRYPT_MODE, rc4Key);
-        in = new CipherInputStream(in, rc4);
+        cipher = rc4;
+        if (inflater != null) {
+            // Compressed data not yet inflated was received after the switch to encryption
+            final int remaining = inflater.getRemaining();
+            decrypt(compressedBuffer, compressedLength - remaining, remaining);
+        } else {
+            // Data already buffered was received after the switch to encryption
+            decrypt(bufferArray, buffer.position(), buffer.remaining());
+        }
+    }
+
+    /**
+     * Enables zlib decompression of all data received after the data already consumed from this stream.
+     *
+     * @throws IOException
+     *         If decompression is already enabled
+     */
+    public void enableDecompression() throws IOException {
+        if (inflater != null) {
+            throw new IOException("Input stream already decompressed");
+        }
+        inflater = new Inflater();
+        compressedBuffer = new byte[bufferArray.length];
+        // Data already buffered was received after the switch to compression
+        compressedLength = buffer.remaining();
+        buffer.get(compressedBuffer, 0, compressedLength);
+        inflater.setInput(compressedBuffer, 0, compressedLength);
+        buffer.limit(0);
+    }
+
+    /**
+     * @return {@code true} if decompression is enabled
+     */
+    public boolean isDecompressionEnabled() {
+        return inflater != null;
+    }
+
+    /**
+     * Ensures that at least <code>n</code> bytes are available in the buffer.
+     *
+     * @param n Number of bytes required (at most the buffer capacity)
+     * @throws EOFException if the end of the underlying stream is reached before <code>n</code> bytes are available
+     * @throws IOException if an error occurs while reading from the underlying input stream
+     */
+    private void ensureAvailable(int n) throws IOException {
+        if (buffer.remaining() < n && fill(n) < n) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Compacts the buffer and reads from the underlying stream until at least <code>required</code> bytes are
+     * available (or end of stream is reached).
+     *
+     * @param required Number of bytes required (at most the buffer capacity)
+     * @return Number of bytes available, or <code>-1</code> if end of stream was reached without any data available
+     * @throws IOException if an error occurs while reading from the underlying input stream
+     */
+    private int fill(int required) throws IOException {
+        buffer.compact();
+        try {
+            while (buffer.position() < required) {
+                final int position = buffer.position();
+                final int count = readFromSource(bufferArray, position, bufferArray.length - position);
+                if (count < 0) {
+                    break;
+                }
+                buffer.position(position + count);
+            }
+        } finally {
+            buffer.flip();
+        }
+        return buffer.hasRemaining() ? buffer.remaining() : -1;
+    }
+
+    /**
+     * Reads (decrypted and decompressed) data from the underlying stream, blocking until at least one byte is
+     * available.
+     *
+     * @return Number of bytes read, or <code>-1</code> if end of stream was reached
+     */
+    private int readFromSource(byte[] b, int off, int len) throws IOException {
+        if (inflater == null) {
+            final int count = in.read(b, off, len);
+            if (count > 0) {
+                decrypt(b, off, count);
+            }
+            return count;
+        }
+        try {
+            while (true) {
+                final int count = inflater.inflate(b, off, len);
+                if (count > 0) {
+                    return count;
+                }
+                if (inflater.finished() || inflater.needsDictionary()) {
+                    throw new IOException("Unexpected end of compressed stream");
+                }
+                final int read = in.read(compressedBuffer, 0, compressedBuffer.length);
+                if (read < 0) {
+                    return -1;
+                }
+                decrypt(compressedBuffer, 0, read);
+                compressedLength = read;
+                inflater.setInput(compressedBuffer, 0, read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Unable to decompress received data", e);
+        }
+    }
+
+    private void decrypt(byte[] data, int off, int len) throws IOException {
+        if (cipher == null || len == 0) return;
+        try {
+            cipher.update(data, off, len, data, off);
+        } catch (ShortBufferException e) {
+            throw new IOException("Unable to decrypt received data", e);
+        }
     }
 }
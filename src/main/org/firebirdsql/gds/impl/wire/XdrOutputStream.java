@@ -31,23 +31,29 @@ import org.firebirdsql.gds.ParameterBuffer;
 import org.firebirdsql.logging.Logger;
 import org.firebirdsql.logging.LoggerFactory;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.zip.Deflater;
 import java.security.NoSuchAlgorithmException;
 import java.security.InvalidKeyException;
 
 import javax.crypto.Cipher;
-import javax.crypto.CipherInputStream;
 import javax.crypto.spec.SecretKeySpec;
-import javax.crypto.CipherOutputStream;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 
 /**
  * An <code>XdrOutputStream</code> writes data in XDR format to an
  * underlying <code>java.io.OutputStream</code>.
  * <p>
+ * XDR values are encoded directly into a (heap) {@link ByteBuffer}, which is written to the underlying stream when it
+ * is full or on {@link #flush()}. When compression is enabled, the buffer is deflated into a separate buffer, and
+ * {@link #flush()} performs a zlib sync flush so the receiver can inflate everything written so far. When encryption
+ * is enabled, the (compressed) data is encrypted in place before it is written.
+ * </p>
+ * <p>
  * This class is not thread-safe.
  * </p>
  *
@@ -59,20 +65,29 @@ import javax.crypto.NoSuchPaddingException;
 public final class XdrOutputStream extends OutputStream {
 
     private static final int BUF_SIZE = 32767;
+    /**
+     * Size of the buffer used in unbuffered mode to assemble a single value.
+     */
+    private static final int UNBUFFERED_SIZE = 64;
 
     private static final Logger log = LoggerFactory.getLogger(XdrOutputStream.class);
-    private static final byte[] TEXT_PAD;
-    private static final byte[] ZERO_PADDING = new byte[3];
     public static final int SPACE_BYTE = 0x20;
     public static final int NULL_BYTE = 0x0;
-    static {
-        // fill the padding with blanks
-        byte[] textPad = new byte[BUF_SIZE];
-        Arrays.fill(textPad, (byte) SPACE_BYTE);
-        TEXT_PAD = textPad;
-    }
 
-    private OutputStream out;
+    private final OutputStream out;
+    /**
+     * Buffer in write mode: position is the end of the data not yet written to {@link #out}.
+     */
+    private final ByteBuffer buffer;
+    private final byte[] bufferArray;
+    private final boolean writeThrough;
+    private Cipher cipher;
+    private Deflater deflater;
+    private byte[] compressedBuffer;
+    /**
+     * {@code true} if data was passed to {@link #deflater} since the last sync flush.
+     */
+    private boolean deflatePending;
 
     // TODO In a lot of cases the padding written in this class should be NULL_BYTE instead of SPACE_BYTE
 
@@ -96,11 +111,10 @@ public final class XdrOutputStream extends OutputStream {
      *         {@code false} writes directly to provided {@code OutputStream}.
      */
     public XdrOutputStream(OutputStream out, boolean buffered) {
-        if (buffered) {
-            this.out = new BufferedOutputStream(out, BUF_SIZE);
-        } else {
-            this.out = out;
-        }
+        this.out = out;
+        buffer = ByteBuffer.allocate(buffered ? BUF_SIZE : UNBUFFERED_SIZE);
+        bufferArray = buffer.array();
+        writeThrough = !buffered;
     }
 
     /**
@@ -114,7 +128,7 @@ public final class XdrOutputStream extends OutputStream {
      *         underlying output stream
      */
     public void writeAlignment(int length) throws IOException {
-        out.write(ZERO_PADDING, 0, (4 - length) & 3);
+        writePadding((4 - length) & 3, NULL_BYTE);
     }
 
     /**
@@ -129,18 +143,17 @@ public final class XdrOutputStream extends OutputStream {
      *         underlying output stream
      */
     public void writePadding(int length, int padByte) throws IOException {
-        final byte[] padding;
-        if (padByte == SPACE_BYTE && length <= TEXT_PAD.length) {
-            padding = TEXT_PAD;
-        } else if (padByte == NULL_BYTE && length <= ZERO_PADDING.length) {
-            padding = ZERO_PADDING;
-        } else {
-            padding = new byte[length];
-            if (padByte != NULL_BYTE) {
-                Arrays.fill(padding, (byte) padByte);
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
             }
+            final int position = buffer.position();
+            final int count = Math.min(length, buffer.remaining());
+            Arrays.fill(bufferArray, position, position + count, (byte) padByte);
+            buffer.position(position + count);
+            length -= count;
         }
-        out.write(padding, 0, length);
+        afterWrite();
     }
 
     /**
@@ -184,6 +197,46 @@ public final class XdrOutputStream extends OutputStream {
         write(buffer, 0, len, ((4 - len + 2) & 3));
     }
 
+    /**
+     * Write blob data as the buffer of an <code>op_batch_segments</code> packet in XDR format.
+     * <p>
+     * The data is split into segments of at most <code>maxSegmentSize</code> bytes, each preceded by its length as an
+     * unsigned 2-byte little-endian value. The data is written directly from <code>b</code>. The resulting buffer
+     * (data and segment lengths) can be at most 65535 bytes, as servers before Firebird 3 read its length as an
+     * unsigned 2-byte value.
+     * </p>
+     *
+     * @param b The data
+     * @param off The start offset in the data
+     * @param len The number of bytes to write
+     * @param maxSegmentSize Maximum size of a segment (at most 65533)
+     * @throws IOException if an error occurs while writing to the
+     *         underlying output stream
+     */
+    public void writeBlobSegments(byte[] b, int off, int len, int maxSegmentSize) throws IOException {
+        if (maxSegmentSize <= 0 || maxSegmentSize > 0xFFFF - 2) {
+            throw new IllegalArgumentException("maxSegmentSize should be between 1 and 65533, was: " + maxSegmentSize);
+        }
+        final int segmentCount = (len + maxSegmentSize - 1) / maxSegmentSize;
+        final int bufferLength = len + 2 * segmentCount;
+        if (bufferLength > 0xFFFF) {
+            throw new IllegalArgumentException("Blob segments buffer should be at most 65535 bytes, was: "
+                    + bufferLength);
+        }
+        if (log != null && log.isDebugEnabled()) log.debug("writeBlobSegments len: " + bufferLength);
+        writeInt(bufferLength);
+        writeInt(bufferLength);
+        while (len > 0) {
+            final int segmentLength = Math.min(len, maxSegmentSize);
+            write(segmentLength & 0xff);
+            write((segmentLength >> 8) & 0xff);
+            write(b, off, segmentLength);
+            off += segmentLength;
+            len -= segmentLength;
+        }
+        writeAlignment(bufferLength);
+    }
+
     /**
      * Write content of the specified string using the specified encoding.
      */
@@ -225,8 +278,6 @@ public final class XdrOutputStream extends OutputStream {
         writeTyped(parameterBuffer.getType(), parameterBuffer.toXdrable());
     }
 
-    private final byte writeBuffer[] = new byte[8];
-
     /**
      * Write a <code>long</code> value to the underlying stream in XDR format.
      *
@@ -235,16 +286,9 @@ public final class XdrOutputStream extends OutputStream {
      *         underlying output stream
      */
     public void writeLong(long v) throws IOException {
-        final byte[] buffer = writeBuffer;
-        buffer[0] = (byte) (v >>> 56);
-        buffer[1] = (byte) (v >>> 48);
-        buffer[2] = (byte) (v >>> 40);
-        buffer[3] = (byte) (v >>> 32);
-        buffer[4] = (byte) (v >>> 24);
-        buffer[5] = (byte) (v >>> 16);
-        buffer[6] = (byte) (v >>> 8);
-        buffer[7] = (byte) v;
-        out.write(buffer, 0, 8);
+        ensureRemaining(8);
+        buffer.putLong(v);
+        afterWrite();
     }
 
     /**
@@ -255,10 +299,9 @@ public final class XdrOutputStream extends OutputStream {
      *         underlying output stream
      */
     public void writeInt(int v) throws IOException {
-        out.write((v >>> 24) & 0xFF);
-        out.write((v >>> 16) & 0xFF);
-        out.write((v >>> 8) & 0xFF);
-        out.write(v & 0xFF);
+        ensureRemaining(4);
+        buffer.putInt(v);
+        afterWrite();
     }
 
     /**
@@ -273,7 +316,7 @@ public final class XdrOutputStream extends OutputStream {
      *         underlying output stream
      */
     public void write(byte[] b, int offset, int len, int pad) throws IOException {
-        out.write(b, offset, len);
+        write(b, offset, len);
         // TODO We shouldn't always pad with spaces
         writePadding(pad, SPACE_BYTE);
     }
@@ -288,7 +331,9 @@ public final class XdrOutputStream extends OutputStream {
      */
     @Override
     public void write(int b) throws IOException {
-        out.write(b);
+        ensureRemaining(1);
+        buffer.put((byte) b);
+        afterWrite();
     }
 
     /**
@@ -307,7 +352,30 @@ public final class XdrOutputStream extends OutputStream {
      */
     @Override
     public void write(byte b[], int off, int len) throws IOException {
-        out.write(b, off, len);
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len >= bufferArray.length && (cipher == null || deflater != null)) {
+            // Large writes bypass the buffer
+            flushBuffer();
+            if (deflater != null) {
+                deflate(b, off, len, Deflater.NO_FLUSH);
+            } else {
+                out.write(b, off, len);
+            }
+            afterWrite();
+            return;
+        }
+        while (len > 0) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.put(b, off, count);
+            off += count;
+            len -= count;
+        }
+        afterWrite();
     }
 
     /**
@@ -318,6 +386,7 @@ public final class XdrOutputStream extends OutputStream {
      */
     @Override
     public void flush() throws IOException {
+        flushBuffer(true);
         out.flush();
     }
 
@@ -329,17 +398,130 @@ public final class XdrOutputStream extends OutputStream {
      */
     @Override
     public void close() throws IOException {
-        out.close();
+        try {
+            flushBuffer(true);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            out.close();
+        }
     }
 
     public void setArc4Key(byte[] key) throws IOException, NoSuchAlgorithmException, NoSuchPaddingException,
             InvalidKeyException {
-        if (out instanceof CipherOutputStream) {
+        if (cipher != null) {
             throw new IOException("Output stream already encrypted");
         }
         Cipher rc4 = Cipher.getInstance("ARCFOUR");
         SecretKeySpec rc4Key = new SecretKeySpec(key, "ARCFOUR");
         rc4.init(Cipher.ENCRYPT_MODE, rc4Key);
-        out = new CipherOutputStream(out, rc4);
+        // Data written before enabling encryption is sent unencrypted
+        flushBuffer(true);
+        cipher = rc4;
+    }
+
+    /**
+     * Enables zlib compression of all data written after this call.
+     * <p>
+     * Data written before enabling compression is written uncompressed. The receiver is expected to inflate the data
+     * following that point (as negotiated with {@code pflag_compress} in the wire protocol).
+     * </p>
+     *
+     * @throws IOException
+     *         If compression is already enabled, or if an error occurs writing the buffered data
+     */
+    public void enableCompression() throws IOException {
+        if (deflater != null) {
+            throw new IOException("Output stream already compressed");
+        }
+        flushBuffer(true);
+        deflater = new Deflater();
+        compressedBuffer = new byte[bufferArray.length];
+    }
+
+    /**
+     * @return {@code true} if compression is enabled
+     */
+    public boolean isCompressionEnabled() {
+        return deflater != null;
+    }
+
+    /**
+     * Ensures that at least <code>n</code> bytes can be written to the buffer, writing the buffer to the underlying
+     * stream if necessary.
+     *
+     * @param n Number of bytes (at most the buffer capacity)
+     */
+    private void ensureRemaining(int n) throws IOException {
+        if (buffer.remaining() < n) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Writes the buffered data through to the underlying stream when this stream is unbuffered.
+     */
+    private void afterWrite() throws IOException {
+        if (writeThrough) {
+            flushBuffer(true);
+        }
+    }
+
+    /**
+     * Writes the buffered data to the underlying stream, without flushing the underlying stream or the compressor.
+     */
+    private void flushBuffer() throws IOException {
+        flushBuffer(false);
+    }
+
+    /**
+     * Writes the buffered data to the underlying stream (compressing and encrypting it if enabled), without flushing
+     * the underlying stream.
+     *
+     * @param syncFlush
+     *         {@code true} to also write all data held by the compressor, so the receiver can decompress all data
+     *         written so far (ignored when compression is disabled)
+     */
+    private void flushBuffer(boolean syncFlush) throws IOException {
+        final int length = buffer.position();
+        if (deflater != null) {
+            if (length == 0 && !(syncFlush && deflatePending)) return;
+            buffer.clear();
+            deflate(bufferArray, 0, length, syncFlush ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH);
+            return;
+        }
+        if (length == 0) return;
+        encrypt(bufferArray, 0, length);
+        buffer.clear();
+        out.write(bufferArray, 0, length);
+    }
+
+    /**
+     * Compresses the data and writes the compressed output to the underlying stream.
+     *
+     * @param flushMode
+     *         {@link Deflater#NO_FLUSH} or {@link Deflater#SYNC_FLUSH}
+     */
+    private void deflate(byte[] data, int off, int len, int flushMode) throws IOException {
+        deflater.setInput(data, off, len);
+        int count;
+        do {
+            count = deflater.deflate(compressedBuffer, 0, compressedBuffer.length, flushMode);
+            if (count > 0) {
+                encrypt(compressedBuffer, 0, count);
+                out.write(compressedBuffer, 0, count);
+            }
+        } while (count == compressedBuffer.length || !deflater.needsInput());
+        deflatePending = flushMode == Deflater.NO_FLUSH;
+    }
+
+    private void encrypt(byte[] data, int off, int len) throws IOException {
+        if (cipher == null) return;
+        try {
+            cipher.update(data, off, len, data, off);
+        } catch (ShortBufferException e) {
+            throw new IOException("Unable to encrypt data", e);
+        }
     }
 }
@@ -39,6 +39,7 @@ public abstract class AbstractConnection<T extends IAttachProperties<T>, C exten
     protected final T attachProperties;
     private final EncodingDefinition encodingDefinition;
     private final IEncodingFactory encodingFactory;
+    private final ConnectionLock connectionLock = new ConnectionLock();
 
     protected AbstractConnection(T attachProperties, IEncodingFactory encodingFactory) throws SQLException {
         this.attachProperties = attachProperties.asNewMutable();
@@ -91,6 +92,13 @@ public abstract class AbstractConnection<T extends IAttachProperties<T>, C exten
         return attachProperties.asImmutable();
     }
 
+    /**
+     * @return Lock granting exclusive access to this connection
+     */
+    public final ConnectionLock getConnectionLock() {
+        return connectionLock;
+    }
+
     public final EncodingDefinition getEncodingDefinition() {
         return this.encodingDefinition;
     }
@@ -42,7 +42,6 @@ public abstract class AbstractFbAttachment<T extends AbstractConnection<? extend
     private static final Logger log = LoggerFactory.getLogger(AbstractFbAttachment.class);
 
     private final AtomicBoolean attached = new AtomicBoolean();
-    private final Object syncObject = new Object();
     protected final T connection;
     private final DatatypeCoder datatypeCoder;
     private GDSServerVersion serverVersion;
@@ -108,8 +107,33 @@ public abstract class AbstractFbAttachment<T extends AbstractConnection<? extend
     }
 
     @Override
-    public final Object getSynchronizationObject() {
-        return syncObject;
+    public final LockCloseable withLock() throws SQLException {
+        return connection.getConnectionLock().lock();
+    }
+
+    /**
+     * Acquires the lock of this attachment without timeout.
+     * <p>
+     * For operations that cannot fail, like clean up and listener notifications.
+     * </p>
+     *
+     * @return Handle to release the lock (release in a {@code finally} block)
+     * @see #withLock()
+     */
+    protected final LockCloseable withLockWithoutTimeout() {
+        return connection.getConnectionLock().lockWithoutTimeout();
+    }
+
+    /**
+     * @return Lock granting exclusive access to the connection of this attachment
+     */
+    protected final ConnectionLock getConnectionLock() {
+        return connection.getConnectionLock();
+    }
+
+    @Override
+    public final LockStatistics getLockStatistics() {
+        return connection.getConnectionLock().getStatistics();
     }
 
     @Override
@@ -30,6 +30,8 @@ import org.firebirdsql.logging.LoggerFactory;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 
+import static org.firebirdsql.gds.JaybirdErrorCodes.jb_blobPutSegmentEmpty;
+
 /**
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
@@ -309,6 +311,88 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
         return new BlobLengthProcessor(this);
     }
 
+    @Override
+    public final int get(final byte[] b, final int off, final int len) throws SQLException {
+        return get(b, off, len, 1f);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation calls {@link #getSegment(int)} until the minimum number of bytes have been read or the
+     * end of the blob is reached.
+     * </p>
+     */
+    @Override
+    public int get(final byte[] b, final int off, final int len, final float minFillFactor) throws SQLException {
+        final int minLength = getMinimumLength(b, off, len, minFillFactor);
+        int count = 0;
+        while (count < minLength && !isEof()) {
+            final byte[] segment = getSegment(Math.min(len - count, getMaximumSegmentSize()));
+            System.arraycopy(segment, 0, b, off + count, segment.length);
+            count += segment.length;
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation calls {@link #putSegment(byte[])} for each part of at most
+     * {@link #getMaximumSegmentSize()} bytes.
+     * </p>
+     */
+    @Override
+    public void put(final byte[] b, final int off, final int len) throws SQLException {
+        checkPutArguments(b, off, len);
+        if (off == 0 && len == b.length && len <= getMaximumSegmentSize()) {
+            putSegment(b);
+            return;
+        }
+        int count = 0;
+        byte[] segment = null;
+        while (count < len) {
+            final int segmentLength = Math.min(len - count, getMaximumSegmentSize());
+            if (segment == null || segment.length != segmentLength) {
+                segment = new byte[segmentLength];
+            }
+            System.arraycopy(b, off + count, segment, 0, segmentLength);
+            putSegment(segment);
+            count += segmentLength;
+        }
+    }
+
+    /**
+     * Checks the arguments of {@link #put(byte[], int, int)}.
+     */
+    protected static void checkPutArguments(final byte[] b, final int off, final int len) throws SQLException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            throw new FbExceptionBuilder().exception(jb_blobPutSegmentEmpty).toSQLException();
+        }
+    }
+
+    /**
+     * Checks the arguments of {@link #get(byte[], int, int, float)}.
+     *
+     * @return Minimum number of bytes to read
+     */
+    protected static int getMinimumLength(final byte[] b, final int off, final int len, final float minFillFactor) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (!(minFillFactor > 0f && minFillFactor <= 1f)) {
+            throw new IllegalArgumentException("minFillFactor should be larger than 0 and at most 1, was: "
+                    + minFillFactor);
+        }
+        if (minFillFactor == 1f || len == 0) {
+            return len;
+        }
+        return Math.max(1, (int) (minFillFactor * len));
+    }
+
     @Override
     public int getMaximumSegmentSize() {
         // TODO Max size in FB 3 is 2^16, not 2^15 - 1, is that for all versions, or only for newer protocols?
@@ -19,19 +19,23 @@
 package org.firebirdsql.gds.ng;
 
 import org.firebirdsql.gds.BlobParameterBuffer;
+import org.firebirdsql.gds.EventHandler;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.BlobParameterBufferImp;
 import org.firebirdsql.gds.impl.TransactionParameterBufferImpl;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.listeners.DatabaseListenerDispatcher;
 import org.firebirdsql.gds.ng.listeners.TransactionListener;
+import org.firebirdsql.jdbc.FBDriverNotCapableException;
 import org.firebirdsql.logging.Logger;
 import org.firebirdsql.logging.LoggerFactory;
 
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLWarning;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.firebirdsql.gds.ISCConstants.*;
@@ -79,6 +83,7 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
 
     protected AbstractFbDatabase(T connection, DatatypeCoder datatypeCoder) {
         super(connection, datatypeCoder);
+        getConnectionLock().setTimeout(connection.getAttachProperties().getLockTimeout());
     }
 
     /**
@@ -164,7 +169,8 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
     public final void close() throws SQLException {
         // TODO return silently if not connected?
         checkConnected();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             if (getActiveTransactionCount() > 0) {
                 // Throw open transactions as exception, fbclient doesn't disconnect with outstanding (unprepared) transactions
                 // In the case of wire protocol we could ignore this and simply close, but that would be inconsistent with fbclient
@@ -182,6 +188,8 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
                 databaseListenerDispatcher.detached(this);
                 databaseListenerDispatcher.shutdown();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -272,6 +280,41 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation does not read blobs in bulk, and returns {@code null} for all blobs.
+     * </p>
+     */
+    @Override
+    public byte[][] getBlobContents(FbTransaction transaction, long[] blobIds, int maxLength) throws SQLException {
+        return new byte[blobIds.length][];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation throws {@link SQLFeatureNotSupportedException}.
+     * </p>
+     */
+    @Override
+    public EventBlockHandle createEventBlockHandle(List<String> eventNames, EventHandler eventHandler)
+            throws SQLException {
+        throw new SQLFeatureNotSupportedException("Event blocks are not supported by this database type",
+                FBDriverNotCapableException.SQL_STATE_FEATURE_NOT_SUPPORTED);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation returns {@code false}.
+     * </p>
+     */
+    @Override
+    public boolean supportsEventBlocks() {
+        return false;
+    }
+
     @Override
     public BlobParameterBuffer createBlobParameterBuffer() {
         return new BlobParameterBufferImp();
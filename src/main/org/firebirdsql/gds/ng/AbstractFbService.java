@@ -91,7 +91,8 @@ public abstract class AbstractFbService<T extends AbstractConnection<IServicePro
     public final void close() throws SQLException {
         // TODO return silently if not connected?
         checkConnected();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             // TODO Add listeners
             //serviceListenerDispatcher.detaching(this);
             try {
@@ -100,6 +101,8 @@ public abstract class AbstractFbService<T extends AbstractConnection<IServicePro
                 //serviceListenerDispatcher.detached(this);
                 //serviceListenerDispatcher.shutdown();
             }
+        } finally {
+            lock.close();
         }
     }
 
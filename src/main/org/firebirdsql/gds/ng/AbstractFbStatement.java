@@ -33,7 +33,9 @@ import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
 import java.sql.SQLTransientException;
 import java.sql.SQLWarning;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 
 /**
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
@@ -246,6 +248,80 @@ public abstract class AbstractFbStatement implements FbStatement {
         statementListenerDispatcher.receivedRow(this, rowData);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation does nothing; the rows are fetched by the next call to {@link #fetchRows(int)}.
+     * </p>
+     */
+    @Override
+    public void prefetchRows(int fetchSize) throws SQLException {
+        // Prefetching not supported by default
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation executes each parameter set with {@link #execute(RowValue)} and retrieves its SQL counts,
+     * stopping at the first failed execution.
+     * </p>
+     */
+    @Override
+    public BatchExecutionResult executeBatch(List<RowValue> parameterSets) throws SQLException {
+        synchronized (getSynchronizationObject()) {
+            checkNoResultSetForBatch();
+            final List<SqlCountHolder> sqlCounts = new ArrayList<>(parameterSets.size());
+            for (int index = 0; index < parameterSets.size(); index++) {
+                try {
+                    execute(parameterSets.get(index));
+                    sqlCounts.add(getSqlCounts());
+                } catch (SQLException e) {
+                    return new BatchExecutionResult(sqlCounts, index, e);
+                }
+            }
+            return new BatchExecutionResult(sqlCounts, -1, null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation prepares and executes each statement text with {@link #prepare(String)} and
+     * {@link #execute(RowValue)} and retrieves its SQL counts, stopping at the first failed statement.
+     * </p>
+     */
+    @Override
+    public BatchExecutionResult prepareAndExecuteBatch(List<String> statementTexts) throws SQLException {
+        synchronized (getSynchronizationObject()) {
+            final List<SqlCountHolder> sqlCounts = new ArrayList<>(statementTexts.size());
+            for (int index = 0; index < statementTexts.size(); index++) {
+                try {
+                    prepare(statementTexts.get(index));
+                    checkNoResultSetForBatch();
+                    execute(RowValue.EMPTY_ROW_VALUE);
+                    sqlCounts.add(getSqlCounts());
+                } catch (SQLException e) {
+                    return new BatchExecutionResult(sqlCounts, index, e);
+                }
+            }
+            return new BatchExecutionResult(sqlCounts, -1, null);
+        }
+    }
+
+    /**
+     * Checks if the statement is valid for {@link #executeBatch(List)}.
+     *
+     * @throws SQLException
+     *         When the statement is not valid, or has a result set
+     */
+    protected final void checkNoResultSetForBatch() throws SQLException {
+        checkStatementValid();
+        final RowDescriptor fieldDescriptor = getFieldDescriptor();
+        if (fieldDescriptor != null && fieldDescriptor.getCount() > 0) {
+            throw new SQLNonTransientException("executeBatch is only supported for statements without a result set");
+        }
+    }
+
     /**
      * Sets the <code>allRowsFetched</code> property.
      * <p>
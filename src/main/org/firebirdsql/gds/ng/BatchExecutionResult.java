@@ -0,0 +1,80 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of {@link FbStatement#executeBatch(java.util.List)}.
+ *
+ * @since 3.0
+ */
+public final class BatchExecutionResult {
+
+    private final List<SqlCountHolder> sqlCounts;
+    private final int failedIndex;
+    private final SQLException exception;
+
+    /**
+     * Creates a batch execution result.
+     *
+     * @param sqlCounts
+     *         SQL counts of the executions before the first failed execution
+     * @param failedIndex
+     *         Index of the first failed execution, or <code>-1</code> if all executions succeeded
+     * @param exception
+     *         Exception of the first failed execution, or <code>null</code> if all executions succeeded
+     */
+    public BatchExecutionResult(List<SqlCountHolder> sqlCounts, int failedIndex, SQLException exception) {
+        assert (failedIndex == -1) == (exception == null) : "failedIndex and exception should be consistent";
+        this.sqlCounts = Collections.unmodifiableList(sqlCounts);
+        this.failedIndex = failedIndex;
+        this.exception = exception;
+    }
+
+    /**
+     * @return SQL counts of the executions before the first failed execution (all executions if none failed)
+     */
+    public List<SqlCountHolder> getSqlCounts() {
+        return sqlCounts;
+    }
+
+    /**
+     * @return <code>true</code> if all executions succeeded
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return Index of the first failed execution, or <code>-1</code> if all executions succeeded
+     */
+    public int getFailedIndex() {
+        return failedIndex;
+    }
+
+    /**
+     * @return Exception of the first failed execution, or <code>null</code> if all executions succeeded
+     */
+    public SQLException getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.firebirdsql.gds.JaybirdErrorCodes.jb_connectionLockTimeout;
+
+/**
+ * Lock that grants a single thread at a time ownership of a connection to the server.
+ * <p>
+ * Ownership model: the thread holding this lock is the only thread that writes to or reads from the connection, and
+ * the only thread that modifies the state shared by the attachment and the objects created from it (handles,
+ * deferred actions, etc). The lock is reentrant. Statements, blobs and transactions have their own monitor, which
+ * must be acquired <em>before</em> this lock, never while holding this lock.
+ * </p>
+ * <p>
+ * Acquiring the lock without contention does not block and only does a compare-and-set. When contended, the time spent
+ * waiting is recorded, and if a lock timeout is set, acquisition fails with a {@link java.sql.SQLTimeoutException}
+ * after that timeout.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+public final class ConnectionLock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LockCloseable unlock = new LockCloseable() {
+        @Override
+        public void close() {
+            lock.unlock();
+        }
+    };
+    private volatile long timeoutMillis;
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong contendedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Acquires this lock, waiting at most the lock timeout if the lock is held by another thread.
+     *
+     * @return Handle to release the lock
+     * @throws SQLException
+     *         If the lock could not be acquired within the lock timeout, or the thread was interrupted while waiting
+     *         for the lock with a lock timeout
+     */
+    public LockCloseable lock() throws SQLException {
+        if (lock.tryLock()) {
+            acquireCount.incrementAndGet();
+            return unlock;
+        }
+        final long timeout = timeoutMillis;
+        if (timeout <= 0) {
+            return lockContended();
+        }
+        final long startNanos = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        recordContention(System.nanoTime() - startNanos);
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new FbExceptionBuilder().timeoutException(jb_connectionLockTimeout)
+                    .messageParameter(String.valueOf(timeout))
+                    .toSQLException();
+        }
+        acquireCount.incrementAndGet();
+        return unlock;
+    }
+
+    /**
+     * Acquires this lock, waiting without timeout if the lock is held by another thread.
+     * <p>
+     * This method should only be used when the operation cannot fail (eg in listener callbacks or clean up).
+     * </p>
+     *
+     * @return Handle to release the lock
+     */
+    public LockCloseable lockWithoutTimeout() {
+        if (lock.tryLock()) {
+            acquireCount.incrementAndGet();
+            return unlock;
+        }
+        return lockContended();
+    }
+
+    private LockCloseable lockContended() {
+        final long startNanos = System.nanoTime();
+        lock.lock();
+        recordContention(System.nanoTime() - startNanos);
+        acquireCount.incrementAndGet();
+        return unlock;
+    }
+
+    private void recordContention(long waitNanos) {
+        contendedCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        long currentMax;
+        while (waitNanos > (currentMax = maxWaitNanos.get())) {
+            if (maxWaitNanos.compareAndSet(currentMax, waitNanos)) break;
+        }
+    }
+
+    /**
+     * @return {@code true} if the current thread holds this lock
+     */
+    public boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * @return Lock timeout in milliseconds, {@code 0} to wait indefinitely
+     */
+    public long getTimeout() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Sets the maximum time {@link #lock()} waits when the lock is held by another thread.
+     *
+     * @param timeoutMillis
+     *         Lock timeout in milliseconds, {@code 0} (default) to wait indefinitely
+     */
+    public void setTimeout(long timeoutMillis) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("timeoutMillis should be 0 or larger, was: " + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return Snapshot of the contention metrics of this lock
+     */
+    public LockStatistics getStatistics() {
+        return new LockStatistics(acquireCount.get(), contendedCount.get(), timeoutCount.get(), totalWaitNanos.get(),
+                maxWaitNanos.get());
+    }
+}
@@ -67,6 +67,15 @@ public interface DatatypeCoder {
      */
     short decodeShort(byte[] byte_int);
 
+    /**
+     * Decode a <code>short</code> value from a <code>byte</code> array, starting at <code>offset</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return The <code>short</code> value of the decoded bytes
+     */
+    short decodeShort(byte[] data, int offset);
+
     /**
      * Encode an <code>int</code> value as a <code>byte</code> array.
      *
@@ -85,6 +94,15 @@ public interface DatatypeCoder {
      */
     int decodeInt(byte[] byte_int);
 
+    /**
+     * Decode an <code>int</code> value from a <code>byte</code> array, starting at <code>offset</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return The <code>int</code> value of the decoded bytes
+     */
+    int decodeInt(byte[] data, int offset);
+
     /**
      * Encode a <code>long</code> value as a <code>byte</code> array.
      *
@@ -103,6 +121,15 @@ public interface DatatypeCoder {
      */
     long decodeLong(byte[] byte_int);
 
+    /**
+     * Decode a <code>long</code> value from a <code>byte</code> array, starting at <code>offset</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return The <code>long</code> value of the decoded bytes
+     */
+    long decodeLong(byte[] data, int offset);
+
     /**
      * Encode a <code>float</code> value as a <code>byte</code> array.
      *
@@ -121,6 +148,15 @@ public interface DatatypeCoder {
      */
     float decodeFloat(byte[] byte_int);
 
+    /**
+     * Decode a <code>float</code> value from a <code>byte</code> array, starting at <code>offset</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return The <code>float</code> value of the decoded bytes
+     */
+    float decodeFloat(byte[] data, int offset);
+
     /**
      * Encode a <code>double</code> value as a <code>byte</code> array.
      *
@@ -139,6 +175,15 @@ public interface DatatypeCoder {
      */
     double decodeDouble(byte[] byte_int);
 
+    /**
+     * Decode a <code>double</code> value from a <code>byte</code> array, starting at <code>offset</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return The <code>double</code> value of the decoded bytes
+     */
+    double decodeDouble(byte[] data, int offset);
+
 // TODO String encoding/decoding might need to be done differently
 
     /**
@@ -180,6 +225,21 @@ public interface DatatypeCoder {
      */
     String decodeString(byte[] value, String javaEncoding, String mappingPath) throws SQLException;
 
+    /**
+     * Decode a range of an encoded <code>byte</code> array into a <code>String</code> using a given encoding.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @param length Length of the value in bytes
+     * @param javaEncoding The java encoding to be used in the decoding process
+     * @param mappingPath The character mapping path to be used in the decoding
+     * @return The decoded <code>String</code>
+     * @throws java.sql.SQLException if the given encoding cannot be found, or an
+     *         error occurs during the decoding
+     */
+    String decodeString(byte[] data, int offset, int length, String javaEncoding, String mappingPath)
+            throws SQLException;
+
     /**
      * Encode a <code>Timestamp</code> using a given <code>Calendar</code>.
      *
@@ -249,6 +309,17 @@ public interface DatatypeCoder {
 
     Timestamp decodeTimestampCalendar(byte[] byte_int, Calendar c);
 
+    /**
+     * Decode timestamp bytes (8 bytes) starting at <code>offset</code> into a <code>Timestamp</code> value using a given
+     * <code>Calendar</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @param c The <code>Calendar</code> to be used in the decoding
+     * @return The decoded <code>Timestamp</code>
+     */
+    Timestamp decodeTimestampCalendar(byte[] data, int offset, Calendar c);
+
     /**
      * Encode a given <code>Time</code> value using a given
      * <code>Calendar</code>.
@@ -291,6 +362,17 @@ public interface DatatypeCoder {
 
     Time decodeTimeCalendar(byte[] int_byte, Calendar c);
 
+    /**
+     * Decode time bytes (4 bytes) starting at <code>offset</code> into a <code>Time</code> value using a given
+     * <code>Calendar</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @param c The <code>Calendar</code> to be used in the decoding
+     * @return The decoded <code>Time</code>
+     */
+    Time decodeTimeCalendar(byte[] data, int offset, Calendar c);
+
     /**
      * Encode a given <code>Date</code> value using a given
      * <code>Calendar</code>.
@@ -333,6 +415,17 @@ public interface DatatypeCoder {
 
     Date decodeDateCalendar(byte[] byte_int, Calendar c);
 
+    /**
+     * Decode date bytes (4 bytes) starting at <code>offset</code> into a <code>Date</code> value using a given
+     * <code>Calendar</code>.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @param c The <code>Calendar</code> to be used in the decoding
+     * @return The decoded <code>Date</code>
+     */
+    Date decodeDateCalendar(byte[] data, int offset, Calendar c);
+
     /**
      * Decode boolean from supplied data.
      *
@@ -341,6 +434,15 @@ public interface DatatypeCoder {
      */
     boolean decodeBoolean(byte[] data);
 
+    /**
+     * Decode boolean from the byte at <code>offset</code> of the supplied data.
+     *
+     * @param data Data
+     * @param offset Offset of the boolean byte in <code>data</code>
+     * @return <code>false</code> when 0, <code>true</code> for all other values
+     */
+    boolean decodeBoolean(byte[] data, int offset);
+
     /**
      * Encodes boolean to 1 byte data.
      *
@@ -384,6 +486,76 @@ public interface DatatypeCoder {
      */
     byte[] encodeLocalDateTime(int year, int month, int day, int hour, int minute, int second, int nanos);
 
+    /**
+     * Decodes date bytes to a java.time.LocalDate equivalent, without using a {@link Calendar}.
+     *
+     * @param date Date bytes (4 bytes)
+     * @return Number of days since 1970-01-01 (epoch day of java.time.LocalDate)
+     */
+    long decodeLocalDateEpochDay(byte[] date);
+
+    /**
+     * Decodes date bytes (4 bytes) starting at <code>offset</code>, see {@link #decodeLocalDateEpochDay(byte[])}.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return Number of days since 1970-01-01 (epoch day of java.time.LocalDate)
+     */
+    long decodeLocalDateEpochDay(byte[] data, int offset);
+
+    /**
+     * Decodes time bytes to a java.time.LocalTime equivalent, without using a {@link Calendar}.
+     *
+     * @param time Time bytes (4 bytes)
+     * @return Nanoseconds since midnight (nano of day of java.time.LocalTime)
+     */
+    long decodeLocalTimeNanoOfDay(byte[] time);
+
+    /**
+     * Decodes time bytes (4 bytes) starting at <code>offset</code>, see {@link #decodeLocalTimeNanoOfDay(byte[])}.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return Nanoseconds since midnight (nano of day of java.time.LocalTime)
+     */
+    long decodeLocalTimeNanoOfDay(byte[] data, int offset);
+
+    /**
+     * Decodes the date part of timestamp bytes to a java.time.LocalDate equivalent, without using a {@link Calendar}.
+     *
+     * @param timestamp Timestamp bytes (8 bytes)
+     * @return Number of days since 1970-01-01 (epoch day of java.time.LocalDate)
+     * @see #decodeLocalDateTimeNanoOfDay(byte[])
+     */
+    long decodeLocalDateTimeEpochDay(byte[] timestamp);
+
+    /**
+     * Decodes the date part of timestamp bytes (8 bytes) starting at <code>offset</code>, see {@link #decodeLocalDateTimeEpochDay(byte[])}.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return Number of days since 1970-01-01 (epoch day of java.time.LocalDate)
+     */
+    long decodeLocalDateTimeEpochDay(byte[] data, int offset);
+
+    /**
+     * Decodes the time part of timestamp bytes to a java.time.LocalTime equivalent, without using a {@link Calendar}.
+     *
+     * @param timestamp Timestamp bytes (8 bytes)
+     * @return Nanoseconds since midnight (nano of day of java.time.LocalTime)
+     * @see #decodeLocalDateTimeEpochDay(byte[])
+     */
+    long decodeLocalDateTimeNanoOfDay(byte[] timestamp);
+
+    /**
+     * Decodes the time part of timestamp bytes (8 bytes) starting at <code>offset</code>, see {@link #decodeLocalDateTimeNanoOfDay(byte[])}.
+     *
+     * @param data The <code>byte</code> array containing the value
+     * @param offset Offset of the first byte of the value in <code>data</code>
+     * @return Nanoseconds since midnight (nano of day of java.time.LocalTime)
+     */
+    long decodeLocalDateTimeNanoOfDay(byte[] data, int offset);
+
     /**
      * @return The encoding factory.
      */
@@ -46,6 +46,14 @@ import java.util.GregorianCalendar;
 public class DefaultDatatypeCoder implements DatatypeCoder {
 
     private static final DefaultDatatypeCoder INSTANCE = new DefaultDatatypeCoder(EncodingFactory.getDefaultInstance());
+    /**
+     * Modified Julian Day (the Firebird date) of 1970-01-01.
+     */
+    private static final int MJD_EPOCH_DAY_OFFSET = 40587;
+    /**
+     * Nanoseconds per unit of the Firebird time (100 microseconds).
+     */
+    private static final long NANOSECONDS_PER_FRACTION = 100 * 1000;
 
     private final IEncodingFactory encodingFactory;
 
@@ -75,7 +83,12 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public short decodeShort(byte[] byte_int) {
-        return (short) decodeInt(byte_int);
+        return decodeShort(byte_int, 0);
+    }
+
+    @Override
+    public short decodeShort(byte[] data, int offset) {
+        return (short) decodeInt(data, offset);
     }
 
     @Override
@@ -102,10 +115,15 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public int decodeInt(byte[] byte_int) {
-        int b1 = byte_int[0] & 0xFF;
-        int b2 = byte_int[1] & 0xFF;
-        int b3 = byte_int[2] & 0xFF;
-        int b4 = byte_int[3] & 0xFF;
+        return decodeInt(byte_int, 0);
+    }
+
+    @Override
+    public int decodeInt(byte[] data, int offset) {
+        int b1 = data[offset] & 0xFF;
+        int b2 = data[offset + 1] & 0xFF;
+        int b3 = data[offset + 2] & 0xFF;
+        int b4 = data[offset + 3] & 0xFF;
         return ((b1 << 24) + (b2 << 16) + (b3 << 8) + b4);
     }
 
@@ -125,14 +143,19 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public long decodeLong(byte[] byte_int) {
-        long b1 = byte_int[0] & 0xFF;
-        long b2 = byte_int[1] & 0xFF;
-        long b3 = byte_int[2] & 0xFF;
-        long b4 = byte_int[3] & 0xFF;
-        long b5 = byte_int[4] & 0xFF;
-        long b6 = byte_int[5] & 0xFF;
-        long b7 = byte_int[6] & 0xFF;
-        long b8 = byte_int[7] & 0xFF;
+        return decodeLong(byte_int, 0);
+    }
+
+    @Override
+    public long decodeLong(byte[] data, int offset) {
+        long b1 = data[offset] & 0xFF;
+        long b2 = data[offset + 1] & 0xFF;
+        long b3 = data[offset + 2] & 0xFF;
+        long b4 = data[offset + 3] & 0xFF;
+        long b5 = data[offset + 4] & 0xFF;
+        long b6 = data[offset + 5] & 0xFF;
+        long b7 = data[offset + 6] & 0xFF;
+        long b8 = data[offset + 7] & 0xFF;
         return ((b1 << 56) + (b2 << 48) + (b3 << 40) + (b4 << 32)
                 + (b5 << 24) + (b6 << 16) + (b7 << 8) + b8);
     }
@@ -144,7 +167,12 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public float decodeFloat(byte[] byte_int) {
-        return Float.intBitsToFloat(decodeInt(byte_int));
+        return decodeFloat(byte_int, 0);
+    }
+
+    @Override
+    public float decodeFloat(byte[] data, int offset) {
+        return Float.intBitsToFloat(decodeInt(data, offset));
     }
 
     @Override
@@ -154,7 +182,12 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public double decodeDouble(byte[] byte_int) {
-        return Double.longBitsToDouble(decodeLong(byte_int));
+        return decodeDouble(byte_int, 0);
+    }
+
+    @Override
+    public double decodeDouble(byte[] data, int offset) {
+        return Double.longBitsToDouble(decodeLong(data, offset));
     }
 
     @Override
@@ -175,6 +208,15 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
                 .decodeFromCharset(value);
     }
 
+    @Override
+    public String decodeString(byte[] data, int offset, int length, String javaEncoding, String mappingPath)
+            throws SQLException {
+        return encodingFactory
+                .getEncodingForCharsetAlias(javaEncoding)
+                .withTranslation(encodingFactory.getCharacterTranslator(mappingPath))
+                .decodeFromCharset(data, offset, length);
+    }
+
     // times,dates...
 
     @Override
@@ -250,17 +292,15 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
         if (byte_int.length != 8)
             throw new IllegalArgumentException("Bad parameter to decode");
 
+        return decodeTimestampCalendar(byte_int, 0, c);
+    }
+
+    @Override
+    public Timestamp decodeTimestampCalendar(byte[] data, int offset, Calendar c) {
         /* we have to extract time and date correctly
          * see encodeTimestamp(...) for explanations
          */
-
-        byte[] date = new byte[4];
-        byte[] time = new byte[4];
-
-        System.arraycopy(byte_int, 0, date, 0, 4);
-        System.arraycopy(byte_int, 4, time, 0, 4);
-
-        datetime d = new datetime(date, time);
+        datetime d = new datetime(data, offset, data, offset + 4);
         return d.toTimestamp(c);
     }
 
@@ -308,7 +348,12 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public Time decodeTimeCalendar(byte[] int_byte, Calendar c) {
-        datetime dt = new datetime(null, int_byte);
+        return decodeTimeCalendar(int_byte, 0, c);
+    }
+
+    @Override
+    public Time decodeTimeCalendar(byte[] data, int offset, Calendar c) {
+        datetime dt = new datetime(null, 0, data, offset);
         return dt.toTime(c);
     }
 
@@ -350,13 +395,23 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
 
     @Override
     public Date decodeDateCalendar(byte[] byte_int, Calendar c) {
-        datetime dt = new datetime(byte_int, null);
+        return decodeDateCalendar(byte_int, 0, c);
+    }
+
+    @Override
+    public Date decodeDateCalendar(byte[] data, int offset, Calendar c) {
+        datetime dt = new datetime(data, offset, null, 0);
         return dt.toDate(c);
     }
 
     @Override
     public boolean decodeBoolean(byte[] data) {
-        return data[0] != 0;
+        return decodeBoolean(data, 0);
+    }
+
+    @Override
+    public boolean decodeBoolean(byte[] data, int offset) {
+        return data[offset] != 0;
     }
 
     @Override
@@ -389,6 +444,46 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
         return result;
     }
 
+    @Override
+    public long decodeLocalDateEpochDay(byte[] date) {
+        return decodeLocalDateEpochDay(date, 0);
+    }
+
+    @Override
+    public long decodeLocalDateEpochDay(byte[] data, int offset) {
+        return decodeInt(data, offset) - MJD_EPOCH_DAY_OFFSET;
+    }
+
+    @Override
+    public long decodeLocalTimeNanoOfDay(byte[] time) {
+        return decodeLocalTimeNanoOfDay(time, 0);
+    }
+
+    @Override
+    public long decodeLocalTimeNanoOfDay(byte[] data, int offset) {
+        return decodeInt(data, offset) * NANOSECONDS_PER_FRACTION;
+    }
+
+    @Override
+    public long decodeLocalDateTimeEpochDay(byte[] timestamp) {
+        return decodeLocalDateTimeEpochDay(timestamp, 0);
+    }
+
+    @Override
+    public long decodeLocalDateTimeEpochDay(byte[] data, int offset) {
+        return decodeLocalDateEpochDay(data, offset);
+    }
+
+    @Override
+    public long decodeLocalDateTimeNanoOfDay(byte[] timestamp) {
+        return decodeLocalDateTimeNanoOfDay(timestamp, 0);
+    }
+
+    @Override
+    public long decodeLocalDateTimeNanoOfDay(byte[] data, int offset) {
+        return decodeLocalTimeNanoOfDay(data, offset + 4);
+    }
+
     @Override
     public IEncodingFactory getEncodingFactory() {
         return encodingFactory;
@@ -459,10 +554,10 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
             fractions = c.get(Calendar.MILLISECOND) * FRACTIONS_PER_MILLISECOND;
         }
 
-        datetime(byte[] date, byte[] time) {
+        datetime(byte[] date, int dateOffset, byte[] time, int timeOffset) {
 
             if (date != null) {
-                int sql_date = decodeInt(date);
+                int sql_date = decodeInt(date, dateOffset);
                 int century;
                 sql_date -= 1721119 - 2400001;
                 century = (4 * sql_date - 1) / 146097;
@@ -487,7 +582,7 @@ public class DefaultDatatypeCoder implements DatatypeCoder {
                 }
             }
             if (time != null) {
-                int fractionsInDay = decodeInt(time);
+                int fractionsInDay = decodeInt(time, timeOffset);
                 hour = fractionsInDay / FRACTIONS_PER_HOUR;
                 fractionsInDay -= hour * FRACTIONS_PER_HOUR;
                 minute = fractionsInDay / FRACTIONS_PER_MINUTE;
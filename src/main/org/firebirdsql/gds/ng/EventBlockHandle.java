@@ -0,0 +1,83 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.firebirdsql.gds.EventHandle;
+
+import java.util.List;
+
+/**
+ * Event handle for multiple events, which are queued on the server with a single event parameter block.
+ * <p>
+ * The server notifies the handle when at least one of its events occurred; the counts of all events are then updated
+ * together. Like a single event handle, the handle needs to be queued again (using
+ * {@link FbDatabase#queueEvent(EventHandle)}) after each notification.
+ * </p>
+ * <p>
+ * The methods of {@link EventHandle} apply to the first event of this handle.
+ * </p>
+ *
+ * @since 3.0
+ */
+public interface EventBlockHandle extends EventHandle {
+
+    /**
+     * Maximum number of events in one event block.
+     */
+    int MAX_EVENT_COUNT = 15;
+
+    /**
+     * @return Names of the events of this handle (unmodifiable)
+     */
+    List<String> getEventNames();
+
+    /**
+     * Get the count of occurrences of an event, as calculated by the last call to
+     * {@link FbDatabase#countEvents(EventHandle)}.
+     *
+     * @param index
+     *         Index of the event (in {@link #getEventNames()})
+     * @return Number of occurrences since the previous count
+     */
+    int getEventCount(int index);
+
+    /**
+     * Get the total count of an event as last reported by the server.
+     *
+     * @param index
+     *         Index of the event (in {@link #getEventNames()})
+     * @return Total event count known to this handle
+     */
+    int getServerEventCount(int index);
+
+    /**
+     * Sets the total count of an event known to the client.
+     * <p>
+     * When queued, the server only notifies this handle once the total count of one of its events is higher than the
+     * count known to the client. Setting the count of a previous handle for the same event before queueing this
+     * handle for the first time ensures that no occurrences are missed when replacing a handle.
+     * </p>
+     *
+     * @param index
+     *         Index of the event (in {@link #getEventNames()})
+     * @param count
+     *         Total event count
+     */
+    void setServerEventCount(int index, int count);
+}
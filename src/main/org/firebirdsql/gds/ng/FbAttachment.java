@@ -72,11 +72,22 @@ public interface FbAttachment extends AutoCloseable {
     boolean isAttached();
 
     /**
-     * Get synchronization object.
+     * Acquires the lock granting exclusive access to this attachment and its connection.
+     * <p>
+     * Operations that communicate with the server, or modify state shared with the objects created by this attachment,
+     * need to hold this lock. See {@link ConnectionLock} for the ownership model.
+     * </p>
      *
-     * @return object, cannot be <code>null</code>.
+     * @return Handle to release the lock (release in a {@code finally} block)
+     * @throws SQLException
+     *         If the lock could not be acquired within the lock timeout
+     */
+    LockCloseable withLock() throws SQLException;
+
+    /**
+     * @return Snapshot of the contention metrics of the lock of this attachment
      */
-    Object getSynchronizationObject();
+    LockStatistics getLockStatistics();
 
     /**
      * @return The {@link IEncodingFactory} for this connection
@@ -129,6 +129,59 @@ public interface FbBlob {
      */
     byte[] getSegment(int sizeRequested) throws SQLException;
 
+    /**
+     * Reads blob data into the provided buffer, reading as many segments as necessary.
+     * <p>
+     * Implementations may request multiple segments from the server at once (read-ahead), but never read more than
+     * <code>len</code> bytes from the blob, so this method can be mixed with {@link #getSegment(int)}.
+     * </p>
+     *
+     * @param b
+     *         Buffer to read into
+     * @param off
+     *         Offset in <code>b</code>
+     * @param len
+     *         Number of bytes to read
+     * @return Number of bytes read, this is less than <code>len</code> only if the end of the blob was reached
+     * @throws SQLException
+     *         If this is an output blob, the blob is closed, the transaction is not active, or a database connection
+     *         error occurred.
+     * @throws IndexOutOfBoundsException
+     *         If <code>off</code> or <code>len</code> are negative, or <code>off + len</code> is larger than the length
+     *         of <code>b</code>
+     */
+    int get(byte[] b, int off, int len) throws SQLException;
+
+    /**
+     * Reads blob data into the provided buffer, stopping when at least <code>minFillFactor * len</code> bytes have
+     * been read.
+     * <p>
+     * Segment boundaries usually prevent filling a buffer exactly in a single round trip to the server; a fill
+     * factor below <code>1</code> avoids an additional round trip for the last few bytes.
+     * </p>
+     *
+     * @param b
+     *         Buffer to read into
+     * @param off
+     *         Offset in <code>b</code>
+     * @param len
+     *         Maximum number of bytes to read
+     * @param minFillFactor
+     *         Minimum fill factor (<code>0 &lt; minFillFactor &lt;= 1</code>)
+     * @return Number of bytes read, this is less than <code>minFillFactor * len</code> only if the end of the blob was
+     * reached
+     * @throws SQLException
+     *         If this is an output blob, the blob is closed, the transaction is not active, or a database connection
+     *         error occurred.
+     * @throws IndexOutOfBoundsException
+     *         If <code>off</code> or <code>len</code> are negative, or <code>off + len</code> is larger than the length
+     *         of <code>b</code>
+     * @throws IllegalArgumentException
+     *         If <code>minFillFactor</code> is out of range
+     * @see #get(byte[], int, int)
+     */
+    int get(byte[] b, int off, int len, float minFillFactor) throws SQLException;
+
     /**
      * Writes a segment of blob data.
      * <p>
@@ -146,6 +199,28 @@ public interface FbBlob {
      */
     void putSegment(byte[] segment) throws SQLException;
 
+    /**
+     * Writes blob data from the provided buffer, split into as many segments as necessary.
+     * <p>
+     * Implementations may send multiple segments to the server at once, and write directly from <code>b</code>
+     * without copying. The segment boundaries are chosen by the implementation.
+     * </p>
+     *
+     * @param b
+     *         Buffer with the data to write
+     * @param off
+     *         Offset in <code>b</code>
+     * @param len
+     *         Number of bytes to write
+     * @throws SQLException
+     *         If this is an input blob, the blob is closed, the transaction is not active, <code>len</code> is 0, or a
+     *         database connection error occurred.
+     * @throws IndexOutOfBoundsException
+     *         If <code>off</code> or <code>len</code> are negative, or <code>off + len</code> is larger than the length
+     *         of <code>b</code>
+     */
+    void put(byte[] b, int off, int len) throws SQLException;
+
     /**
      * Performs a seek on a blob with the specified <code>seekMode</code> and <code>offset</code>.
      * <p>
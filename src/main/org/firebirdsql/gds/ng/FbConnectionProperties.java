@@ -44,6 +44,18 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
     private int pageCacheSize;
     private boolean resultSetDefaultHoldable;
     private boolean columnLabelForName;
+    private boolean useFetchArena;
+    private int prefetchWatermark;
+    private int adaptiveFetchMemoryLimit;
+    private boolean pipelinedBatch;
+    private int statementCacheSize;
+    private boolean wireCompression;
+    private int metaDataCacheTimeToLive;
+    private int metaDataCacheSize = IConnectionProperties.DEFAULT_META_DATA_CACHE_SIZE;
+    private int resultSetSpillThreshold;
+    private int inlineBlobThreshold;
+    private int lockTimeout;
+    private boolean useSocketChannel;
     private final DatabaseParameterBuffer extraDatabaseParameters = new DatabaseParameterBufferImp(
             DatabaseParameterBufferImp.DpbMetaData.DPB_VERSION_1,
             EncodingFactory.getDefaultInstance().getDefaultEncoding());
@@ -68,6 +80,18 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
             pageCacheSize = src.getPageCacheSize();
             resultSetDefaultHoldable = src.isResultSetDefaultHoldable();
             columnLabelForName = src.isColumnLabelForName();
+            useFetchArena = src.isUseFetchArena();
+            prefetchWatermark = src.getPrefetchWatermark();
+            adaptiveFetchMemoryLimit = src.getAdaptiveFetchMemoryLimit();
+            pipelinedBatch = src.isPipelinedBatch();
+            statementCacheSize = src.getStatementCacheSize();
+            wireCompression = src.isWireCompression();
+            metaDataCacheTimeToLive = src.getMetaDataCacheTimeToLive();
+            metaDataCacheSize = src.getMetaDataCacheSize();
+            resultSetSpillThreshold = src.getResultSetSpillThreshold();
+            inlineBlobThreshold = src.getInlineBlobThreshold();
+            lockTimeout = src.getLockTimeout();
+            useSocketChannel = src.isUseSocketChannel();
             for (Parameter parameter : src.getExtraDatabaseParameters()) {
                 parameter.copyTo(extraDatabaseParameters, null);
             }
@@ -140,6 +164,138 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
         return columnLabelForName;
     }
 
+    @Override
+    public void setUseFetchArena(final boolean useFetchArena) {
+        this.useFetchArena = useFetchArena;
+        dirtied();
+    }
+
+    @Override
+    public boolean isUseFetchArena() {
+        return useFetchArena;
+    }
+
+    @Override
+    public void setPrefetchWatermark(final int prefetchWatermark) {
+        this.prefetchWatermark = prefetchWatermark;
+        dirtied();
+    }
+
+    @Override
+    public int getPrefetchWatermark() {
+        return prefetchWatermark;
+    }
+
+    @Override
+    public void setAdaptiveFetchMemoryLimit(final int adaptiveFetchMemoryLimit) {
+        this.adaptiveFetchMemoryLimit = adaptiveFetchMemoryLimit;
+        dirtied();
+    }
+
+    @Override
+    public int getAdaptiveFetchMemoryLimit() {
+        return adaptiveFetchMemoryLimit;
+    }
+
+    @Override
+    public void setPipelinedBatch(final boolean pipelinedBatch) {
+        this.pipelinedBatch = pipelinedBatch;
+        dirtied();
+    }
+
+    @Override
+    public boolean isPipelinedBatch() {
+        return pipelinedBatch;
+    }
+
+    @Override
+    public void setStatementCacheSize(final int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+        dirtied();
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public void setWireCompression(final boolean wireCompression) {
+        this.wireCompression = wireCompression;
+        dirtied();
+    }
+
+    @Override
+    public boolean isWireCompression() {
+        return wireCompression;
+    }
+
+    @Override
+    public void setMetaDataCacheTimeToLive(final int metaDataCacheTimeToLive) {
+        this.metaDataCacheTimeToLive = metaDataCacheTimeToLive;
+        dirtied();
+    }
+
+    @Override
+    public int getMetaDataCacheTimeToLive() {
+        return metaDataCacheTimeToLive;
+    }
+
+    @Override
+    public void setMetaDataCacheSize(final int metaDataCacheSize) {
+        this.metaDataCacheSize = metaDataCacheSize;
+        dirtied();
+    }
+
+    @Override
+    public int getMetaDataCacheSize() {
+        return metaDataCacheSize;
+    }
+
+    @Override
+    public void setResultSetSpillThreshold(final int resultSetSpillThreshold) {
+        this.resultSetSpillThreshold = resultSetSpillThreshold;
+        dirtied();
+    }
+
+    @Override
+    public int getResultSetSpillThreshold() {
+        return resultSetSpillThreshold;
+    }
+
+    @Override
+    public void setInlineBlobThreshold(final int inlineBlobThreshold) {
+        this.inlineBlobThreshold = inlineBlobThreshold;
+        dirtied();
+    }
+
+    @Override
+    public int getInlineBlobThreshold() {
+        return inlineBlobThreshold;
+    }
+
+    @Override
+    public void setLockTimeout(final int lockTimeout) {
+        this.lockTimeout = lockTimeout;
+        dirtied();
+    }
+
+    @Override
+    public int getLockTimeout() {
+        return lockTimeout;
+    }
+
+    @Override
+    public void setUseSocketChannel(final boolean useSocketChannel) {
+        this.useSocketChannel = useSocketChannel;
+        dirtied();
+    }
+
+    @Override
+    public boolean isUseSocketChannel() {
+        return useSocketChannel;
+    }
+
     @Override
     public DatabaseParameterBuffer getExtraDatabaseParameters() {
         return extraDatabaseParameters;
@@ -208,6 +364,42 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
             case isc_dpb_column_label_for_name:
                 setColumnLabelForName(true);
                 break;
+            case isc_dpb_use_fetch_arena:
+                setUseFetchArena(true);
+                break;
+            case isc_dpb_prefetch_watermark:
+                setPrefetchWatermark(parameter.getValueAsInt());
+                break;
+            case isc_dpb_adaptive_fetch_memory_limit:
+                setAdaptiveFetchMemoryLimit(parameter.getValueAsInt());
+                break;
+            case isc_dpb_pipelined_batch:
+                setPipelinedBatch(true);
+                break;
+            case isc_dpb_statement_cache_size:
+                setStatementCacheSize(parameter.getValueAsInt());
+                break;
+            case isc_dpb_wire_compression:
+                setWireCompression(true);
+                break;
+            case isc_dpb_meta_data_cache_ttl:
+                setMetaDataCacheTimeToLive(parameter.getValueAsInt());
+                break;
+            case isc_dpb_meta_data_cache_size:
+                setMetaDataCacheSize(parameter.getValueAsInt());
+                break;
+            case isc_dpb_result_set_spill_threshold:
+                setResultSetSpillThreshold(parameter.getValueAsInt());
+                break;
+            case isc_dpb_inline_blob_threshold:
+                setInlineBlobThreshold(parameter.getValueAsInt());
+                break;
+            case isc_dpb_lock_timeout:
+                setLockTimeout(parameter.getValueAsInt());
+                break;
+            case isc_dpb_use_socket_channel:
+                setUseSocketChannel(true);
+                break;
             case isc_dpb_utf8_filename:
                 // Filter out, handled explicitly in protocol implementation
                 break;
@@ -31,6 +31,7 @@ import org.firebirdsql.gds.TransactionParameterBuffer;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Connection handle to a database.
@@ -132,6 +133,30 @@ public interface FbDatabase extends FbAttachment {
     FbBlob createBlobForInput(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer,
             long blobId) throws SQLException;
 
+    /**
+     * Reads the content of multiple (small) blobs at once.
+     * <p>
+     * Implementations may pipeline the open, read and close operations of all blobs, so the content is retrieved with
+     * a fixed number of round trips instead of several round trips per blob. Blobs longer than {@code maxLength}, and
+     * blobs that could not be read (for example because the blob id is invalid), are reported as {@code null}; errors
+     * for those blobs are not thrown, and should be reported by reading them through
+     * {@link #createBlobForInput(FbTransaction, BlobParameterBuffer, long)}. Implementations that do not support
+     * reading blobs in bulk return {@code null} for all blobs.
+     * </p>
+     *
+     * @param transaction
+     *         Transaction associated with the blobs.
+     * @param blobIds
+     *         Ids of the blobs to read
+     * @param maxLength
+     *         Maximum length of blob content to return
+     * @return Array with the content of each blob (same order as {@code blobIds}), or {@code null} for a blob that was
+     * not read
+     * @throws SQLException
+     *         For database communication errors, or when the transaction is not active
+     */
+    byte[][] getBlobContents(FbTransaction transaction, long[] blobIds, int maxLength) throws SQLException;
+
     /**
      * Creates a blob parameter buffer that is usable with {@link #createBlobForInput(FbTransaction, org.firebirdsql.gds.BlobParameterBuffer, long)}
      * and {@link #createBlobForOutput(FbTransaction, org.firebirdsql.gds.BlobParameterBuffer)} of this instance.
@@ -252,6 +277,31 @@ public interface FbDatabase extends FbAttachment {
      */
     EventHandle createEventHandle(String eventName, EventHandler eventHandler) throws SQLException;
 
+    /**
+     * Creates an event handle for multiple events, which are queued and notified together.
+     * <p>
+     * The returned event handle can be used with {@link #queueEvent(org.firebirdsql.gds.EventHandle)},
+     * {@link #countEvents(org.firebirdsql.gds.EventHandle)} and {@link #cancelEvent(org.firebirdsql.gds.EventHandle)}.
+     * Using a single handle for several events reduces the number of event requests queued on the server.
+     * </p>
+     *
+     * @param eventNames
+     *         Names of the events (at least 1, at most {@link EventBlockHandle#MAX_EVENT_COUNT})
+     * @param eventHandler
+     *         The event handler to call when one or more of the events occurred
+     * @return A suitable event handle instance
+     * @throws java.sql.SQLFeatureNotSupportedException
+     *         If this database type does not support event blocks (see {@link #supportsEventBlocks()})
+     * @throws SQLException
+     *         For errors creating the event handle
+     */
+    EventBlockHandle createEventBlockHandle(List<String> eventNames, EventHandler eventHandler) throws SQLException;
+
+    /**
+     * @return {@code true} if this database type supports {@link #createEventBlockHandle(List, EventHandler)}
+     */
+    boolean supportsEventBlocks();
+
     /**
      * Counts the events occurred.
      *
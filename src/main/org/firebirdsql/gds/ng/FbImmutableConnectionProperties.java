@@ -35,6 +35,18 @@ public final class FbImmutableConnectionProperties extends AbstractImmutableAtta
     private final int pageCacheSize;
     private final boolean resultSetDefaultHoldable;
     private final boolean columnLabelForName;
+    private final boolean useFetchArena;
+    private final int prefetchWatermark;
+    private final int adaptiveFetchMemoryLimit;
+    private final boolean pipelinedBatch;
+    private final int statementCacheSize;
+    private final boolean wireCompression;
+    private final int metaDataCacheTimeToLive;
+    private final int metaDataCacheSize;
+    private final int resultSetSpillThreshold;
+    private final int inlineBlobThreshold;
+    private final int lockTimeout;
+    private final boolean useSocketChannel;
     private final DatabaseParameterBuffer extraDatabaseParameters;
 
     /**
@@ -54,6 +66,18 @@ public final class FbImmutableConnectionProperties extends AbstractImmutableAtta
         pageCacheSize = src.getPageCacheSize();
         resultSetDefaultHoldable = src.isResultSetDefaultHoldable();
         columnLabelForName = src.isColumnLabelForName();
+        useFetchArena = src.isUseFetchArena();
+        prefetchWatermark = src.getPrefetchWatermark();
+        adaptiveFetchMemoryLimit = src.getAdaptiveFetchMemoryLimit();
+        pipelinedBatch = src.isPipelinedBatch();
+        statementCacheSize = src.getStatementCacheSize();
+        wireCompression = src.isWireCompression();
+        metaDataCacheTimeToLive = src.getMetaDataCacheTimeToLive();
+        metaDataCacheSize = src.getMetaDataCacheSize();
+        resultSetSpillThreshold = src.getResultSetSpillThreshold();
+        inlineBlobThreshold = src.getInlineBlobThreshold();
+        lockTimeout = src.getLockTimeout();
+        useSocketChannel = src.isUseSocketChannel();
         extraDatabaseParameters = src.getExtraDatabaseParameters().deepCopy();
     }
 
@@ -112,6 +136,126 @@ public final class FbImmutableConnectionProperties extends AbstractImmutableAtta
         return columnLabelForName;
     }
 
+    @Override
+    public void setUseFetchArena(final boolean useFetchArena) {
+        immutable();
+    }
+
+    @Override
+    public boolean isUseFetchArena() {
+        return useFetchArena;
+    }
+
+    @Override
+    public void setPrefetchWatermark(final int prefetchWatermark) {
+        immutable();
+    }
+
+    @Override
+    public int getPrefetchWatermark() {
+        return prefetchWatermark;
+    }
+
+    @Override
+    public void setAdaptiveFetchMemoryLimit(final int adaptiveFetchMemoryLimit) {
+        immutable();
+    }
+
+    @Override
+    public int getAdaptiveFetchMemoryLimit() {
+        return adaptiveFetchMemoryLimit;
+    }
+
+    @Override
+    public void setPipelinedBatch(final boolean pipelinedBatch) {
+        immutable();
+    }
+
+    @Override
+    public boolean isPipelinedBatch() {
+        return pipelinedBatch;
+    }
+
+    @Override
+    public void setStatementCacheSize(final int statementCacheSize) {
+        immutable();
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public void setWireCompression(final boolean wireCompression) {
+        immutable();
+    }
+
+    @Override
+    public boolean isWireCompression() {
+        return wireCompression;
+    }
+
+    @Override
+    public void setMetaDataCacheTimeToLive(final int metaDataCacheTimeToLive) {
+        immutable();
+    }
+
+    @Override
+    public int getMetaDataCacheTimeToLive() {
+        return metaDataCacheTimeToLive;
+    }
+
+    @Override
+    public void setMetaDataCacheSize(final int metaDataCacheSize) {
+        immutable();
+    }
+
+    @Override
+    public int getMetaDataCacheSize() {
+        return metaDataCacheSize;
+    }
+
+    @Override
+    public void setResultSetSpillThreshold(final int resultSetSpillThreshold) {
+        immutable();
+    }
+
+    @Override
+    public int getResultSetSpillThreshold() {
+        return resultSetSpillThreshold;
+    }
+
+    @Override
+    public void setInlineBlobThreshold(final int inlineBlobThreshold) {
+        immutable();
+    }
+
+    @Override
+    public int getInlineBlobThreshold() {
+        return inlineBlobThreshold;
+    }
+
+    @Override
+    public void setLockTimeout(final int lockTimeout) {
+        immutable();
+    }
+
+    @Override
+    public int getLockTimeout() {
+        return lockTimeout;
+    }
+
+    @Override
+    public void setUseSocketChannel(final boolean useSocketChannel) {
+        immutable();
+    }
+
+    @Override
+    public boolean isUseSocketChannel() {
+        return useSocketChannel;
+    }
+
     @Override
     public DatabaseParameterBuffer getExtraDatabaseParameters() {
         return extraDatabaseParameters.deepCopy();
@@ -29,6 +29,7 @@ import org.firebirdsql.gds.ng.fields.RowValue;
 import org.firebirdsql.gds.ng.listeners.StatementListener;
 
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * API for statement handles.
@@ -136,6 +137,47 @@ public interface FbStatement {
      */
     void execute(RowValue parameters) throws SQLException;
 
+    /**
+     * Executes the statement once for each of the parameter sets.
+     * <p>
+     * Implementations may send multiple executions to the server before reading their responses (pipelining). As a
+     * result, parameter sets following a failed execution may have been executed as well. The returned result only
+     * reports the SQL counts up to the first failed execution.
+     * </p>
+     * <p>
+     * This method can only be used for statements without a result set (ie with an empty field descriptor).
+     * </p>
+     *
+     * @param parameterSets
+     *         The parameter sets to execute the statement with
+     * @return Result of the batch execution
+     * @throws SQLException
+     *         When the statement has a result set, when the number or type of parameters in a parameter set does not
+     *         match the types returned by {@link #getParameterDescriptor()}, or for errors communicating with the
+     *         database
+     */
+    BatchExecutionResult executeBatch(List<RowValue> parameterSets) throws SQLException;
+
+    /**
+     * Prepares and executes each of the statement texts (without parameters) in order, reusing this statement.
+     * <p>
+     * Implementations may send multiple prepares and executions to the server before reading their responses
+     * (pipelining). As a result, statement texts following a failed statement may have been executed as well. The
+     * returned result only reports the SQL counts up to the first failed statement. A statement text that produces a
+     * result set is reported as a failure.
+     * </p>
+     * <p>
+     * After this method, the statement is prepared with the last statement text that was successfully prepared.
+     * </p>
+     *
+     * @param statementTexts
+     *         Statement texts to prepare and execute
+     * @return Result of the batch execution
+     * @throws SQLException
+     *         When the current statement state does not allow prepare, or for errors communicating with the database
+     */
+    BatchExecutionResult prepareAndExecuteBatch(List<String> statementTexts) throws SQLException;
+
     /**
      * Requests this statement to fetch the next <code>fetchSize</code> rows.
      * <p>
@@ -150,6 +192,21 @@ public interface FbStatement {
      */
     void fetchRows(int fetchSize) throws SQLException;
 
+    /**
+     * Requests this statement to start fetching the next <code>fetchSize</code> rows without waiting for the response.
+     * <p>
+     * The rows are received and sent to the registered {@link org.firebirdsql.gds.ng.listeners.StatementListener}
+     * instances at the latest on the next call to {@link #fetchRows(int)}, which will then not request additional rows
+     * from the server. Implementations that do not support prefetching can ignore this call.
+     * </p>
+     *
+     * @param fetchSize
+     *         Number of rows to fetch (must be <code>&gt; 0</code>)
+     * @throws SQLException
+     *         For database access errors, when called on a closed statement, or when no cursor is open.
+     */
+    void prefetchRows(int fetchSize) throws SQLException;
+
     /**
      * Registers a {@link org.firebirdsql.gds.ng.listeners.StatementListener}.
      *
@@ -39,6 +39,7 @@ public interface IConnectionProperties extends IAttachProperties<IConnectionProp
 
     short DEFAULT_DIALECT = 3;
     int DEFAULT_BUFFERS_NUMBER = 0;
+    int DEFAULT_META_DATA_CACHE_SIZE = 256;
 
     /**
      * @return Name or alias of the database
@@ -157,6 +158,240 @@ public interface IConnectionProperties extends IAttachProperties<IConnectionProp
      */
     boolean isColumnLabelForName();
 
+    /**
+     * Set if fetched rows should store their field data in shared arena buffers.
+     * <p>
+     * When enabled, the field data of fetched rows is read into shared chunks (see
+     * {@link org.firebirdsql.gds.ng.fields.FieldDataArena}) instead of a separate byte array per column. The data of
+     * a field is only copied into its own array when it is actually accessed. This reduces the number of allocations
+     * for queries that fetch a large number of rows.
+     * </p>
+     *
+     * @param useFetchArena
+     *         <code>true</code> use shared arena buffers, <code>false</code> (default) allocate an array per column
+     */
+    void setUseFetchArena(boolean useFetchArena);
+
+    /**
+     * @return <code>true</code> if fetched field data is stored in shared arena buffers
+     * @see #setUseFetchArena(boolean)
+     */
+    boolean isUseFetchArena();
+
+    /**
+     * Set the watermark for prefetching rows of forward-only result sets.
+     * <p>
+     * When the specified percentage of the current batch of rows has been consumed, the next batch is requested
+     * from the server without waiting for the response, so network latency overlaps with the processing of the
+     * remaining rows. Prefetching requires protocol version 11 or higher.
+     * </p>
+     *
+     * @param prefetchWatermark
+     *         Percentage (<code>1</code> - <code>100</code>) of the batch consumed before prefetching the next batch,
+     *         <code>0</code> (default) disables prefetching
+     */
+    void setPrefetchWatermark(int prefetchWatermark);
+
+    /**
+     * @return Percentage of the batch consumed before prefetching the next batch, <code>0</code> if disabled
+     * @see #setPrefetchWatermark(int)
+     */
+    int getPrefetchWatermark();
+
+    /**
+     * Set the memory limit for adaptive fetch sizes.
+     * <p>
+     * When enabled, result sets without an explicit fetch size size each fetch from the estimated size of a row and
+     * the measured duration of previous fetches, instead of using a fixed number of rows. The estimated memory of a
+     * single batch of rows will not exceed the specified limit.
+     * </p>
+     *
+     * @param adaptiveFetchMemoryLimit
+     *         Memory limit in KiB for a batch of rows, <code>0</code> (default) disables adaptive fetch size
+     */
+    void setAdaptiveFetchMemoryLimit(int adaptiveFetchMemoryLimit);
+
+    /**
+     * @return Memory limit in KiB for a batch of rows with adaptive fetch size, <code>0</code> if disabled
+     * @see #setAdaptiveFetchMemoryLimit(int)
+     */
+    int getAdaptiveFetchMemoryLimit();
+
+    /**
+     * Set if batch executions are pipelined.
+     * <p>
+     * When enabled, <code>executeBatch</code> sends multiple executions to the server before reading their responses,
+     * instead of waiting for the response of each execution. The batch is protected by a savepoint, so on failure the
+     * batch is re-executed without pipelining to report the failure with unchanged semantics.
+     * </p>
+     *
+     * @param pipelinedBatch
+     *         <code>true</code> pipeline batch executions, <code>false</code> (default) execute one at a time
+     */
+    void setPipelinedBatch(boolean pipelinedBatch);
+
+    /**
+     * @return <code>true</code> if batch executions are pipelined
+     * @see #setPipelinedBatch(boolean)
+     */
+    boolean isPipelinedBatch();
+
+    /**
+     * Set the size of the prepared statement cache of a connection.
+     * <p>
+     * When enabled, closing a prepared statement returns its statement handle to a cache, and preparing the same
+     * statement text (with the same result set type, concurrency, holdability and generated keys mode) reuses that
+     * handle instead of preparing the statement on the server again. The least recently used handles are freed when
+     * the cache is full.
+     * </p>
+     *
+     * @param statementCacheSize
+     *         Maximum number of cached statement handles, <code>0</code> (default) disables the cache
+     */
+    void setStatementCacheSize(int statementCacheSize);
+
+    /**
+     * @return Maximum number of cached statement handles, <code>0</code> if disabled
+     * @see #setStatementCacheSize(int)
+     */
+    int getStatementCacheSize();
+
+    /**
+     * Set if zlib compression of the wire protocol should be requested.
+     * <p>
+     * Compression is only used if the server agrees (Firebird 3 or higher with protocol version 13, and
+     * <code>WireCompression</code> not disabled in the server configuration). It reduces the bytes sent over the
+     * network at the cost of CPU on both sides, which is mostly useful on slow or high latency networks.
+     * </p>
+     *
+     * @param wireCompression
+     *         <code>true</code> to request wire compression, <code>false</code> (default) otherwise
+     */
+    void setWireCompression(boolean wireCompression);
+
+    /**
+     * @return <code>true</code> if wire compression is requested
+     * @see #setWireCompression(boolean)
+     */
+    boolean isWireCompression();
+
+    /**
+     * Set the time that results of {@link java.sql.DatabaseMetaData} queries are cached.
+     * <p>
+     * When enabled, the results of metadata queries are cached and shared by the connections created by the same
+     * managed connection factory (and for the same user and role). The cache is cleared when DDL is executed through
+     * Jaybird, but DDL executed by other applications is only seen after the cached results expire.
+     * </p>
+     *
+     * @param metaDataCacheTimeToLive
+     *         Time in milliseconds that results are cached, <code>0</code> (default) disables the cache
+     */
+    void setMetaDataCacheTimeToLive(int metaDataCacheTimeToLive);
+
+    /**
+     * @return Time in milliseconds that metadata results are cached, <code>0</code> if disabled
+     * @see #setMetaDataCacheTimeToLive(int)
+     */
+    int getMetaDataCacheTimeToLive();
+
+    /**
+     * Set the maximum number of cached metadata results.
+     * <p>
+     * Only used when the metadata cache is enabled with {@link #setMetaDataCacheTimeToLive(int)}. The cache is created
+     * by the first connection that uses it, so the settings of that connection apply.
+     * </p>
+     *
+     * @param metaDataCacheSize
+     *         Maximum number of cached results (default {@value #DEFAULT_META_DATA_CACHE_SIZE})
+     */
+    void setMetaDataCacheSize(int metaDataCacheSize);
+
+    /**
+     * @return Maximum number of cached metadata results
+     * @see #setMetaDataCacheSize(int)
+     */
+    int getMetaDataCacheSize();
+
+    /**
+     * Set the number of rows of a scrollable or holdable result set that are kept in memory.
+     * <p>
+     * Scrollable and holdable result sets fetch all rows when the query is executed. When the number of rows exceeds
+     * this threshold, the rows (including the cached blob data) are moved to a temporary file, and are read back
+     * (memory mapped) when the result set is positioned on them. The heap then only holds the position of each row in
+     * the file. The temporary file is deleted when the result set is closed.
+     * </p>
+     *
+     * @param resultSetSpillThreshold
+     *         Maximum number of rows kept in memory, <code>0</code> (default) keeps all rows in memory
+     */
+    void setResultSetSpillThreshold(int resultSetSpillThreshold);
+
+    /**
+     * @return Maximum number of rows of a scrollable or holdable result set kept in memory, <code>0</code> if all
+     * rows are kept in memory
+     * @see #setResultSetSpillThreshold(int)
+     */
+    int getResultSetSpillThreshold();
+
+    /**
+     * Set the maximum length of blobs that are read together with the fetched rows.
+     * <p>
+     * When enabled, the blobs of each batch of fetched rows are opened, read and closed with two round trips for the
+     * entire batch. Blobs with a length up to this threshold are attached to the row, and are returned as a (read-only)
+     * {@link org.firebirdsql.jdbc.FBCachedBlob} without further communication with the server. Longer blobs are read
+     * from the server when accessed, as before.
+     * </p>
+     *
+     * @param inlineBlobThreshold
+     *         Maximum length in bytes of inline blobs, <code>0</code> (default) disables inline blobs
+     */
+    void setInlineBlobThreshold(int inlineBlobThreshold);
+
+    /**
+     * @return Maximum length in bytes of blobs that are read together with the fetched rows, <code>0</code> if
+     * disabled
+     * @see #setInlineBlobThreshold(int)
+     */
+    int getInlineBlobThreshold();
+
+    /**
+     * Set the maximum time to wait for exclusive access to the connection.
+     * <p>
+     * Operations on a connection are serialized by a {@link ConnectionLock}. When the connection is in use by another
+     * thread for longer than this timeout, the operation fails with a {@link java.sql.SQLTimeoutException}.
+     * </p>
+     *
+     * @param lockTimeout
+     *         Lock timeout in milliseconds, <code>0</code> (default) waits indefinitely
+     */
+    void setLockTimeout(int lockTimeout);
+
+    /**
+     * @return Lock timeout in milliseconds, <code>0</code> if operations wait indefinitely for access to the
+     * connection
+     * @see #setLockTimeout(int)
+     */
+    int getLockTimeout();
+
+    /**
+     * Set if the connection to the server should use a {@link java.nio.channels.SocketChannel} instead of a
+     * {@link java.net.Socket}.
+     * <p>
+     * Reads and writes then go directly to the channel, without the monitors of the classic socket streams. This is
+     * only supported by the pure Java wire protocol implementation.
+     * </p>
+     *
+     * @param useSocketChannel
+     *         <code>true</code> to use a socket channel, <code>false</code> (default) to use a socket
+     */
+    void setUseSocketChannel(boolean useSocketChannel);
+
+    /**
+     * @return <code>true</code> if the connection uses a socket channel
+     * @see #setUseSocketChannel(boolean)
+     */
+    boolean isUseSocketChannel();
+
     /**
      * Gets the extra database parameters. This can be used to pass extra database parameters that are not directly
      * supported.
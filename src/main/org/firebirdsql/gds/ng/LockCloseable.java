@@ -0,0 +1,46 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+/**
+ * Handle of an acquired lock, releasing the lock on {@link #close()}.
+ * <p>
+ * Within the driver, the lock is released in a {@code finally} block:
+ * <pre>
+ * final LockCloseable lock = database.withLock();
+ * try {
+ *     // exclusive access to the connection
+ * } finally {
+ *     lock.close();
+ * }
+ * </pre>
+ * This is preferred over try-with-resources, where the resource variable is never referenced in the body and
+ * compilation with {@code -Xlint} reports a {@code [try]} warning.
+ * </p>
+ *
+ * @since 3.0
+ */
+public interface LockCloseable extends AutoCloseable {
+
+    /**
+     * Releases the lock.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,94 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the contention metrics of a {@link ConnectionLock}.
+ *
+ * @since 3.0
+ */
+public final class LockStatistics {
+
+    private final long acquireCount;
+    private final long contendedCount;
+    private final long timeoutCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    LockStatistics(long acquireCount, long contendedCount, long timeoutCount, long totalWaitNanos,
+            long maxWaitNanos) {
+        this.acquireCount = acquireCount;
+        this.contendedCount = contendedCount;
+        this.timeoutCount = timeoutCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * @return Number of times the lock was acquired (including reentrant acquisitions)
+     */
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    /**
+     * @return Number of acquisitions (including timed out attempts) that had to wait for another thread
+     */
+    public long getContendedCount() {
+        return contendedCount;
+    }
+
+    /**
+     * @return Number of attempts that failed because of the lock timeout
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * @param unit
+     *         Time unit of the result
+     * @return Total time spent waiting for the lock
+     */
+    public long getTotalWaitTime(TimeUnit unit) {
+        return unit.convert(totalWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit
+     *         Time unit of the result
+     * @return Longest time spent waiting for the lock
+     */
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "LockStatistics{" +
+                "acquireCount=" + acquireCount +
+                ", contendedCount=" + contendedCount +
+                ", timeoutCount=" + timeoutCount +
+                ", totalWaitNanos=" + totalWaitNanos +
+                ", maxWaitNanos=" + maxWaitNanos +
+                '}';
+    }
+}
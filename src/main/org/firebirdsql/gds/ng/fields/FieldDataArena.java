@@ -0,0 +1,118 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.fields;
+
+/**
+ * Bump-pointer allocator for field data of fetched rows.
+ * <p>
+ * Instead of allocating a separate byte array for each column of each row, the field data of consecutive rows is
+ * stored in a shared chunk, and {@link FieldValue} instances reference their data as a slice of that chunk (see
+ * {@link FieldValue#setFieldData(byte[], int, int)}). A chunk is never overwritten: when it is full a new chunk is
+ * started, and the old chunk is garbage collected once no row references it anymore. This makes it safe to hand out
+ * rows to consumers that retain them (eg cached result sets), at the cost of retaining the whole chunk as long as
+ * one of its slices is reachable.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+public final class FieldDataArena {
+
+    /**
+     * Default size of an arena chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32 * 1024;
+
+    private final int chunkSize;
+    private final int maxSliceLength;
+    private byte[] chunk;
+    private int position;
+    private int lastAllocation = -1;
+
+    /**
+     * Creates an arena with chunks of {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    public FieldDataArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an arena with the specified chunk size.
+     *
+     * @param chunkSize
+     *         Size of a chunk (minimum 64)
+     */
+    public FieldDataArena(int chunkSize) {
+        if (chunkSize < 64) {
+            throw new IllegalArgumentException("chunkSize should be at least 64, was " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        // Larger values get their own array to avoid wasting the remainder of a chunk
+        maxSliceLength = chunkSize / 4;
+        chunk = new byte[chunkSize];
+    }
+
+    /**
+     * Allocates <code>length</code> bytes in the current chunk.
+     * <p>
+     * After a successful allocation, the allocated range starts at {@link #getLastOffset()} in the array returned by
+     * this method.
+     * </p>
+     *
+     * @param length
+     *         Number of bytes to allocate
+     * @return Array to write the data to; this is the current chunk, or a new array of exactly <code>length</code>
+     * bytes (with offset <code>0</code>) if the requested length is too large to share a chunk
+     */
+    public byte[] allocate(int length) {
+        if (length > maxSliceLength) {
+            lastAllocation = -1;
+            return new byte[length];
+        }
+        if (position + length > chunkSize) {
+            chunk = new byte[chunkSize];
+            position = 0;
+        }
+        lastAllocation = position;
+        position += length;
+        return chunk;
+    }
+
+    /**
+     * @return Offset of the last allocation in the array returned by {@link #allocate(int)}
+     */
+    public int getLastOffset() {
+        return lastAllocation == -1 ? 0 : lastAllocation;
+    }
+
+    /**
+     * Releases the last allocation so its space is reused by the next allocation.
+     * <p>
+     * This can be used when the allocated data turns out not to be needed (eg the value is <code>NULL</code>).
+     * </p>
+     */
+    public void releaseLast() {
+        if (lastAllocation != -1) {
+            position = lastAllocation;
+            lastAllocation = -1;
+        }
+    }
+}
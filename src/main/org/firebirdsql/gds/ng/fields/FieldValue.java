@@ -20,7 +20,9 @@
  */
 package org.firebirdsql.gds.ng.fields;
 
-import org.firebirdsql.jdbc.field.FieldDataProvider;
+import org.firebirdsql.jdbc.field.FieldDataSliceProvider;
+
+import java.util.Arrays;
 
 /**
  * Holder object for the value of a (statement) parameter or result set field.
@@ -31,9 +33,13 @@ import org.firebirdsql.jdbc.field.FieldDataProvider;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
-public final class FieldValue implements FieldDataProvider, Cloneable {
+public final class FieldValue implements FieldDataSliceProvider, Cloneable {
+
+    private static final int NO_SLICE = -1;
 
     private byte[] fieldData;
+    private int sliceOffset = NO_SLICE;
+    private int sliceLength;
     private boolean initialized;
     private Object cachedObject;
 
@@ -68,17 +74,83 @@ public final class FieldValue implements FieldDataProvider, Cloneable {
         this.initialized = initialized;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this field value was populated as a slice of a shared buffer (see
+     * {@link #setFieldData(byte[], int, int)}), the slice is copied into its own array on the first call to this
+     * method. Use {@link #getFieldDataBuffer()} to access the data without copying.
+     * </p>
+     */
     @Override
     public byte[] getFieldData() {
+        if (sliceOffset != NO_SLICE) {
+            fieldData = Arrays.copyOfRange(fieldData, sliceOffset, sliceOffset + sliceLength);
+            sliceOffset = NO_SLICE;
+        }
+        return fieldData;
+    }
+
+    @Override
+    public byte[] getFieldDataBuffer() {
         return fieldData;
     }
 
+    @Override
+    public int getFieldDataOffset() {
+        return sliceOffset != NO_SLICE ? sliceOffset : 0;
+    }
+
+    @Override
+    public int getFieldDataLength() {
+        if (sliceOffset != NO_SLICE) {
+            return sliceLength;
+        }
+        return fieldData != null ? fieldData.length : 0;
+    }
+
     @Override
     public void setFieldData(byte[] fieldData) {
         this.fieldData = fieldData;
+        sliceOffset = NO_SLICE;
+        initialized = true;
+    }
+
+    /**
+     * Sets the field data as a slice of a (possibly shared) buffer.
+     * <p>
+     * The slice is not copied; a copy is only made when {@link #getFieldData()} is called, reading through
+     * {@link #getFieldDataBuffer()} does not copy. The caller must guarantee that the specified range of
+     * <code>buffer</code> is not modified afterwards.
+     * </p>
+     *
+     * @param buffer
+     *         Buffer containing the field data (not <code>null</code>)
+     * @param offset
+     *         Offset of the field data in <code>buffer</code>
+     * @param length
+     *         Length of the field data
+     */
+    public void setFieldData(byte[] buffer, int offset, int length) {
+        if (offset == 0 && length == buffer.length) {
+            setFieldData(buffer);
+            return;
+        }
+        fieldData = buffer;
+        sliceOffset = offset;
+        sliceLength = length;
         initialized = true;
     }
 
+    /**
+     * Checks if the field data is <code>null</code> (a SQL <code>NULL</code>) without materializing a slice.
+     *
+     * @return <code>true</code> if the field data is <code>null</code>
+     */
+    public boolean isNull() {
+        return fieldData == null;
+    }
+
     /**
      * @return Cached object
      */
@@ -115,6 +187,7 @@ public final class FieldValue implements FieldDataProvider, Cloneable {
     public void reset() {
         initialized = false;
         fieldData = null;
+        sliceOffset = NO_SLICE;
         cachedObject = null;
     }
 
@@ -130,7 +203,10 @@ public final class FieldValue implements FieldDataProvider, Cloneable {
     public FieldValue clone() {
         try {
             FieldValue clonedFieldValue = (FieldValue) super.clone();
-            if (fieldData != null) {
+            if (sliceOffset != NO_SLICE) {
+                clonedFieldValue.fieldData = Arrays.copyOfRange(fieldData, sliceOffset, sliceOffset + sliceLength);
+                clonedFieldValue.sliceOffset = NO_SLICE;
+            } else if (fieldData != null) {
                 clonedFieldValue.fieldData = fieldData.clone();
             }
             return clonedFieldValue;
@@ -44,6 +44,7 @@ public final class RowDescriptor implements Iterable<FieldDescriptor> {
 
     private final FieldDescriptor[] fieldDescriptors;
     private int hash;
+    private FieldNameIndex fieldNameIndex;
 
     /**
      * Creates an instance of <code>RowDescriptor</code> with the supplied array of
@@ -83,6 +84,32 @@ public final class RowDescriptor implements Iterable<FieldDescriptor> {
         return Collections.unmodifiableList(Arrays.asList(fieldDescriptors));
     }
 
+    /**
+     * Finds the (0-based) index of the field with the specified name.
+     * <p>
+     * The field name (alias) of the fields is checked first, and then the original (column) name. If multiple fields
+     * have the same name, the index of the first field is returned. The lookup uses an index that is built on first
+     * use, so repeated lookups do not iterate over all fields.
+     * </p>
+     *
+     * @param name
+     *         Name of the field
+     * @param caseSensitive
+     *         {@code true} to match the name case-sensitively, {@code false} to match it case-insensitively (as
+     *         {@link String#equalsIgnoreCase(String)})
+     * @return 0-based index of the field, or {@code -1} if there is no field with that name
+     */
+    public int findFieldIndex(String name, boolean caseSensitive) {
+        if (name == null) return -1;
+        FieldNameIndex index = fieldNameIndex;
+        if (index == null) {
+            // Benign race: index is immutable, at worst it is created more than once
+            fieldNameIndex = index = new FieldNameIndex(fieldDescriptors);
+        }
+        final int fieldIndex = index.find(name, caseSensitive, true);
+        return fieldIndex != -1 ? fieldIndex : index.find(name, caseSensitive, false);
+    }
+
     /**
      * Creates a {@link List} with default {@link FieldValue} instances as returned by {@link FieldDescriptor#createDefaultFieldValue()}.
      * <p>
@@ -155,6 +182,71 @@ public final class RowDescriptor implements Iterable<FieldDescriptor> {
         return new RowDescriptor(fieldDescriptors);
     }
 
+    /**
+     * Open addressing (linear probing) index of the field names and original names.
+     * <p>
+     * The slots contain the 1-based index of the field ({@code 0} is an empty slot). The hash is case-insensitive, so
+     * names that are equal ignoring case share a probe sequence in which the lowest field index comes first.
+     * </p>
+     */
+    private static final class FieldNameIndex {
+
+        private final FieldDescriptor[] fieldDescriptors;
+        private final int[] fieldNameSlots;
+        private final int[] originalNameSlots;
+        private final int mask;
+
+        private FieldNameIndex(FieldDescriptor[] fieldDescriptors) {
+            this.fieldDescriptors = fieldDescriptors;
+            // Power of two with a load factor of at most 0.5
+            final int capacity = Integer.highestOneBit(Math.max(fieldDescriptors.length, 1) * 2 - 1) << 1;
+            mask = capacity - 1;
+            fieldNameSlots = new int[capacity];
+            originalNameSlots = new int[capacity];
+            for (int idx = 0; idx < fieldDescriptors.length; idx++) {
+                final FieldDescriptor descriptor = fieldDescriptors[idx];
+                if (descriptor == null) continue;
+                add(fieldNameSlots, descriptor.getFieldName(), idx);
+                add(originalNameSlots, descriptor.getOriginalName(), idx);
+            }
+        }
+
+        private void add(int[] slots, String name, int fieldIndex) {
+            if (name == null) return;
+            int slot = hash(name) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = fieldIndex + 1;
+        }
+
+        private int find(String name, boolean caseSensitive, boolean useFieldName) {
+            final int[] slots = useFieldName ? fieldNameSlots : originalNameSlots;
+            int slot = hash(name) & mask;
+            int entry;
+            while ((entry = slots[slot]) != 0) {
+                final FieldDescriptor descriptor = fieldDescriptors[entry - 1];
+                final String candidate = useFieldName ? descriptor.getFieldName() : descriptor.getOriginalName();
+                if (caseSensitive ? name.equals(candidate) : name.equalsIgnoreCase(candidate)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Hash code that is equal for strings that are equal according to {@link String#equalsIgnoreCase(String)}.
+         */
+        private static int hash(String name) {
+            int h = 0;
+            for (int idx = 0; idx < name.length(); idx++) {
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(idx)));
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+
     /**
      * Iterator implementation to iterate over the internal array
      */
@@ -29,6 +29,7 @@ import org.firebirdsql.gds.ng.FbExceptionBuilder;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import org.firebirdsql.gds.ng.LockCloseable;
 
 /**
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
@@ -99,7 +100,8 @@ public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWir
     @Override
     public byte[] getBlobInfo(final byte[] requestItems, final int bufferLength) throws SQLException {
         synchronized (getSynchronizationObject()) {
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
                     xdrOut.writeInt(WireProtocolConstants.op_info_blob);
@@ -118,6 +120,8 @@ public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWir
                 } catch (IOException ex) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
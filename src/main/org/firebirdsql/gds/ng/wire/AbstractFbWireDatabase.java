@@ -28,6 +28,7 @@ import org.firebirdsql.jdbc.FBSQLException;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
@@ -56,7 +57,7 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
         super(connection, new DefaultDatatypeCoder(connection.getEncodingFactory()));
         protocolDescriptor = requireNonNull(descriptor, "parameter descriptor should be non-null");
         wireOperations = descriptor.createWireOperations(connection, getDatabaseWarningCallback(),
-                getSynchronizationObject());
+                getConnectionLock());
     }
 
     /**
@@ -134,12 +135,15 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
      */
     protected final void closeConnection() throws IOException {
         if (!connection.isConnected()) return;
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLockWithoutTimeout();
+        try {
             try {
                 connection.close();
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -160,6 +164,11 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
         wireOperations.consumePackets(numberOfResponses, warningCallback);
     }
 
+    @Override
+    public final void processDeferredActions() {
+        wireOperations.processDeferredActions();
+    }
+
     @Override
     public final GenericResponse readGenericResponse(WarningMessageCallback warningCallback)
             throws SQLException, IOException {
@@ -180,6 +189,15 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
         return new WireEventHandle(eventName, eventHandler, getEncoding());
     }
 
+    public EventBlockHandle createEventBlockHandle(List<String> eventNames, EventHandler eventHandler) {
+        return new WireEventHandle(eventNames, eventHandler, getEncoding());
+    }
+
+    @Override
+    public boolean supportsEventBlocks() {
+        return true;
+    }
+
     public void countEvents(EventHandle eventHandle) throws SQLException {
         if (!(eventHandle instanceof WireEventHandle))
             throw new SQLException("Invalid event handle, type: " + eventHandle.getClass().getName());
@@ -88,6 +88,17 @@ public abstract class AbstractProtocolDescriptor implements ProtocolDescriptor {
         return weight;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Default implementation returns {@code false}.
+     * </p>
+     */
+    @Override
+    public boolean supportsWireCompression() {
+        return false;
+    }
+
     /**
      * @return Hash code based on {@code version}, {@code architecture}, {@code minimumType}, {@code maximumType} and
      * {@code weight}.
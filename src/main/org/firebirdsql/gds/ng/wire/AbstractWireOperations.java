@@ -22,7 +22,9 @@ import org.firebirdsql.encodings.Encoding;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.auth.ClientAuthBlock;
 import org.firebirdsql.logging.Logger;
@@ -45,13 +47,13 @@ public abstract class AbstractWireOperations implements FbWireOperations {
 
     private final WireConnection<?, ?> connection;
     private final WarningMessageCallback defaultWarningMessageCallback;
-    private final Object syncObject;
+    private final ConnectionLock connectionLock;
 
     protected AbstractWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
         this.connection = connection;
         this.defaultWarningMessageCallback = defaultWarningMessageCallback;
-        this.syncObject = syncObject;
+        this.connectionLock = connectionLock;
     }
 
     @Override
@@ -171,9 +173,12 @@ public abstract class AbstractWireOperations implements FbWireOperations {
      * @throws java.io.IOException
      */
     public final int readNextOperation() throws IOException {
-        synchronized (syncObject) {
+        final LockCloseable lock = connectionLock.lockWithoutTimeout();
+        try {
             processDeferredActions();
             return connection.readNextOperation();
+        } finally {
+            lock.close();
         }
     }
 
@@ -270,8 +275,8 @@ public abstract class AbstractWireOperations implements FbWireOperations {
         connection.writeDirect(data);
     }
 
-    protected final Object getSynchronizationObject() {
-        return syncObject;
+    protected final ConnectionLock getConnectionLock() {
+        return connectionLock;
     }
 
     protected final void addServerKeys(byte[] serverKeys) throws SQLException {
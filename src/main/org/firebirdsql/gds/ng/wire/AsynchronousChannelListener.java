@@ -56,10 +56,21 @@ public interface AsynchronousChannelListener {
     public class Event {
         private final int eventId;
         private final int eventCount;
+        private final byte[] eventBuffer;
 
         public Event(int eventId, int eventCount) {
+            this(eventId, eventCount, null);
+        }
+
+        /**
+         * @param eventId Local id of the event
+         * @param eventCount Count of the (last) event in the event buffer
+         * @param eventBuffer Event parameter block as returned by the server (with the count of each event)
+         */
+        public Event(int eventId, int eventCount, byte[] eventBuffer) {
             this.eventId = eventId;
             this.eventCount = eventCount;
+            this.eventBuffer = eventBuffer;
         }
 
         public int getEventId() {
@@ -69,5 +80,12 @@ public interface AsynchronousChannelListener {
         public int getEventCount() {
             return eventCount;
         }
+
+        /**
+         * @return Event parameter block returned by the server, or {@code null} if not available
+         */
+        public byte[] getEventBuffer() {
+            return eventBuffer;
+        }
     }
 }
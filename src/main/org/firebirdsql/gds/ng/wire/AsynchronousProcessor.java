@@ -20,45 +20,85 @@
  */
 package org.firebirdsql.gds.ng.wire;
 
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Process asynchronous channels for notification of events.
+ * <p>
+ * The processor uses one or more selector threads, each with its own selector. A channel is assigned to a selector
+ * thread based on its hash code, and is read and processed by that thread only. Event listeners are notified on the
+ * selector thread: a slow listener delays reads of the channels of that selector thread (the data remains in the
+ * socket buffers), but not of channels of other selector threads.
+ * </p>
+ * <p>
+ * The number of selector threads of the shared instance is configured with the system property
+ * {@code org.firebirdsql.asyncProcessor.selectorCount} (default {@code 1}).
+ * </p>
  *
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
 public class AsynchronousProcessor {
 
+    private static final Logger log = LoggerFactory.getLogger(AsynchronousProcessor.class);
+
+    static final String SELECTOR_COUNT_PROPERTY = "org.firebirdsql.asyncProcessor.selectorCount";
+
     /**
      * Initialize on demand holder
      */
     private static class ProcessorHolder {
-        private static final AsynchronousProcessor INSTANCE = new AsynchronousProcessor();
+        private static final AsynchronousProcessor INSTANCE = new AsynchronousProcessor(getConfiguredSelectorCount());
     }
 
     private final AsynchronousChannelListener channelListener = new ProcessorChannelListener();
-    private final List<FbWireAsynchronousChannel> newChannels =
-            Collections.synchronizedList(new ArrayList<FbWireAsynchronousChannel>());
-    private final SelectorTask selectorTask = new SelectorTask();
-    private final Selector selector;
+    private final SelectorTask[] selectorTasks;
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong readCount = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong totalProcessingNanos = new AtomicLong();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
 
-    private AsynchronousProcessor() {
-        try {
-            selector = Selector.open();
-        } catch (IOException e) {
-            throw new IllegalStateException("Unable to initialize asynchronous processor", e);
+    /**
+     * Creates an asynchronous processor and starts its selector threads.
+     *
+     * @param selectorCount
+     *         Number of selector threads (must be larger than 0)
+     */
+    AsynchronousProcessor(int selectorCount) {
+        if (selectorCount <= 0) {
+            throw new IllegalArgumentException("selectorCount should be larger than 0, was: " + selectorCount);
+        }
+        selectorTasks = new SelectorTask[selectorCount];
+        for (int idx = 0; idx < selectorCount; idx++) {
+            final SelectorTask selectorTask;
+            try {
+                selectorTask = new SelectorTask(Selector.open());
+            } catch (IOException e) {
+                shutdown();
+                throw new IllegalStateException("Unable to initialize asynchronous processor", e);
+            }
+            selectorTasks[idx] = selectorTask;
+            Thread selectorThread = new Thread(selectorTask,
+                    selectorCount == 1 ? "Jaybird asynchronous processing"
+                            : "Jaybird asynchronous processing " + (idx + 1));
+            selectorThread.setDaemon(true);
+            selectorThread.start();
         }
-        Thread selectorThread = new Thread(selectorTask, "Jaybird asynchronous processing");
-        selectorThread.setDaemon(true);
-        selectorThread.start();
     }
 
     /**
@@ -75,112 +115,187 @@ public class AsynchronousProcessor {
      *         The channel to register
      */
     public void registerAsynchronousChannel(FbWireAsynchronousChannel channel) {
-        newChannels.add(channel);
         channel.addChannelListener(channelListener);
-        selector.wakeup();
+        getSelectorTask(channel).addChannel(channel);
+    }
+
+    /**
+     * @return Number of selector threads of this processor
+     */
+    public int getSelectorCount() {
+        return selectorTasks.length;
+    }
+
+    /**
+     * @return Snapshot of the processing metrics of this processor
+     */
+    public AsynchronousProcessorStatistics getStatistics() {
+        return new AsynchronousProcessorStatistics(eventCount.get(), readCount.get(), bytesRead.get(),
+                totalProcessingNanos.get(), maxProcessingNanos.get());
     }
 
     // TODO Reduce visibility or remove entirely?
     public void shutdown() {
-        selectorTask.stop();
-        selector.wakeup();
+        for (SelectorTask selectorTask : selectorTasks) {
+            if (selectorTask != null) {
+                selectorTask.stop();
+            }
+        }
+    }
+
+    private SelectorTask getSelectorTask(FbWireAsynchronousChannel channel) {
+        return selectorTasks[(channel.hashCode() & 0x7FFFFFFF) % selectorTasks.length];
+    }
+
+    private void recordProcessing(int byteCount, long processingNanos) {
+        readCount.incrementAndGet();
+        bytesRead.addAndGet(byteCount);
+        totalProcessingNanos.addAndGet(processingNanos);
+        long currentMax;
+        while ((currentMax = maxProcessingNanos.get()) < processingNanos) {
+            if (maxProcessingNanos.compareAndSet(currentMax, processingNanos)) break;
+        }
+    }
+
+    private static int getConfiguredSelectorCount() {
+        final String selectorCount = getSystemPropertyPrivileged(SELECTOR_COUNT_PROPERTY);
+        if (selectorCount != null) {
+            try {
+                final int count = Integer.parseInt(selectorCount.trim());
+                if (count > 0) {
+                    return count;
+                }
+            } catch (NumberFormatException ex) {
+                // ignore
+            }
+            log.warn("Invalid value for " + SELECTOR_COUNT_PROPERTY + ": '" + selectorCount + "', using 1");
+        }
+        return 1;
+    }
+
+    private static String getSystemPropertyPrivileged(final String propertyName) {
+        return AccessController.doPrivileged(new PrivilegedAction<String>() {
+            public String run() {
+                return System.getProperty(propertyName);
+            }
+        });
+    }
+
+    private static void closeChannel(FbWireAsynchronousChannel channel) {
+        try {
+            channel.close();
+        } catch (SQLException e) {
+            log.warn("Exception closing asynchronous channel", e);
+        }
     }
 
     private class ProcessorChannelListener implements AsynchronousChannelListener {
         @Override
         public void channelClosing(FbWireAsynchronousChannel channel) {
-            if (!newChannels.remove(channel)) {
-                // TODO Replace with map from channel to selectionkey?
-                for (SelectionKey key : new ArrayList<SelectionKey>(selector.keys())) {
-                    if (key.isValid() && key.attachment() == channel) {
-                        key.cancel();
-                        break;
-                    }
-                }
-            }
+            getSelectorTask(channel).removeChannel(channel);
             channel.removeChannelListener(this);
         }
 
         @Override
         public void eventReceived(FbWireAsynchronousChannel channel, Event event) {
-            // Ignore
+            eventCount.incrementAndGet();
         }
     }
 
     private class SelectorTask implements Runnable {
 
+        private final Selector selector;
+        private final List<FbWireAsynchronousChannel> newChannels =
+                Collections.synchronizedList(new ArrayList<FbWireAsynchronousChannel>());
+        private final Map<FbWireAsynchronousChannel, SelectionKey> selectionKeys = new ConcurrentHashMap<>();
         private volatile boolean running = true;
 
+        private SelectorTask(Selector selector) {
+            this.selector = selector;
+        }
+
         @Override
         public void run() {
             while (running) {
                 try {
-                    synchronized (newChannels) {
-                        for (FbWireAsynchronousChannel channel : newChannels) {
-                            addChannel(channel);
-                        }
-                        newChannels.clear();
-                    }
+                    registerNewChannels();
 
                     if (selector.select() == 0) continue;
 
-                    final Set<SelectionKey> selectedKeys = selector.selectedKeys();
-                    synchronized (selectedKeys) {
-                        Iterator<SelectionKey> selectedKeysIterator = selectedKeys.iterator();
-                        while (selectedKeysIterator.hasNext()) {
-                            final SelectionKey selectionKey = selectedKeysIterator.next();
-                            selectedKeysIterator.remove();
-                            if (!selectionKey.isValid()) continue;
-
-                            if (selectionKey.isReadable()) {
-                                handleReadable(selectionKey);
-                            }
+                    final Iterator<SelectionKey> selectedKeysIterator = selector.selectedKeys().iterator();
+                    while (selectedKeysIterator.hasNext()) {
+                        final SelectionKey selectionKey = selectedKeysIterator.next();
+                        selectedKeysIterator.remove();
+                        if (!selectionKey.isValid()) continue;
+
+                        if (selectionKey.isReadable()) {
+                            handleReadable(selectionKey);
                         }
                     }
-                } catch (IOException ex) {
-                    // TODO check necessary handling
+                } catch (IOException | RuntimeException ex) {
+                    log.error("Exception in asynchronous processing, continuing", ex);
                 }
             }
             try {
                 selector.close();
             } catch (IOException e) {
-                // ignore // todo log
+                log.debug("Exception closing selector", e);
             }
         }
 
-        private void addChannel(FbWireAsynchronousChannel channel) throws ClosedChannelException {
-            try {
-                channel.getSocketChannel().register(selector, SelectionKey.OP_READ, channel);
-            } catch (SQLException ex) {
-                // channel closed, remove listener
-                channel.removeChannelListener(channelListener);
+        private void addChannel(FbWireAsynchronousChannel channel) {
+            newChannels.add(channel);
+            selector.wakeup();
+        }
+
+        private void removeChannel(FbWireAsynchronousChannel channel) {
+            if (!newChannels.remove(channel)) {
+                final SelectionKey selectionKey = selectionKeys.remove(channel);
+                if (selectionKey != null) {
+                    selectionKey.cancel();
+                }
+            }
+        }
+
+        private void registerNewChannels() {
+            synchronized (newChannels) {
+                for (FbWireAsynchronousChannel channel : newChannels) {
+                    try {
+                        selectionKeys.put(channel,
+                                channel.getSocketChannel().register(selector, SelectionKey.OP_READ, channel));
+                    } catch (SQLException | ClosedChannelException ex) {
+                        log.debug("Asynchronous channel closed before registration", ex);
+                        channel.removeChannelListener(channelListener);
+                    }
+                }
+                newChannels.clear();
             }
         }
 
         private void handleReadable(SelectionKey selectionKey) {
+            final SocketChannel socketChannel = (SocketChannel) selectionKey.channel();
+            final FbWireAsynchronousChannel channel = (FbWireAsynchronousChannel) selectionKey.attachment();
             try {
-                SocketChannel socketChannel = (SocketChannel) selectionKey.channel();
-                FbWireAsynchronousChannel channel = (FbWireAsynchronousChannel) selectionKey.attachment();
-
                 final ByteBuffer eventBuffer = channel.getEventBuffer();
                 int count = socketChannel.read(eventBuffer);
                 if (count > 0) {
+                    final long start = System.nanoTime();
                     eventBuffer.flip();
                     channel.processEventData();
+                    recordProcessing(count, System.nanoTime() - start);
                 } else if (count < 0) {
-                    try {
-                        channel.close();
-                    } catch (SQLException e) {
-                        // ignore // todo log
-                    }
+                    closeChannel(channel);
                 }
             } catch (IOException e) {
-                // TODO handle; log
+                log.error("Exception reading from asynchronous channel, closing channel", e);
+                selectionKey.cancel();
+                closeChannel(channel);
             }
         }
 
         private void stop() {
             running = false;
+            selector.wakeup();
         }
     }
 }
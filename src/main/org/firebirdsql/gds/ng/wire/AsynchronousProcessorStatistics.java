@@ -0,0 +1,94 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the processing metrics of an {@link AsynchronousProcessor}.
+ *
+ * @since 3.0
+ */
+public final class AsynchronousProcessorStatistics {
+
+    private final long eventCount;
+    private final long readCount;
+    private final long bytesRead;
+    private final long totalProcessingNanos;
+    private final long maxProcessingNanos;
+
+    AsynchronousProcessorStatistics(long eventCount, long readCount, long bytesRead, long totalProcessingNanos,
+            long maxProcessingNanos) {
+        this.eventCount = eventCount;
+        this.readCount = readCount;
+        this.bytesRead = bytesRead;
+        this.totalProcessingNanos = totalProcessingNanos;
+        this.maxProcessingNanos = maxProcessingNanos;
+    }
+
+    /**
+     * @return Number of events received and dispatched to the channel listeners
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return Number of reads from the asynchronous channels that returned data
+     */
+    public long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * @return Total number of bytes read from the asynchronous channels
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @param unit
+     *         Time unit of the result
+     * @return Total time spent processing the data read, including dispatching events to the listeners
+     */
+    public long getTotalProcessingTime(TimeUnit unit) {
+        return unit.convert(totalProcessingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit
+     *         Time unit of the result
+     * @return Longest time spent processing the data of a single read, including dispatching events to the listeners
+     */
+    public long getMaxProcessingTime(TimeUnit unit) {
+        return unit.convert(maxProcessingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "AsynchronousProcessorStatistics{" +
+                "eventCount=" + eventCount +
+                ", readCount=" + readCount +
+                ", bytesRead=" + bytesRead +
+                ", totalProcessingNanos=" + totalProcessingNanos +
+                ", maxProcessingNanos=" + maxProcessingNanos +
+                '}';
+    }
+}
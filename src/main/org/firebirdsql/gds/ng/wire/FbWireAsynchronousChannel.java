@@ -95,6 +95,9 @@ public interface FbWireAsynchronousChannel {
     SocketChannel getSocketChannel() throws SQLException;
 
     /**
+     * Implementations may replace the buffer (eg to grow it) during {@link #processEventData()}, callers need to
+     * retrieve the buffer before each read.
+     *
      * @return The byte buffer for event data
      */
     ByteBuffer getEventBuffer();
@@ -92,6 +92,11 @@ public interface FbWireDatabase extends FbDatabase, FbWireAttachment {
      */
     void enqueueDeferredAction(DeferredAction deferredAction);
 
+    /**
+     * Processes any deferred actions. Protocol versions that do not support deferred actions should simply do nothing.
+     */
+    void processDeferredActions();
+
     /**
      * Consumes packets notifying for warnings, but ignoring exceptions thrown from the packet.
      * <p>
@@ -27,6 +27,7 @@ package org.firebirdsql.gds.ng.wire;
 import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.DatabaseParameterBuffer;
 import org.firebirdsql.gds.ServiceParameterBuffer;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.FbTransaction;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
@@ -79,6 +80,12 @@ public interface ProtocolDescriptor {
      */
     int getWeight();
 
+    /**
+     * @return {@code true} if this protocol version supports zlib compression of the wire protocol (requested by
+     * adding {@code pflag_compress} to the maximum type)
+     */
+    boolean supportsWireCompression();
+
     /**
      * Create {@link FbWireDatabase} implementation for this protocol.
      *
@@ -193,9 +200,9 @@ public interface ProtocolDescriptor {
      *
      * @param connection WireConnection instance
      * @param defaultWarningMessageCallback Default warning message callback
-     * @param syncObject Object to use for synchronization
+     * @param connectionLock Lock guarding exclusive access to the connection
      * @return Wire operations implementation
      */
     FbWireOperations createWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock);
 }
@@ -0,0 +1,109 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Input stream reading directly from a blocking {@link SocketChannel}.
+ * <p>
+ * Contrary to the streams of a {@link Socket}, this stream does not use monitors: exclusive access is provided by the
+ * {@link org.firebirdsql.gds.ng.ConnectionLock} of the connection, and the channel itself only uses
+ * {@code java.util.concurrent} locks (on Java 13 and higher). This allows a thread blocked on a read to release its
+ * carrier thread when running as a virtual thread.
+ * </p>
+ * <p>
+ * A blocking channel ignores the socket timeout ({@code SO_TIMEOUT}), so while a socket timeout is set, reads are
+ * delegated to the input stream of the socket adaptor of the channel, which does apply the timeout.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class SocketChannelInputStream extends InputStream {
+
+    private final SocketChannel channel;
+    private InputStream timeoutStream;
+    private ByteBuffer buffer;
+
+    /**
+     * Creates an input stream for a socket channel.
+     *
+     * @param channel
+     *         Connected socket channel in blocking mode
+     */
+    SocketChannelInputStream(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] singleByte = new byte[1];
+        final int count = read(singleByte, 0, 1);
+        return count == -1 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+        final Socket socket = channel.socket();
+        if (socket.getSoTimeout() > 0) {
+            if (timeoutStream == null) {
+                timeoutStream = socket.getInputStream();
+            }
+            return timeoutStream.read(b, off, len);
+        }
+        final ByteBuffer target = wrap(b, off, len);
+        int count;
+        do {
+            count = channel.read(target);
+        } while (count == 0);
+        return count;
+    }
+
+    /**
+     * Wraps the array in a byte buffer, reusing the previous buffer if it was for the same array (the
+     * {@link org.firebirdsql.gds.impl.wire.XdrInputStream} always reads into its own buffer).
+     */
+    private ByteBuffer wrap(byte[] b, int off, int len) {
+        ByteBuffer target = buffer;
+        if (target == null || target.array() != b) {
+            target = buffer = ByteBuffer.wrap(b);
+        }
+        target.clear();
+        target.position(off);
+        target.limit(off + len);
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
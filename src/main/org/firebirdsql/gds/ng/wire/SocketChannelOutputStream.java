@@ -0,0 +1,80 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Output stream writing directly to a blocking {@link SocketChannel}.
+ * <p>
+ * This stream is not buffered, it is intended to be wrapped in a (buffered)
+ * {@link org.firebirdsql.gds.impl.wire.XdrOutputStream}. See {@link SocketChannelInputStream} for the reason to use
+ * a channel.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class SocketChannelOutputStream extends OutputStream {
+
+    private final SocketChannel channel;
+    private ByteBuffer buffer;
+
+    /**
+     * Creates an output stream for a socket channel.
+     *
+     * @param channel
+     *         Connected socket channel in blocking mode
+     */
+    SocketChannelOutputStream(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        ByteBuffer source = buffer;
+        if (source == null || source.array() != b) {
+            source = buffer = ByteBuffer.wrap(b);
+        }
+        source.clear();
+        source.position(off);
+        source.limit(off + len);
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
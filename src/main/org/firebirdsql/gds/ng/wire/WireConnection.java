@@ -38,8 +38,10 @@ import org.firebirdsql.logging.LoggerFactory;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.*;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -75,6 +77,7 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
     private int protocolVersion;
     private int protocolArchitecture;
     private int protocolMinimumType;
+    private boolean wireCompression;
 
     private XdrOutputStream xdrOut;
     private XdrInputStream xdrIn;
@@ -143,6 +146,13 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
         return protocolMinimumType;
     }
 
+    /**
+     * @return {@code true} if the server accepted zlib compression of the wire protocol for this connection
+     */
+    public final boolean isWireCompression() {
+        return wireCompression;
+    }
+
     public final ClientAuthBlock getClientAuthBlock() {
         return clientAuthBlock;
     }
@@ -198,7 +208,7 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
      */
     public final void socketConnect() throws SQLException {
         try {
-            socket = new Socket();
+            socket = isSocketChannelRequested() ? SocketChannel.open().socket() : new Socket();
             socket.setTcpNoDelay(true);
             final int connectTimeout = attachProperties.getConnectTimeout();
             final int socketConnectTimeout;
@@ -243,8 +253,8 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
     @Override
     public final C identify() throws SQLException {
         try {
-            xdrIn = new XdrInputStream(socket.getInputStream());
-            xdrOut = new XdrOutputStream(socket.getOutputStream());
+            xdrIn = new XdrInputStream(getSocketInputStream());
+            xdrOut = new XdrOutputStream(getSocketOutputStream());
 
             xdrOut.writeInt(op_connect);
             xdrOut.writeInt(op_attach);
@@ -255,11 +265,16 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
             xdrOut.writeInt(protocols.getProtocolCount()); // Count of protocols understood
             xdrOut.writeBuffer(createUserIdentificationBlock());
 
+            final boolean compressionRequested = isWireCompressionRequested();
             for (ProtocolDescriptor protocol : protocols) {
                 xdrOut.writeInt(protocol.getVersion()); // Protocol version
                 xdrOut.writeInt(protocol.getArchitecture()); // Architecture of client
                 xdrOut.writeInt(protocol.getMinimumType()); // Minimum type
-                xdrOut.writeInt(protocol.getMaximumType()); // Maximum type
+                if (compressionRequested && protocol.supportsWireCompression()) {
+                    xdrOut.writeInt(protocol.getMaximumType() | pflag_compress); // Maximum type
+                } else {
+                    xdrOut.writeInt(protocol.getMaximumType()); // Maximum type
+                }
                 xdrOut.writeInt(protocol.getWeight()); // Preference weight
             }
 
@@ -270,7 +285,8 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
                 acceptPacket.operation = operation;
                 protocolVersion = xdrIn.readInt(); // Protocol version
                 protocolArchitecture = xdrIn.readInt(); // Architecture for protocol
-                protocolMinimumType = xdrIn.readInt(); // Minimum type
+                final int acceptType = xdrIn.readInt(); // Accepted type with flags
+                protocolMinimumType = acceptType & ptype_MASK;
                 if (protocolVersion < 0) {
                     protocolVersion = (protocolVersion & FB_PROTOCOL_MASK) | FB_PROTOCOL_FLAG;
                 }
@@ -290,6 +306,13 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
                     clientAuthBlock.resetClient(null);
                 }
 
+                if ((acceptType & pflag_compress) != 0) {
+                    // All data following the accept packet is compressed
+                    xdrIn.enableDecompression();
+                    xdrOut.enableCompression();
+                    wireCompression = true;
+                }
+
                 ProtocolDescriptor descriptor = protocols.getProtocolDescriptor(protocolVersion);
                 if (descriptor == null) {
                     throw new SQLException(String.format(
@@ -387,7 +410,31 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
         ProtocolDescriptor protocolDescriptor = protocols
                 .getProtocolDescriptor(WireProtocolConstants.PROTOCOL_VERSION10);
         return (AbstractWireOperations) protocolDescriptor
-                .createWireOperations(this, null, this);
+                .createWireOperations(this, null, getConnectionLock());
+    }
+
+    /**
+     * @return {@code true} if zlib compression of the wire protocol should be requested from the server
+     */
+    protected boolean isWireCompressionRequested() {
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the connection should use a {@link SocketChannel} instead of a plain {@link Socket}
+     */
+    protected boolean isSocketChannelRequested() {
+        return false;
+    }
+
+    private InputStream getSocketInputStream() throws IOException {
+        final SocketChannel channel = socket.getChannel();
+        return channel != null ? new SocketChannelInputStream(channel) : socket.getInputStream();
+    }
+
+    private OutputStream getSocketOutputStream() throws IOException {
+        final SocketChannel channel = socket.getChannel();
+        return channel != null ? new SocketChannelOutputStream(channel) : socket.getOutputStream();
     }
 
     /**
@@ -500,7 +547,7 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
      */
     public final void writeDirect(byte[] data) throws IOException {
         if (!isConnected()) throw new SocketException("Socket closed");
-        final OutputStream outputStream = socket.getOutputStream();
+        final OutputStream outputStream = getSocketOutputStream();
         outputStream.write(data);
         outputStream.flush();
     }
@@ -57,6 +57,16 @@ public final class WireDatabaseConnection extends WireConnection<IConnectionProp
         super(connectionProperties, encodingFactory, protocols);
     }
 
+    @Override
+    protected boolean isWireCompressionRequested() {
+        return attachProperties.isWireCompression();
+    }
+
+    @Override
+    protected boolean isSocketChannelRequested() {
+        return attachProperties.isUseSocketChannel();
+    }
+
     @Override
     protected FbWireDatabase createConnectionHandle(ProtocolDescriptor protocolDescriptor) {
         return protocolDescriptor.createDatabase(this);
@@ -22,39 +22,100 @@ import org.firebirdsql.encodings.Encoding;
 import org.firebirdsql.gds.EventHandler;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.AbstractEventHandle;
+import org.firebirdsql.gds.ng.EventBlockHandle;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger;
+
 /**
  * Event handle for the wire protocol.
+ * <p>
+ * A handle can be for a single event, or for a block of events (see {@link EventBlockHandle}).
+ * </p>
  *
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
-public final class WireEventHandle extends AbstractEventHandle implements AsynchronousChannelListener {
+public final class WireEventHandle extends AbstractEventHandle implements EventBlockHandle,
+        AsynchronousChannelListener {
 
     private static final AtomicInteger localEventId = new AtomicInteger();
 
-    private final byte[] eventNameBytes;
-    private int internalCount;
-    private int previousInternalCount;
+    private final List<String> eventNames;
+    private final byte[][] eventNameBytes;
+    private final int[] internalCounts;
+    private final int[] previousInternalCounts;
+    private final int[] eventCounts;
     private int localId;
     private int eventId;
 
     public WireEventHandle(String eventName, EventHandler eventHandler, Encoding encoding) {
-        super(eventName, eventHandler);
-        eventNameBytes = encoding.encodeToCharset(eventName);
-        if (eventNameBytes.length > 256) {
-            throw new IllegalArgumentException("Event name as bytes too long");
+        this(Collections.singletonList(eventName), eventHandler, encoding);
+    }
+
+    /**
+     * Creates an event handle for a block of events.
+     *
+     * @param eventNames
+     *         Names of the events (at least 1, at most {@link EventBlockHandle#MAX_EVENT_COUNT})
+     * @param eventHandler
+     *         Event handler
+     * @param encoding
+     *         Encoding for the event names
+     */
+    public WireEventHandle(List<String> eventNames, EventHandler eventHandler, Encoding encoding) {
+        super(eventNames.get(0), eventHandler);
+        if (eventNames.size() > MAX_EVENT_COUNT) {
+            throw new IllegalArgumentException("Number of events exceeds " + MAX_EVENT_COUNT);
+        }
+        this.eventNames = Collections.unmodifiableList(new ArrayList<>(eventNames));
+        final int count = eventNames.size();
+        eventNameBytes = new byte[count][];
+        for (int idx = 0; idx < count; idx++) {
+            final byte[] nameBytes = encoding.encodeToCharset(eventNames.get(idx));
+            if (nameBytes.length > 256) {
+                throw new IllegalArgumentException("Event name as bytes too long");
+            }
+            eventNameBytes[idx] = nameBytes;
         }
+        internalCounts = new int[count];
+        previousInternalCounts = new int[count];
+        eventCounts = new int[count];
     }
 
     public synchronized void calculateCount() {
-        // TODO Can't we just set the count directly?
-        setEventCount(internalCount - previousInternalCount);
-        previousInternalCount = internalCount;
+        for (int idx = 0; idx < internalCounts.length; idx++) {
+            eventCounts[idx] = internalCounts[idx] - previousInternalCounts[idx];
+            previousInternalCounts[idx] = internalCounts[idx];
+        }
+        setEventCount(eventCounts[0]);
+    }
+
+    @Override
+    public List<String> getEventNames() {
+        return eventNames;
+    }
+
+    @Override
+    public synchronized int getEventCount(int index) {
+        return eventCounts[index];
+    }
+
+    @Override
+    public synchronized int getServerEventCount(int index) {
+        return internalCounts[index];
+    }
+
+    @Override
+    public synchronized void setServerEventCount(int index, int count) {
+        internalCounts[index] = count;
+        previousInternalCounts[index] = count;
     }
 
     /**
@@ -84,17 +145,19 @@ public final class WireEventHandle extends AbstractEventHandle implements Asynch
         return localId;
     }
 
-    public byte[] toByteArray() throws IOException {
+    public synchronized byte[] toByteArray() throws IOException {
         ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
         XdrOutputStream xdr = new XdrOutputStream(byteOut, false);
 
         xdr.write(1); // Event version
-        xdr.write(eventNameBytes.length);
-        xdr.write(eventNameBytes);
-        final int currentInternalCount = internalCount;
-        for (int shift = 0; shift <= 24; shift += 8) {
-            // Write count as VAX integer
-            xdr.write((currentInternalCount >> shift) & 0xff);
+        for (int idx = 0; idx < eventNameBytes.length; idx++) {
+            xdr.write(eventNameBytes[idx].length);
+            xdr.write(eventNameBytes[idx]);
+            final int currentInternalCount = internalCounts[idx];
+            for (int shift = 0; shift <= 24; shift += 8) {
+                // Write count as VAX integer
+                xdr.write((currentInternalCount >> shift) & 0xff);
+            }
         }
 
         return byteOut.toByteArray();
@@ -111,8 +174,30 @@ public final class WireEventHandle extends AbstractEventHandle implements Asynch
 
         channel.removeChannelListener(this);
         synchronized (this) {
-            internalCount = event.getEventCount();
+            final byte[] eventBuffer = event.getEventBuffer();
+            if (eventBuffer != null && eventNameBytes.length > 1) {
+                updateCounts(eventBuffer);
+            } else {
+                internalCounts[0] = event.getEventCount();
+            }
         }
         onEventOccurred();
     }
+
+    /**
+     * Updates the internal counts from the event parameter block returned by the server.
+     * <p>
+     * The server returns the event parameter block in the same order as it was queued.
+     * </p>
+     */
+    private void updateCounts(byte[] eventBuffer) {
+        int position = 1; // Skip event version
+        for (int idx = 0; idx < internalCounts.length && position < eventBuffer.length; idx++) {
+            final int nameLength = eventBuffer[position++] & 0xFF;
+            position += nameLength;
+            if (position + 4 > eventBuffer.length) break;
+            internalCounts[idx] = iscVaxInteger(eventBuffer, position, 4);
+            position += 4;
+        }
+    }
 }
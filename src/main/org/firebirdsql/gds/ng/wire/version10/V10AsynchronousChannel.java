@@ -23,6 +23,7 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbDatabase;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DefaultDatabaseListener;
 import org.firebirdsql.gds.ng.wire.*;
 import org.firebirdsql.logging.Logger;
@@ -71,9 +72,14 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
      * - 8 bytes AST info
      * - 4 bytes event id
      *
-     * Total: 282 per event; allocating 2048 to have sufficient space (TODO: might not be enough for 'normal' response)
+     * Total: 282 per event, with up to 15 events in one event buffer (+ 261 bytes per additional event).
+     *
+     * The buffer starts at 8192 bytes and grows when it cannot hold a single (incomplete) packet; multiple packets
+     * received in one read are processed in one go.
      */
-    private final ByteBuffer eventBuffer = ByteBuffer.allocate(2048);
+    private static final int INITIAL_EVENT_BUFFER_SIZE = 8192;
+    private static final int MAX_EVENT_BUFFER_SIZE = 64 * 1024;
+    private ByteBuffer eventBuffer = ByteBuffer.allocate(INITIAL_EVENT_BUFFER_SIZE);
     private int auxHandle;
     private SocketChannel socketChannel;
 
@@ -164,12 +170,36 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
                     // TODO Close channel?
                 }
             }
-            eventBuffer.compact();
         } catch (SQLException e) {
             log.fatal("SQLException processing event data: " + e.getMessage(), e);
         } catch (Exception e) {
             log.fatal("Unexpected exception processing events: " + e.getMessage(), e);
+        } finally {
+            prepareEventBufferForRead();
+        }
+    }
+
+    /**
+     * Compacts the event buffer for the next read, growing it if it is filled by an incomplete packet.
+     */
+    private void prepareEventBufferForRead() {
+        eventBuffer.compact();
+        if (eventBuffer.hasRemaining()) return;
+        if (eventBuffer.capacity() >= MAX_EVENT_BUFFER_SIZE) {
+            log.error("Event data exceeds maximum event buffer size of " + MAX_EVENT_BUFFER_SIZE
+                    + ", closing asynchronous channel");
+            eventBuffer.clear();
+            try {
+                close();
+            } catch (SQLException e) {
+                log.error("Exception closing asynchronous channel", e);
+            }
+            return;
         }
+        final ByteBuffer newBuffer = ByteBuffer.allocate(Math.min(eventBuffer.capacity() * 2, MAX_EVENT_BUFFER_SIZE));
+        eventBuffer.flip();
+        newBuffer.put(eventBuffer);
+        eventBuffer = newBuffer;
     }
 
     @Override
@@ -180,7 +210,8 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
         wireEventHandle.assignNewLocalId();
         addChannelListener(wireEventHandle);
 
-        synchronized (database.getSynchronizationObject()) {
+        final LockCloseable lock = database.withLock();
+        try {
             try {
                 final XdrOutputStream dbXdrOut = database.getXdrStreamAccess().getXdrOut();
                 dbXdrOut.writeInt(op_que_events);
@@ -198,6 +229,8 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
             } catch (IOException e) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -208,7 +241,8 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
         final WireEventHandle wireEventHandle = (WireEventHandle) eventHandle;
         removeChannelListener(wireEventHandle);
 
-        synchronized (database.getSynchronizationObject()) {
+        final LockCloseable lock = database.withLock();
+        try {
             try {
                 final XdrOutputStream dbXdrOut = database.getXdrStreamAccess().getXdrOut();
                 dbXdrOut.writeInt(op_cancel_events);
@@ -223,6 +257,8 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
             } catch (IOException e) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -246,7 +282,8 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
             // Skip padding
             eventBuffer.position(eventBuffer.position() + padding);
 
-            // We are only interested in the event count (last 4 bytes of the buffer)
+            // The event count of a single event is the last 4 bytes of the buffer; event blocks are processed by the
+            // event handle using the buffer
             int eventCount = 0;
             if (bufferLength > 4) {
                 // TODO Isn't this always the case? (old implementation also made this check)
@@ -258,7 +295,8 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
 
             log.debug(String.format("Received event id %d, eventCount %d", eventId, eventCount));
 
-            channelListenerDispatcher.eventReceived(this, new AsynchronousChannelListener.Event(eventId, eventCount));
+            channelListenerDispatcher.eventReceived(this,
+                    new AsynchronousChannelListener.Event(eventId, eventCount, buffer));
 
             return true;
         } catch (BufferUnderflowException ex) {
@@ -29,6 +29,7 @@ import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.FbStatement;
 import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.fields.BlrCalculator;
 import org.firebirdsql.gds.ng.wire.*;
@@ -43,6 +44,7 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLNonTransientException;
 
+import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger2;
 import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
 import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
 
@@ -56,6 +58,17 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
 
     private static final Logger log = LoggerFactory.getLogger(V10Database.class);
 
+    /**
+     * Room in the get segment buffer of {@link #getBlobContents(FbTransaction, long[], int)} for the length prefixes of
+     * multiple segments, and for detecting the end of the blob.
+     */
+    private static final int INLINE_BLOB_BUFFER_OVERHEAD = 64;
+    /**
+     * Maximum blob length returned by {@link #getBlobContents(FbTransaction, long[], int)}; the buffer length of a get
+     * segment request is an unsigned 2-byte value.
+     */
+    private static final int MAX_INLINE_BLOB_LENGTH = 0xFFFF - INLINE_BLOB_BUFFER_OVERHEAD;
+
     private int handle;
     private BlrCalculator blrCalculator;
     private FbWireAsynchronousChannel asynchronousChannel;
@@ -82,24 +95,30 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     public void queueEvent(EventHandle eventHandle) throws SQLException {
         checkAttached();
         // TODO Move to AbstractFbWireDatabase?
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             if (asynchronousChannel == null || !asynchronousChannel.isConnected()) {
                 asynchronousChannel = initAsynchronousChannel();
                 AsynchronousProcessor.getInstance().registerAsynchronousChannel(asynchronousChannel);
             }
             asynchronousChannel.queueEvent(eventHandle);
+        } finally {
+            lock.close();
         }
     }
 
     @Override
     public void cancelEvent(EventHandle eventHandle) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             if (asynchronousChannel == null || !asynchronousChannel.isConnected()) {
                 // TODO SQL state, standard firebird error code?
                 throw new SQLNonTransientException("Asynchronous channel is not connected, cannot cancel event");
             }
             asynchronousChannel.cancelEvent(eventHandle);
+        } finally {
+            lock.close();
         }
     }
 
@@ -123,7 +142,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
         if (isAttached()) {
             throw new SQLException("Already attached to a database");
         }
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 try {
                     sendAttachOrCreateToBuffer(dpb, create);
@@ -142,6 +162,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             }
             setAttached();
             afterAttachActions();
+        } finally {
+            lock.close();
         }
     }
 
@@ -216,7 +238,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
 
     @Override
     protected void internalDetach() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 if (isAttached()) {
@@ -239,6 +262,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -251,7 +276,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     @Override
     public void dropDatabase() throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
@@ -273,13 +299,16 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
                     log.debug("Ignored exception on connection close in dropDatabase()", e);
                 }
             }
+        } finally {
+            lock.close();
         }
     }
 
     @Override
     public FbWireTransaction startTransaction(TransactionParameterBuffer tpb) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_transaction);
@@ -298,6 +327,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } catch (IOException ioex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ioex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
 
     }
@@ -305,7 +336,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     @Override
     public FbTransaction reconnectTransaction(long transactionId) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_reconnect);
@@ -331,6 +363,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } catch (IOException ioex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ioex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -364,7 +398,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     public byte[] getDatabaseInfo(byte[] requestItems, int maxBufferLength) throws SQLException {
         // TODO Write common info request implementation shared for db, sql, transaction and blob?
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_info_database);
@@ -383,6 +418,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -399,7 +436,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             // TODO SQLState and/or Firebird specific error
             throw new SQLException("executeImmediate when not attached should have no transaction");
         }
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_exec_immediate);
@@ -424,13 +462,16 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
     @Override
     public void releaseObject(int operation, int objectId) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 doReleaseObjectPacket(operation, objectId);
                 getXdrOut().flush();
@@ -442,7 +483,134 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation uses two round trips: it first sends <code>op_open_blob</code> for all blobs, and then
+     * sends <code>op_get_segment</code> and <code>op_close_blob</code> for each opened blob. A blob is only returned if
+     * the end of the blob was reached within the single get segment request, so <code>maxLength</code> is limited to
+     * {@value #MAX_INLINE_BLOB_LENGTH} bytes.
+     * </p>
+     */
+    @Override
+    public byte[][] getBlobContents(FbTransaction transaction, long[] blobIds, int maxLength) throws SQLException {
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("maxLength should be larger than 0, was: " + maxLength);
+        }
+        maxLength = Math.min(maxLength, MAX_INLINE_BLOB_LENGTH);
+        checkAttached();
+        checkTransactionActive(transaction);
+        final byte[][] contents = new byte[blobIds.length][];
+        if (blobIds.length == 0) return contents;
+        final LockCloseable lock = withLock();
+        try {
+            final int[] blobHandles = new int[blobIds.length];
+            final boolean[] opened = new boolean[blobIds.length];
+            try {
+                final XdrOutputStream xdrOut = getXdrOut();
+                for (long blobId : blobIds) {
+                    xdrOut.writeInt(op_open_blob);
+                    xdrOut.writeInt(transaction.getHandle());
+                    xdrOut.writeLong(blobId);
+                }
+                xdrOut.flush();
+            } catch (IOException ex) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+            }
+            int openCount = 0;
+            try {
+                for (int idx = 0; idx < blobIds.length; idx++) {
+                    try {
+                        blobHandles[idx] = readGenericResponse(null).getObjectHandle();
+                        opened[idx] = true;
+                        openCount++;
+                    } catch (SQLException e) {
+                        // Reported when the blob is read normally
+                        log.debug("Ignoring exception opening blob for getBlobContents", e);
+                    }
+                }
+            } catch (IOException ex) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
+            }
+            if (openCount == 0) return contents;
+
+            // Buffer length includes the 2 byte length of each segment, and room to detect the end of the blob
+            final int bufferLength = maxLength + INLINE_BLOB_BUFFER_OVERHEAD;
+            try {
+                final XdrOutputStream xdrOut = getXdrOut();
+                for (int idx = 0; idx < blobIds.length; idx++) {
+                    if (!opened[idx]) continue;
+                    xdrOut.writeInt(op_get_segment);
+                    xdrOut.writeInt(blobHandles[idx]);
+                    xdrOut.writeInt(bufferLength);
+                    xdrOut.writeInt(0); // length of segment send buffer (always 0 in get)
+                    doReleaseObjectPacket(op_close_blob, blobHandles[idx]);
+                }
+                xdrOut.flush();
+            } catch (IOException ex) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+            }
+            try {
+                for (int idx = 0; idx < blobIds.length; idx++) {
+                    if (!opened[idx]) continue;
+                    try {
+                        final GenericResponse response = readGenericResponse(null);
+                        // Object handle 2 signals end of blob
+                        if (response.getObjectHandle() == 2) {
+                            contents[idx] = segmentData(response.getData(), maxLength);
+                        }
+                    } catch (SQLException e) {
+                        log.debug("Ignoring exception reading blob for getBlobContents", e);
+                    }
+                    try {
+                        readResponse(null);
+                    } catch (SQLException e) {
+                        log.debug("Ignoring exception closing blob for getBlobContents", e);
+                    }
+                }
+            } catch (IOException ex) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
+            }
+        } finally {
+            lock.close();
+        }
+        return contents;
+    }
+
+    /**
+     * Concatenates the segment data of a get segment response.
+     *
+     * @param responseBuffer
+     *         Response buffer with segments (each prefixed with a 2 byte length)
+     * @param maxLength
+     *         Maximum length of the data
+     * @return Segment data, or {@code null} if the data is longer than {@code maxLength}
+     */
+    private static byte[] segmentData(byte[] responseBuffer, int maxLength) {
+        int length = 0;
+        int position = 0;
+        while (position < responseBuffer.length) {
+            final int segmentLength = iscVaxInteger2(responseBuffer, position);
+            position += 2 + segmentLength;
+            length += segmentLength;
+        }
+        if (length > maxLength) return null;
+        final byte[] data = new byte[length];
+        position = 0;
+        int count = 0;
+        while (position < responseBuffer.length) {
+            final int segmentLength = iscVaxInteger2(responseBuffer, position);
+            position += 2;
+            System.arraycopy(responseBuffer, position, data, count, segmentLength);
+            position += segmentLength;
+            count += segmentLength;
         }
+        return data;
     }
 
     @Override
@@ -450,7 +618,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
         checkAttached();
         final int auxHandle;
         final int port;
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_connect_request);
@@ -473,6 +642,8 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
         final FbWireAsynchronousChannel channel = protocolDescriptor.createAsynchronousChannel(this);
         channel.connect(connection.getServerName(), port, auxHandle);
@@ -24,10 +24,10 @@ import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.wire.*;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.sql.SQLException;
 
@@ -43,6 +43,12 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
 
     // TODO V10OutputBlob and V10InputBlob share some common behavior and information (eg in open() and getMaximumSegmentSize()), find a way to unify this
 
+    /**
+     * Maximum number of get segment requests sent before reading the responses in
+     * {@link #get(byte[], int, int, float)}.
+     */
+    private static final int GET_SEGMENT_PIPELINE_WINDOW = 8;
+
     public V10InputBlob(FbWireDatabase database, FbWireTransaction transaction,
                         BlobParameterBuffer blobParameterBuffer, long blobId) {
         super(database, transaction, blobParameterBuffer, blobId);
@@ -58,7 +64,8 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
             checkBlobClosed();
 
             final FbWireDatabase database = getDatabase();
-            synchronized (database.getSynchronizationObject()) {
+            final LockCloseable lock = database.withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
                     final BlobParameterBuffer blobParameterBuffer = getBlobParameterBuffer();
@@ -83,6 +90,8 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
                 }
                 // TODO Request information on the blob?
+            } finally {
+                lock.close();
             }
         }
     }
@@ -96,54 +105,178 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
                     .toSQLException();
         }
         // TODO Is this actually a real limitation, or are larger sizes possible?
-        int actualSize = 2 + Math.min(sizeRequested, getMaximumSegmentSize());
+        final int actualSize = Math.min(sizeRequested, getMaximumSegmentSize());
         synchronized (getSynchronizationObject()) {
             checkDatabaseAttached();
             checkTransactionActive();
             checkBlobOpen();
 
-            GenericResponse response;
+            final byte[] responseBuffer;
             final FbWireDatabase database = getDatabase();
-            synchronized (database.getSynchronizationObject()) {
+            final LockCloseable lock = database.withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
-                    xdrOut.writeInt(op_get_segment);
-                    xdrOut.writeInt(getHandle());
-                    xdrOut.writeInt(actualSize);
-                    xdrOut.writeInt(0); // length of segment send buffer (always 0 in get)
+                    sendGetSegment(xdrOut, actualSize);
                     xdrOut.flush();
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
                 }
                 try {
-                    response = database.readGenericResponse(null);
-                    // TODO Meaning of 2
-                    if (response.getObjectHandle() == 2) {
-                        // TODO what if I seek on a stream blob?
-                        setEof();
-                    }
+                    responseBuffer = readGetSegmentResponse();
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
 
-            final byte[] responseBuffer = response.getData();
             if (responseBuffer.length == 0) {
                 return responseBuffer;
             }
+            final byte[] segment = new byte[segmentDataLength(responseBuffer)];
+            copySegmentData(responseBuffer, segment, 0);
+            return segment;
+        }
+    }
 
-            final ByteArrayOutputStream bos = new ByteArrayOutputStream(actualSize);
-            int position = 0;
-            while (position < responseBuffer.length) {
-                int segmentLength = iscVaxInteger2(responseBuffer, position);
-                position += 2;
-                bos.write(responseBuffer, position, segmentLength);
-                position += segmentLength;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation sends segment requests for the remaining length (up to
+     * {@link #GET_SEGMENT_PIPELINE_WINDOW} requests at a time) before reading the responses, and copies the segment
+     * data directly into <code>b</code>.
+     * </p>
+     */
+    @Override
+    public int get(final byte[] b, final int off, final int len, final float minFillFactor) throws SQLException {
+        final int minLength = getMinimumLength(b, off, len, minFillFactor);
+        if (len == 0) return 0;
+        synchronized (getSynchronizationObject()) {
+            checkDatabaseAttached();
+            checkTransactionActive();
+            checkBlobOpen();
+
+            final int maximumSegmentSize = getMaximumSegmentSize();
+            final FbWireDatabase database = getDatabase();
+            final LockCloseable lock = database.withLock();
+            try {
+                int count = 0;
+                while (count < minLength && !isEof()) {
+                    // The server never returns more data than requested, so this does not read beyond len
+                    int requested = 0;
+                    int requestCount = 0;
+                    try {
+                        final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
+                        while (requestCount < GET_SEGMENT_PIPELINE_WINDOW && requested < len - count) {
+                            final int size = Math.min(len - count - requested, maximumSegmentSize);
+                            sendGetSegment(xdrOut, size);
+                            requested += size;
+                            requestCount++;
+                        }
+                        xdrOut.flush();
+                    } catch (IOException e) {
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+                    }
+                    try {
+                        SQLException firstException = null;
+                        for (int idx = 0; idx < requestCount; idx++) {
+                            try {
+                                final byte[] responseBuffer = readGetSegmentResponse();
+                                if (firstException == null) {
+                                    count += copySegmentData(responseBuffer, b, off + count);
+                                }
+                            } catch (SQLException e) {
+                                if (firstException == null) {
+                                    firstException = e;
+                                }
+                            }
+                        }
+                        if (firstException != null) {
+                            throw firstException;
+                        }
+                    } catch (IOException e) {
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
+                    }
+                }
+                return count;
+            } finally {
+                lock.close();
             }
-            return bos.toByteArray();
         }
     }
 
+    /**
+     * Sends a get segment request (without flushing).
+     *
+     * @param xdrOut
+     *         XDR output stream
+     * @param size
+     *         Maximum number of bytes of segment data to return
+     */
+    private void sendGetSegment(final XdrOutputStream xdrOut, final int size) throws IOException {
+        xdrOut.writeInt(op_get_segment);
+        xdrOut.writeInt(getHandle());
+        // Buffer length includes the 2 byte length of each segment
+        xdrOut.writeInt(2 + size);
+        xdrOut.writeInt(0); // length of segment send buffer (always 0 in get)
+    }
+
+    /**
+     * Reads the response to a get segment request, marking the blob as EOF if the end of the blob was reached.
+     *
+     * @return Response buffer with segments (each prefixed with a 2 byte length)
+     */
+    private byte[] readGetSegmentResponse() throws SQLException, IOException {
+        final GenericResponse response = getDatabase().readGenericResponse(null);
+        // TODO Meaning of 2
+        if (response.getObjectHandle() == 2) {
+            // TODO what if I seek on a stream blob?
+            setEof();
+        }
+        return response.getData();
+    }
+
+    /**
+     * @param responseBuffer
+     *         Response buffer of a get segment request
+     * @return Total length of the segment data in the response buffer
+     */
+    private static int segmentDataLength(final byte[] responseBuffer) {
+        int length = 0;
+        int position = 0;
+        while (position < responseBuffer.length) {
+            final int segmentLength = iscVaxInteger2(responseBuffer, position);
+            position += 2 + segmentLength;
+            length += segmentLength;
+        }
+        return length;
+    }
+
+    /**
+     * Copies the segment data of a get segment response into a buffer.
+     *
+     * @param responseBuffer
+     *         Response buffer of a get segment request
+     * @param b
+     *         Target buffer
+     * @param off
+     *         Offset in the target buffer
+     * @return Number of bytes copied
+     */
+    private static int copySegmentData(final byte[] responseBuffer, final byte[] b, final int off) {
+        int position = 0;
+        int count = 0;
+        while (position < responseBuffer.length) {
+            final int segmentLength = iscVaxInteger2(responseBuffer, position);
+            position += 2;
+            System.arraycopy(responseBuffer, position, b, off + count, segmentLength);
+            position += segmentLength;
+            count += segmentLength;
+        }
+        return count;
+    }
+
     @Override
     public void seek(int offset, SeekMode seekMode) throws SQLException {
         synchronized (getSynchronizationObject()) {
@@ -151,7 +284,8 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
             checkTransactionActive();
 
             final FbWireDatabase database = getDatabase();
-            synchronized (database.getSynchronizationObject()) {
+            final LockCloseable lock = database.withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
                     xdrOut.writeInt(op_seek_blob);
@@ -168,6 +302,8 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
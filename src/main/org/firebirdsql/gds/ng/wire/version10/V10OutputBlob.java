@@ -25,13 +25,13 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.wire.*;
 
 import java.io.IOException;
 import java.sql.SQLException;
 
-import static org.firebirdsql.gds.JaybirdErrorCodes.jb_blobPutSegmentEmpty;
 import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
 
 /**
@@ -42,6 +42,12 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
 
     // TODO V10OutputBlob and V10InputBlob share some common behavior and information (eg in open() and getMaximumSegmentSize()), find a way to unify this
 
+    /**
+     * Maximum length of the buffer (segment data and the 2-byte segment lengths) of an <code>op_batch_segments</code>
+     * packet; servers before Firebird 3 read the buffer length as an unsigned 2-byte value.
+     */
+    protected static final int MAX_BATCH_BUFFER_LENGTH = 0xFFFF;
+
     public V10OutputBlob(FbWireDatabase database, FbWireTransaction transaction,
             BlobParameterBuffer blobParameterBuffer) {
         super(database, transaction, blobParameterBuffer);
@@ -61,7 +67,8 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
             }
 
             final FbWireDatabase database = getDatabase();
-            synchronized (database.getSynchronizationObject()) {
+            final LockCloseable lock = database.withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
                     final BlobParameterBuffer blobParameterBuffer = getBlobParameterBuffer();
@@ -86,41 +93,90 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
                 }
                 // TODO Request information on the blob?
+            } finally {
+                lock.close();
             }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Equivalent to {@link #put(byte[], int, int)} for the entire segment.
+     * </p>
+     */
     @Override
     public void putSegment(byte[] segment) throws SQLException {
-        // TODO Handle exceeding max segment size?
-        if (segment.length == 0) {
-            // TODO make non transient?
-            throw new FbExceptionBuilder().exception(jb_blobPutSegmentEmpty).toSQLException();
-        }
+        put(segment, 0, segment.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The data is sent with <code>op_batch_segments</code> packets with a buffer of at most
+     * {@value #MAX_BATCH_BUFFER_LENGTH} bytes, holding segments of at most {@link #getMaximumSegmentSize()} bytes,
+     * written directly from <code>b</code>.
+     * </p>
+     */
+    @Override
+    public void put(final byte[] b, int off, int len) throws SQLException {
+        checkPutArguments(b, off, len);
         synchronized (getSynchronizationObject()) {
             checkDatabaseAttached();
             checkTransactionActive();
             checkBlobOpen();
 
+            final int maxSegmentSize = getMaximumSegmentSize();
+            final int maxBatchLength = (MAX_BATCH_BUFFER_LENGTH / (maxSegmentSize + 2)) * maxSegmentSize;
             final FbWireDatabase database = getDatabase();
-            synchronized (database.getSynchronizationObject()) {
-                try {
-                    final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
-                    // TODO Using op_batch_segments over op_put_segment doesn't seem to provide a real benefit in current implementation (see XdrOutputStream)
-                    // TODO Is there any actual benefit possible, like sending multiple segments of maximum size?
-                    xdrOut.writeInt(op_batch_segments);
-                    xdrOut.writeInt(getHandle());
-                    xdrOut.writeBlobBuffer(segment);
-                    xdrOut.flush();
-                } catch (IOException e) {
-                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
-                }
-                try {
-                    database.readResponse(null);
-                } catch (IOException e) {
-                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
+            final LockCloseable lock = database.withLock();
+            try {
+                while (len > 0) {
+                    final int batchLength = Math.min(len, maxBatchLength);
+                    try {
+                        final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
+                        xdrOut.writeInt(op_batch_segments);
+                        xdrOut.writeInt(getHandle());
+                        xdrOut.writeBlobSegments(b, off, batchLength, maxSegmentSize);
+                    } catch (IOException e) {
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+                    }
+                    completeBatchSegments();
+                    off += batchLength;
+                    len -= batchLength;
                 }
+            } finally {
+                lock.close();
+            }
+        }
+    }
+
+    /**
+     * Completes an <code>op_batch_segments</code> packet written by {@link #put(byte[], int, int)}.
+     * <p>
+     * This implementation flushes the packet and reads the response. Implementations for protocols with lazy send
+     * can defer the response instead.
+     * </p>
+     *
+     * @throws SQLException
+     *         For database communication errors, or errors received from the server
+     */
+    protected void completeBatchSegments() throws SQLException {
+        final FbWireDatabase database = getDatabase();
+        final LockCloseable lock = database.withLock();
+        try {
+            try {
+                database.getXdrStreamAccess().getXdrOut().flush();
+            } catch (IOException e) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+            }
+            try {
+                database.readResponse(null);
+            } catch (IOException e) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 }
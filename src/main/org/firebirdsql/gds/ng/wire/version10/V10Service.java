@@ -23,6 +23,7 @@ import org.firebirdsql.gds.ServiceParameterBuffer;
 import org.firebirdsql.gds.ServiceRequestBuffer;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.wire.*;
 
 import java.io.IOException;
@@ -56,7 +57,8 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
             throw new SQLException("Already attached to a service");
         }
         final ServiceParameterBuffer spb = protocolDescriptor.createServiceParameterBuffer(connection);
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 try {
                     sendAttachToBuffer(spb);
@@ -75,6 +77,8 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
             }
             setAttached();
             afterAttachActions();
+        } finally {
+            lock.close();
         }
     }
 
@@ -114,7 +118,8 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
 
     @Override
     protected void internalDetach() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             // TODO Listeners (similar to AbstractFbDatabase#close())?
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
@@ -137,6 +142,8 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -144,7 +151,8 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
     public byte[] getServiceInfo(ServiceParameterBuffer serviceParameterBuffer,
             ServiceRequestBuffer serviceRequestBuffer, int maxBufferLength) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_service_info);
@@ -164,13 +172,16 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
     @Override
     public void startServiceAction(ServiceRequestBuffer serviceRequestBuffer) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_service_start);
@@ -187,6 +198,8 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -198,12 +211,15 @@ public class V10Service extends AbstractFbWireService implements FbWireService {
      */
     protected final void closeConnection() throws IOException {
         if (!connection.isConnected()) return;
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLockWithoutTimeout();
+        try {
             try {
                 connection.close();
             } finally {
                 setDetached();
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -32,6 +32,8 @@ import org.firebirdsql.util.SQLExceptionChainBuilder;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
 
@@ -46,6 +48,19 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
 
     private static final int NULL_INDICATOR_NOT_NULL = 0;
     private static final int NULL_INDICATOR_NULL = -1;
+    /**
+     * Maximum number of executions sent by {@link #executeBatch(List)} before reading their responses.
+     * <p>
+     * The responses of a window need to fit in the socket buffers, otherwise client and server block on each other.
+     * </p>
+     */
+    private static final int BATCH_PIPELINE_WINDOW = 128;
+
+    /**
+     * Arena for the field data of fetched rows, <code>null</code> if {@link IConnectionProperties#isUseFetchArena()} is
+     * not enabled. Access needs to be synchronized on the database synchronization object.
+     */
+    private final FieldDataArena fieldDataArena;
 
     /**
      * Creates a new instance of V10Statement for the specified database.
@@ -55,13 +70,15 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      */
     public V10Statement(FbWireDatabase database) {
         super(database);
+        fieldDataArena = database.getConnectionProperties().isUseFetchArena() ? new FieldDataArena() : null;
     }
 
     @Override
     public byte[] getSqlInfo(final byte[] requestItems, final int bufferLength) throws SQLException {
         synchronized (getSynchronizationObject()) {
             checkStatementValid();
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     sendInfoSql(requestItems, bufferLength);
                     getXdrOut().flush();
@@ -75,6 +92,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -90,13 +109,16 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws SQLException
      */
     protected void sendInfoSql(final byte[] requestItems, final int bufferLength) throws IOException, SQLException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(WireProtocolConstants.op_info_sql);
             xdrOut.writeInt(getHandle());
             xdrOut.writeInt(0); // incarnation
             xdrOut.writeBuffer(requestItems);
             xdrOut.writeInt(bufferLength);
+        } finally {
+            lock.close();
         }
     }
 
@@ -114,7 +136,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
     @Override
     protected void free(final int option) throws SQLException {
         synchronized (getSynchronizationObject()) {
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     doFreePacket(option);
                     getXdrOut().flush();
@@ -128,6 +151,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -140,11 +165,14 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws SQLException
      */
     protected void doFreePacket(int option) throws SQLException, IOException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             sendFree(option);
 
             // Reset statement information
             reset(option == ISCConstants.DSQL_drop);
+        } finally {
+            lock.close();
         }
     }
 
@@ -157,11 +185,14 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws SQLException
      */
     protected void sendFree(int option) throws IOException, SQLException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(WireProtocolConstants.op_free_statement);
             xdrOut.writeInt(getHandle());
             xdrOut.writeInt(option);
+        } finally {
+            lock.close();
         }
     }
 
@@ -185,7 +216,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
             }
             resetAll();
             final FbWireDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 if (currentState == StatementState.NEW) {
                     try {
                         sendAllocate();
@@ -217,6 +249,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -230,7 +264,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws IOException
      */
     protected void sendPrepare(final String statementText) throws SQLException, IOException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(WireProtocolConstants.op_prepare_statement);
             xdrOut.writeInt(getTransaction().getHandle());
@@ -239,6 +274,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
             xdrOut.writeString(statementText, getDatabase().getEncoding());
             xdrOut.writeBuffer(getStatementInfoRequestItems());
             xdrOut.writeInt(getDefaultSqlInfoSize());
+        } finally {
+            lock.close();
         }
     }
 
@@ -250,9 +287,12 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws SQLException
      */
     protected void processPrepareResponse(final GenericResponse genericResponse) throws SQLException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             parseStatementInfo(genericResponse.getData());
             switchState(StatementState.PREPARED);
+        } finally {
+            lock.close();
         }
     }
 
@@ -261,7 +301,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
             checkStatementValid();
             // TODO Check other statement states?
 
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(WireProtocolConstants.op_set_cursor);
@@ -281,6 +322,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -294,7 +337,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
             reset(false);
 
             final FbWireDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 // TODO Which state to switch to when an exception occurs (always ERROR might be wrong, see to do at start of class)
                 switchState(StatementState.EXECUTING);
                 final StatementType statementType = getType();
@@ -369,6 +413,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -385,7 +431,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      */
     protected void sendExecute(final int operation, final RowValue parameters) throws IOException, SQLException {
         assert operation == WireProtocolConstants.op_execute || operation == WireProtocolConstants.op_execute2 : "Needs to be called with operation op_execute or op_execute2";
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(operation);
             xdrOut.writeInt(getHandle());
@@ -408,6 +455,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                 xdrOut.writeBuffer(fieldDescriptor != null && fieldDescriptor.getCount() > 0 ? calculateBlr(fieldDescriptor) : null);
                 xdrOut.writeInt(0); // out_message_number = out_message_type
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -435,6 +484,242 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
         // Nothing to do here
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Executions are pipelined: up to {@value #BATCH_PIPELINE_WINDOW} executes (each with its request for SQL counts)
+     * are written before the responses are read. After a failed execution, the remaining executions of the same
+     * window have also been executed by the server, but no further windows are sent.
+     * </p>
+     */
+    @Override
+    public BatchExecutionResult executeBatch(final List<RowValue> parameterSets) throws SQLException {
+        synchronized (getSynchronizationObject()) {
+            checkNoResultSetForBatch();
+            checkTransactionActive(getTransaction());
+            for (RowValue parameters : parameterSets) {
+                validateParameters(parameters);
+            }
+            reset(false);
+
+            final FbWireDatabase db = getDatabase();
+            final LockCloseable lock = db.withLock();
+            try {
+                switchState(StatementState.EXECUTING);
+                statementListenerDispatcher.statementExecuted(this, false, false);
+                final boolean singletonResult = getType().isTypeWithSingletonResult();
+                final int operation = singletonResult ? WireProtocolConstants.op_execute2 : WireProtocolConstants.op_execute;
+                final SqlCountProcessor sqlCountProcessor = createSqlCountProcessor();
+                final List<SqlCountHolder> sqlCounts = new ArrayList<>(parameterSets.size());
+                SQLException firstException = null;
+                int failedIndex = -1;
+                int windowStart = 0;
+                while (windowStart < parameterSets.size() && firstException == null) {
+                    final int windowEnd = Math.min(parameterSets.size(), windowStart + BATCH_PIPELINE_WINDOW);
+                    try {
+                        for (int index = windowStart; index < windowEnd; index++) {
+                            sendExecute(operation, parameterSets.get(index));
+                            sendInfoSql(sqlCountProcessor.getRecordCountInfoItems(), getDefaultSqlInfoSize());
+                        }
+                        getXdrOut().flush();
+                    } catch (IOException ex) {
+                        switchState(StatementState.ERROR);
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+                    }
+                    try {
+                        for (int index = windowStart; index < windowEnd; index++) {
+                            try {
+                                final SqlCountHolder counts = processBatchExecuteResponses(singletonResult, sqlCountProcessor);
+                                if (firstException == null) {
+                                    sqlCounts.add(counts);
+                                    statementListenerDispatcher.sqlCounts(this, counts);
+                                }
+                            } catch (SQLException ex) {
+                                if (firstException == null) {
+                                    firstException = ex;
+                                    failedIndex = index;
+                                }
+                            }
+                        }
+                    } catch (IOException ex) {
+                        switchState(StatementState.ERROR);
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
+                    }
+                    windowStart = windowEnd;
+                }
+                if (getState() != StatementState.ERROR) {
+                    switchState(StatementState.PREPARED);
+                }
+                return new BatchExecutionResult(sqlCounts, failedIndex, firstException);
+            } finally {
+                lock.close();
+            }
+        }
+    }
+
+    /**
+     * Processes the responses of a single execute of {@link #executeBatch(List)}.
+     *
+     * @param singletonResult
+     *         <code>true</code> if the execute was sent with <code>op_execute2</code>
+     * @param sqlCountProcessor
+     *         Processor for the SQL counts response
+     * @return SQL counts of the execute
+     * @throws SQLException
+     *         For errors returned by the server
+     * @throws IOException
+     *         For errors reading the responses
+     */
+    private SqlCountHolder processBatchExecuteResponses(final boolean singletonResult,
+            final SqlCountProcessor sqlCountProcessor) throws SQLException, IOException {
+        final FbWireDatabase db = getDatabase();
+        final WarningMessageCallback statementWarningCallback = getStatementWarningCallback();
+        int expectedResponseCount = singletonResult ? 3 : 2;
+        try {
+            if (singletonResult) {
+                expectedResponseCount--;
+                processExecuteSingletonResponse(db.readSqlResponse(statementWarningCallback));
+            }
+            expectedResponseCount--;
+            processExecuteResponse(db.readGenericResponse(statementWarningCallback));
+            expectedResponseCount--;
+            return sqlCountProcessor.process(processInfoSqlResponse(db.readGenericResponse(statementWarningCallback)));
+        } finally {
+            db.consumePackets(expectedResponseCount, statementWarningCallback);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The prepare, execute and request for SQL counts of up to {@value #BATCH_PIPELINE_WINDOW} statement texts are
+     * written before the responses are read. After a failed statement, the remaining statement texts of the same
+     * window have also been prepared and executed by the server, but no further windows are sent. A statement that
+     * has not been allocated yet is allocated before the first window is sent.
+     * </p>
+     */
+    @Override
+    public BatchExecutionResult prepareAndExecuteBatch(final List<String> statementTexts) throws SQLException {
+        synchronized (getSynchronizationObject()) {
+            checkTransactionActive(getTransaction());
+            final StatementState currentState = getState();
+            if (!isPrepareAllowed(currentState)) {
+                throw new SQLNonTransientException(String.format("Current statement state (%s) does not allow call to prepare", currentState));
+            }
+            resetAll();
+            final FbWireDatabase db = getDatabase();
+            final LockCloseable lock = db.withLock();
+            try {
+                if (currentState == StatementState.NEW) {
+                    try {
+                        sendAllocate();
+                        getXdrOut().flush();
+                    } catch (IOException ex) {
+                        switchState(StatementState.ERROR);
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+                    }
+                    try {
+                        processAllocateResponse(db.readGenericResponse(getStatementWarningCallback()));
+                    } catch (IOException ex) {
+                        switchState(StatementState.ERROR);
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
+                    }
+                } else {
+                    checkStatementValid();
+                }
+
+                final SqlCountProcessor sqlCountProcessor = createSqlCountProcessor();
+                final List<SqlCountHolder> sqlCounts = new ArrayList<>(statementTexts.size());
+                SQLException firstException = null;
+                int failedIndex = -1;
+                boolean cursorOpen = false;
+                int windowStart = 0;
+                while (windowStart < statementTexts.size() && firstException == null) {
+                    final int windowEnd = Math.min(statementTexts.size(), windowStart + BATCH_PIPELINE_WINDOW);
+                    try {
+                        for (int index = windowStart; index < windowEnd; index++) {
+                            sendPrepare(statementTexts.get(index));
+                            sendExecute(WireProtocolConstants.op_execute, null);
+                            sendInfoSql(sqlCountProcessor.getRecordCountInfoItems(), getDefaultSqlInfoSize());
+                        }
+                        getXdrOut().flush();
+                    } catch (IOException ex) {
+                        switchState(StatementState.ERROR);
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+                    }
+                    try {
+                        for (int index = windowStart; index < windowEnd; index++) {
+                            try {
+                                final SqlCountHolder counts = processBatchPrepareExecuteResponses(sqlCountProcessor);
+                                cursorOpen = getType().isTypeWithCursor();
+                                if (firstException == null) {
+                                    sqlCounts.add(counts);
+                                }
+                            } catch (SQLException ex) {
+                                if (firstException == null) {
+                                    firstException = ex;
+                                    failedIndex = index;
+                                }
+                            }
+                        }
+                    } catch (IOException ex) {
+                        switchState(StatementState.ERROR);
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
+                    }
+                    windowStart = windowEnd;
+                }
+                if (getState() == StatementState.PREPARED) {
+                    // Report the last execution to the listeners; the last executed statement may have opened a cursor
+                    switchState(StatementState.EXECUTING);
+                    if (firstException == null) {
+                        statementListenerDispatcher.statementExecuted(this, false, false);
+                        if (!sqlCounts.isEmpty()) {
+                            statementListenerDispatcher.sqlCounts(this, sqlCounts.get(sqlCounts.size() - 1));
+                        }
+                    }
+                    switchState(cursorOpen ? StatementState.CURSOR_OPEN : StatementState.PREPARED);
+                }
+                return new BatchExecutionResult(sqlCounts, failedIndex, firstException);
+            } finally {
+                lock.close();
+            }
+        }
+    }
+
+    /**
+     * Processes the responses of a single statement text of {@link #prepareAndExecuteBatch(List)}.
+     *
+     * @param sqlCountProcessor
+     *         Processor for the SQL counts response
+     * @return SQL counts of the execute
+     * @throws SQLException
+     *         For errors returned by the server, or if the statement produces a result set
+     * @throws IOException
+     *         For errors reading the responses
+     */
+    private SqlCountHolder processBatchPrepareExecuteResponses(final SqlCountProcessor sqlCountProcessor)
+            throws SQLException, IOException {
+        final FbWireDatabase db = getDatabase();
+        final WarningMessageCallback statementWarningCallback = getStatementWarningCallback();
+        int expectedResponseCount = 3;
+        try {
+            expectedResponseCount--;
+            processPrepareResponse(db.readGenericResponse(statementWarningCallback));
+            expectedResponseCount--;
+            processExecuteResponse(db.readGenericResponse(statementWarningCallback));
+            expectedResponseCount--;
+            final SqlCountHolder counts =
+                    sqlCountProcessor.process(processInfoSqlResponse(db.readGenericResponse(statementWarningCallback)));
+            final RowDescriptor fieldDescriptor = getFieldDescriptor();
+            if (fieldDescriptor != null && fieldDescriptor.getCount() > 0) {
+                throw new SQLNonTransientException("prepareAndExecuteBatch is only supported for statements without a result set");
+            }
+            return counts;
+        } finally {
+            db.consumePackets(expectedResponseCount, statementWarningCallback);
+        }
+    }
+
     @Override
     public void fetchRows(int fetchSize) throws SQLException {
         synchronized (getSynchronizationObject()) {
@@ -444,7 +729,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
             }
             if (isAllRowsFetched()) return;
 
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     sendFetch(fetchSize);
                     getXdrOut().flush();
@@ -458,6 +744,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -469,7 +757,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws SQLException
      */
     protected void processFetchResponse() throws IOException, SQLException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             Response response;
             while (!isAllRowsFetched() && (response = getDatabase().readResponse(getStatementWarningCallback())) instanceof FetchResponse) {
                 final FetchResponse fetchResponse = (FetchResponse) response;
@@ -485,6 +774,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                 }
             }
             // TODO Handle other response type?
+        } finally {
+            lock.close();
         }
     }
 
@@ -496,13 +787,16 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws IOException
      */
     protected void sendFetch(int fetchSize) throws SQLException, IOException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(WireProtocolConstants.op_fetch);
             xdrOut.writeInt(getHandle());
             xdrOut.writeBuffer(calculateBlr(getFieldDescriptor()));
             xdrOut.writeInt(0); // out_message_number = out_message_type
             xdrOut.writeInt(fetchSize); // fetch size
+        } finally {
+            lock.close();
         }
     }
 
@@ -518,39 +812,87 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
         final RowValue rowValue = rowDescriptor.createDefaultFieldValues();
         final BlrCalculator blrCalculator = getDatabase().getBlrCalculator();
 
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrInputStream xdrIn = getXdrIn();
 
             for (int idx = 0; idx < rowDescriptor.getCount(); idx++) {
-                final FieldDescriptor fieldDescriptor = rowDescriptor.getFieldDescriptor(idx);
                 final FieldValue fieldValue = rowValue.getFieldValue(idx);
-                int len = blrCalculator.calculateIoLength(fieldDescriptor);
-                byte[] buffer;
-                if (len == 0) {
-                    // Length specified in response
-                    len = xdrIn.readInt();
-                    buffer = new byte[len];
-                    xdrIn.readFully(buffer, 0, len);
-                    xdrIn.skipPadding(len);
-                } else if (len < 0) {
-                    // Buffer is not padded
-                    buffer = new byte[-len];
-                    xdrIn.readFully(buffer, 0, -len);
-                } else {
-                    // len is incremented in calculateIoLength to avoid value 0 so it must be decremented
-                    len--;
-                    buffer = new byte[len];
-                    xdrIn.readFully(buffer, 0, len);
-                    xdrIn.skipPadding(len);
+                readColumnData(xdrIn, blrCalculator, rowDescriptor.getFieldDescriptor(idx), fieldValue);
+                if (xdrIn.readInt() == NULL_INDICATOR_NULL) {
+                    discardColumnData(fieldValue);
                 }
-                if (xdrIn.readInt() == -1)
-                    buffer = null;
-                fieldValue.setFieldData(buffer);
             }
+        } finally {
+            lock.close();
         }
         return rowValue;
     }
 
+    /**
+     * Reads the data of a single column (excluding the null indicator) and stores it in <code>fieldValue</code>.
+     * <p>
+     * If the fetch arena is enabled for this connection, the data is read into the arena and <code>fieldValue</code>
+     * references it as a slice (see {@link FieldValue#setFieldData(byte[], int, int)}), otherwise it is read into
+     * a new byte array.
+     * </p>
+     *
+     * @param xdrIn
+     *         XdrInputStream to read from
+     * @param blrCalculator
+     *         Blr calculator
+     * @param fieldDescriptor
+     *         Field descriptor of the column
+     * @param fieldValue
+     *         Field value to populate
+     * @throws SQLException
+     * @throws IOException
+     */
+    protected final void readColumnData(final XdrInputStream xdrIn, final BlrCalculator blrCalculator,
+            final FieldDescriptor fieldDescriptor, final FieldValue fieldValue) throws SQLException, IOException {
+        int len = blrCalculator.calculateIoLength(fieldDescriptor);
+        final boolean padded = len >= 0;
+        if (len == 0) {
+            // Length specified in response
+            len = xdrIn.readInt();
+        } else if (len < 0) {
+            // Buffer is not padded
+            len = -len;
+        } else {
+            // len is incremented in calculateIoLength to avoid value 0 so it must be decremented
+            len--;
+        }
+        final byte[] buffer;
+        final int offset;
+        if (fieldDataArena != null) {
+            buffer = fieldDataArena.allocate(len);
+            offset = fieldDataArena.getLastOffset();
+        } else {
+            buffer = new byte[len];
+            offset = 0;
+        }
+        xdrIn.readFully(buffer, offset, len);
+        if (padded) {
+            xdrIn.skipPadding(len);
+        }
+        fieldValue.setFieldData(buffer, offset, len);
+    }
+
+    /**
+     * Discards the data read by the last call to
+     * {@link #readColumnData(XdrInputStream, BlrCalculator, FieldDescriptor, FieldValue)} and sets
+     * <code>fieldValue</code> to <code>NULL</code>.
+     *
+     * @param fieldValue
+     *         Field value populated by the last call to <code>readColumnData</code>
+     */
+    protected final void discardColumnData(final FieldValue fieldValue) {
+        if (fieldDataArena != null) {
+            fieldDataArena.releaseLast();
+        }
+        fieldValue.setFieldData(null);
+    }
+
     /**
      * Write a set of SQL data from a list of {@link FieldValue} instances.
      *
@@ -562,7 +904,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      *         if an error occurs while writing to the underlying output stream
      */
     protected void writeSqlData(final RowDescriptor rowDescriptor, final RowValue fieldValues) throws IOException, SQLException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             final BlrCalculator blrCalculator = getDatabase().getBlrCalculator();
             for (int idx = 0; idx < fieldValues.getCount(); idx++) {
@@ -609,6 +952,8 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
                 // sqlind (null indicator)
                 xdrOut.writeInt(buffer != null ? NULL_INDICATOR_NOT_NULL : NULL_INDICATOR_NULL);
             }
+        } finally {
+            lock.close();
         }
     }
 
@@ -619,10 +964,13 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      * @throws IOException
      */
     protected void sendAllocate() throws SQLException, IOException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(WireProtocolConstants.op_allocate_statement);
             xdrOut.writeInt(getDatabase().getHandle());
+        } finally {
+            lock.close();
         }
     }
 
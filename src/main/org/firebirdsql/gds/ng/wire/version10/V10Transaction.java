@@ -84,7 +84,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
         try {
             synchronized (getSynchronizationObject()) {
                 switchState(TransactionState.COMMITTING);
-                synchronized (getDatabase().getSynchronizationObject()) {
+                final LockCloseable lock = getDatabase().withLock();
+                try {
                     try {
                         final XdrOutputStream xdrOut = getXdrOut();
                         xdrOut.writeInt(op_commit);
@@ -98,6 +99,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
                     } catch (IOException ioex) {
                         throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ioex).toSQLException();
                     }
+                } finally {
+                    lock.close();
                 }
                 switchState(TransactionState.COMMITTED);
             }
@@ -113,7 +116,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
         try {
             synchronized (getSynchronizationObject()) {
                 switchState(TransactionState.ROLLING_BACK);
-                synchronized (getDatabase().getSynchronizationObject()) {
+                final LockCloseable lock = getDatabase().withLock();
+                try {
                     try {
                         final XdrOutputStream xdrOut = getXdrOut();
                         xdrOut.writeInt(op_rollback);
@@ -127,6 +131,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
                     } catch (IOException ioex) {
                         throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ioex).toSQLException();
                     }
+                } finally {
+                    lock.close();
                 }
                 switchState(TransactionState.ROLLED_BACK);
             }
@@ -142,7 +148,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
         try {
             synchronized (getSynchronizationObject()) {
                 switchState(TransactionState.PREPARING);
-                synchronized (getDatabase().getSynchronizationObject()) {
+                final LockCloseable lock = getDatabase().withLock();
+                try {
                     try {
                         final XdrOutputStream xdrOut = getXdrOut();
                         if (recoveryInformation != null) {
@@ -162,6 +169,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
                     } catch (IOException ioex) {
                         throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ioex).toSQLException();
                     }
+                } finally {
+                    lock.close();
                 }
                 switchState(TransactionState.PREPARED);
             }
@@ -175,7 +184,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
     @Override
     public byte[] getTransactionInfo(byte[] requestItems, int maxBufferLength) throws SQLException {
         synchronized (getSynchronizationObject()) {
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(op_info_transaction);
@@ -193,6 +203,8 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
                 } catch (IOException ex) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -18,6 +18,7 @@
  */
 package org.firebirdsql.gds.ng.wire.version10;
 
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.*;
 
@@ -31,8 +32,8 @@ import java.sql.SQLException;
 public class V10WireOperations extends AbstractWireOperations {
 
     public V10WireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
-        super(connection, defaultWarningMessageCallback, syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
+        super(connection, defaultWarningMessageCallback, connectionLock);
     }
 
     @Override
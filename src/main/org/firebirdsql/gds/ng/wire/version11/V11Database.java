@@ -20,6 +20,7 @@ package org.firebirdsql.gds.ng.wire.version11;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.DeferredAction;
 import org.firebirdsql.gds.ng.wire.ProtocolDescriptor;
@@ -63,7 +64,8 @@ public class V11Database extends V10Database {
     @Override
     public void releaseObject(int operation, int objectId) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = withLock();
+        try {
             try {
                 doReleaseObjectPacket(operation, objectId);
                 // NOTE: Intentionally no flush!
@@ -90,6 +92,8 @@ public class V11Database extends V10Database {
             } catch (IOException ex) {
                 throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
             }
+        } finally {
+            lock.close();
         }
     }
 }
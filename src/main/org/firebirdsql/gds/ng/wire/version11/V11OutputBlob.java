@@ -0,0 +1,150 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version11;
+
+import org.firebirdsql.gds.BlobParameterBuffer;
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
+import org.firebirdsql.gds.ng.WarningMessageCallback;
+import org.firebirdsql.gds.ng.wire.*;
+import org.firebirdsql.gds.ng.wire.version10.V10OutputBlob;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+
+/**
+ * Output blob for the V11 protocol, which defers the responses to <code>op_batch_segments</code> (lazy send).
+ * <p>
+ * Consecutive writes are not delayed by a round trip per packet. Errors reported by the server for a deferred packet
+ * are thrown by the next write or by {@link #close()}; in the latter case the blob is cancelled instead of closed.
+ * </p>
+ *
+ * @since 3.0
+ */
+public class V11OutputBlob extends V10OutputBlob {
+
+    /**
+     * Maximum number of deferred responses before they are read, so the responses cannot fill the socket buffers.
+     */
+    private static final int MAX_DEFERRED_RESPONSES = 64;
+
+    private int deferredResponseCount;
+    private SQLException deferredException;
+
+    public V11OutputBlob(FbWireDatabase database, FbWireTransaction transaction,
+            BlobParameterBuffer blobParameterBuffer) {
+        super(database, transaction, blobParameterBuffer);
+    }
+
+    @Override
+    protected void completeBatchSegments() throws SQLException {
+        final FbWireDatabase database = getDatabase();
+        final LockCloseable lock = database.withLock();
+        try {
+            // intentionally no flush
+            deferredResponseCount++;
+            database.enqueueDeferredAction(new DeferredAction() {
+                @Override
+                public void processResponse(Response response) {
+                    processBatchSegmentsResponse(response);
+                }
+
+                @Override
+                public WarningMessageCallback getWarningMessageCallback() {
+                    return null;
+                }
+            });
+            if (deferredResponseCount >= MAX_DEFERRED_RESPONSES) {
+                completeDeferredResponses();
+            }
+            throwDeferredException();
+        } finally {
+            lock.close();
+        }
+    }
+
+    @Override
+    protected void closeImpl() throws SQLException {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
+            try {
+                completeDeferredResponses();
+                throwDeferredException();
+            } catch (SQLException e) {
+                // Closing would store a blob with missing data
+                try {
+                    cancelImpl();
+                } catch (SQLException cancelException) {
+                    e.setNextException(cancelException);
+                }
+                throw e;
+            }
+        } finally {
+            lock.close();
+        }
+        super.closeImpl();
+    }
+
+    /**
+     * Flushes the pending packets and reads their deferred responses.
+     *
+     * @throws SQLException
+     *         For database communication errors
+     */
+    private void completeDeferredResponses() throws SQLException {
+        final FbWireDatabase database = getDatabase();
+        final LockCloseable lock = database.withLock();
+        try {
+            if (deferredResponseCount == 0) return;
+            try {
+                database.getXdrStreamAccess().getXdrOut().flush();
+            } catch (IOException e) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+            }
+            database.processDeferredActions();
+            if (deferredResponseCount > 0) {
+                // Deferred actions were not executed, because reading the response failed
+                deferredResponseCount = 0;
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).toSQLException();
+            }
+        } finally {
+            lock.close();
+        }
+    }
+
+    private void processBatchSegmentsResponse(Response response) {
+        deferredResponseCount--;
+        if (response instanceof GenericResponse) {
+            final SQLException exception = ((GenericResponse) response).getException();
+            if (exception != null && !(exception instanceof SQLWarning) && deferredException == null) {
+                deferredException = exception;
+            }
+        }
+    }
+
+    private void throwDeferredException() throws SQLException {
+        final SQLException exception = deferredException;
+        if (exception != null) {
+            deferredException = null;
+            throw exception;
+        }
+    }
+}
@@ -22,16 +22,20 @@ package org.firebirdsql.gds.ng.wire.version11;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.StatementState;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.DeferredAction;
 import org.firebirdsql.gds.ng.wire.FbWireDatabase;
+import org.firebirdsql.gds.ng.wire.FetchResponse;
+import org.firebirdsql.gds.ng.wire.GenericResponse;
 import org.firebirdsql.gds.ng.wire.Response;
 import org.firebirdsql.gds.ng.wire.version10.V10Statement;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
+import java.sql.SQLWarning;
 
 import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
 
@@ -42,6 +46,13 @@ import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
  * @since 3.0
  */
 public class V11Statement extends V10Statement {
+
+    // Prefetch state is guarded by the synchronization object of the database
+    private boolean prefetchPending;
+    private int prefetchedRowCount;
+    private boolean prefetchEndOfCursor;
+    private SQLException prefetchException;
+
     /**
      * Creates a new instance of V11Statement for the specified database.
      *
@@ -62,7 +73,8 @@ public class V11Statement extends V10Statement {
             }
             resetAll();
             final FbWireDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 int expectedResponseCount = 0;
                 try {
                     if (currentState == StatementState.NEW) {
@@ -94,6 +106,8 @@ public class V11Statement extends V10Statement {
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -101,7 +115,8 @@ public class V11Statement extends V10Statement {
     @Override
     protected void free(final int option) throws SQLException {
         synchronized (getSynchronizationObject()) {
-            synchronized (getDatabase().getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
                 try {
                     doFreePacket(option);
                     // intentionally no flush
@@ -119,7 +134,167 @@ public class V11Statement extends V10Statement {
                     switchState(StatementState.ERROR);
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
                 }
+            } finally {
+                lock.close();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sends the fetch request without flushing and waiting for the response. The response is read as a deferred
+     * action, so it is processed before any subsequent response is read from the connection, or at the latest by the
+     * next call to {@link #fetchRows(int)}.
+     * </p>
+     */
+    @Override
+    public void prefetchRows(int fetchSize) throws SQLException {
+        synchronized (getSynchronizationObject()) {
+            checkStatementValid();
+            if (!getState().isCursorOpen()) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_cursor_not_open).toSQLException();
+            }
+            final LockCloseable lock = getDatabase().withLock();
+            try {
+                if (isAllRowsFetched() || prefetchPending || prefetchEndOfCursor) return;
+                try {
+                    sendFetch(fetchSize);
+                    // Flush so the server can start processing the fetch while the current rows are consumed
+                    getXdrOut().flush();
+                } catch (IOException ex) {
+                    switchState(StatementState.ERROR);
+                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+                }
+                prefetchPending = true;
+                prefetchedRowCount = 0;
+                getDatabase().enqueueDeferredAction(new DeferredAction() {
+                    @Override
+                    public void processResponse(Response response) {
+                        processPrefetchResponse(response);
+                    }
+
+                    @Override
+                    public WarningMessageCallback getWarningMessageCallback() {
+                        return getStatementWarningCallback();
+                    }
+                });
+            } finally {
+                lock.close();
+            }
+        }
+    }
+
+    @Override
+    public void fetchRows(int fetchSize) throws SQLException {
+        synchronized (getSynchronizationObject()) {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
+                final boolean hadPrefetch = prefetchPending;
+                completePrefetch();
+                if (prefetchEndOfCursor) {
+                    prefetchEndOfCursor = false;
+                    setAllRowsFetched(true);
+                    getSqlCounts();
+                    return;
+                }
+                if (hadPrefetch && prefetchedRowCount > 0) {
+                    // Rows were already delivered by the prefetch
+                    return;
+                }
+            } finally {
+                lock.close();
+            }
+            super.fetchRows(fetchSize);
+        }
+    }
+
+    @Override
+    protected void reset(boolean resetAll) {
+        synchronized (getSynchronizationObject()) {
+            try {
+                completePrefetch();
+            } catch (SQLException e) {
+                // Statement is reset for a new execute or prepare; a failed prefetch is no longer relevant
+            }
+            prefetchEndOfCursor = false;
+            super.reset(resetAll);
+        }
+    }
+
+    /**
+     * Waits for the response of a pending prefetch (if any), and throws the exception the prefetch ended with.
+     *
+     * @throws SQLException
+     *         For errors received or occurring while processing the prefetch
+     */
+    private void completePrefetch() throws SQLException {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
+            if (prefetchPending) {
+                getDatabase().processDeferredActions();
+                if (prefetchPending) {
+                    // Deferred action was not executed, because reading the response failed
+                    prefetchPending = false;
+                    switchState(StatementState.ERROR);
+                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).toSQLException();
+                }
+            }
+            final SQLException exception = prefetchException;
+            if (exception != null) {
+                prefetchException = null;
+                throw exception;
+            }
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * Processes the response to a prefetch; this reads all rows of the fetch, in the same way as
+     * {@link #processFetchResponse()}.
+     * <p>
+     * When the end of the cursor is reached, notification of listeners is postponed to the next call of
+     * {@link #fetchRows(int)}, as this method is called while processing deferred actions, and retrieving the SQL
+     * counts would interfere with the responses of other deferred actions.
+     * </p>
+     *
+     * @param response
+     *         First response to the fetch
+     */
+    private void processPrefetchResponse(Response response) {
+        try {
+            final LockCloseable lock = getDatabase().withLock();
+            try {
+                if (response instanceof GenericResponse) {
+                    final SQLException exception = ((GenericResponse) response).getException();
+                    if (exception != null && !(exception instanceof SQLWarning)) {
+                        throw exception;
+                    }
+                }
+                while (response instanceof FetchResponse) {
+                    final FetchResponse fetchResponse = (FetchResponse) response;
+                    if (fetchResponse.getCount() > 0 && fetchResponse.getStatus() == ISCConstants.FETCH_OK) {
+                        queueRowData(readSqlData());
+                        prefetchedRowCount++;
+                    } else if (fetchResponse.getStatus() == ISCConstants.FETCH_NO_MORE_ROWS) {
+                        prefetchEndOfCursor = true;
+                        break;
+                    } else {
+                        break;
+                    }
+                    response = getDatabase().readResponse(getStatementWarningCallback());
+                }
+            } finally {
+                lock.close();
             }
+        } catch (SQLException ex) {
+            prefetchException = ex;
+        } catch (IOException ex) {
+            prefetchException = new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex)
+                    .toSQLException();
+        } finally {
+            prefetchPending = false;
         }
     }
 }
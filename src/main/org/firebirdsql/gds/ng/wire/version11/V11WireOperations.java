@@ -18,6 +18,8 @@
  */
 package org.firebirdsql.gds.ng.wire.version11;
 
+import org.firebirdsql.gds.ng.ConnectionLock;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.DeferredAction;
 import org.firebirdsql.gds.ng.wire.WireConnection;
@@ -37,25 +39,29 @@ public class V11WireOperations extends V10WireOperations {
     private static final Logger log = LoggerFactory.getLogger(V11WireOperations.class);
 
     /**
-     * Actions on this object need to be synchronized on {@link #getSynchronizationObject()}.
+     * Actions on this object need to be guarded by {@link #getConnectionLock()}.
      */
     private final List<DeferredAction> deferredActions = new ArrayList<>();
 
     public V11WireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
-        super(connection, defaultWarningMessageCallback, syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
+        super(connection, defaultWarningMessageCallback, connectionLock);
     }
 
     @Override
     public final void enqueueDeferredAction(DeferredAction deferredAction) {
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = getConnectionLock().lockWithoutTimeout();
+        try {
             deferredActions.add(deferredAction);
+        } finally {
+            lock.close();
         }
     }
 
     @Override
     public final void processDeferredActions() {
-        synchronized (getSynchronizationObject()) {
+        final LockCloseable lock = getConnectionLock().lockWithoutTimeout();
+        try {
             if (deferredActions.size() == 0) return;
 
             final DeferredAction[] actions = deferredActions.toArray(new DeferredAction[deferredActions.size()]);
@@ -69,6 +75,8 @@ public class V11WireOperations extends V10WireOperations {
                     log.debug("Exception in processDeferredActions", ex);
                 }
             }
+        } finally {
+            lock.close();
         }
     }
 }
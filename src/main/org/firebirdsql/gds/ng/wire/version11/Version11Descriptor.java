@@ -21,6 +21,7 @@ package org.firebirdsql.gds.ng.wire.version11;
 import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.DefaultBlrCalculator;
 import org.firebirdsql.gds.ng.ParameterConverter;
@@ -76,7 +77,7 @@ public final class Version11Descriptor extends AbstractProtocolDescriptor implem
 
     @Override
     public FbWireBlob createOutputBlob(FbWireDatabase database, FbWireTransaction transaction, BlobParameterBuffer blobParameterBuffer) {
-        return new V10OutputBlob(database, transaction, blobParameterBuffer);
+        return new V11OutputBlob(database, transaction, blobParameterBuffer);
     }
 
     @Override
@@ -96,7 +97,7 @@ public final class Version11Descriptor extends AbstractProtocolDescriptor implem
 
     @Override
     public FbWireOperations createWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
-        return new V11WireOperations(connection, defaultWarningMessageCallback, syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
+        return new V11WireOperations(connection, defaultWarningMessageCallback, connectionLock);
     }
 }
@@ -56,7 +56,8 @@ public class V12Statement extends V11Statement {
             reset(false);
 
             final FbWireDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 // TODO Which state to switch to when an exception occurs (always ERROR might be wrong, see to do at start of class)
                 switchState(StatementState.EXECUTING);
                 final StatementType statementType = getType();
@@ -112,6 +113,8 @@ public class V12Statement extends V11Statement {
                 if (!statementType.isTypeWithCursor() && statementType.isTypeWithUpdateCounts()) {
                     getSqlCounts();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
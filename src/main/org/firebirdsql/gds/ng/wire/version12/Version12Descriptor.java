@@ -21,6 +21,7 @@ package org.firebirdsql.gds.ng.wire.version12;
 import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.ParameterConverter;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
@@ -28,6 +29,7 @@ import org.firebirdsql.gds.ng.fields.BlrCalculator;
 import org.firebirdsql.gds.ng.wire.*;
 import org.firebirdsql.gds.ng.wire.DefaultBlrCalculator;
 import org.firebirdsql.gds.ng.wire.version10.*;
+import org.firebirdsql.gds.ng.wire.version11.V11OutputBlob;
 import org.firebirdsql.gds.ng.wire.version11.V11WireOperations;
 
 /**
@@ -77,7 +79,7 @@ public class Version12Descriptor extends AbstractProtocolDescriptor implements P
 
     @Override
     public FbWireBlob createOutputBlob(FbWireDatabase database, FbWireTransaction transaction, BlobParameterBuffer blobParameterBuffer) {
-        return new V10OutputBlob(database, transaction, blobParameterBuffer);
+        return new V11OutputBlob(database, transaction, blobParameterBuffer);
     }
 
     @Override
@@ -97,8 +99,8 @@ public class Version12Descriptor extends AbstractProtocolDescriptor implements P
 
     @Override
     public FbWireOperations createWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
         // TODO Needs V12 version?
-        return new V11WireOperations(connection, defaultWarningMessageCallback, syncObject);
+        return new V11WireOperations(connection, defaultWarningMessageCallback, connectionLock);
     }
 }
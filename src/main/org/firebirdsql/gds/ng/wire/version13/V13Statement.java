@@ -25,6 +25,7 @@ import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
 import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.StatementState;
 import org.firebirdsql.gds.ng.StatementType;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
@@ -62,7 +63,8 @@ public class V13Statement extends V12Statement {
             reset(false);
 
             final FbWireDatabase db = getDatabase();
-            synchronized (db.getSynchronizationObject()) {
+            final LockCloseable lock = db.withLock();
+            try {
                 // TODO Which state to switch to when an exception occurs (always ERROR might be wrong, see to do at start of class)
                 switchState(StatementState.EXECUTING);
                 final StatementType statementType = getType();
@@ -118,6 +120,8 @@ public class V13Statement extends V12Statement {
                 if (!statementType.isTypeWithCursor() && statementType.isTypeWithUpdateCounts()) {
                     getSqlCounts();
                 }
+            } finally {
+                lock.close();
             }
         }
     }
@@ -134,7 +138,8 @@ public class V13Statement extends V12Statement {
         final RowValue rowValue = rowDescriptor.createDefaultFieldValues();
         final BlrCalculator blrCalculator = getDatabase().getBlrCalculator();
 
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrInputStream xdrIn = getXdrIn();
             final int nullBitsLen = (rowDescriptor.getCount() + 7) / 8;
             final byte[] nullBitsBytes = xdrIn.readRawBuffer(nullBitsLen);
@@ -148,27 +153,10 @@ public class V13Statement extends V12Statement {
                     fieldValue.setFieldData(null);
                     continue;
                 }
-                int len = blrCalculator.calculateIoLength(fieldDescriptor);
-                byte[] buffer;
-                if (len == 0) {
-                    // Length specified in response
-                    len = xdrIn.readInt();
-                    buffer = new byte[len];
-                    xdrIn.readFully(buffer, 0, len);
-                    xdrIn.skipPadding(len);
-                } else if (len < 0) {
-                    // Buffer is not padded
-                    buffer = new byte[-len];
-                    xdrIn.readFully(buffer, 0, -len);
-                } else {
-                    // len is incremented in calculateIoLength to avoid value 0 so it must be decremented
-                    len--;
-                    buffer = new byte[len];
-                    xdrIn.readFully(buffer, 0, len);
-                    xdrIn.skipPadding(len);
-                }
-                fieldValue.setFieldData(buffer);
+                readColumnData(xdrIn, blrCalculator, fieldDescriptor, fieldValue);
             }
+        } finally {
+            lock.close();
         }
         return rowValue;
     }
@@ -184,7 +172,8 @@ public class V13Statement extends V12Statement {
      *         if an error occurs while writing to the underlying output stream
      */
     protected void writeSqlData(final RowDescriptor rowDescriptor, final RowValue fieldValues) throws IOException, SQLException {
-        synchronized (getDatabase().getSynchronizationObject()) {
+        final LockCloseable lock = getDatabase().withLock();
+        try {
             final XdrOutputStream xdrOut = getXdrOut();
             final BlrCalculator blrCalculator = getDatabase().getBlrCalculator();
             // null indicator bitmap
@@ -247,6 +236,8 @@ public class V13Statement extends V12Statement {
                     }
                 }
             }
+        } finally {
+            lock.close();
         }
     }
 
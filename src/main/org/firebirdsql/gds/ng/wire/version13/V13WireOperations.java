@@ -21,6 +21,7 @@ package org.firebirdsql.gds.ng.wire.version13;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.FbWireAttachment;
@@ -47,8 +48,8 @@ public class V13WireOperations extends V11WireOperations {
     private static final Logger log = LoggerFactory.getLogger(V13WireOperations.class);
 
     public V13WireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
-        super(connection, defaultWarningMessageCallback, syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
+        super(connection, defaultWarningMessageCallback, connectionLock);
     }
 
     @Override
@@ -21,6 +21,7 @@ package org.firebirdsql.gds.ng.wire.version13;
 import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.ParameterConverter;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
@@ -28,6 +29,7 @@ import org.firebirdsql.gds.ng.fields.BlrCalculator;
 import org.firebirdsql.gds.ng.wire.*;
 import org.firebirdsql.gds.ng.wire.DefaultBlrCalculator;
 import org.firebirdsql.gds.ng.wire.version10.*;
+import org.firebirdsql.gds.ng.wire.version11.V11OutputBlob;
 
 /**
  * The {@link org.firebirdsql.gds.ng.wire.ProtocolDescriptor} for the Firebird version 13 protocol. This version
@@ -47,6 +49,11 @@ public class Version13Descriptor extends AbstractProtocolDescriptor implements P
                 2);
     }
 
+    @Override
+    public boolean supportsWireCompression() {
+        return true;
+    }
+
     @Override
     public FbWireDatabase createDatabase(final WireDatabaseConnection connection) {
         return new V13Database(connection, this);
@@ -76,7 +83,7 @@ public class Version13Descriptor extends AbstractProtocolDescriptor implements P
 
     @Override
     public FbWireBlob createOutputBlob(FbWireDatabase database, FbWireTransaction transaction, BlobParameterBuffer blobParameterBuffer) {
-        return new V10OutputBlob(database, transaction, blobParameterBuffer);
+        return new V11OutputBlob(database, transaction, blobParameterBuffer);
     }
 
     @Override
@@ -96,7 +103,7 @@ public class Version13Descriptor extends AbstractProtocolDescriptor implements P
 
     @Override
     public FbWireOperations createWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
-        return new V13WireOperations(connection, defaultWarningMessageCallback, syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, ConnectionLock connectionLock) {
+        return new V13WireOperations(connection, defaultWarningMessageCallback, connectionLock);
     }
 }
@@ -34,6 +34,7 @@ import org.firebirdsql.jdbc.FBConnection;
 import org.firebirdsql.jdbc.FBConnectionProperties;
 import org.firebirdsql.jdbc.FBDataSource;
 import org.firebirdsql.jdbc.FirebirdConnectionProperties;
+import org.firebirdsql.jdbc.MetaDataResultCache;
 
 import javax.resource.NotSupportedException;
 import javax.resource.ResourceException;
@@ -96,6 +97,7 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
 
     private transient final Object startLock = new Object();
     private transient boolean started = false;
+    private transient volatile MetaDataResultCache metaDataResultCache;
 
     private FBConnectionProperties connectionProperties;
 
@@ -415,6 +417,38 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
         connectionProperties.setUseFirebirdAutocommit(useFirebirdAutocommit);
     }
 
+    /**
+     * Gets the cache of metadata results shared by the connections of this factory, creating it on first use.
+     *
+     * @param maxSize
+     *         Maximum number of cached results (only used when creating the cache)
+     * @param timeToLiveMillis
+     *         Time in milliseconds that results are cached (only used when creating the cache)
+     * @return Metadata result cache
+     */
+    public MetaDataResultCache getMetaDataResultCache(int maxSize, long timeToLiveMillis) {
+        MetaDataResultCache cache = metaDataResultCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = metaDataResultCache;
+                if (cache == null) {
+                    metaDataResultCache = cache = new MetaDataResultCache(maxSize, timeToLiveMillis);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Removes all results from the metadata result cache of this factory (if it exists).
+     */
+    public void clearMetaDataResultCache() {
+        final MetaDataResultCache cache = metaDataResultCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
     public int hashCode() {
         if (hashCode != 0) 
             return hashCode;
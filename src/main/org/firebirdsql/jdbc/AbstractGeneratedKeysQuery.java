@@ -26,7 +26,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.firebirdsql.jdbc.parser.CachingStatementParser;
 import org.firebirdsql.jdbc.parser.JaybirdStatementModel;
+import org.firebirdsql.jdbc.parser.SimpleStatementParser;
 import org.firebirdsql.jdbc.parser.StatementParser;
 import org.firebirdsql.jdbc.parser.StatementParser.ParseException;
 import org.firebirdsql.logging.Logger;
@@ -47,22 +49,8 @@ public abstract class AbstractGeneratedKeysQuery {
     private static final int QUERY_TYPE_ADD_COLUMNS = 4;
     private static final int QUERY_TYPE_ALREADY_HAS_RETURNING = 5;
     
-    private static final StatementParser parser;
-    static {
-    	// Attempt to load statement parser
-        StatementParser temp = null;
-        try {
-            temp = (StatementParser)Class.forName("org.firebirdsql.jdbc.parser.StatementParserImpl").newInstance();
-        } catch (Throwable ex) {
-            // Unable to load class of parser implementation, antlr-runtime not in path
-            Logger log = LoggerFactory.getLogger(AbstractGeneratedKeysQuery.class);
-            if (log != null) {
-                log.error("Unable to load generated key parser", ex);
-            }
-        } finally {
-            parser = temp;
-        }
-    }
+    private static final StatementParser parser =
+            new CachingStatementParser(new SimpleStatementParser(), CachingStatementParser.DEFAULT_MAX_SIZE);
 
     private final String originalSQL;
     private String modifiedSQL;
@@ -96,16 +84,13 @@ public abstract class AbstractGeneratedKeysQuery {
      *            {@link java.sql.Statement#RETURN_GENERATED_KEYS}
      * @throws SQLException
      *             If the supplied autoGeneratedKeys value does not match valid
-     *             values or if the parser cannot be loaded when autoGeneratedKeys = RETURN_GENERATED_KEYS.
+     *             values
      */
     public AbstractGeneratedKeysQuery(String sql, int autoGeneratedKeys) throws SQLException {
         this(sql);
         
         switch (autoGeneratedKeys) {
         case Statement.RETURN_GENERATED_KEYS:
-            if (parser == null) {
-                throw new FBDriverNotCapableException("Generated keys functionality not available, most likely cause: ANTLR-Runtime not available on classpath");
-            }
             queryType = QUERY_TYPE_ADD_ALL_COLUMNS;
             break;
         case Statement.NO_GENERATED_KEYS:
@@ -138,13 +123,10 @@ public abstract class AbstractGeneratedKeysQuery {
      * @param columnIndexes
      *            Array of ORDINAL_POSITION values of the columns to return as
      *            generated key
-     * @throws SQLException If the parser cannot be loaded
      */
     public AbstractGeneratedKeysQuery(String sql, int[] columnIndexes) throws SQLException {
         this(sql);
-        if (parser == null) {
-            throw new FBDriverNotCapableException("Generated keys functionality not available, most likely cause: ANTLR-Runtime not available on classpath");
-        } else if (columnIndexes != null && columnIndexes.length != 0) {
+        if (columnIndexes != null && columnIndexes.length != 0) {
             this.columnIndexes = columnIndexes.clone();
             queryType = QUERY_TYPE_ADD_INDEXED;
         } else {
@@ -169,13 +151,10 @@ public abstract class AbstractGeneratedKeysQuery {
      *            SQL statement
      * @param columnNames
      *            Array of column names to return as generated key
-     * @throws SQLException If the parser cannot be loaded
      */
     public AbstractGeneratedKeysQuery(String sql, String[] columnNames) throws SQLException {
         this(sql);
-        if (parser == null) {
-            throw new FBDriverNotCapableException("Generated keys functionality not available, most likely cause: ANTLR-Runtime not available on classpath");
-        } else if (columnNames != null && columnNames.length != 0) {
+        if (columnNames != null && columnNames.length != 0) {
             this.columnNames = columnNames.clone();
             queryType = QUERY_TYPE_ADD_COLUMNS;
         } else {
@@ -234,19 +213,8 @@ public abstract class AbstractGeneratedKeysQuery {
     /**
      * Parses the original SQL query and checks if it already has a RETURNING
      * clause
-     * @throws SQLException If query parsing is not available
      */
-    private void processStatementModel() throws SQLException {
-        if (parser == null) {
-            if (queryType == QUERY_TYPE_KEEP_UNMODIFIED) {
-                // JDBC specifies that NO_GENERATED_KEYS (signified here by QUERY_TYPE_KEEP_UNMODIFIED) 
-            	// should not result in failure if processing generated keys is not possible
-                return;
-            } else {
-                // This condition should already have been caught in constructors, but do it anyway:
-                throw new FBDriverNotCapableException("Generated keys functionality not available, most likely cause: ANTLR-Runtime not available on classpath");
-            }
-        }
+    private void processStatementModel() {
         try {
             statementModel = parseInsertStatement(originalSQL);
             if (statementModel.hasReturning()) {
@@ -26,6 +26,9 @@ import java.sql.Date;
 import java.util.*;
 
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.BatchExecutionResult;
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.SqlCountHolder;
 import org.firebirdsql.gds.ng.StatementType;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.gds.ng.fields.FieldValue;
@@ -64,6 +67,11 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      */
     private final boolean generatedKeys;
 
+    /**
+     * Key in the prepared statement cache of the connection, {@code null} if the statement handle is not cached.
+     */
+    private PreparedStatementCache.Key statementCacheKey;
+
     // this array contains either true or false indicating if parameter
     // was initialized, executeQuery, executeUpdate and execute methods
     // will throw an exception if this array contains at least one false value.
@@ -138,7 +146,9 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
         try {
             // TODO See http://tracker.firebirdsql.org/browse/JDBC-352
             notifyStatementStarted();
-            prepareFixedStatement(sql);
+            if (!attachCachedStatement(sql)) {
+                prepareFixedStatement(sql);
+            }
         } catch (SQLException | RuntimeException e) {
             notifyStatementCompleted(false);
             throw e;
@@ -903,38 +913,12 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
                 notifyStatementStarted();
 
                 List<Integer> results = new ArrayList<>(batchList.size());
-                Iterator<Object> iter = batchList.iterator();
 
                 try {
-                    while (iter.hasNext()) {
-                        RowValue data = (RowValue) iter.next();
-
-                        for (int i = 0; i < fieldValues.getCount(); i++) {
-                            FieldValue fieldValue = fieldValues.getFieldValue(i);
-                            fieldValue.reset();
-
-                            FBField field = getField(i + 1);
-                            if (field instanceof FBFlushableField) {
-                                // Explicitly set to null to ensure initialized property set to true
-                                fieldValue.setFieldData(null);
-                                ((FBFlushableField) field).setCachedObject((CachedObject) data.getFieldValue(i).getCachedObject());
-                            } else {
-                                fieldValue.setFieldData(data.getFieldValue(i).getFieldData());
-                            }
-                            isParamSet[i] = true;
-                        }
-
-                        try {
-                            if (internalExecute(isExecuteProcedureStatement))
-                                throw new BatchUpdateException(toArray(results));
-
-                            results.add(getUpdateCount());
-
-                        } catch (SQLException ex) {
-                            throw new BatchUpdateException(ex.getMessage(), ex
-                                    .getSQLState(), ex.getErrorCode(),
-                                    toArray(results));
-                        }
+                    if (isPipelinedBatchAllowed() && fbStatement.getFieldDescriptor().getCount() == 0) {
+                        executePipelinedBatch(results);
+                    } else {
+                        executeBatchRows(batchList, results);
                     }
 
                     commit = true;
@@ -950,6 +934,132 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
         }
     }
 
+    /**
+     * Executes the batched rows one by one.
+     *
+     * @param rows
+     *         Batched parameter values ({@link RowValue})
+     * @param results
+     *         List to add the update counts to
+     * @throws BatchUpdateException
+     *         For the first row that fails to execute or produces a result set
+     */
+    private void executeBatchRows(List<Object> rows, List<Integer> results) throws SQLException {
+        for (Object row : rows) {
+            setBatchParameters((RowValue) row);
+
+            try {
+                if (internalExecute(isExecuteProcedureStatement))
+                    throw new BatchUpdateException(toArray(results));
+
+                results.add(getUpdateCount());
+
+            } catch (SQLException ex) {
+                throw new BatchUpdateException(ex.getMessage(), ex
+                        .getSQLState(), ex.getErrorCode(),
+                        toArray(results));
+            }
+        }
+    }
+
+    /**
+     * Executes the batched rows in pipelined chunks.
+     * <p>
+     * Each chunk is protected by a savepoint. As the server executes all rows of a chunk, even those after a failing
+     * row, a failed chunk is rolled back to the savepoint and executed again with {@link #executeBatchRows(List, List)}
+     * to report the failure exactly as a sequential execution would.
+     * </p>
+     * <p>
+     * Side effects that are not undone by the rollback to savepoint (eg generator or sequence increments, changes to
+     * external tables and actions of UDFs) occur again when a failed chunk is executed again.
+     * </p>
+     *
+     * @param results
+     *         List to add the update counts to
+     */
+    private void executePipelinedBatch(List<Integer> results) throws SQLException {
+        final List<Object> rows = new ArrayList<>(batchList);
+        final List<RowValue> parameterSets = new ArrayList<>(Math.min(rows.size(), PIPELINED_BATCH_CHUNK_SIZE));
+        try {
+            for (int chunkStart = 0; chunkStart < rows.size(); chunkStart += PIPELINED_BATCH_CHUNK_SIZE) {
+                final List<Object> chunk =
+                        rows.subList(chunkStart, Math.min(chunkStart + PIPELINED_BATCH_CHUNK_SIZE, rows.size()));
+                if (!prepareBatchParameterSets(chunk, parameterSets)) {
+                    // Failure preparing the parameters: the sequential execution reports it
+                    executeBatchRows(chunk, results);
+                    continue;
+                }
+
+                final BatchExecutionResult chunkResult;
+                try {
+                    setPipelinedBatchSavepoint();
+                    chunkResult = fbStatement.executeBatch(parameterSets);
+                } catch (SQLException ex) {
+                    throw new BatchUpdateException(ex.getMessage(), ex.getSQLState(), ex.getErrorCode(),
+                            toArray(results));
+                }
+
+                if (chunkResult.isSuccess()) {
+                    for (SqlCountHolder sqlCounts : chunkResult.getSqlCounts()) {
+                        results.add(toUpdateCount(sqlCounts));
+                    }
+                    currentStatementResult = StatementResult.UPDATE_COUNT;
+                } else {
+                    rollbackPipelinedBatchSavepoint();
+                    executeBatchRows(chunk, results);
+                }
+            }
+        } finally {
+            releasePipelinedBatchSavepoint();
+        }
+    }
+
+    /**
+     * Prepares the parameter sets of a pipelined batch chunk, flushing cached (blob) values.
+     *
+     * @param chunk
+     *         Batched parameter values ({@link RowValue})
+     * @param parameterSets
+     *         List to fill with the parameter sets to execute (cleared first)
+     * @return {@code true} if all parameter sets were prepared, {@code false} if preparing a row failed
+     */
+    private boolean prepareBatchParameterSets(List<Object> chunk, List<RowValue> parameterSets) {
+        parameterSets.clear();
+        try {
+            for (Object row : chunk) {
+                setBatchParameters((RowValue) row);
+                flushFields();
+                parameterSets.add(fieldValues.deepCopy());
+            }
+            return true;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads the parameter values of a batched row into the current parameters of this statement.
+     *
+     * @param data
+     *         Batched parameter values
+     */
+    private void setBatchParameters(RowValue data) throws SQLException {
+        for (int i = 0; i < fieldValues.getCount(); i++) {
+            FieldValue fieldValue = fieldValues.getFieldValue(i);
+            fieldValue.reset();
+
+            FBField field = getField(i + 1);
+            if (field instanceof FBFlushableField) {
+                // Explicitly set to null to ensure initialized property set to true
+                fieldValue.setFieldData(null);
+                ((FBFlushableField) field).setCachedObject((CachedObject) data.getFieldValue(i).getCachedObject());
+            } else {
+                fieldValue.setFieldData(data.getFieldValue(i).getFieldData());
+            }
+            isParamSet[i] = true;
+        }
+    }
+
     /**
      * Sets the designated parameter to the given <code>Reader</code> object,
      * which is the given number of characters long. When a very large UNICODE
@@ -1125,7 +1235,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      */
     public ResultSetMetaData getMetaData() throws SQLException {
         checkValidity();
-        return new FBResultSetMetaData(fbStatement.getFieldDescriptor(), gdsHelper);
+        return new FBResultSetMetaData(fbStatement.getFieldDescriptor(), gdsHelper, getExtendedFieldInfoCache());
     }
 
     /**
@@ -1255,7 +1365,66 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      */
     protected void prepareFixedStatement(String sql) throws SQLException {
         super.prepareFixedStatement(sql);
+        initParameters();
+    }
 
+    /**
+     * Uses a statement handle from the prepared statement cache of the connection, if available.
+     *
+     * @param sql
+     *         SQL statement
+     * @return {@code true} if a cached statement handle is used, {@code false} if the statement needs to be prepared
+     */
+    private boolean attachCachedStatement(String sql) throws SQLException {
+        final PreparedStatementCache statementCache = getStatementCache();
+        if (statementCache == null || !isStatementCacheable()) {
+            return false;
+        }
+        statementCacheKey = new PreparedStatementCache.Key(sql, getResultSetType(), getResultSetConcurrency(),
+                getResultSetHoldability(), generatedKeys);
+        final FbStatement cachedStatement = statementCache.take(statementCacheKey);
+        if (cachedStatement == null) {
+            return false;
+        }
+        try {
+            attachFixedStatement(cachedStatement);
+        } catch (SQLException | RuntimeException e) {
+            cachedStatement.close();
+            throw e;
+        }
+        initParameters();
+        return true;
+    }
+
+    /**
+     * Checks if the statement handle of this statement can be kept in the prepared statement cache of the connection.
+     *
+     * @return {@code true} if the statement handle can be cached
+     */
+    protected boolean isStatementCacheable() {
+        return !metaDataQuery;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns the statement handle to the prepared statement cache of the connection if this statement is cacheable.
+     * </p>
+     */
+    @Override
+    protected void releaseFixedStatement() throws SQLException {
+        final PreparedStatementCache statementCache = getStatementCache();
+        if (statementCacheKey != null && statementCache != null) {
+            statementCache.release(statementCacheKey, detachFixedStatement());
+        } else {
+            super.releaseFixedStatement();
+        }
+    }
+
+    /**
+     * Initializes the parameters from the parameter descriptor of the prepared statement.
+     */
+    private void initParameters() throws SQLException {
         RowDescriptor rowDescriptor = fbStatement.getParameterDescriptor();
         assert rowDescriptor != null : "RowDescriptor should not be null after prepare";
 
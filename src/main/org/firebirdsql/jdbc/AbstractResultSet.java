@@ -66,7 +66,6 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
     private SQLWarning firstWarning;
 
     private final FBField[] fields;
-    private final Map<String, Integer> colNames;
 
     private final String cursorName;
     private final FBObjectListener.ResultSetListener listener;
@@ -113,7 +112,6 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
         trimStrings = metaDataQuery;
         rowDescriptor = stmt.getFieldDescriptor();
         fields = new FBField[rowDescriptor.getCount()];
-        colNames = new HashMap<>(rowDescriptor.getCount(), 1);
         this.fbStatement = fbStatement;
 
         if (rsType == ResultSet.TYPE_SCROLL_SENSITIVE) {
@@ -122,6 +120,8 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
             rsType = ResultSet.TYPE_SCROLL_INSENSITIVE;
         }
 
+        // Scrollable result sets are fetched into FBCachedFetcher: server-side scrollable cursors (op_fetch_scroll)
+        // require wire protocol 18 (Firebird 5), which is not supported by this driver
         cached = cached
                 || rsType != ResultSet.TYPE_FORWARD_ONLY
                 || metaDataQuery;
@@ -164,16 +164,29 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
      * @throws SQLException
      */
     public AbstractResultSet(RowDescriptor rowDescriptor, List<RowValue> rows, FBObjectListener.ResultSetListener listener) throws SQLException {
+        this(rowDescriptor, rows, listener, false);
+    }
+
+    /**
+     * Creates a FBResultSet with the columns specified by <code>rowDescriptor</code> and the data in <code>rows</code>.
+     *
+     * @param rowDescriptor Column definition
+     * @param rows Row data
+     * @param listener Result set listener
+     * @param metaDataQuery <code>true</code> if the rows are the result of a metadata query (strings are trimmed)
+     * @throws SQLException
+     */
+    public AbstractResultSet(RowDescriptor rowDescriptor, List<RowValue> rows, FBObjectListener.ResultSetListener listener,
+            boolean metaDataQuery) throws SQLException {
         // TODO Evaluate if we need to share more implementation with constructor above
         gdsHelper = null;
         fbStatement = null;
         this.listener = listener != null ? listener : FBObjectListener.NoActionResultSetListener.instance();
         cursorName = null;
         fbFetcher = new FBCachedFetcher(rows, this, rowDescriptor, null, false);
-        trimStrings = false;
+        trimStrings = metaDataQuery;
         this.rowDescriptor = rowDescriptor;
         fields = new FBField[rowDescriptor.getCount()];
-        colNames = new HashMap<>(rowDescriptor.getCount(), 1);
         prepareVars(true);
         // TODO Set specific types (see also previous todo)
         rsType = ResultSet.TYPE_FORWARD_ONLY;
@@ -223,7 +236,6 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
         trimStrings = true;
         this.rowDescriptor = rowDescriptor;
         fields = new FBField[rowDescriptor.getCount()];
-        colNames = new HashMap<>(rowDescriptor.getCount(), 1);
         prepareVars(true);
         rsType = ResultSet.TYPE_FORWARD_ONLY;
         rsConcurrency = ResultSet.CONCUR_READ_ONLY;
@@ -236,20 +248,54 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
 
     private void prepareVars(boolean cached) throws SQLException {
         for (int i = 0; i < rowDescriptor.getCount(); i++) {
-            final int fieldPosition = i;
+            FieldDataProvider dataProvider = new RowFieldDataProvider(i);
+            fields[i] = FBField.createField(rowDescriptor.getFieldDescriptor(i), dataProvider, gdsHelper, cached);
+        }
+    }
 
-            // anonymous implementation of the FieldDataProvider interface
-            FieldDataProvider dataProvider = new FieldDataProvider() {
-                public byte[] getFieldData() {
-                    return row.getFieldValue(fieldPosition).getFieldData();
-                }
+    /**
+     * Provides the data of a field of the current row.
+     * <p>
+     * Exposes the field data without copying (see {@link FieldDataSliceProvider}), so fields can decode directly from
+     * a shared fetch buffer.
+     * </p>
+     */
+    private final class RowFieldDataProvider implements InlineBlobDataProvider, FieldDataSliceProvider {
 
-                public void setFieldData(byte[] data) {
-                    row.getFieldValue(fieldPosition).setFieldData(data);
-                }
-            };
+        private final int fieldPosition;
 
-            fields[i] = FBField.createField(rowDescriptor.getFieldDescriptor(i), dataProvider, gdsHelper, cached);
+        private RowFieldDataProvider(int fieldPosition) {
+            this.fieldPosition = fieldPosition;
+        }
+
+        @Override
+        public byte[] getFieldData() {
+            return row.getFieldValue(fieldPosition).getFieldData();
+        }
+
+        @Override
+        public void setFieldData(byte[] data) {
+            row.getFieldValue(fieldPosition).setFieldData(data);
+        }
+
+        @Override
+        public byte[] getFieldDataBuffer() {
+            return row.getFieldValue(fieldPosition).getFieldDataBuffer();
+        }
+
+        @Override
+        public int getFieldDataOffset() {
+            return row.getFieldValue(fieldPosition).getFieldDataOffset();
+        }
+
+        @Override
+        public int getFieldDataLength() {
+            return row.getFieldValue(fieldPosition).getFieldDataLength();
+        }
+
+        @Override
+        public FBCachedBlob getInlineBlob() {
+            return InlineBlobLoader.getInlineBlob(row.getFieldValue(fieldPosition));
         }
     }
 
@@ -386,6 +432,10 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
 
                 if (rowUpdater != null) {
                     try {
+                        if (completionReason == CompletionReason.ROLLBACK) {
+                            // changes queued in the rolled back transaction must not be executed
+                            rowUpdater.discardPendingChanges();
+                        }
                         rowUpdater.close();
                     } catch (SQLException ex) {
                         chain.append(ex);
@@ -709,7 +759,7 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
         final FBField field = getField(columnIndex, true);
 
         wasNullValid = true;
-        wasNull = row == null || row.getFieldValue(columnIndex - 1).getFieldData() == null;
+        wasNull = row == null || row.getFieldValue(columnIndex - 1).isNull();
 
         return field;
     }
@@ -756,17 +806,12 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
                     FBSQLException.SQL_STATE_INVALID_COLUMN);
         }
 
-        Integer fieldNum = colNames.get(columnName);
-        // If it is the first time the columnName is used
-        if (fieldNum == null) {
-            fieldNum = findColumn(columnName);
-            colNames.put(columnName, fieldNum);
-        }
+        final int fieldNum = findColumn(columnName);
         final FBField field = rowUpdater != null
                 ? rowUpdater.getField(fieldNum - 1)
                 : fields[fieldNum - 1];
         wasNullValid = true;
-        wasNull = row == null || row.getFieldValue(fieldNum - 1).getFieldData() == null;
+        wasNull = row == null || row.getFieldValue(fieldNum - 1).isNull();
         return field;
     }
 
@@ -1076,7 +1121,8 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
      * this result set is constructed in code.
      */
     public ResultSetMetaData getMetaData() throws SQLException {
-        return new FBResultSetMetaData(rowDescriptor, gdsHelper);
+        return new FBResultSetMetaData(rowDescriptor, gdsHelper,
+                fbStatement != null ? fbStatement.getExtendedFieldInfoCache() : null);
     }
 
     /**
@@ -1128,31 +1174,16 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
                     "Empty string does not identify column.",
                     FBSQLException.SQL_STATE_INVALID_COLUMN);
         }
+        final int fieldIndex;
         if (columnName.startsWith("\"") && columnName.endsWith("\"")) {
             columnName = columnName.substring(1, columnName.length() - 1);
-            // case-sensitively check column aliases 
-            for (int i = 0; i < rowDescriptor.getCount(); i++) {
-                if (columnName.equals(rowDescriptor.getFieldDescriptor(i).getFieldName())) {
-                    return ++i;
-                }
-            }
-            // case-sensitively check column names
-            for (int i = 0; i < rowDescriptor.getCount(); i++) {
-                if (columnName.equals(rowDescriptor.getFieldDescriptor(i).getOriginalName())) {
-                    return ++i;
-                }
-            }
+            // case-sensitively check column aliases, then column names
+            fieldIndex = rowDescriptor.findFieldIndex(columnName, true);
         } else {
-            for (int i = 0; i < rowDescriptor.getCount(); i++) {
-                if (columnName.equalsIgnoreCase(rowDescriptor.getFieldDescriptor(i).getFieldName())) {
-                    return ++i;
-                }
-            }
-            for (int i = 0; i < rowDescriptor.getCount(); i++) {
-                if (columnName.equalsIgnoreCase(rowDescriptor.getFieldDescriptor(i).getOriginalName())) {
-                    return ++i;
-                }
-            }
+            fieldIndex = rowDescriptor.findFieldIndex(columnName, false);
+        }
+        if (fieldIndex != -1) {
+            return fieldIndex + 1;
         }
 
         throw new FBSQLException(
@@ -3075,13 +3106,11 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
     }
 
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-        // TODO Write implementation
-        throw new FBDriverNotCapableException();
+        return getField(columnIndex).getObject(type);
     }
 
     public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-        // TODO Write implementation
-        throw new FBDriverNotCapableException();
+        return getField(columnLabel).getObject(type);
     }
 
     /**
@@ -3280,6 +3309,17 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
         throw new FBDriverNotCapableException();
     }
 
+    /**
+     * @return Copies of all rows of this result set, or <code>null</code> if this result set does not cache its rows
+     */
+    List<RowValue> copyRows() throws SQLException {
+        return fbFetcher instanceof FBCachedFetcher ? ((FBCachedFetcher) fbFetcher).copyRows() : null;
+    }
+
+    RowDescriptor getRowDescriptor() {
+        return rowDescriptor;
+    }
+
     public String getExecutionPlan() throws SQLException {
         checkCursorMove();
 
@@ -3289,6 +3329,27 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
         return fbStatement.getExecutionPlan();
     }
 
+    @Override
+    public void setRowUpdateBatchSize(int batchSize) throws SQLException {
+        checkOpen();
+        if (rowUpdater == null)
+            throw new FBResultSetNotUpdatableException();
+        rowUpdater.setBatchSize(batchSize);
+    }
+
+    @Override
+    public int getRowUpdateBatchSize() throws SQLException {
+        checkOpen();
+        return rowUpdater != null ? rowUpdater.getBatchSize() : 0;
+    }
+
+    @Override
+    public void flushRowUpdates() throws SQLException {
+        checkOpen();
+        if (rowUpdater != null)
+            rowUpdater.flushPendingChanges();
+    }
+
     // java.sql.Wrapper interface
 
     public boolean isWrapperFor(Class<?> iface) throws SQLException {
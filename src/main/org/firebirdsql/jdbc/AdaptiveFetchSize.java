@@ -0,0 +1,159 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.fields.BlrCalculator;
+import org.firebirdsql.gds.ng.fields.FieldDescriptor;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.wire.DefaultBlrCalculator;
+
+import java.sql.SQLException;
+
+/**
+ * Fetch size policy used when the application did not specify a fetch size.
+ * <p>
+ * The size of a batch is derived from the estimated size of a row, and adjusted after each fetch based on the
+ * observed duration of the fetch: the shortest fetch is taken as the round trip time, and the remainder of the
+ * duration as the transfer time of the rows. The batch is sized so the round trip time is at most
+ * {@link #MAX_LATENCY_PERCENTAGE} percent of the duration of a fetch. This grows batches for narrow rows and high
+ * latency connections, and shrinks batches for wide rows. The estimated memory of a batch never exceeds the
+ * configured memory limit.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class AdaptiveFetchSize {
+
+    /**
+     * Estimated size of a batch used for the initial fetch size.
+     */
+    static final int INITIAL_BATCH_BYTES = 32 * 1024;
+    static final int MIN_FETCH_SIZE = 10;
+    static final int MAX_LATENCY_PERCENTAGE = 10;
+    /**
+     * Estimated memory overhead of a column value (the {@link org.firebirdsql.gds.ng.fields.FieldValue} and byte array
+     * headers).
+     */
+    private static final int COLUMN_OVERHEAD = 40;
+    private static final int ROW_OVERHEAD = 32;
+
+    private final int maxFetchSize;
+    private int fetchSize;
+    private long minFetchNanos = Long.MAX_VALUE;
+
+    /**
+     * Creates an adaptive fetch size for rows of the specified row descriptor.
+     *
+     * @param rowDescriptor
+     *         Row descriptor of the result set
+     * @param memoryLimit
+     *         Maximum estimated memory (in bytes) of a batch of rows
+     * @throws SQLException
+     *         If the row descriptor contains unsupported types
+     */
+    AdaptiveFetchSize(RowDescriptor rowDescriptor, long memoryLimit) throws SQLException {
+        final int rowSize = estimateRowSize(rowDescriptor, DefaultBlrCalculator.CALCULATOR_DIALECT_3);
+        final long rowMemory = rowSize + (long) rowDescriptor.getCount() * COLUMN_OVERHEAD + ROW_OVERHEAD;
+        maxFetchSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryLimit / rowMemory));
+        fetchSize = clamp(INITIAL_BATCH_BYTES / rowSize);
+    }
+
+    /**
+     * @return Fetch size to use for the next fetch
+     */
+    int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @return Maximum fetch size based on the memory limit
+     */
+    int getMaxFetchSize() {
+        return maxFetchSize;
+    }
+
+    /**
+     * Records the result of a fetch and adjusts the fetch size for the next fetch.
+     *
+     * @param requestedRows
+     *         Number of rows requested
+     * @param receivedRows
+     *         Number of rows received
+     * @param elapsedNanos
+     *         Duration of the fetch in nanoseconds
+     */
+    void recordFetch(int requestedRows, int receivedRows, long elapsedNanos) {
+        if (elapsedNanos <= 0 || receivedRows <= 0) return;
+        minFetchNanos = Math.min(minFetchNanos, elapsedNanos);
+        if (receivedRows < requestedRows) {
+            // Last batch of the result set, not representative for the transfer time
+            return;
+        }
+        final long transferNanos = elapsedNanos - minFetchNanos;
+        final long targetTransferNanos = minFetchNanos * (100 - MAX_LATENCY_PERCENTAGE) / MAX_LATENCY_PERCENTAGE;
+        final long target;
+        if (transferNanos <= 0) {
+            target = 2L * receivedRows;
+        } else {
+            target = receivedRows * targetTransferNanos / transferNanos;
+        }
+        // Change at most by a factor 2 per fetch to dampen the effect of outliers
+        fetchSize = clamp(Math.max(receivedRows / 2, Math.min(2L * receivedRows, target)));
+    }
+
+    private int clamp(long value) {
+        return (int) Math.min(maxFetchSize, Math.max(Math.min(MIN_FETCH_SIZE, maxFetchSize), value));
+    }
+
+    /**
+     * Estimates the size of a row on the wire using {@link BlrCalculator#calculateIoLength(FieldDescriptor)}.
+     * <p>
+     * For variable length types the maximum length is used.
+     * </p>
+     *
+     * @param rowDescriptor
+     *         Row descriptor
+     * @param blrCalculator
+     *         Blr calculator
+     * @return Estimated size of a row in bytes (at least <code>1</code>)
+     * @throws SQLException
+     *         If the row descriptor contains unsupported types
+     */
+    static int estimateRowSize(RowDescriptor rowDescriptor, BlrCalculator blrCalculator) throws SQLException {
+        long size = 0;
+        for (FieldDescriptor fieldDescriptor : rowDescriptor) {
+            final int ioLength = blrCalculator.calculateIoLength(fieldDescriptor);
+            final long length;
+            if (ioLength < 0) {
+                length = -ioLength;
+            } else if (ioLength == 0) {
+                // Length prefix + data
+                length = 4 + Math.max(0, fieldDescriptor.getLength());
+            } else {
+                length = ioLength - 1;
+            }
+            // Padding + null indicator
+            size += ((length + 3) & ~3) + 4;
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, size));
+    }
+}
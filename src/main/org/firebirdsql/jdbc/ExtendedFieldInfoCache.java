@@ -0,0 +1,105 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.jdbc.AbstractFieldMetaData.ExtendedFieldInfo;
+import org.firebirdsql.jdbc.AbstractFieldMetaData.FieldKey;
+import org.firebirdsql.util.BoundedLruMap;
+
+import java.util.Map;
+
+/**
+ * Least recently used cache of the extended field information (from {@code RDB$RELATION_FIELDS} and
+ * {@code RDB$FIELDS}) used by {@link FBResultSetMetaData} for precision, display size and character length.
+ * <p>
+ * The cache is scoped to a connection, and is cleared when that connection executes DDL. DDL executed by other
+ * connections is not detected.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class ExtendedFieldInfoCache {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final Map<FieldKey, ExtendedFieldInfo> fieldInfo;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates an extended field info cache.
+     *
+     * @param maxSize
+     *         Maximum number of cached fields
+     */
+    ExtendedFieldInfoCache(int maxSize) {
+        fieldInfo = new BoundedLruMap<>(maxSize);
+    }
+
+    /**
+     * Gets the cached extended field info, counting a hit or miss.
+     *
+     * @param key
+     *         Key of the field
+     * @return Cached extended field info, or {@code null} if not cached
+     */
+    synchronized ExtendedFieldInfo get(FieldKey key) {
+        final ExtendedFieldInfo info = fieldInfo.get(key);
+        if (info != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return info;
+    }
+
+    /**
+     * Adds extended field info to the cache, evicting the least recently used field if the cache is full.
+     *
+     * @param key
+     *         Key of the field
+     * @param info
+     *         Extended field info (must not be modified after adding it to the cache)
+     */
+    synchronized void put(FieldKey key, ExtendedFieldInfo info) {
+        fieldInfo.put(key, info);
+    }
+
+    /**
+     * Removes all cached field info.
+     */
+    synchronized void clear() {
+        fieldInfo.clear();
+    }
+
+    synchronized int size() {
+        return fieldInfo.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+}
@@ -29,18 +29,25 @@ import java.sql.SQLException;
 
 /**
  * An input stream for reading directly from a FBBlob instance.
+ * <p>
+ * Data is read ahead into a buffer of the blob buffer length, which is reused for the lifetime of the stream. Reads
+ * of at least the buffer length, and {@link #readFully(byte[], int, int)}, bypass the buffer and read directly into
+ * the buffer of the caller.
+ * </p>
  */
 public final class FBBlobInputStream extends InputStream implements FirebirdBlob.BlobInputStream {
 
     /**
-     * Maximum blob segment size, see IB 6 Data Definition Guide, page 78 ("BLOB segment length")
+     * Minimum fill factor of the buffer (and of reads bypassing the buffer) before returning data, avoids an extra
+     * round trip when segment boundaries prevent filling it completely.
      */
-    private static final int READ_FULLY_BUFFER_SIZE = 32 * 1024;
+    private static final float MIN_FILL_FACTOR = 0.9f;
     private static final byte[] EMPTY_BUFFER = new byte[0];
 
     private byte[] buffer = EMPTY_BUFFER;
     private FbBlob blobHandle;
     private int pos = 0;
+    private int limit = 0;
 
     private boolean closed;
 
@@ -94,11 +101,11 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
 
     public int available() throws IOException {
         assert buffer != null : "Buffer should never be null";
-        return buffer.length - pos;
+        return limit - pos;
     }
 
     /**
-     * Checks the available buffer size, retrieving a segment from the server if necessary.
+     * Checks the available buffer size, reading ahead from the server if necessary.
      *
      * @return The number of bytes available in the buffer, or <code>-1</code> if the end of the stream is reached.
      * @throws IOException if an I/O error occurs, or if the stream has been closed.
@@ -107,17 +114,40 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
         assert buffer != null : "Buffer should never be null";
         synchronized (owner.getSynchronizationObject()) {
             checkClosed();
-            if (pos < buffer.length) {
-                return buffer.length - pos;
+            if (pos < limit) {
+                return limit - pos;
             }
             if (blobHandle.isEof()) {
                 return -1;
             }
 
+            if (buffer.length == 0) {
+                buffer = new byte[owner.getBufferLength()];
+            }
             try {
-                buffer = blobHandle.getSegment(owner.getBufferLength());
+                limit = blobHandle.get(buffer, 0, buffer.length, MIN_FILL_FACTOR);
                 pos = 0;
-                return buffer.length != 0 ? buffer.length : -1;
+                return limit != 0 ? limit : -1;
+            } catch (SQLException ge) {
+                throw new IOException("Blob read problem: " + ge.toString(), ge);
+            }
+        }
+    }
+
+    /**
+     * Reads directly from the blob into <code>b</code>, bypassing the buffer. Only call if the buffer is empty.
+     *
+     * @return Number of bytes read, or <code>-1</code> if the end of the stream is reached.
+     */
+    private int readDirect(byte[] b, int off, int len, float minFillFactor) throws IOException {
+        synchronized (owner.getSynchronizationObject()) {
+            checkClosed();
+            if (blobHandle.isEof()) {
+                return -1;
+            }
+            try {
+                final int count = blobHandle.get(b, off, len, minFillFactor);
+                return count != 0 ? count : -1;
             } catch (SQLException ge) {
                 throw new IOException("Blob read problem: " + ge.toString(), ge);
             }
@@ -140,6 +170,9 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
             return 0;
         }
 
+        if (pos == limit && len >= buffer.length && buffer.length != 0) {
+            return readDirect(b, off, len, MIN_FILL_FACTOR);
+        }
         final int toCopy = Math.min(checkBuffer(), len);
         if (toCopy == -1) {
             return -1;
@@ -158,20 +191,21 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
             return;
         }
 
-        int counter = 0;
-        int pos = off;
-        byte[] buffer = new byte[Math.min(READ_FULLY_BUFFER_SIZE, len)];
-
-        int toRead = len;
-
-        while (toRead > 0 && (counter = read(buffer, 0, Math.min(toRead, buffer.length))) != -1) {
-            System.arraycopy(buffer, 0, b, pos, counter);
-            pos += counter;
-            toRead -= counter;
+        synchronized (owner.getSynchronizationObject()) {
+            // Use buffered data first, and read the remainder directly into b
+            final int buffered = Math.min(limit - pos, len);
+            if (buffered > 0) {
+                System.arraycopy(buffer, pos, b, off, buffered);
+                pos += buffered;
+            }
+            if (buffered == len) {
+                return;
+            }
+            final int count = readDirect(b, off + buffered, len - buffered, 1f);
+            if (count != len - buffered) {
+                throw new EOFException();
+            }
         }
-
-        if (counter == -1)
-            throw new EOFException();
     }
 
     public void readFully(byte[] b) throws IOException {
@@ -191,6 +225,7 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
                 closed = true;
                 buffer = EMPTY_BUFFER;
                 pos = 0;
+                limit = 0;
             }
         }
     }
@@ -21,6 +21,7 @@ package org.firebirdsql.jdbc;
 import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.FbStatement;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
+import org.firebirdsql.gds.ng.fields.FieldValue;
 import org.firebirdsql.gds.ng.fields.RowDescriptor;
 import org.firebirdsql.gds.ng.fields.RowValue;
 import org.firebirdsql.gds.ng.listeners.DefaultStatementListener;
@@ -31,13 +32,12 @@ import org.firebirdsql.jdbc.field.FieldDataProvider;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 class FBCachedFetcher implements FBFetcher {
 
     private final boolean forwardOnly;
-    private List<RowValue> rows;
+    private SpillableRowList rows;
     private int rowNum = 0;
     private int fetchSize;
     private final FBObjectListener.FetcherListener fetcherListener;
@@ -51,8 +51,17 @@ class FBCachedFetcher implements FBFetcher {
         // Check if there is blobs to catch
         final boolean[] isBlob = new boolean[rowDescriptor.getCount()];
         final boolean hasBlobs = determineBlobs(rowDescriptor, isBlob);
+        final InlineBlobLoader inlineBlobLoader = hasBlobs ? InlineBlobLoader.create(gdsHelper, stmt_handle) : null;
+
+        final int spillThreshold = gdsHelper != null
+                ? gdsHelper.getConnectionProperties().getResultSetSpillThreshold() : 0;
+        rows = new SpillableRowList(rowDescriptor, spillThreshold);
 
         // load all rows from statement
+        final int adaptiveFetchMemoryLimit = fetchSize == 0 && gdsHelper != null
+                ? gdsHelper.getConnectionProperties().getAdaptiveFetchMemoryLimit() : 0;
+        final AdaptiveFetchSize adaptiveFetchSize = adaptiveFetchMemoryLimit > 0
+                ? new AdaptiveFetchSize(rowDescriptor, adaptiveFetchMemoryLimit * 1024L) : null;
         if (fetchSize == 0)
             fetchSize = MAX_FETCH_ROWS;
         this.fetchSize = fetchSize;
@@ -62,23 +71,38 @@ class FBCachedFetcher implements FBFetcher {
         stmt_handle.addStatementListener(rowListener);
         try {
             int actualFetchSize = getFetchSize();
-            while (!rowListener.isAllRowsFetched() && (maxRows == 0 || rowListener.size() < maxRows)) {
+            while (!rowListener.isAllRowsFetched() && (maxRows == 0 || rows.size() < maxRows)) {
+                if (adaptiveFetchSize != null) {
+                    actualFetchSize = adaptiveFetchSize.getFetchSize();
+                }
                 if (maxRows > 0) {
-                    actualFetchSize = Math.min(actualFetchSize, maxRows - rowListener.size());
+                    actualFetchSize = Math.min(actualFetchSize, maxRows - rows.size());
                 }
                 assert actualFetchSize > 0 : "actualFetchSize should be > 0";
+                final long startNanos = System.nanoTime();
                 stmt_handle.fetchRows(actualFetchSize);
+                if (adaptiveFetchSize != null) {
+                    adaptiveFetchSize.recordFetch(actualFetchSize, rowListener.size(),
+                            System.nanoTime() - startNanos);
+                }
+                if (inlineBlobLoader != null) {
+                    inlineBlobLoader.loadInlineBlobs(rowListener.getRows());
+                }
+                // Blobs are cached per batch, so only one batch of uncached rows is on the heap when spilling
+                for (RowValue row : rowListener.getRows()) {
+                    if (hasBlobs) {
+                        cacheBlobsInRow(gdsHelper, rowDescriptor, isBlob, row);
+                    }
+                    rows.add(row);
+                }
+                rowListener.clear();
             }
-            rows = rowListener.getRows();
+        } catch (SQLException e) {
+            rows.close();
+            throw e;
         } finally {
             stmt_handle.removeStatementListener(rowListener);
         }
-
-        if (hasBlobs) {
-            for (RowValue row : rows) {
-                cacheBlobsInRow(gdsHelper, rowDescriptor, isBlob, row);
-            }
-        }
         stmt_handle.closeCursor();
     }
 
@@ -102,7 +126,10 @@ class FBCachedFetcher implements FBFetcher {
     FBCachedFetcher(List<RowValue> rows, FBObjectListener.FetcherListener fetcherListener, RowDescriptor rowDescriptor,
             GDSHelper gdsHelper, boolean retrieveBlobs) throws SQLException {
         assert retrieveBlobs && rowDescriptor != null && gdsHelper != null || !retrieveBlobs : "Need non-null rowDescriptor and gdsHelper for retrieving blobs";
-        this.rows = new ArrayList<RowValue>(rows);
+        this.rows = new SpillableRowList(rowDescriptor, 0);
+        for (RowValue row : rows) {
+            this.rows.add(row);
+        }
         this.fetcherListener = fetcherListener;
         forwardOnly = false;
         if (retrieveBlobs) {
@@ -143,6 +170,13 @@ class FBCachedFetcher implements FBFetcher {
         for (int j = 0; j < localRow.getCount(); j++) {
             // if field is blob and there is a value to cache
             if (isBlob[j] && localRow.getFieldValue(j).getFieldData() != null) {
+                final FieldValue fieldValue = localRow.getFieldValue(j);
+                final FBCachedBlob inlineBlob = InlineBlobLoader.getInlineBlob(fieldValue);
+                if (inlineBlob != null) {
+                    fieldValue.setFieldData(inlineBlob.getBytes(1, (int) inlineBlob.length()));
+                    fieldValue.setCachedObject(null);
+                    continue;
+                }
                 final byte[] tempData = localRow.getFieldValue(j).getFieldData();
                 final FieldDataProvider dataProvider = new FieldDataProvider() {
                     @Override
@@ -293,7 +327,14 @@ class FBCachedFetcher implements FBFetcher {
 
     @Override
     public void close(CompletionReason completionReason) throws SQLException {
-        rows = Collections.emptyList();
+        rows.close();
+    }
+
+    /**
+     * @return Deep copies of the rows of this fetcher
+     */
+    List<RowValue> copyRows() throws SQLException {
+        return rows.copyRows();
     }
 
     @Override
@@ -394,10 +435,14 @@ class FBCachedFetcher implements FBFetcher {
         }
 
         /**
-         * @return Number of received rows.
+         * @return Number of received rows since the last {@link #clear()}.
          */
         public int size() {
             return rows.size();
         }
+
+        public void clear() {
+            rows.clear();
+        }
     }
 }
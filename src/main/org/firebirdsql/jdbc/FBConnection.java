@@ -25,9 +25,11 @@ import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.FbDatabase;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.IConnectionProperties;
 import org.firebirdsql.jca.FBConnectionRequestInfo;
 import org.firebirdsql.jca.FBLocalTransaction;
 import org.firebirdsql.jca.FBManagedConnection;
+import org.firebirdsql.jca.FBManagedConnectionFactory;
 import org.firebirdsql.jca.FirebirdLocalTransaction;
 import org.firebirdsql.jdbc.escape.FBEscapedParser;
 import org.firebirdsql.jdbc.escape.FBEscapedParser.EscapeParserMode;
@@ -76,6 +78,9 @@ public class FBConnection implements FirebirdConnection {
 
     private StoredProcedureMetaData storedProcedureMetaData;
     private FBEscapedParser escapedParser;
+    private final PreparedStatementCache statementCache;
+    private final ExtendedFieldInfoCache extendedFieldInfoCache =
+            new ExtendedFieldInfoCache(ExtendedFieldInfoCache.DEFAULT_MAX_SIZE);
 	 
     /**
      * Create a new AbstractConnection instance based on a
@@ -93,6 +98,9 @@ public class FBConnection implements FirebirdConnection {
         resultSetHoldability = cri.hasArgument(DatabaseParameterBufferExtension.RESULT_SET_HOLDABLE)
                 ? ResultSet.HOLD_CURSORS_OVER_COMMIT
                 : ResultSet.CLOSE_CURSORS_AT_COMMIT;
+
+        final int statementCacheSize = cri.getArgumentAsInt(DatabaseParameterBufferExtension.STATEMENT_CACHE_SIZE);
+        statementCache = statementCacheSize > 0 ? new PreparedStatementCache(statementCacheSize) : null;
     }
     
     public FBObjectListener.StatementListener getStatementListener() {
@@ -159,6 +167,88 @@ public class FBConnection implements FirebirdConnection {
         if (chain.hasException()) throw chain.getException();
     }
 
+    /**
+     * @return The prepared statement cache of this connection, or {@code null} if the cache is disabled
+     */
+    PreparedStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Frees the statement handles in the prepared statement cache, for example after executing DDL.
+     */
+    void invalidateStatementCache() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+    }
+
+    /**
+     * @return The cache of extended field information used by result set metadata of this connection
+     */
+    ExtendedFieldInfoCache getExtendedFieldInfoCache() {
+        return extendedFieldInfoCache;
+    }
+
+    /**
+     * Clears the caches that depend on the metadata of the database, called after executing DDL.
+     */
+    void invalidateMetadataCaches() {
+        invalidateStatementCache();
+        extendedFieldInfoCache.clear();
+        final FBManagedConnection managedConnection = mc;
+        if (managedConnection != null) {
+            ((FBManagedConnectionFactory) managedConnection.getManagedConnectionFactory()).clearMetaDataResultCache();
+        }
+    }
+
+    /**
+     * @return The metadata result cache shared by the connections of the managed connection factory, or {@code null}
+     * if the cache is disabled (or this connection is not associated with a managed connection)
+     */
+    MetaDataResultCache getMetaDataResultCache() throws SQLException {
+        final FBManagedConnection managedConnection = mc;
+        if (managedConnection == null) return null;
+        final IConnectionProperties props = getGDSHelper().getConnectionProperties();
+        if (props.getMetaDataCacheTimeToLive() <= 0 || props.getMetaDataCacheSize() <= 0) return null;
+        return ((FBManagedConnectionFactory) managedConnection.getManagedConnectionFactory())
+                .getMetaDataResultCache(props.getMetaDataCacheSize(), props.getMetaDataCacheTimeToLive());
+    }
+
+    /**
+     * @return Number of columns for which result set metadata found the extended field information (used for
+     * precision, display size and character length) in the cache of this connection
+     */
+    public long getExtendedFieldInfoCacheHitCount() {
+        return extendedFieldInfoCache.getHitCount();
+    }
+
+    /**
+     * @return Number of columns for which result set metadata had to query the extended field information (used for
+     * precision, display size and character length) from the database
+     */
+    public long getExtendedFieldInfoCacheMissCount() {
+        return extendedFieldInfoCache.getMissCount();
+    }
+
+    /**
+     * @return Number of prepared statements that reused a cached statement handle (always {@code 0} if the statement
+     * cache is disabled)
+     * @see org.firebirdsql.gds.ng.IConnectionProperties#setStatementCacheSize(int)
+     */
+    public long getStatementCacheHitCount() {
+        return statementCache != null ? statementCache.getHitCount() : 0;
+    }
+
+    /**
+     * @return Number of prepared statements that were prepared on the server because no statement handle was cached
+     * (always {@code 0} if the statement cache is disabled)
+     * @see org.firebirdsql.gds.ng.IConnectionProperties#setStatementCacheSize(int)
+     */
+    public long getStatementCacheMissCount() {
+        return statementCache != null ? statementCache.getMissCount() : 0;
+    }
+
     /**
      * Set the {@link FBManagedConnection} around which this connection is
      * based.
@@ -170,6 +260,10 @@ public class FBConnection implements FirebirdConnection {
             metaData.close();
             metaData = null;
         }
+        if (this.mc != mc) {
+            invalidateStatementCache();
+            extendedFieldInfoCache.clear();
+        }
         this.mc = mc;
     }
     
@@ -491,6 +585,7 @@ public class FBConnection implements FirebirdConnection {
         try {
             freeStatements();
         } finally {
+            invalidateStatementCache();
             if (mc != null) {
                 // leave managed transactions alone, they are normally
                 // committed after the Connection handle is closed.
@@ -5132,12 +5132,53 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
     protected ResultSet doQuery(String sql, List<String> params)
             throws SQLException {
 
+        final MetaDataResultCache resultCache = connection != null ? connection.getMetaDataResultCache() : null;
+        MetaDataResultCache.Key key = null;
+        if (resultCache != null) {
+            key = new MetaDataResultCache.Key(gdsHelper.getConnectionProperties().getUser(),
+                    gdsHelper.getConnectionProperties().getRoleName(), sql, params);
+            final MetaDataResultCache.CachedResult cachedResult = resultCache.get(key);
+            if (cachedResult != null) {
+                return createResultSet(cachedResult);
+            }
+        }
+
         FBPreparedStatement s = getStatement(sql);
 
         for (int i = 0; i < params.size(); i++)
             s.setStringForced(i + 1, params.get(i));
 
-        return s.executeMetaDataQuery();
+        final ResultSet rs = s.executeMetaDataQuery();
+        if (resultCache != null && rs instanceof AbstractResultSet) {
+            final AbstractResultSet resultSet = (AbstractResultSet) rs;
+            final List<RowValue> rows = resultSet.copyRows();
+            if (rows != null) {
+                final MetaDataResultCache.CachedResult cachedResult =
+                        resultCache.put(key, resultSet.getRowDescriptor(), rows);
+                rs.close();
+                return createResultSet(cachedResult);
+            }
+        }
+        return rs;
+    }
+
+    private static ResultSet createResultSet(MetaDataResultCache.CachedResult cachedResult) throws SQLException {
+        return new FBResultSet(cachedResult.getRowDescriptor(), cachedResult.getRows(), null, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The cache is cleared automatically when DDL is executed through Jaybird. This method should be used when the
+     * metadata was changed by other applications.
+     * </p>
+     */
+    @Override
+    public void clearMetaDataCache() throws SQLException {
+        final MetaDataResultCache resultCache = connection != null ? connection.getMetaDataResultCache() : null;
+        if (resultCache != null) {
+            resultCache.clear();
+        }
     }
 
     /**
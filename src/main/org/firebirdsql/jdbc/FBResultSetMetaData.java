@@ -40,6 +40,7 @@ import java.util.*;
 public class FBResultSetMetaData extends AbstractFieldMetaData implements FirebirdResultSetMetaData {
 
     private final ColumnStrategy columnStrategy;
+    private final ExtendedFieldInfoCache extendedFieldInfoCache;
 
     /**
      * Creates a new <code>FBResultSetMetaData</code> instance.
@@ -55,7 +56,26 @@ public class FBResultSetMetaData extends AbstractFieldMetaData implements Firebi
      *         result set, where we supply the ext field info.
      */
     protected FBResultSetMetaData(RowDescriptor rowDescriptor, GDSHelper connection) throws SQLException {
+        this(rowDescriptor, connection, null);
+    }
+
+    /**
+     * Creates a new <code>FBResultSetMetaData</code> instance using a cache for the extended field information.
+     *
+     * @param rowDescriptor
+     *         a row descriptor
+     * @param connection
+     *         a <code>AbstractConnection</code> value
+     * @param extendedFieldInfoCache
+     *         Cache of extended field information of the connection, or <code>null</code> to always query the
+     *         extended field information
+     * @throws SQLException
+     *         if an error occurs
+     */
+    FBResultSetMetaData(RowDescriptor rowDescriptor, GDSHelper connection,
+            ExtendedFieldInfoCache extendedFieldInfoCache) throws SQLException {
         super(rowDescriptor, connection);
+        this.extendedFieldInfoCache = extendedFieldInfoCache;
 
         // Decide how to handle column names and column labels
         if (connection != null && connection.getConnectionProperties().isColumnLabelForName()) {
@@ -470,15 +490,17 @@ public class FBResultSetMetaData extends AbstractFieldMetaData implements Firebi
         // Apparently there is a limit in the UNION
         // It is necessary to split in several queries
         // Although the problem reported with 93 UNION use only 70
-        int pending = getFieldCount();
+        final int fieldCount = getFieldCount();
+        int pending = fieldCount;
         Map<FieldKey, ExtendedFieldInfo> result = new HashMap<>();
-        final FBDatabaseMetaData metaData = new FBDatabaseMetaData(gdsHelper);
+        FBDatabaseMetaData metaData = null;
         while (pending > 0) {
             StringBuilder sb = new StringBuilder();
             List<String> params = new ArrayList<>();
 
             int maxLength = Math.min(pending, 70);
-            for (int i = 1; i <= maxLength; i++) {
+            final int chunkStart = fieldCount - pending + 1;
+            for (int i = chunkStart; i < chunkStart + maxLength; i++) {
 
                 String relationName = getFieldDescriptor(i).getOriginalTableName();
                 String fieldName = getFieldDescriptor(i).getOriginalName();
@@ -486,6 +508,16 @@ public class FBResultSetMetaData extends AbstractFieldMetaData implements Firebi
                 if (relationName == null || relationName.equals("")
                         || fieldName == null || fieldName.equals("")) continue;
 
+                if (extendedFieldInfoCache != null) {
+                    final FieldKey key = new FieldKey(relationName, fieldName);
+                    if (result.containsKey(key)) continue;
+                    final ExtendedFieldInfo cachedInfo = extendedFieldInfoCache.get(key);
+                    if (cachedInfo != null) {
+                        result.put(key, cachedInfo);
+                        continue;
+                    }
+                }
+
                 if (sb.length() > 0) {
                     sb.append('\n').append("UNION ALL").append('\n');
                 }
@@ -499,6 +531,9 @@ public class FBResultSetMetaData extends AbstractFieldMetaData implements Firebi
 
             if (sb.length() == 0) continue;
 
+            if (metaData == null) {
+                metaData = new FBDatabaseMetaData(gdsHelper);
+            }
             try (ResultSet rs = metaData.doQuery(sb.toString(), params)) {
                 while (rs.next()) {
                     ExtendedFieldInfo fieldInfo = new ExtendedFieldInfo();
@@ -517,7 +552,11 @@ public class FBResultSetMetaData extends AbstractFieldMetaData implements Firebi
                                 fieldInfo.fieldLength / EncodingFactory.getCharacterSetSize(fieldInfo.characterSetId);
                     }
 
-                    result.put(new FieldKey(fieldInfo.relationName, fieldInfo.fieldName), fieldInfo);
+                    final FieldKey key = new FieldKey(fieldInfo.relationName, fieldInfo.fieldName);
+                    result.put(key, fieldInfo);
+                    if (extendedFieldInfoCache != null) {
+                        extendedFieldInfoCache.put(key, fieldInfo);
+                    }
                 }
             }
         }
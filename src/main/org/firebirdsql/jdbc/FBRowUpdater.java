@@ -22,6 +22,7 @@ package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.BatchExecutionResult;
 import org.firebirdsql.gds.ng.FbStatement;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.gds.ng.fields.FieldValue;
@@ -37,6 +38,9 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
@@ -69,6 +73,11 @@ public class FBRowUpdater implements FirebirdRowUpdater {
     private static final int PARAMETER_USED = 1;
     private static final int PARAMETER_DBKEY = 2;
 
+    /**
+     * Maximum number of prepared statements kept by a row updater.
+     */
+    private static final int MAX_CACHED_STATEMENTS = 8;
+
     private final GDSHelper gdsHelper;
     private final Synchronizable syncProvider;
     private final RowDescriptor rowDescriptor;
@@ -84,10 +93,16 @@ public class FBRowUpdater implements FirebirdRowUpdater {
 
     private String tableName;
 
-    private FbStatement updateStatement;
-    private FbStatement deleteStatement;
-    private FbStatement insertStatement;
-    private FbStatement selectStatement;
+    private int[] parameterMask;
+    private final boolean batchable;
+    private int batchSize;
+
+    /**
+     * Prepared statements by statement type and columns, in least recently used order.
+     */
+    private final LinkedHashMap<StatementKey, FbStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<RowValue> pendingChanges = new ArrayList<>();
+    private StatementKey pendingKey;
 
     private final FBObjectListener.ResultSetListener rsListener;
     private boolean closed;
@@ -140,6 +155,13 @@ public class FBRowUpdater implements FirebirdRowUpdater {
             fields[i] = FBField.createField(rowDescriptor.getFieldDescriptor(i), dataProvider, connection, cached);
         }
 
+        boolean hasFlushableFields = false;
+        for (FBField field : fields) {
+            hasFlushableFields |= field instanceof FBFlushableField;
+        }
+        // Batching queues changes outside a transaction, which is not possible when blobs need to be created
+        batchable = !hasFlushableFields;
+
         // find the table name (there can be only one table per result set)
         for (FieldDescriptor fieldDescriptor : rowDescriptor) {
             if (tableName == null) {
@@ -182,10 +204,19 @@ public class FBRowUpdater implements FirebirdRowUpdater {
 
     public void close() throws SQLException {
         SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<SQLException>();
-        deallocateStatement(selectStatement, chain);
-        deallocateStatement(insertStatement, chain);
-        deallocateStatement(updateStatement, chain);
-        deallocateStatement(deleteStatement, chain);
+        if (!closed) {
+            try {
+                synchronized (syncProvider.getSynchronizationObject()) {
+                    flushPendingChanges();
+                }
+            } catch (SQLException ex) {
+                chain.append(ex);
+            }
+        }
+        for (FbStatement statement : statements.values()) {
+            deallocateStatement(statement, chain);
+        }
+        statements.clear();
 
         // TODO: Close not completed by throw at this point?
         if (chain.hasException())
@@ -225,10 +256,20 @@ public class FBRowUpdater implements FirebirdRowUpdater {
      * other words set of columns that form "best row identifiers" must be a
      * subset of the selected columns (no distinction is made whether columns
      * are real or are pseudo-columns). If no
+     * <p>
+     * The parameter mask is determined once, and reused for the lifetime of this row updater.
+     * </p>
      *
      * @return array of booleans that represent parameter mask.
      */
     private int[] getParameterMask() throws SQLException {
+        if (parameterMask == null) {
+            parameterMask = findParameterMask();
+        }
+        return parameterMask;
+    }
+
+    private int[] findParameterMask() throws SQLException {
         // loop through the "best row identifiers" and set appropriate flags.
         FBDatabaseMetaData metaData = new FBDatabaseMetaData(gdsHelper);
 
@@ -310,14 +351,14 @@ public class FBRowUpdater implements FirebirdRowUpdater {
         }
     }
 
-    private String buildUpdateStatement(int[] parameterMask) {
+    private String buildUpdateStatement(boolean[] updatedColumns, int[] parameterMask) {
         StringBuilder sb = new StringBuilder("UPDATE ");
         quoteStrategy.appendQuoted(tableName, sb)
                 .append("\nSET\n");
 
         boolean first = true;
         for (int i = 0; i < rowDescriptor.getCount(); i++) {
-            if (!updatedFlags[i])
+            if (!updatedColumns[i])
                 continue;
 
             if (!first)
@@ -343,14 +384,14 @@ public class FBRowUpdater implements FirebirdRowUpdater {
         return sb.toString();
     }
 
-    private String buildInsertStatement() {
+    private String buildInsertStatement(boolean[] insertedColumns) {
         StringBuilder columns = new StringBuilder();
         StringBuilder params = new StringBuilder();
 
         boolean first = true;
         for (int i = 0; i < rowDescriptor.getCount(); i++) {
 
-            if (!updatedFlags[i])
+            if (!insertedColumns[i])
                 continue;
 
             if (!first) {
@@ -417,92 +458,43 @@ public class FBRowUpdater implements FirebirdRowUpdater {
 
     @Override
     public void updateRow() throws SQLException {
-        boolean success = false;
-
         synchronized (syncProvider.getSynchronizationObject()) {
-            try {
-                notifyExecutionStarted();
-
-                if (updateStatement == null) {
-                    updateStatement = gdsHelper.allocateStatement();
-                } else {
-                    updateStatement.setTransaction(gdsHelper.getCurrentTransaction());
-                }
-
-                executeStatement(UPDATE_STATEMENT_TYPE, updateStatement);
-
-                success = true;
-            } finally {
-                notifyExecutionCompleted(success);
-            }
+            executeChange(UPDATE_STATEMENT_TYPE);
         }
     }
 
     @Override
     public void deleteRow() throws SQLException {
-        boolean success = false;
-
         synchronized (syncProvider.getSynchronizationObject()) {
-            try {
-                notifyExecutionStarted();
-
-                if (deleteStatement == null) {
-                    deleteStatement = gdsHelper.allocateStatement();
-                } else {
-                    deleteStatement.setTransaction(gdsHelper.getCurrentTransaction());
-                }
-
-                executeStatement(DELETE_STATEMENT_TYPE, deleteStatement);
-
-                success = true;
-            } finally {
-                notifyExecutionCompleted(success);
-            }
+            executeChange(DELETE_STATEMENT_TYPE);
         }
     }
 
     @Override
     public void insertRow() throws SQLException {
-        boolean success = false;
-
         synchronized (syncProvider.getSynchronizationObject()) {
-            try {
-                notifyExecutionStarted();
-
-                if (insertStatement == null) {
-                    insertStatement = gdsHelper.allocateStatement();
-                } else {
-                    insertStatement.setTransaction(gdsHelper.getCurrentTransaction());
-                }
-
-                executeStatement(INSERT_STATEMENT_TYPE, insertStatement);
-
-                success = true;
-            } finally {
-                notifyExecutionCompleted(success);
-            }
+            executeChange(INSERT_STATEMENT_TYPE);
         }
     }
 
     @Override
     public void refreshRow() throws SQLException {
-        boolean success = false;
-
         synchronized (syncProvider.getSynchronizationObject()) {
+            // the row needs to reflect the pending changes
+            flushPendingChanges();
+
+            boolean success = false;
             try {
                 notifyExecutionStarted();
 
-                if (selectStatement == null) {
-                    selectStatement = gdsHelper.allocateStatement();
-                } else {
-                    selectStatement.setTransaction(gdsHelper.getCurrentTransaction());
-                }
+                prepareChange(SELECT_STATEMENT_TYPE);
+                final FbStatement selectStatement = getStatement(createStatementKey(SELECT_STATEMENT_TYPE));
 
                 final RowListener rowListener = new RowListener();
                 selectStatement.addStatementListener(rowListener);
 
                 try {
-                    executeStatement(SELECT_STATEMENT_TYPE, selectStatement);
+                    selectStatement.execute(createParameters(SELECT_STATEMENT_TYPE, false));
 
                     // should fetch one row anyway
                     selectStatement.fetchRows(10);
@@ -527,7 +519,122 @@ public class FBRowUpdater implements FirebirdRowUpdater {
         }
     }
 
-    private void executeStatement(int statementType, FbStatement stmt) throws SQLException {
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Batching is not used (changes are executed immediately) if the result set contains blob columns.
+     * </p>
+     */
+    @Override
+    public void setBatchSize(int batchSize) throws SQLException {
+        if (batchSize < 0) {
+            throw new FBSQLException("Batch size should be 0 or larger, was: " + batchSize,
+                    FBSQLException.SQL_STATE_INVALID_ARG_VALUE);
+        }
+        synchronized (syncProvider.getSynchronizationObject()) {
+            if (batchSize > 1 && batchable && parameterMask == null) {
+                // Queued changes are created without a transaction, so determine the parameter mask now
+                boolean success = false;
+                try {
+                    notifyExecutionStarted();
+                    getParameterMask();
+                    success = true;
+                } finally {
+                    notifyExecutionCompleted(success);
+                }
+            }
+            this.batchSize = batchSize;
+            if (batchSize <= 1 || pendingChanges.size() >= batchSize) {
+                flushPendingChanges();
+            }
+        }
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void flushPendingChanges() throws SQLException {
+        synchronized (syncProvider.getSynchronizationObject()) {
+            if (pendingChanges.isEmpty()) return;
+
+            final StatementKey key = pendingKey;
+            final List<RowValue> parameterSets = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            pendingKey = null;
+
+            boolean success = false;
+            try {
+                notifyExecutionStarted();
+
+                final BatchExecutionResult result = getStatement(key).executeBatch(parameterSets);
+                if (!result.isSuccess()) {
+                    throw result.getException();
+                }
+
+                success = true;
+            } finally {
+                notifyExecutionCompleted(success);
+            }
+        }
+    }
+
+    @Override
+    public void discardPendingChanges() throws SQLException {
+        synchronized (syncProvider.getSynchronizationObject()) {
+            pendingChanges.clear();
+            pendingKey = null;
+        }
+    }
+
+    /**
+     * Executes the change of the specified type, or queues it if batching is enabled.
+     *
+     * @param statementType
+     *         One of {@link #UPDATE_STATEMENT_TYPE}, {@link #DELETE_STATEMENT_TYPE} or {@link #INSERT_STATEMENT_TYPE}
+     */
+    private void executeChange(int statementType) throws SQLException {
+        if (batchSize > 1 && batchable) {
+            prepareChange(statementType);
+            final StatementKey key = createStatementKey(statementType);
+            if (pendingKey != null && !pendingKey.equals(key)) {
+                // changes are executed in order, so a change using a different statement ends the batch
+                flushPendingChanges();
+            }
+            // Queued changes belong to the current transaction: the execution is completed when they are flushed,
+            // so committing or rolling back the transaction flushes or discards them through completion of the
+            // statement
+            notifyExecutionStarted();
+            // the row values are reused for subsequent changes, so queue a copy
+            pendingChanges.add(createParameters(statementType, true));
+            pendingKey = key;
+
+            if (pendingChanges.size() >= batchSize) {
+                flushPendingChanges();
+            }
+            return;
+        }
+
+        flushPendingChanges();
+        boolean success = false;
+        try {
+            notifyExecutionStarted();
+
+            prepareChange(statementType);
+            getStatement(createStatementKey(statementType))
+                    .execute(createParameters(statementType, false));
+
+            success = true;
+        } finally {
+            notifyExecutionCompleted(success);
+        }
+
+        // TODO think about adding COMMIT RETAIN in the auto-commit mode
+    }
+
+    private void prepareChange(int statementType) throws SQLException {
         // TODO Replace or leave to check within statement?
         /*
         if (!stmt.isValid())
@@ -549,39 +656,88 @@ public class FBRowUpdater implements FirebirdRowUpdater {
                 ((FBFlushableField) fields[i]).flushCachedData();
         }
 
-        int[] parameterMask = getParameterMask();
+        // also checks if the row can be identified
+        getParameterMask();
+    }
+
+    private StatementKey createStatementKey(int statementType) {
+        if (statementType == UPDATE_STATEMENT_TYPE || statementType == INSERT_STATEMENT_TYPE) {
+            return new StatementKey(statementType, updatedFlags.clone());
+        }
+        return new StatementKey(statementType, null);
+    }
+
+    /**
+     * Gets the prepared statement for the key, preparing (and caching) a new statement if necessary.
+     *
+     * @param key
+     *         Statement key
+     * @return Prepared statement, associated with the current transaction
+     */
+    private FbStatement getStatement(StatementKey key) throws SQLException {
+        FbStatement statement = statements.get(key);
+        if (statement != null) {
+            statement.setTransaction(gdsHelper.getCurrentTransaction());
+            return statement;
+        }
 
-        String sql;
-        switch (statementType) {
+        if (statements.size() >= MAX_CACHED_STATEMENTS) {
+            final Iterator<FbStatement> iterator = statements.values().iterator();
+            final FbStatement eldest = iterator.next();
+            iterator.remove();
+            eldest.close();
+        }
+
+        statement = gdsHelper.allocateStatement();
+        try {
+            statement.prepare(buildStatement(key));
+        } catch (SQLException ex) {
+            SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<>(ex);
+            deallocateStatement(statement, chain);
+            throw chain.getException();
+        }
+        statements.put(key, statement);
+        return statement;
+    }
+
+    private String buildStatement(StatementKey key) throws SQLException {
+        final int[] parameterMask = getParameterMask();
+        switch (key.statementType) {
         case UPDATE_STATEMENT_TYPE:
-            sql = buildUpdateStatement(parameterMask);
-            break;
+            return buildUpdateStatement(key.columns, parameterMask);
 
         case DELETE_STATEMENT_TYPE:
-            sql = buildDeleteStatement(parameterMask);
-            break;
+            return buildDeleteStatement(parameterMask);
 
         case INSERT_STATEMENT_TYPE:
-            sql = buildInsertStatement();
-            break;
+            return buildInsertStatement(key.columns);
 
         case SELECT_STATEMENT_TYPE:
-            sql = buildSelectStatement(parameterMask);
-            break;
+            return buildSelectStatement(parameterMask);
 
         default:
             throw new IllegalArgumentException("Incorrect statement type specified.");
         }
+    }
 
-        stmt.prepare(sql);
-
+    /**
+     * Creates the parameters of the statement for the current row.
+     *
+     * @param statementType
+     *         Statement type
+     * @param copy
+     *         {@code true} to use copies of the field values, {@code false} to use the field values of the row
+     * @return Parameters
+     */
+    private RowValue createParameters(int statementType, boolean copy) throws SQLException {
+        final int[] parameterMask = getParameterMask();
         List<FieldValue> params = new ArrayList<FieldValue>();
 
         if (statementType == UPDATE_STATEMENT_TYPE) {
             for (int i = 0; i < rowDescriptor.getCount(); i++) {
                 if (!updatedFlags[i]) continue;
 
-                params.add(newRow.getFieldValue(i).clone());
+                params.add(copyIfRequired(newRow.getFieldValue(i), copy));
             }
         }
 
@@ -591,14 +747,16 @@ public class FBRowUpdater implements FirebirdRowUpdater {
             else if (!updatedFlags[i] && statementType == INSERT_STATEMENT_TYPE)
                 continue;
             if (statementType == INSERT_STATEMENT_TYPE)
-                params.add(insertRow.getFieldValue(i).clone());
+                params.add(copyIfRequired(insertRow.getFieldValue(i), copy));
             else
-                params.add(oldRow.getFieldValue(i).clone());
+                params.add(copyIfRequired(oldRow.getFieldValue(i), copy));
         }
 
-        stmt.execute(new RowValue(params.toArray(new FieldValue[params.size()])));
+        return new RowValue(params.toArray(new FieldValue[params.size()]));
+    }
 
-        // TODO think about adding COMMIT RETAIN in the auto-commit mode
+    private static FieldValue copyIfRequired(FieldValue fieldValue, boolean copy) {
+        return copy ? fieldValue.clone() : fieldValue;
     }
 
     @Override
@@ -653,6 +811,32 @@ public class FBRowUpdater implements FirebirdRowUpdater {
         this.updatedFlags = new boolean[rowDescriptor.getCount()];
     }
 
+    /**
+     * Key of a prepared statement of this row updater: the statement type and the updated or inserted columns.
+     */
+    private static final class StatementKey {
+        private final int statementType;
+        private final boolean[] columns;
+
+        StatementKey(int statementType, boolean[] columns) {
+            this.statementType = statementType;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StatementKey)) return false;
+            StatementKey other = (StatementKey) o;
+            return statementType == other.statementType && Arrays.equals(columns, other.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * statementType + Arrays.hashCode(columns);
+        }
+    }
+
     private static class RowListener extends DefaultStatementListener {
         private final List<RowValue> rows = new ArrayList<RowValue>();
 
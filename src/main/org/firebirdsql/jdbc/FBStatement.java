@@ -21,6 +21,7 @@ package org.firebirdsql.jdbc;
 import org.firebirdsql.gds.DatabaseParameterBuffer;
 import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.BatchExecutionResult;
 import org.firebirdsql.gds.ng.FbStatement;
 import org.firebirdsql.gds.ng.SqlCountHolder;
 import org.firebirdsql.gds.ng.StatementState;
@@ -34,6 +35,7 @@ import org.firebirdsql.logging.LoggerFactory;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The object used for executing a static SQL statement and obtaining the results produced by it.
@@ -57,11 +59,21 @@ import java.util.*;
 public class FBStatement implements FirebirdStatement, Synchronizable {
 
     private static final org.firebirdsql.logging.Logger log = LoggerFactory.getLogger(FBStatement.class);
+
+    /**
+     * Number of batch elements executed pipelined under a single savepoint.
+     */
+    protected static final int PIPELINED_BATCH_CHUNK_SIZE = 1024;
+    private static final String PIPELINED_BATCH_SAVEPOINT_PREFIX = "JB_PIPELINED_BATCH_";
+    private static final AtomicInteger PIPELINED_BATCH_SAVEPOINT_COUNTER = new AtomicInteger();
+    private static final Set<String> PIPELINED_BATCH_KEYWORDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("INSERT", "UPDATE", "DELETE", "MERGE")));
     
     protected final GDSHelper gdsHelper;
     protected final FBObjectListener.StatementListener statementListener;
 
     protected FbStatement fbStatement;
+    private StatementListener fbStatementListener;
     
     //The normally retrieved result set. (no autocommit, not a cached rs).
     private FBResultSet currentRs;
@@ -73,6 +85,7 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
     private boolean escapedProcessing = true;
     private volatile boolean closeOnCompletion;
     private boolean currentStatementGeneratedKeys;
+    private String pipelinedBatchSavepoint;
 
 	protected SQLWarning firstWarning;
 
@@ -209,8 +222,13 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
     }
     
     public void completeStatement(CompletionReason reason) throws SQLException {
-        if (currentRs != null && (reason != CompletionReason.COMMIT || currentRs.getHoldability() == ResultSet.CLOSE_CURSORS_AT_COMMIT)) {
-            closeResultSet(false, reason);
+        if (currentRs != null) {
+            if (reason != CompletionReason.COMMIT || currentRs.getHoldability() == ResultSet.CLOSE_CURSORS_AT_COMMIT) {
+                closeResultSet(false, reason);
+            } else {
+                // holdable result set stays open, its queued row changes belong to the committed transaction
+                currentRs.flushRowUpdates();
+            }
         }
         
         if (!completed)
@@ -599,10 +617,11 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
                         closeResultSet(false);
                     } finally {
                         //may need ensureTransaction?
-                        fbStatement.close();
+                        releaseFixedStatement();
                     }
                 } finally {
                     fbStatement = null;
+                    fbStatementListener = null;
                 }
             } 
         }
@@ -929,9 +948,20 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
             return -1;
         }
         populateSqlCounts();
-        int insCount = sqlCountHolder.getIntegerInsertCount();
-        int updCount = sqlCountHolder.getIntegerUpdateCount();
-        int delCount = sqlCountHolder.getIntegerDeleteCount();
+        return toUpdateCount(sqlCountHolder);
+    }
+
+    /**
+     * Derives the JDBC update count from the counts reported by the server.
+     *
+     * @param sqlCounts
+     *         SQL counts of an execution
+     * @return Update count (maximum of the insert, update and delete count)
+     */
+    protected static int toUpdateCount(SqlCountHolder sqlCounts) {
+        int insCount = sqlCounts.getIntegerInsertCount();
+        int updCount = sqlCounts.getIntegerUpdateCount();
+        int delCount = sqlCounts.getIntegerDeleteCount();
         return Math.max(Math.max(updCount, delCount), insCount);
     }
 
@@ -1237,17 +1267,10 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
             	List<Integer> responses = new ArrayList<>(batchList.size());
 
                 try {
-                    for (String sql : batchList) {
-                        try {
-                            boolean hasResultSet = internalExecute(sql);
-                            if (hasResultSet)
-                                throw new BatchUpdateException(toArray(responses));
-                            else
-                                responses.add(getUpdateCount());
-                        } catch (SQLException e) {
-                            throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
-                                    toArray(responses));
-                        }
+                    if (isPipelinedBatchAllowed()) {
+                        executePipelinedBatch(responses);
+                    } else {
+                        executeBatchStatements(batchList, responses);
                     }
 
                     success = true;
@@ -1263,6 +1286,184 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
         }
     }
     
+    /**
+     * Executes the batched statements one by one.
+     *
+     * @param statements
+     *         Batched SQL statements
+     * @param responses
+     *         List to add the update counts to
+     * @throws BatchUpdateException
+     *         For the first statement that fails to execute or produces a result set
+     */
+    private void executeBatchStatements(List<String> statements, List<Integer> responses) throws SQLException {
+        for (String sql : statements) {
+            try {
+                boolean hasResultSet = internalExecute(sql);
+                if (hasResultSet)
+                    throw new BatchUpdateException(toArray(responses));
+                else
+                    responses.add(getUpdateCount());
+            } catch (SQLException e) {
+                throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+                        toArray(responses));
+            }
+        }
+    }
+
+    /**
+     * Executes the batched statements with pipelined prepares and executes.
+     * <p>
+     * Runs of consecutive statements accepted by {@link #isPipelinedBatchStatement(String)} are prepared and executed
+     * in chunks protected by a savepoint, other statements are executed one by one. As the server executes all
+     * statements of a chunk, even those after a failing statement, a failed chunk is rolled back to the savepoint and
+     * executed again with {@link #executeBatchStatements(List, List)} to report the failure exactly as a sequential
+     * execution would.
+     * </p>
+     * <p>
+     * Side effects that are not undone by the rollback to savepoint (eg generator or sequence increments, changes to
+     * external tables and actions of UDFs) occur again when a failed chunk is executed again.
+     * </p>
+     *
+     * @param responses
+     *         List to add the update counts to
+     */
+    private void executePipelinedBatch(List<Integer> responses) throws SQLException {
+        final List<String> statements = new ArrayList<>(batchList);
+        try {
+            int chunkStart = 0;
+            while (chunkStart < statements.size()) {
+                int chunkEnd = chunkStart;
+                while (chunkEnd < statements.size() && chunkEnd - chunkStart < PIPELINED_BATCH_CHUNK_SIZE
+                        && isPipelinedBatchStatement(statements.get(chunkEnd))) {
+                    chunkEnd++;
+                }
+                if (chunkEnd == chunkStart) {
+                    executeBatchStatements(statements.subList(chunkStart, chunkStart + 1), responses);
+                    chunkStart++;
+                    continue;
+                }
+
+                final List<String> chunk = statements.subList(chunkStart, chunkEnd);
+                final BatchExecutionResult chunkResult;
+                try {
+                    final List<String> statementTexts = new ArrayList<>(chunk.size());
+                    for (String sql : chunk) {
+                        statementTexts.add(escapedProcessing ? nativeSQL(sql) : sql);
+                    }
+                    allocateFixedStatement();
+                    setPipelinedBatchSavepoint();
+                    chunkResult = fbStatement.prepareAndExecuteBatch(statementTexts);
+                } catch (SQLException e) {
+                    throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+                            toArray(responses));
+                }
+
+                if (chunkResult.isSuccess()) {
+                    for (SqlCountHolder sqlCounts : chunkResult.getSqlCounts()) {
+                        responses.add(toUpdateCount(sqlCounts));
+                    }
+                } else {
+                    fbStatement.closeCursor();
+                    rollbackPipelinedBatchSavepoint();
+                    executeBatchStatements(chunk, responses);
+                }
+                chunkStart = chunkEnd;
+            }
+        } finally {
+            releasePipelinedBatchSavepoint();
+        }
+    }
+
+    /**
+     * Checks if a batched statement can be prepared and executed pipelined.
+     * <p>
+     * Only data manipulation statements are pipelined. Other statements may produce a result set or change the
+     * transaction (eg {@code COMMIT} or {@code SET TRANSACTION}), and are executed one by one. DDL is not pipelined:
+     * its work is deferred to commit, so there is little to gain, and a failing chunk would execute it again after
+     * the rollback to savepoint.
+     * </p>
+     *
+     * @param sql
+     *         Batched SQL statement
+     * @return {@code true} if the statement can be pipelined
+     */
+    static boolean isPipelinedBatchStatement(String sql) {
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return end < sql.length() && Character.isWhitespace(sql.charAt(end))
+                && PIPELINED_BATCH_KEYWORDS.contains(sql.substring(start, end).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Checks if batches of this statement can be executed pipelined.
+     * <p>
+     * Pipelined execution requires the connection property {@code pipelinedBatch}, and a transaction that supports
+     * savepoints (so not with Firebird auto commit), as a failing batch is undone to the savepoint and re-executed
+     * sequentially to report the failure.
+     * </p>
+     *
+     * @return {@code true} if batch executions can be pipelined
+     */
+    protected boolean isPipelinedBatchAllowed() {
+        return connection != null && !connection.isUseFirebirdAutoCommit()
+                && gdsHelper.getConnectionProperties().isPipelinedBatch();
+    }
+
+    /**
+     * Sets (or moves) the savepoint protecting a pipelined batch chunk.
+     * <p>
+     * The first call for a batch generates a savepoint name unique to the batch, so it does not collide with
+     * savepoints of the application.
+     * </p>
+     *
+     * @throws SQLException
+     *         If the savepoint could not be set
+     */
+    protected final void setPipelinedBatchSavepoint() throws SQLException {
+        if (pipelinedBatchSavepoint == null) {
+            final String savepointName = PIPELINED_BATCH_SAVEPOINT_PREFIX
+                    + (PIPELINED_BATCH_SAVEPOINT_COUNTER.incrementAndGet() & Integer.MAX_VALUE);
+            gdsHelper.executeImmediate("SAVEPOINT " + savepointName);
+            pipelinedBatchSavepoint = savepointName;
+        } else {
+            gdsHelper.executeImmediate("SAVEPOINT " + pipelinedBatchSavepoint);
+        }
+    }
+
+    /**
+     * Undoes the work since the savepoint set by {@link #setPipelinedBatchSavepoint()}.
+     *
+     * @throws SQLException
+     *         If the rollback to savepoint failed
+     */
+    protected final void rollbackPipelinedBatchSavepoint() throws SQLException {
+        if (pipelinedBatchSavepoint == null) {
+            throw new FBSQLException("No pipelined batch savepoint set");
+        }
+        gdsHelper.executeImmediate("ROLLBACK TO SAVEPOINT " + pipelinedBatchSavepoint);
+    }
+
+    /**
+     * Releases the savepoint set by {@link #setPipelinedBatchSavepoint()}, if any; failures are logged and ignored.
+     */
+    protected final void releasePipelinedBatchSavepoint() {
+        final String savepointName = pipelinedBatchSavepoint;
+        if (savepointName == null) return;
+        pipelinedBatchSavepoint = null;
+        try {
+            gdsHelper.executeImmediate("RELEASE SAVEPOINT " + savepointName);
+        } catch (SQLException e) {
+            log.debug("Unable to release pipelined batch savepoint", e);
+        }
+    }
+
     /**
      * Convert collection of {@link Integer} elements into array of int.
      * 
@@ -1394,14 +1595,75 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
     }
 
     protected void prepareFixedStatement(String sql) throws SQLException {
+        allocateFixedStatement();
+        fbStatement.prepare(escapedProcessing ? nativeSQL(sql) : sql);
+    }
+
+    /**
+     * Creates the {@link FbStatement} of this statement, or associates it with the current transaction if it already
+     * exists.
+     */
+    private void allocateFixedStatement() throws SQLException {
         // TODO: Statement should be created and allocated at FBStatement creation only.
         if (fbStatement == null) {
             fbStatement = gdsHelper.allocateStatement();
-            fbStatement.addStatementListener(createStatementListener());
+            fbStatementListener = createStatementListener();
+            fbStatement.addStatementListener(fbStatementListener);
         } else {
             fbStatement.setTransaction(gdsHelper.getCurrentTransaction());
         }
-        fbStatement.prepare(escapedProcessing ? nativeSQL(sql) : sql);
+    }
+
+    /**
+     * Uses an already prepared {@link FbStatement} (eg from the statement cache) as the statement of this object.
+     *
+     * @param preparedStatement
+     *         Prepared statement handle
+     */
+    protected final void attachFixedStatement(FbStatement preparedStatement) throws SQLException {
+        assert fbStatement == null : "Statement handle already allocated";
+        preparedStatement.setTransaction(gdsHelper.getCurrentTransaction());
+        fbStatement = preparedStatement;
+        fbStatementListener = createStatementListener();
+        fbStatement.addStatementListener(fbStatementListener);
+    }
+
+    /**
+     * Detaches the {@link FbStatement} from this object and its transaction, so it can be reused by another statement.
+     *
+     * @return The statement handle
+     */
+    protected final FbStatement detachFixedStatement() throws SQLException {
+        final FbStatement statement = fbStatement;
+        statement.removeStatementListener(fbStatementListener);
+        statement.setTransaction(null);
+        fbStatement = null;
+        fbStatementListener = null;
+        return statement;
+    }
+
+    /**
+     * @return The prepared statement cache of the connection, or {@code null} if there is no cache
+     */
+    final PreparedStatementCache getStatementCache() {
+        return connection != null ? connection.getStatementCache() : null;
+    }
+
+    /**
+     * @return Cache of extended field information of the connection, or {@code null} if there is no connection
+     */
+    final ExtendedFieldInfoCache getExtendedFieldInfoCache() {
+        return connection != null ? connection.getExtendedFieldInfoCache() : null;
+    }
+
+    /**
+     * Releases the {@link FbStatement} of this object when this statement is closed.
+     * <p>
+     * The default implementation closes the statement handle.
+     * </p>
+     */
+    protected void releaseFixedStatement() throws SQLException {
+        fbStatement.close();
     }
 
     protected void addWarning(SQLWarning warning) {
@@ -1641,6 +1903,10 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
                     ? StatementResult.RESULT_SET
                     : StatementResult.UPDATE_COUNT;
             isSingletonResult = hasSingletonResult;
+            if (connection != null && sender.getType() == StatementType.DDL) {
+                // Cached statement handles, field information and metadata results may depend on the modified metadata
+                connection.invalidateMetadataCaches();
+            }
         }
 
         @Override
@@ -50,6 +50,11 @@ class FBStatementFetcher implements FBFetcher {
     private List<RowValue> rows = new ArrayList<RowValue>();
     private final RowListener rowListener = new RowListener();
     private boolean allRowsFetched;
+    private final int prefetchWatermark;
+    private boolean prefetchRequested;
+    private int receivedRowCount;
+    private final AdaptiveFetchSize adaptiveFetchSize;
+    private final InlineBlobLoader inlineBlobLoader;
     protected RowValue _nextRow;
 
     private int rowNum = 0;
@@ -73,6 +78,12 @@ class FBStatementFetcher implements FBFetcher {
         this.fetcherListener = fetcherListener;
         this.maxRows = maxRows;
         this.fetchSize = fetchSize;
+        prefetchWatermark = gdsHelper != null ? gdsHelper.getConnectionProperties().getPrefetchWatermark() : 0;
+        final int adaptiveFetchMemoryLimit = gdsHelper != null
+                ? gdsHelper.getConnectionProperties().getAdaptiveFetchMemoryLimit() : 0;
+        adaptiveFetchSize = adaptiveFetchMemoryLimit > 0
+                ? new AdaptiveFetchSize(stmt.getFieldDescriptor(), adaptiveFetchMemoryLimit * 1024L) : null;
+        inlineBlobLoader = InlineBlobLoader.create(gdsHelper, stmt);
 
         synchronized (syncProvider.getSynchronizationObject()) {
             isEmpty = false;
@@ -181,13 +192,25 @@ class FBStatementFetcher implements FBFetcher {
             if (this.maxRows != 0) maxRows = this.maxRows - rowNum;
 
             int fetchSize = this.fetchSize;
-            if (fetchSize == 0) fetchSize = MAX_FETCH_ROWS;
+            if (fetchSize == 0) {
+                fetchSize = adaptiveFetchSize != null ? adaptiveFetchSize.getFetchSize() : MAX_FETCH_ROWS;
+            }
 
             if (maxRows != 0 && fetchSize > maxRows) fetchSize = maxRows;
 
             if (!allRowsFetched && (rows.isEmpty() || rows.size() == rowPosition)) {
                 rows.clear();
+                final boolean prefetched = prefetchRequested;
+                prefetchRequested = false;
+                final long startNanos = System.nanoTime();
                 stmt.fetchRows(fetchSize);
+                if (adaptiveFetchSize != null && !prefetched) {
+                    // The duration of a prefetched fetch does not reflect the round trip time
+                    adaptiveFetchSize.recordFetch(fetchSize, rows.size(), System.nanoTime() - startNanos);
+                }
+                if (inlineBlobLoader != null) {
+                    inlineBlobLoader.loadInlineBlobs(rows);
+                }
                 rowPosition = 0;
             }
 
@@ -196,12 +219,41 @@ class FBStatementFetcher implements FBFetcher {
                 // help the garbage collector
                 rows.set(rowPosition, null);
                 rowPosition++;
+                prefetchIfNeeded(fetchSize);
             } else {
                 setNextRow(null);
             }
         }
     }
 
+    /**
+     * Requests the next batch of rows from the server once the consumed part of the current batch reaches the
+     * prefetch watermark, so the network round trip overlaps with processing the remaining rows.
+     *
+     * @param fetchSize
+     *         Fetch size for the next batch
+     */
+    private void prefetchIfNeeded(int fetchSize) throws SQLException {
+        final int watermark = getPrefetchWatermark();
+        if (watermark <= 0 || prefetchRequested || allRowsFetched) return;
+        if (rowPosition * 100L < rows.size() * (long) watermark) return;
+        if (this.maxRows != 0) {
+            final int remaining = this.maxRows - receivedRowCount;
+            if (remaining <= 0) return;
+            fetchSize = Math.min(fetchSize, remaining);
+        }
+        prefetchRequested = true;
+        stmt.prefetchRows(fetchSize);
+    }
+
+    /**
+     * @return Percentage of a batch consumed before the next batch is prefetched, <code>0</code> to disable
+     * prefetching
+     */
+    protected int getPrefetchWatermark() {
+        return prefetchWatermark;
+    }
+
     @Override
     public void close() throws SQLException {
         close(CompletionReason.OTHER);
@@ -311,6 +363,7 @@ class FBStatementFetcher implements FBFetcher {
         @Override
         public void receivedRow(FbStatement sender, RowValue rowValue) {
             rows.add(rowValue);
+            receivedRowCount++;
         }
 
         @Override
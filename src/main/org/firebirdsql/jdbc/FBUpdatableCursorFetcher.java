@@ -87,6 +87,18 @@ public class FBUpdatableCursorFetcher extends FBStatementFetcher {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Prefetching is disabled for updatable cursors, as positioned updates and deletes apply to the current row of
+     * the server-side cursor.
+     * </p>
+     */
+    @Override
+    protected int getPrefetchWatermark() {
+        return 0;
+    }
+
     @Override
     public boolean isLast() throws SQLException {
         throw new FBDriverNotCapableException(
@@ -86,4 +86,16 @@ public interface FirebirdDatabaseMetaData extends DatabaseMetaData {
      */
     int getOdsMinorVersion() throws SQLException;
     
+
+    /**
+     * Removes all cached metadata results shared by the connections of the same connection factory.
+     * <p>
+     * Only applies if the metadata cache is enabled with the connection property {@code metaDataCacheTimeToLive}.
+     * </p>
+     *
+     * @throws SQLException
+     *         if a database access error occurs
+     * @since 3.0
+     */
+    void clearMetaDataCache() throws SQLException;
 }
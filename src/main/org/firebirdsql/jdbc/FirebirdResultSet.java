@@ -46,4 +46,52 @@ public interface FirebirdResultSet extends ResultSet {
      * @see FirebirdPreparedStatement#getExecutionPlan()
      */
     String getExecutionPlan() throws SQLException;
+
+    /**
+     * Sets the number of changes made with {@link #updateRow()}, {@link #insertRow()} and {@link #deleteRow()} that
+     * are queued before they are sent to the server as one pipelined batch.
+     * <p>
+     * Queued changes are also sent when a change needs a different statement (eg an update of other columns, or a
+     * delete after an update), on {@link #refreshRow()}, {@link #flushRowUpdates()} and when the result set is
+     * closed. Until then, the changes are not visible to other statements, and errors (eg constraint violations)
+     * are reported by the call that sends the batch; changes after the failed change may have been executed as well.
+     * Queued changes belong to the transaction they were made in: they are sent when the transaction is committed,
+     * and discarded when it is rolled back. In a distributed transaction, where the transaction is ended outside the
+     * connection, queued changes are only sent by the calls listed above.
+     * </p>
+     * <p>
+     * Batching is not used for result sets with blob columns.
+     * </p>
+     *
+     * @param batchSize
+     *         Number of queued changes, {@code 0} or {@code 1} executes each change immediately (default)
+     * @throws SQLException
+     *         If the result set is closed or not updatable, the batch size is negative, or queued changes could not
+     *         be executed
+     * @since 3.0
+     */
+    void setRowUpdateBatchSize(int batchSize) throws SQLException;
+
+    /**
+     * @return Number of changes that are queued before they are sent to the server as one batch, {@code 0} for
+     * result sets that are not updatable
+     * @throws SQLException
+     *         If the result set is closed
+     * @see #setRowUpdateBatchSize(int)
+     * @since 3.0
+     */
+    int getRowUpdateBatchSize() throws SQLException;
+
+    /**
+     * Sends the queued changes of {@link #updateRow()}, {@link #insertRow()} and {@link #deleteRow()} to the server.
+     * <p>
+     * Does nothing if there are no queued changes, or if this result set is not updatable.
+     * </p>
+     *
+     * @throws SQLException
+     *         If the result set is closed, or one of the queued changes failed
+     * @see #setRowUpdateBatchSize(int)
+     * @since 3.0
+     */
+    void flushRowUpdates() throws SQLException;
 }
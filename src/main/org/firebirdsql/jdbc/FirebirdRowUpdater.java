@@ -67,6 +67,32 @@ interface FirebirdRowUpdater {
     void setRow(RowValue row) throws SQLException;
     
     FBField getField(int fieldPosition) throws SQLException;
+
+    /**
+     * Sets the number of changes (insert, update or delete) that are queued before they are executed as one
+     * pipelined batch.
+     *
+     * @param batchSize
+     *         Batch size, {@code 0} or {@code 1} executes each change immediately
+     * @throws SQLException
+     *         If the batch size is negative, or pending changes could not be executed
+     */
+    void setBatchSize(int batchSize) throws SQLException;
+
+    int getBatchSize();
+
+    /**
+     * Executes the queued changes.
+     *
+     * @throws SQLException
+     *         If one of the queued changes failed
+     */
+    void flushPendingChanges() throws SQLException;
+
+    /**
+     * Discards the queued changes without executing them (eg because the transaction is rolled back).
+     */
+    void discardPendingChanges() throws SQLException;
     
     void close() throws SQLException;
 }
\ No newline at end of file
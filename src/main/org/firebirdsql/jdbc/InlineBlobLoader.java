@@ -0,0 +1,151 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.fields.FieldDescriptor;
+import org.firebirdsql.gds.ng.fields.FieldValue;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.jdbc.field.FBField;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the small blobs of a batch of fetched rows in bulk (see
+ * {@link org.firebirdsql.gds.ng.FbDatabase#getBlobContents(FbTransaction, long[], int)}), and attaches their content
+ * to the row as an {@link FBCachedBlob}.
+ * <p>
+ * The inline blob is stored as the cached object of the {@link FieldValue}, and is only valid as long as the field
+ * data (the blob id) is not replaced; use {@link #getInlineBlob(FieldValue)} to retrieve it.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class InlineBlobLoader {
+
+    private final GDSHelper gdsHelper;
+    private final RowDescriptor rowDescriptor;
+    private final int[] blobColumns;
+    private final int maxLength;
+
+    private InlineBlobLoader(GDSHelper gdsHelper, RowDescriptor rowDescriptor, int[] blobColumns, int maxLength) {
+        this.gdsHelper = gdsHelper;
+        this.rowDescriptor = rowDescriptor;
+        this.blobColumns = blobColumns;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Creates an inline blob loader if inline blobs are enabled (see
+     * {@link org.firebirdsql.gds.ng.IConnectionProperties#getInlineBlobThreshold()}) and the row has blob columns.
+     *
+     * @param gdsHelper
+     *         GDS helper (can be {@code null})
+     * @param statement
+     *         Statement handle with the open cursor
+     * @return Inline blob loader, or {@code null} if inline blobs are not enabled or not applicable
+     */
+    static InlineBlobLoader create(GDSHelper gdsHelper, FbStatement statement) {
+        if (gdsHelper == null) return null;
+        final int maxLength = gdsHelper.getConnectionProperties().getInlineBlobThreshold();
+        if (maxLength <= 0) return null;
+        final RowDescriptor rowDescriptor = statement.getFieldDescriptor();
+        final int[] blobColumns = new int[rowDescriptor.getCount()];
+        int blobCount = 0;
+        for (int i = 0; i < rowDescriptor.getCount(); i++) {
+            final FieldDescriptor field = rowDescriptor.getFieldDescriptor(i);
+            if (FBField.isType(field, Types.BLOB) ||
+                    FBField.isType(field, Types.LONGVARBINARY) ||
+                    FBField.isType(field, Types.LONGVARCHAR)) {
+                blobColumns[blobCount++] = i;
+            }
+        }
+        if (blobCount == 0) return null;
+        return new InlineBlobLoader(gdsHelper, rowDescriptor, Arrays.copyOf(blobColumns, blobCount), maxLength);
+    }
+
+    /**
+     * Reads the blobs of the rows up to the threshold length, and attaches them to the field values of the rows.
+     *
+     * @param rows
+     *         Fetched rows (elements can be {@code null})
+     * @throws SQLException
+     *         For database communication errors
+     */
+    void loadInlineBlobs(List<RowValue> rows) throws SQLException {
+        final FbTransaction transaction = gdsHelper.getCurrentTransaction();
+        if (transaction == null || rows.isEmpty()) return;
+        final FieldValue[] fieldValues = new FieldValue[rows.size() * blobColumns.length];
+        final long[] blobIds = new long[fieldValues.length];
+        int count = 0;
+        for (RowValue row : rows) {
+            if (row == null) continue;
+            for (int column : blobColumns) {
+                final FieldValue fieldValue = row.getFieldValue(column);
+                final byte[] blobIdData = fieldValue.getFieldData();
+                if (blobIdData == null) continue;
+                fieldValues[count] = fieldValue;
+                blobIds[count] = rowDescriptor.getFieldDescriptor(column).getDatatypeCoder().decodeLong(blobIdData);
+                count++;
+            }
+        }
+        if (count == 0) return;
+
+        final byte[][] contents = gdsHelper.getCurrentDatabase()
+                .getBlobContents(transaction, count == blobIds.length ? blobIds : Arrays.copyOf(blobIds, count),
+                        maxLength);
+        for (int idx = 0; idx < count; idx++) {
+            if (contents[idx] != null) {
+                final FieldValue fieldValue = fieldValues[idx];
+                fieldValue.setCachedObject(new InlineBlob(fieldValue.getFieldData(), new FBCachedBlob(contents[idx])));
+            }
+        }
+    }
+
+    /**
+     * Gets the inline blob of a field value.
+     *
+     * @param fieldValue
+     *         Field value
+     * @return Inline blob, or {@code null} if the field value has no (valid) inline blob
+     */
+    static FBCachedBlob getInlineBlob(FieldValue fieldValue) {
+        final Object cachedObject = fieldValue.getCachedObject();
+        if (!(cachedObject instanceof InlineBlob)) return null;
+        final InlineBlob inlineBlob = (InlineBlob) cachedObject;
+        // Field data is replaced on update (or copied on clone), invalidating the inline blob
+        return inlineBlob.blobIdData == fieldValue.getFieldData() ? inlineBlob.blob : null;
+    }
+
+    private static final class InlineBlob {
+        private final byte[] blobIdData;
+        private final FBCachedBlob blob;
+
+        private InlineBlob(byte[] blobIdData, FBCachedBlob blob) {
+            this.blobIdData = blobIdData;
+            this.blob = blob;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.util.BoundedLruMap;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the results of {@link FBDatabaseMetaData} queries, shared by the connections of a
+ * {@link org.firebirdsql.jca.FBManagedConnectionFactory}.
+ * <p>
+ * Results are keyed by user, role, query text and parameters, and expire after the time to live. The least recently
+ * used results are removed when the cache is full. The cached rows are never modified, so they can be shared by
+ * multiple (read-only) result sets.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ * <p>
+ * <b>INTERNAL API:</b> might be changed in the future!
+ * </p>
+ *
+ * @since 3.0
+ */
+public final class MetaDataResultCache {
+
+    private final long timeToLiveNanos;
+    private final Map<Key, CachedResult> results;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a metadata result cache.
+     *
+     * @param maxSize
+     *         Maximum number of cached results
+     * @param timeToLiveMillis
+     *         Time in milliseconds that a result is cached
+     */
+    public MetaDataResultCache(int maxSize, long timeToLiveMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be larger than 0, was: " + maxSize);
+        }
+        if (timeToLiveMillis <= 0) {
+            throw new IllegalArgumentException("timeToLiveMillis should be larger than 0, was: " + timeToLiveMillis);
+        }
+        timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        results = new BoundedLruMap<>(maxSize);
+    }
+
+    /**
+     * Gets a cached result, counting a hit or miss.
+     *
+     * @param key
+     *         Key of the result
+     * @return Cached result, or {@code null} if not cached or expired
+     */
+    synchronized CachedResult get(Key key) {
+        final CachedResult result = results.get(key);
+        if (result != null) {
+            if (System.nanoTime() - result.createdNanos < timeToLiveNanos) {
+                hitCount++;
+                return result;
+            }
+            results.remove(key);
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Adds a result to the cache.
+     *
+     * @param key
+     *         Key of the result
+     * @param rowDescriptor
+     *         Row descriptor of the result
+     * @param rows
+     *         Rows of the result (must not be modified after adding it to the cache)
+     * @return The cached result
+     */
+    synchronized CachedResult put(Key key, RowDescriptor rowDescriptor, List<RowValue> rows) {
+        final CachedResult result = new CachedResult(rowDescriptor, rows, System.nanoTime());
+        results.put(key, result);
+        return result;
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * @return Number of cached results (including expired results that have not been removed yet)
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * @return Number of metadata queries answered from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return Number of metadata queries executed on the database while the cache was enabled
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Key of a cached metadata result.
+     */
+    static final class Key {
+        private final String user;
+        private final String role;
+        private final String sql;
+        private final List<String> params;
+
+        Key(String user, String role, String sql, List<String> params) {
+            this.user = user;
+            this.role = role;
+            this.sql = sql;
+            this.params = new ArrayList<>(params);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return sql.equals(other.sql)
+                    && params.equals(other.params)
+                    && (user == null ? other.user == null : user.equals(other.user))
+                    && (role == null ? other.role == null : role.equals(other.role));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sql.hashCode();
+            result = 31 * result + params.hashCode();
+            result = 31 * result + (user != null ? user.hashCode() : 0);
+            result = 31 * result + (role != null ? role.hashCode() : 0);
+            return result;
+        }
+    }
+
+    /**
+     * Cached metadata result.
+     */
+    static final class CachedResult {
+        private final RowDescriptor rowDescriptor;
+        private final List<RowValue> rows;
+        private final long createdNanos;
+
+        private CachedResult(RowDescriptor rowDescriptor, List<RowValue> rows, long createdNanos) {
+            this.rowDescriptor = rowDescriptor;
+            this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+            this.createdNanos = createdNanos;
+        }
+
+        RowDescriptor getRowDescriptor() {
+            return rowDescriptor;
+        }
+
+        List<RowValue> getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.StatementState;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least recently used cache of prepared statement handles of a connection.
+ * <p>
+ * A handle is taken out of the cache when a prepared statement is created for the same key, and returned to the cache
+ * when that prepared statement is closed. Handles that are evicted, replaced or cleared are closed, which frees the
+ * statement on the server (deferred for protocol versions that support it).
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class PreparedStatementCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    private final int maxSize;
+    private final Map<Key, FbStatement> statements;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a statement cache.
+     *
+     * @param maxSize
+     *         Maximum number of cached statement handles
+     */
+    PreparedStatementCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be larger than 0, was: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Takes the cached statement handle for the key out of the cache.
+     *
+     * @param key
+     *         Key of the statement
+     * @return Cached statement handle (in state {@link StatementState#PREPARED}), or {@code null} if not cached
+     */
+    synchronized FbStatement take(Key key) {
+        final FbStatement statement = statements.remove(key);
+        if (statement != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return statement;
+    }
+
+    /**
+     * Returns a statement handle to the cache.
+     * <p>
+     * A statement handle that is not prepared is closed instead of cached. If the cache already holds a handle for the
+     * key, or is full, the replaced or least recently used handle is closed.
+     * </p>
+     *
+     * @param key
+     *         Key of the statement
+     * @param statement
+     *         Statement handle
+     */
+    void release(Key key, FbStatement statement) throws SQLException {
+        if (statement.getState() != StatementState.PREPARED) {
+            statement.close();
+            return;
+        }
+        final List<FbStatement> removed = new ArrayList<>(1);
+        synchronized (this) {
+            final FbStatement replaced = statements.put(key, statement);
+            if (replaced != null) {
+                removed.add(replaced);
+            }
+            if (statements.size() > maxSize) {
+                final Iterator<FbStatement> iterator = statements.values().iterator();
+                removed.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        closeAll(removed);
+    }
+
+    /**
+     * Closes and removes all cached statement handles.
+     */
+    void clear() {
+        final List<FbStatement> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        closeAll(removed);
+    }
+
+    /**
+     * @return Number of cached statement handles
+     */
+    synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * @return Number of times a statement handle was reused from the cache
+     */
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return Number of times no statement handle was cached for a prepared statement
+     */
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private static void closeAll(List<FbStatement> statements) {
+        for (FbStatement statement : statements) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                log.debug("Unable to close cached statement handle", e);
+            }
+        }
+    }
+
+    /**
+     * Key of a cached statement handle.
+     */
+    static final class Key {
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+        private final int resultSetHoldability;
+        private final boolean generatedKeys;
+
+        Key(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability,
+                boolean generatedKeys) {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.resultSetHoldability = resultSetHoldability;
+            this.generatedKeys = generatedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return resultSetType == other.resultSetType
+                    && resultSetConcurrency == other.resultSetConcurrency
+                    && resultSetHoldability == other.resultSetHoldability
+                    && generatedKeys == other.generatedKeys
+                    && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sql.hashCode();
+            result = 31 * result + resultSetType;
+            result = 31 * result + resultSetConcurrency;
+            result = 31 * result + resultSetHoldability;
+            result = 31 * result + (generatedKeys ? 1 : 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows of a {@link FBCachedFetcher}, keeping at most a bounded number of rows on the heap.
+ * <p>
+ * Rows are kept in memory until the list holds more than {@code maxRowsInMemory} rows. At that point all rows are
+ * written (spilled) to a temporary file, and from then on the heap only holds the offset of each row in that file. A
+ * spilled row is read back through a memory mapped window of the file each time it is retrieved, so the returned
+ * {@link RowValue} is a new instance on each call. Updated and inserted rows are appended to the file; the file is
+ * deleted when the list is closed, or otherwise on finalization.
+ * </p>
+ * <p>
+ * A row is encoded as its length (4 bytes), followed by each field as a variable length encoded length plus one
+ * ({@code 0} for {@code NULL}) and the field data.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class SpillableRowList {
+
+    private static final Logger log = LoggerFactory.getLogger(SpillableRowList.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int MAP_WINDOW_SIZE = 8 * 1024 * 1024;
+    private static final int ROW_LENGTH_SIZE = 4;
+
+    private final RowDescriptor rowDescriptor;
+    private final int maxRowsInMemory;
+    private List<RowValue> memoryRows = new ArrayList<>();
+
+    // Spilled state, offsets is null as long as the rows are in memory
+    private long[] offsets;
+    private int size;
+    private SpillFileCleaner spillFileCleaner;
+    private RandomAccessFile randomAccessFile;
+    private FileChannel channel;
+    private ByteBuffer writeBuffer;
+    private long writtenLength;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int mapCount;
+
+    /**
+     * Creates a spillable row list.
+     *
+     * @param rowDescriptor
+     *         Row descriptor of the rows
+     * @param maxRowsInMemory
+     *         Maximum number of rows kept in memory, {@code 0} or less keeps all rows in memory
+     */
+    SpillableRowList(RowDescriptor rowDescriptor, int maxRowsInMemory) {
+        this.rowDescriptor = rowDescriptor;
+        this.maxRowsInMemory = maxRowsInMemory;
+    }
+
+    /**
+     * @return Number of rows
+     */
+    int size() {
+        return offsets == null ? memoryRows.size() : size;
+    }
+
+    /**
+     * @return {@code true} if the rows have been moved to a temporary file
+     */
+    boolean isSpilled() {
+        return offsets != null;
+    }
+
+    /**
+     * @return Number of times a window of the temporary file has been mapped
+     */
+    int getMapCount() {
+        return mapCount;
+    }
+
+    /**
+     * @param index
+     *         0-based index of the row
+     * @return Row (for a spilled list a new instance on each call)
+     * @throws SQLException
+     *         For errors reading the temporary file
+     */
+    RowValue get(int index) throws SQLException {
+        if (offsets == null) {
+            return memoryRows.get(index);
+        }
+        checkIndex(index, size - 1);
+        try {
+            return readRow(offsets[index]);
+        } catch (IOException e) {
+            throw new FBSQLException(e);
+        }
+    }
+
+    /**
+     * Adds a row at the end of the list.
+     *
+     * @param row
+     *         Row to add
+     * @throws SQLException
+     *         For errors writing the temporary file
+     */
+    void add(RowValue row) throws SQLException {
+        add(size(), row);
+    }
+
+    /**
+     * Inserts a row.
+     *
+     * @param index
+     *         0-based index of the inserted row
+     * @param row
+     *         Row to insert
+     * @throws SQLException
+     *         For errors writing the temporary file
+     */
+    void add(int index, RowValue row) throws SQLException {
+        if (offsets == null) {
+            memoryRows.add(index, row);
+            if (maxRowsInMemory > 0 && memoryRows.size() > maxRowsInMemory) {
+                spill();
+            }
+            return;
+        }
+        checkIndex(index, size);
+        try {
+            final long offset = writeRow(row);
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1) + 1);
+            }
+            System.arraycopy(offsets, index, offsets, index + 1, size - index);
+            offsets[index] = offset;
+            size++;
+        } catch (IOException e) {
+            throw new FBSQLException(e);
+        }
+    }
+
+    /**
+     * Replaces a row.
+     *
+     * @param index
+     *         0-based index of the row
+     * @param row
+     *         New row
+     * @throws SQLException
+     *         For errors writing the temporary file
+     */
+    void set(int index, RowValue row) throws SQLException {
+        if (offsets == null) {
+            memoryRows.set(index, row);
+            return;
+        }
+        checkIndex(index, size - 1);
+        try {
+            // The old row remains in the file as garbage
+            offsets[index] = writeRow(row);
+        } catch (IOException e) {
+            throw new FBSQLException(e);
+        }
+    }
+
+    /**
+     * Removes a row.
+     *
+     * @param index
+     *         0-based index of the row
+     */
+    void remove(int index) {
+        if (offsets == null) {
+            memoryRows.remove(index);
+            return;
+        }
+        checkIndex(index, size - 1);
+        System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * @return Deep copies of all rows (all rows are on the heap, regardless of the threshold)
+     * @throws SQLException
+     *         For errors reading the temporary file
+     */
+    List<RowValue> copyRows() throws SQLException {
+        final int count = size();
+        final List<RowValue> copies = new ArrayList<>(count);
+        for (int idx = 0; idx < count; idx++) {
+            copies.add(offsets == null ? memoryRows.get(idx).deepCopy() : get(idx));
+        }
+        return copies;
+    }
+
+    /**
+     * Removes all rows and deletes the temporary file (if any).
+     */
+    void close() {
+        memoryRows = new ArrayList<>();
+        offsets = null;
+        size = 0;
+        window = null;
+        writeBuffer = null;
+        if (spillFileCleaner != null) {
+            if (!spillFileCleaner.cleanup()) {
+                // Eg on Windows when a memory mapped window has not been garbage collected yet
+                log.debug("Unable to delete spill file " + spillFileCleaner.file + ", retrying on finalization");
+            }
+            spillFileCleaner = null;
+            randomAccessFile = null;
+            channel = null;
+        }
+    }
+
+    private void spill() throws SQLException {
+        try {
+            final File spillFile = File.createTempFile("jaybird-rows-", ".tmp");
+            try {
+                randomAccessFile = new RandomAccessFile(spillFile, "rw");
+            } catch (IOException e) {
+                if (!spillFile.delete()) {
+                    log.debug("Unable to delete spill file " + spillFile);
+                }
+                throw e;
+            }
+            spillFileCleaner = new SpillFileCleaner(spillFile, randomAccessFile);
+            channel = randomAccessFile.getChannel();
+            writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            final int count = memoryRows.size();
+            offsets = new long[Math.max(16, count + (count >> 1))];
+            for (int idx = 0; idx < count; idx++) {
+                offsets[idx] = writeRow(memoryRows.get(idx));
+            }
+            size = count;
+            memoryRows = new ArrayList<>(0);
+        } catch (IOException e) {
+            close();
+            throw new FBSQLException(e);
+        }
+    }
+
+    private long writeRow(RowValue row) throws IOException {
+        int rowLength = 0;
+        for (int idx = 0; idx < row.getCount(); idx++) {
+            final byte[] fieldData = row.getFieldValue(idx).getFieldData();
+            rowLength += fieldData == null ? 1 : varIntLength(fieldData.length + 1) + fieldData.length;
+        }
+        final long offset = writtenLength;
+        ensureWriteCapacity(ROW_LENGTH_SIZE);
+        writeBuffer.putInt(rowLength);
+        for (int idx = 0; idx < row.getCount(); idx++) {
+            final byte[] fieldData = row.getFieldValue(idx).getFieldData();
+            if (fieldData == null) {
+                ensureWriteCapacity(1);
+                writeBuffer.put((byte) 0);
+                continue;
+            }
+            ensureWriteCapacity(5);
+            putVarInt(fieldData.length + 1);
+            int written = 0;
+            while (written < fieldData.length) {
+                ensureWriteCapacity(1);
+                final int chunk = Math.min(writeBuffer.remaining(), fieldData.length - written);
+                writeBuffer.put(fieldData, written, chunk);
+                written += chunk;
+            }
+        }
+        writtenLength += ROW_LENGTH_SIZE + rowLength;
+        return offset;
+    }
+
+    private RowValue readRow(long offset) throws IOException {
+        final int rowLength = mapWindow(offset, ROW_LENGTH_SIZE).getInt((int) (offset - windowStart));
+        final ByteBuffer buffer = mapWindow(offset, ROW_LENGTH_SIZE + rowLength).duplicate();
+        buffer.position((int) (offset - windowStart) + ROW_LENGTH_SIZE);
+
+        final RowValue row = rowDescriptor.createDefaultFieldValues();
+        for (int idx = 0; idx < row.getCount(); idx++) {
+            final int lengthPlusOne = getVarInt(buffer);
+            if (lengthPlusOne == 0) {
+                row.getFieldValue(idx).setFieldData(null);
+            } else {
+                final byte[] fieldData = new byte[lengthPlusOne - 1];
+                buffer.get(fieldData);
+                row.getFieldValue(idx).setFieldData(fieldData);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Maps a window of the file containing the specified range, flushing buffered writes if necessary.
+     * <p>
+     * Windows start at a multiple of {@link #MAP_WINDOW_SIZE} (extended to the end of the range if it crosses the
+     * window boundary), so reading rows in any order only creates a new mapping when moving to another part of the
+     * file, instead of one mapping per row when reading backwards.
+     * </p>
+     */
+    private ByteBuffer mapWindow(long offset, int length) throws IOException {
+        final long end = offset + length;
+        if (window != null && offset >= windowStart && end <= windowStart + window.limit()) {
+            return window;
+        }
+        if (end > channel.size()) {
+            flushWriteBuffer();
+        }
+        final long start = offset & ~(MAP_WINDOW_SIZE - 1L);
+        final long mapSize = Math.min(Math.max(start + MAP_WINDOW_SIZE, end), channel.size()) - start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, mapSize);
+        windowStart = start;
+        mapCount++;
+        return window;
+    }
+
+    private void ensureWriteCapacity(int required) throws IOException {
+        if (writeBuffer.remaining() < required) {
+            flushWriteBuffer();
+        }
+    }
+
+    private void flushWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        long position = channel.size();
+        while (writeBuffer.hasRemaining()) {
+            position += channel.write(writeBuffer, position);
+        }
+        writeBuffer.clear();
+    }
+
+    private void putVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeBuffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeBuffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            length++;
+            value >>>= 7;
+        }
+        return length;
+    }
+
+    /**
+     * Closes and deletes the spill file.
+     * <p>
+     * Only referenced by the list, so it is finalized when the list is garbage collected without being closed, or
+     * after the list was closed but the file could not be deleted at that time.
+     * </p>
+     */
+    private static final class SpillFileCleaner {
+
+        private final File file;
+        private final RandomAccessFile randomAccessFile;
+
+        private SpillFileCleaner(File file, RandomAccessFile randomAccessFile) {
+            this.file = file;
+            this.randomAccessFile = randomAccessFile;
+        }
+
+        /**
+         * @return {@code true} if the file was deleted (or no longer exists)
+         */
+        boolean cleanup() {
+            try {
+                randomAccessFile.close();
+            } catch (IOException e) {
+                log.debug("Error closing spill file " + file, e);
+            }
+            return file.delete() || !file.exists();
+        }
+
+        @Override
+        protected void finalize() throws Throwable {
+            try {
+                cleanup();
+            } finally {
+                super.finalize();
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int maxIndex) {
+        if (index < 0 || index > maxIndex) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", maximum: " + maxIndex);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.escape;
+
+import org.firebirdsql.jdbc.escape.FBEscapedParser.EscapeParserMode;
+import org.firebirdsql.util.BoundedLruMap;
+
+import java.util.Map;
+
+/**
+ * Least recently used cache of parse results keyed by SQL text and {@link EscapeParserMode}.
+ * <p>
+ * Parse results are shared between all connections, so cached values must not be modified. SQL longer than
+ * {@link #MAX_SQL_LENGTH} is not cached.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @param <V>
+ *         Type of the parse result
+ * @since 3.0
+ */
+final class EscapeParseCache<V> {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+    static final int MAX_SQL_LENGTH = 8192;
+
+    private final Map<CacheKey, V> parseResults;
+
+    /**
+     * Creates an escape parse cache.
+     *
+     * @param maxSize
+     *         Maximum number of cached parse results
+     */
+    EscapeParseCache(int maxSize) {
+        parseResults = new BoundedLruMap<>(maxSize);
+    }
+
+    /**
+     * Gets the cached parse result.
+     *
+     * @param mode
+     *         Escape parser mode
+     * @param sql
+     *         SQL text
+     * @return Cached parse result, or {@code null} if not cached
+     */
+    synchronized V get(EscapeParserMode mode, String sql) {
+        return parseResults.get(new CacheKey(mode, sql));
+    }
+
+    /**
+     * Adds a parse result to the cache, evicting the least recently used result if the cache is full.
+     *
+     * @param mode
+     *         Escape parser mode
+     * @param sql
+     *         SQL text
+     * @param parseResult
+     *         Parse result (must not be modified after adding it to the cache)
+     */
+    synchronized void put(EscapeParserMode mode, String sql, V parseResult) {
+        if (sql.length() > MAX_SQL_LENGTH) return;
+        parseResults.put(new CacheKey(mode, sql), parseResult);
+    }
+
+    /**
+     * Removes all cached parse results.
+     */
+    synchronized void clear() {
+        parseResults.clear();
+    }
+
+    synchronized int size() {
+        return parseResults.size();
+    }
+
+    private static final class CacheKey {
+        private final EscapeParserMode mode;
+        private final String sql;
+
+        private CacheKey(EscapeParserMode mode, String sql) {
+            this.mode = mode;
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            CacheKey other = (CacheKey) o;
+            return mode == other.mode && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mode.hashCode() + sql.hashCode();
+        }
+    }
+}
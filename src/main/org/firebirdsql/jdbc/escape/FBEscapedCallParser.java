@@ -47,10 +47,18 @@ public class FBEscapedCallParser {
 
     private int openBraceCount;
 
+    /**
+     * Cache of parsed procedure calls, used as templates for the procedure call returned by {@link #parseCall(String)}.
+     */
+    static final EscapeParseCache<FBProcedureCall> PROCEDURE_CALL_CACHE =
+            new EscapeParseCache<>(EscapeParseCache.DEFAULT_MAX_SIZE);
+
     private FBProcedureCall procedureCall;
+    private final EscapeParserMode mode;
     private FBEscapedParser escapedParser;
 
     public FBEscapedCallParser(EscapeParserMode mode) {
+        this.mode = mode;
         this.escapedParser = new FBEscapedParser(mode);
     }
 
@@ -168,11 +176,23 @@ public class FBEscapedCallParser {
 
     /**
      * Converts escaped parts in the passed SQL to native representation.
+     * <p>
+     * Parsed procedure calls are cached; the returned procedure call is a copy that can be modified by the caller.
+     * </p>
      * @param sql to parse
      *
      * @return native form of the <code>sql</code>.
      */
     public FBProcedureCall parseCall(String sql) throws SQLException {
+        FBProcedureCall template = PROCEDURE_CALL_CACHE.get(mode, sql);
+        if (template == null) {
+            template = parseProcedureCall(sql);
+            PROCEDURE_CALL_CACHE.put(mode, sql, template);
+        }
+        return (FBProcedureCall) template.clone();
+    }
+
+    private FBProcedureCall parseProcedureCall(String sql) throws SQLException {
         sql = cleanUpCall(sql);
 
         procedureCall = new FBProcedureCall();
@@ -63,6 +63,12 @@ public final class FBEscapedParser {
 
     private static final String LIMIT_OFFSET_CLAUSE = " offset ";
 
+    /**
+     * Cache of the native SQL of statements containing escapes.
+     */
+    static final EscapeParseCache<String> NATIVE_SQL_CACHE =
+            new EscapeParseCache<>(EscapeParseCache.DEFAULT_MAX_SIZE);
+
     private final EscapeParserMode mode;
 
     /**
@@ -95,14 +101,27 @@ public final class FBEscapedParser {
 
     /**
      * Converts escaped parts in the passed SQL to native representation.
+     * <p>
+     * The native form of SQL containing escapes is cached, and shared between all parsers with the same mode.
+     * </p>
      *
      * @param sql
      *            to parse
      * @return native form of the <code>sql</code>.
      */
     public String parse(final String sql) throws SQLException {
-        if (!checkForEscapes(sql)) return sql;
+        // Fast path: all escapes start with a curly brace
+        if (sql.indexOf('{') == -1 || !checkForEscapes(sql)) return sql;
+
+        String nativeSql = NATIVE_SQL_CACHE.get(mode, sql);
+        if (nativeSql == null) {
+            nativeSql = parseEscapes(sql);
+            NATIVE_SQL_CACHE.put(mode, sql, nativeSql);
+        }
+        return nativeSql;
+    }
 
+    private String parseEscapes(final String sql) throws SQLException {
         ParserState state = ParserState.INITIAL_STATE;
         // Note initialising to 8 as that is the minimum size in Oracle Java, and we (usually) need less than the default of 16
         final Deque<StringBuilder> bufferStack = new ArrayDeque<>(8);
@@ -40,4 +40,15 @@ public final class DefaultObjectConverter implements ObjectConverter {
     public boolean setObject(FBField field, Object object) throws java.sql.SQLException {
         return false;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>This implementation always throws a {@link TypeConversionException}.</b>
+     * </p>
+     */
+    @Override
+    public <T> T getObject(FBField field, Class<T> type) throws java.sql.SQLException {
+        throw new TypeConversionException(FBField.OBJECT_CONVERSION_ERROR);
+    }
 }
@@ -44,6 +44,15 @@ final class FBBigDecimalField extends FBField {
     private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
     private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
 
+    private static final long[] POWERS_OF_TEN = new long[19];
+    static {
+        long value = 1;
+        for (int idx = 0; idx < POWERS_OF_TEN.length; idx++) {
+            POWERS_OF_TEN[idx] = value;
+            value *= 10;
+        }
+    }
+
     private final FieldDataSize fieldDataSize;
 
     FBBigDecimalField(FieldDescriptor fieldDescriptor, FieldDataProvider dataProvider, int requiredType)
@@ -96,10 +105,16 @@ final class FBBigDecimalField extends FBField {
     }
 
     public long getLong() throws SQLException {
-        BigDecimal value = getBigDecimal();
-        if (value == null) return LONG_NULL_VALUE;
+        if (isNull()) return LONG_NULL_VALUE;
 
-        return value.longValue();
+        final long unscaledValue =
+                fieldDataSize.decodeUnscaled(fieldDescriptor, getFieldDataBuffer(), getFieldDataOffset());
+        final int scale = -1 * fieldDescriptor.getScale();
+        if (scale < 0) {
+            return BigDecimal.valueOf(unscaledValue, scale).longValue();
+        }
+        // Truncates towards zero, same as BigDecimal.longValue(), without creating a BigDecimal
+        return scale < POWERS_OF_TEN.length ? unscaledValue / POWERS_OF_TEN[scale] : 0;
     }
 
     public short getShort() throws SQLException {
@@ -123,7 +138,7 @@ final class FBBigDecimalField extends FBField {
     public BigDecimal getBigDecimal() throws SQLException {
         if (isNull()) return null;
 
-        return fieldDataSize.decode(fieldDescriptor, getFieldData());
+        return fieldDataSize.decode(fieldDescriptor, getFieldDataBuffer(), getFieldDataOffset());
     }
 
     //--- setXXX methods
@@ -186,9 +201,8 @@ final class FBBigDecimalField extends FBField {
     private enum FieldDataSize {
         SHORT {
             @Override
-            protected BigDecimal decode(FieldDescriptor fieldDescriptor, byte[] fieldData) {
-                long value = fieldDescriptor.getDatatypeCoder().decodeShort(fieldData);
-                return BigDecimal.valueOf(value, -1 * fieldDescriptor.getScale());
+            protected long decodeUnscaled(FieldDescriptor fieldDescriptor, byte[] fieldData, int offset) {
+                return fieldDescriptor.getDatatypeCoder().decodeShort(fieldData, offset);
             }
 
             @Override
@@ -202,9 +216,8 @@ final class FBBigDecimalField extends FBField {
         },
         INTEGER {
             @Override
-            protected BigDecimal decode(FieldDescriptor fieldDescriptor, byte[] fieldData) {
-                long value = fieldDescriptor.getDatatypeCoder().decodeInt(fieldData);
-                return BigDecimal.valueOf(value, -1 * fieldDescriptor.getScale());
+            protected long decodeUnscaled(FieldDescriptor fieldDescriptor, byte[] fieldData, int offset) {
+                return fieldDescriptor.getDatatypeCoder().decodeInt(fieldData, offset);
             }
 
             @Override
@@ -218,9 +231,8 @@ final class FBBigDecimalField extends FBField {
         },
         LONG {
             @Override
-            protected BigDecimal decode(FieldDescriptor fieldDescriptor, byte[] fieldData) {
-                long value = fieldDescriptor.getDatatypeCoder().decodeLong(fieldData);
-                return BigDecimal.valueOf(value, -1 * fieldDescriptor.getScale());
+            protected long decodeUnscaled(FieldDescriptor fieldDescriptor, byte[] fieldData, int offset) {
+                return fieldDescriptor.getDatatypeCoder().decodeLong(fieldData, offset);
             }
 
             @Override
@@ -240,9 +252,29 @@ final class FBBigDecimalField extends FBField {
          *         Field descriptor
          * @param fieldData
          *         encoded data
+         * @param offset
+         *         offset of the value in fieldData
          * @return BigDecimal instance
          */
-        protected abstract BigDecimal decode(final FieldDescriptor fieldDescriptor, final byte[] fieldData);
+        protected final BigDecimal decode(final FieldDescriptor fieldDescriptor, final byte[] fieldData,
+                final int offset) {
+            return BigDecimal.valueOf(decodeUnscaled(fieldDescriptor, fieldData, offset),
+                    -1 * fieldDescriptor.getScale());
+        }
+
+        /**
+         * Decodes the provided fieldData to the unscaled value.
+         *
+         * @param fieldDescriptor
+         *         Field descriptor
+         * @param fieldData
+         *         encoded data
+         * @param offset
+         *         offset of the value in fieldData
+         * @return Unscaled value
+         */
+        protected abstract long decodeUnscaled(final FieldDescriptor fieldDescriptor, final byte[] fieldData,
+                final int offset);
 
         /**
          * Encodes the provided BigDecimal to fieldData
@@ -24,6 +24,7 @@ import org.firebirdsql.util.IOUtils;
 import java.io.*;
 import java.sql.DataTruncation;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 /**
  * Field for binary fields ({@code (VAR)CHAR CHARACTER SET OCTETS}).
@@ -44,7 +45,8 @@ public class FBBinaryField extends FBField {
     @Override
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeString(getFieldData(), javaEncoding, mappingPath);
+        return getDatatypeCoder().decodeString(getFieldDataBuffer(), getFieldDataOffset(), getFieldDataLength(),
+                javaEncoding, mappingPath);
     }
 
     @Override
@@ -61,7 +63,8 @@ public class FBBinaryField extends FBField {
     public byte[] getBytes() throws SQLException {
         if (isNull()) return null;
         // protect against unintentional modification of cached or shared byte-arrays (eg in DatabaseMetaData)
-        return getFieldData().clone();
+        final int offset = getFieldDataOffset();
+        return Arrays.copyOfRange(getFieldDataBuffer(), offset, offset + getFieldDataLength());
     }
 
     @Override
@@ -81,7 +84,7 @@ public class FBBinaryField extends FBField {
     @Override
     public InputStream getBinaryStream() throws SQLException {
         if (isNull()) return null;
-        return new ByteArrayInputStream(getFieldData());
+        return new ByteArrayInputStream(getFieldDataBuffer(), getFieldDataOffset(), getFieldDataLength());
     }
 
     @Override
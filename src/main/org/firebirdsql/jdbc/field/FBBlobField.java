@@ -21,6 +21,7 @@ package org.firebirdsql.jdbc.field;
 import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.jdbc.FBBlob;
+import org.firebirdsql.jdbc.FBCachedBlob;
 import org.firebirdsql.jdbc.FBClob;
 import org.firebirdsql.jdbc.Synchronizable;
 
@@ -66,6 +67,8 @@ class FBBlobField extends FBField implements FBFlushableField {
         if (blob != null) return blob;
         final byte[] bytes = getFieldData();
         if (bytes == null) return null;
+        final FBCachedBlob inlineBlob = getInlineBlob();
+        if (inlineBlob != null) return inlineBlob;
 
         /*@todo convert this into a method of FirebirdConnection */
         blob = new FBBlob(gdsHelper, getDatatypeCoder().decodeLong(bytes));
@@ -74,9 +77,12 @@ class FBBlobField extends FBField implements FBFlushableField {
     }
 
     public Clob getClob() throws SQLException {
-        FBBlob blob = (FBBlob) getBlob();
+        Blob blob = getBlob();
         if (blob == null) return null;
-        return new FBClob(blob);
+        if (blob instanceof FBCachedBlob) {
+            return new FBCachedClob((FBCachedBlob) blob, gdsHelper.getJavaEncoding());
+        }
+        return new FBClob((FBBlob) blob);
     }
 
     public InputStream getAsciiStream() throws SQLException {
@@ -106,6 +112,8 @@ class FBBlobField extends FBField implements FBFlushableField {
     public byte[] getBytesInternal() throws SQLException {
         final byte[] blobIdBuffer = getFieldData();
         if (blobIdBuffer == null) return null;
+        final FBCachedBlob inlineBlob = getInlineBlob();
+        if (inlineBlob != null) return inlineBlob.getBytes(1, (int) inlineBlob.length());
 
         final long blobId = getDatatypeCoder().decodeLong(blobIdBuffer);
         synchronized (((Synchronizable) getBlob()).getSynchronizationObject()) {
@@ -84,7 +84,7 @@ final class FBBooleanField extends FBField {
 
     public boolean getBoolean() throws SQLException {
         if (isNull()) return BOOLEAN_NULL_VALUE;
-        return getDatatypeCoder().decodeBoolean(getFieldData());
+        return getDatatypeCoder().decodeBoolean(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public void setByte(byte value) throws SQLException {
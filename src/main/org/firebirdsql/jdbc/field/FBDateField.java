@@ -26,6 +26,7 @@ import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
 
 /**
  * Describe class <code>FBDateField</code> here.
@@ -41,7 +42,7 @@ final class FBDateField extends FBField {
 
     public Timestamp getTimestamp(Calendar cal) throws SQLException {
         if (isNull()) return null;
-        return new java.sql.Timestamp(getDatatypeCoder().decodeDateCalendar(getFieldData(), cal).getTime());
+        return new java.sql.Timestamp(decodeDate(cal).getTime());
     }
     public Timestamp getTimestamp() throws SQLException {
         if (isNull()) return null;
@@ -49,17 +50,21 @@ final class FBDateField extends FBField {
     }
     public Date getDate(Calendar cal) throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeDateCalendar(getFieldData(), cal);
+        return decodeDate(cal);
     }
     public Date getDate() throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeDate(getFieldData());
+        return decodeDate(new GregorianCalendar());
     }
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeDate(getFieldData()).toString();
+        return decodeDate(new GregorianCalendar()).toString();
     }
     
+    private Date decodeDate(Calendar cal) {
+        return getDatatypeCoder().decodeDateCalendar(getFieldDataBuffer(), getFieldDataOffset(), cal);
+    }
+
     //--- setXXX methods
 	 
     public void setString(String value) throws SQLException {
@@ -43,7 +43,7 @@ class FBDoubleField extends FBField {
     public byte getByte() throws SQLException {
         if (isNull()) return BYTE_NULL_VALUE;
 
-        double value = getDatatypeCoder().decodeDouble(getFieldData());
+        double value = getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_BYTE_VALUE ||
@@ -56,7 +56,7 @@ class FBDoubleField extends FBField {
     public short getShort() throws SQLException {
         if (isNull()) return SHORT_NULL_VALUE;
 
-        double value = getDatatypeCoder().decodeDouble(getFieldData());
+        double value = getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_SHORT_VALUE ||
@@ -69,7 +69,7 @@ class FBDoubleField extends FBField {
     public int getInt() throws SQLException {
         if (isNull()) return INT_NULL_VALUE;
 
-        double value = getDatatypeCoder().decodeDouble(getFieldData());
+        double value = getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_INT_VALUE ||
@@ -82,7 +82,7 @@ class FBDoubleField extends FBField {
     public long getLong() throws SQLException {
         if (isNull()) return LONG_NULL_VALUE;
 
-        double value = getDatatypeCoder().decodeDouble(getFieldData());
+        double value = getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_LONG_VALUE ||
@@ -96,7 +96,7 @@ class FBDoubleField extends FBField {
         if (isNull()) return FLOAT_NULL_VALUE;
 
         // TODO Does this match with the way getDouble() works?
-        double value = getDatatypeCoder().decodeDouble(getFieldData());
+        double value = getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset());
         float cValue = (float) value;
         // check if value is within bounds
         if (cValue == Float.POSITIVE_INFINITY || 
@@ -109,7 +109,7 @@ class FBDoubleField extends FBField {
     public double getDouble() throws SQLException {
         if (isNull()) return DOUBLE_NULL_VALUE;
 
-        double result = getDatatypeCoder().decodeDouble(getFieldData());
+        double result = getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset());
         
         // TODO Is this even possible? Wouldn't it be seen as a FBBigDecimalField ?
         // TODO Mismatch with all other getters
@@ -125,7 +125,7 @@ class FBDoubleField extends FBField {
     public BigDecimal getBigDecimal() throws SQLException {
         if (isNull()) return null;
 
-        BigDecimal result = new BigDecimal(getDatatypeCoder().decodeDouble(getFieldData()));
+        BigDecimal result = new BigDecimal(getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset()));
         // TODO Is this even possible? Wouldn't it be seen as a FBBigDecimalField ?
         if (fieldDescriptor.getScale() != 0)
             result = result.setScale(Math.abs(fieldDescriptor.getScale()), BigDecimal.ROUND_HALF_EVEN);
@@ -136,13 +136,13 @@ class FBDoubleField extends FBField {
     public boolean getBoolean() throws SQLException {
         if (isNull()) return BOOLEAN_NULL_VALUE;
 
-        return getDatatypeCoder().decodeDouble(getFieldData()) == 1;
+        return getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset()) == 1;
     }
     
     public String getString() throws SQLException {
         if (isNull()) return null;
 
-        return String.valueOf(getDatatypeCoder().decodeDouble(getFieldData()));
+        return String.valueOf(getDatatypeCoder().decodeDouble(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     //--- setXXX methods
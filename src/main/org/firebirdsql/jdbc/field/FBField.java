@@ -26,6 +26,7 @@ import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.DatatypeCoder;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.jdbc.FBBlob;
+import org.firebirdsql.jdbc.FBCachedBlob;
 import org.firebirdsql.jdbc.FBClob;
 import org.firebirdsql.jdbc.FBDriverNotCapableException;
 import org.firebirdsql.jdbc.FBSQLException;
@@ -97,6 +98,7 @@ public abstract class FBField {
 
     protected final FieldDescriptor fieldDescriptor;
     private final FieldDataProvider dataProvider;
+    private final FieldDataSliceProvider sliceProvider;
     protected GDSHelper gdsHelper;
     protected String iscEncoding;
     protected String javaEncoding;
@@ -112,6 +114,7 @@ public abstract class FBField {
 
         this.fieldDescriptor = fieldDescriptor;
         this.dataProvider = dataProvider;
+        sliceProvider = dataProvider instanceof FieldDataSliceProvider ? (FieldDataSliceProvider) dataProvider : null;
         this.requiredType = requiredType;
     }
 
@@ -119,10 +122,51 @@ public abstract class FBField {
         return dataProvider.getFieldData();
     }
 
+    /**
+     * Gets the array containing the field data, without copying if the data provider holds the data as a slice of a
+     * shared buffer (see {@link FieldDataSliceProvider}).
+     * <p>
+     * The field data starts at {@link #getFieldDataOffset()} and has length {@link #getFieldDataLength()}. The
+     * returned array must not be modified.
+     * </p>
+     *
+     * @return Array containing the field data, or <code>null</code> for NULL
+     */
+    protected final byte[] getFieldDataBuffer() {
+        return sliceProvider != null ? sliceProvider.getFieldDataBuffer() : dataProvider.getFieldData();
+    }
+
+    /**
+     * @return Offset of the field data in {@link #getFieldDataBuffer()}
+     */
+    protected final int getFieldDataOffset() {
+        return sliceProvider != null ? sliceProvider.getFieldDataOffset() : 0;
+    }
+
+    /**
+     * @return Length of the field data in {@link #getFieldDataBuffer()}
+     */
+    protected final int getFieldDataLength() {
+        if (sliceProvider != null) {
+            return sliceProvider.getFieldDataLength();
+        }
+        final byte[] fieldData = dataProvider.getFieldData();
+        return fieldData != null ? fieldData.length : 0;
+    }
+
     protected final void setFieldData(byte[] data) {
         dataProvider.setFieldData(data);
     }
 
+    /**
+     * @return Blob content read together with the row (see {@link InlineBlobDataProvider}), or <code>null</code>
+     */
+    protected final FBCachedBlob getInlineBlob() {
+        return dataProvider instanceof InlineBlobDataProvider
+                ? ((InlineBlobDataProvider) dataProvider).getInlineBlob()
+                : null;
+    }
+
     protected final ObjectConverter getObjectConverter() {
         return OBJECT_CONVERTER;
     }
@@ -137,7 +181,7 @@ public abstract class FBField {
      * @throws SQLException
      */
     public final boolean isNull() throws SQLException {
-        return getFieldData() == null;
+        return getFieldDataBuffer() == null;
     }
 
     public void setNull() {
@@ -551,6 +595,66 @@ public abstract class FBField {
         }
     }
 
+    /**
+     * Gets the value of this field as an object of the specified type.
+     * <p>
+     * Supports the Java types of the JDBC getter methods (eg {@code Integer} for {@link #getInt()}), other types are
+     * delegated to the {@link ObjectConverter} (eg the java.time types for JDBC 4.2). The java.time types are decoded
+     * directly from the field data, without an intermediate {@link Calendar} or {@link java.util.Date}.
+     * </p>
+     *
+     * @param type
+     *         Type of the object to return
+     * @return Value of the field, or {@code null} if the field is {@code NULL}
+     * @throws SQLException
+     *         If the field cannot be converted to {@code type}
+     */
+    public <T> T getObject(Class<T> type) throws SQLException {
+        if (type == null) {
+            throw new FBSQLException("Type for getObject should not be null",
+                    FBSQLException.SQL_STATE_INVALID_ARG_VALUE);
+        }
+        if (isNull()) return null;
+
+        final Object value;
+        if (type == String.class) {
+            value = getString();
+        } else if (type == Integer.class) {
+            value = getInt();
+        } else if (type == Long.class) {
+            value = getLong();
+        } else if (type == Short.class) {
+            value = getShort();
+        } else if (type == Byte.class) {
+            value = getByte();
+        } else if (type == Boolean.class) {
+            value = getBoolean();
+        } else if (type == Double.class) {
+            value = getDouble();
+        } else if (type == Float.class) {
+            value = getFloat();
+        } else if (type == BigDecimal.class) {
+            value = getBigDecimal();
+        } else if (type == byte[].class) {
+            value = getBytes();
+        } else if (type == Date.class) {
+            value = getDate();
+        } else if (type == Time.class) {
+            value = getTime();
+        } else if (type == Timestamp.class) {
+            value = getTimestamp();
+        } else if (type == Blob.class) {
+            value = getBlob();
+        } else if (type == Clob.class) {
+            value = getClob();
+        } else if (type == Object.class) {
+            value = getObject();
+        } else {
+            return getObjectConverter().getObject(this, type);
+        }
+        return type.cast(value);
+    }
+
     public Object getObject(Map<String, Class<?>> map) throws SQLException {
         throw new FBDriverNotCapableException();
     }
@@ -44,7 +44,7 @@ final class FBFloatField extends FBField {
     public byte getByte() throws SQLException {
         if (isNull()) return BYTE_NULL_VALUE;
 
-        float value = getDatatypeCoder().decodeFloat(getFieldData());
+        float value = getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_BYTE_VALUE || value < MIN_BYTE_VALUE)
@@ -56,7 +56,7 @@ final class FBFloatField extends FBField {
     public short getShort() throws SQLException {
         if (isNull()) return SHORT_NULL_VALUE;
 
-        float value = getDatatypeCoder().decodeFloat(getFieldData());
+        float value = getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_SHORT_VALUE || value < MIN_SHORT_VALUE)
@@ -68,7 +68,7 @@ final class FBFloatField extends FBField {
     public int getInt() throws SQLException {
         if (isNull()) return INT_NULL_VALUE;
 
-        float value = getDatatypeCoder().decodeFloat(getFieldData());
+        float value = getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_INT_VALUE || value < MIN_INT_VALUE)
@@ -80,7 +80,7 @@ final class FBFloatField extends FBField {
     public long getLong() throws SQLException {
         if (isNull()) return LONG_NULL_VALUE;
 
-        float value = getDatatypeCoder().decodeFloat(getFieldData());
+        float value = getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_LONG_VALUE || value < MIN_LONG_VALUE)
@@ -91,27 +91,27 @@ final class FBFloatField extends FBField {
 
     public float getFloat() throws SQLException {
         if (isNull()) return FLOAT_NULL_VALUE;
-        return getDatatypeCoder().decodeFloat(getFieldData());
+        return getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public double getDouble() throws SQLException {
         if (isNull()) return DOUBLE_NULL_VALUE;
-        return getDatatypeCoder().decodeFloat(getFieldData());
+        return getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public BigDecimal getBigDecimal() throws SQLException {
         if (isNull()) return null;
-        return new BigDecimal(getDatatypeCoder().decodeFloat(getFieldData()));
+        return new BigDecimal(getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     public boolean getBoolean() throws SQLException {
         if (isNull()) return BOOLEAN_NULL_VALUE;
-        return getDatatypeCoder().decodeFloat(getFieldData()) == 1;
+        return getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset()) == 1;
     }
 
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return String.valueOf(getDatatypeCoder().decodeFloat(getFieldData()));
+        return String.valueOf(getDatatypeCoder().decodeFloat(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     //--- setXXX methods
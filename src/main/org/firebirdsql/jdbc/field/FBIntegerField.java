@@ -45,7 +45,7 @@ final class FBIntegerField extends FBField {
     public byte getByte() throws SQLException {
         if (isNull()) return BYTE_NULL_VALUE;
 
-        int value = getDatatypeCoder().decodeInt(getFieldData());
+        int value = getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_BYTE_VALUE ||
@@ -58,7 +58,7 @@ final class FBIntegerField extends FBField {
     public short getShort() throws SQLException {
         if (isNull()) return SHORT_NULL_VALUE;
 
-        int value = getDatatypeCoder().decodeInt(getFieldData());
+        int value = getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_SHORT_VALUE ||
@@ -70,37 +70,37 @@ final class FBIntegerField extends FBField {
 
     public int getInt() throws SQLException {
         if (isNull()) return INT_NULL_VALUE;
-        return getDatatypeCoder().decodeInt(getFieldData());
+        return getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public long getLong() throws SQLException {
         if (isNull()) return LONG_NULL_VALUE;
-        return getDatatypeCoder().decodeInt(getFieldData());
+        return getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public float getFloat() throws SQLException {
         if (isNull()) return FLOAT_NULL_VALUE;
-        return getDatatypeCoder().decodeInt(getFieldData());
+        return getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public double getDouble() throws SQLException {
         if (isNull()) return DOUBLE_NULL_VALUE;
-        return getDatatypeCoder().decodeInt(getFieldData());
+        return getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public BigDecimal getBigDecimal() throws SQLException {
         if (isNull()) return null;
-        return BigDecimal.valueOf(getDatatypeCoder().decodeInt(getFieldData()));
+        return BigDecimal.valueOf(getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     public boolean getBoolean() throws SQLException {
         if (isNull()) return BOOLEAN_NULL_VALUE;
-        return getDatatypeCoder().decodeInt(getFieldData()) == 1;
+        return getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset()) == 1;
     }
 
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return String.valueOf(getDatatypeCoder().decodeInt(getFieldData()));
+        return String.valueOf(getDatatypeCoder().decodeInt(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     //--- setXXX methods
@@ -43,7 +43,7 @@ final class FBLongField extends FBField {
     public byte getByte() throws SQLException {
         if (isNull()) return BYTE_NULL_VALUE;
 
-        long value = getDatatypeCoder().decodeLong(getFieldData());
+        long value = getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_BYTE_VALUE || value < MIN_BYTE_VALUE)
@@ -55,7 +55,7 @@ final class FBLongField extends FBField {
     public short getShort() throws SQLException {
         if (isNull()) return SHORT_NULL_VALUE;
 
-        long value = getDatatypeCoder().decodeLong(getFieldData());
+        long value = getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_SHORT_VALUE || value < MIN_SHORT_VALUE)
@@ -67,7 +67,7 @@ final class FBLongField extends FBField {
     public int getInt() throws SQLException {
         if (isNull()) return INT_NULL_VALUE;
 
-        long value = getDatatypeCoder().decodeLong(getFieldData());
+        long value = getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_INT_VALUE || value < MIN_INT_VALUE)
@@ -78,32 +78,32 @@ final class FBLongField extends FBField {
 
     public long getLong() throws SQLException {
         if (isNull()) return LONG_NULL_VALUE;
-        return getDatatypeCoder().decodeLong(getFieldData());
+        return getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public float getFloat() throws SQLException {
         if (isNull()) return FLOAT_NULL_VALUE;
-        return getDatatypeCoder().decodeLong(getFieldData());
+        return getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public double getDouble() throws SQLException {
         if (isNull()) return DOUBLE_NULL_VALUE;
-        return getDatatypeCoder().decodeLong(getFieldData());
+        return getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset());
     }
 
     public BigDecimal getBigDecimal() throws SQLException {
         if (isNull()) return null;
-        return BigDecimal.valueOf(getDatatypeCoder().decodeLong(getFieldData()));
+        return BigDecimal.valueOf(getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     public boolean getBoolean() throws SQLException {
         if (isNull()) return BOOLEAN_NULL_VALUE;
-        return getDatatypeCoder().decodeLong(getFieldData()) == 1;
+        return getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset()) == 1;
     }
 
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return String.valueOf(getDatatypeCoder().decodeLong(getFieldData()));
+        return String.valueOf(getDatatypeCoder().decodeLong(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     //--- setXXX methods
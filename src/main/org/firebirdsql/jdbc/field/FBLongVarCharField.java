@@ -22,6 +22,7 @@ package org.firebirdsql.jdbc.field;
 
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.jdbc.FBBlob;
+import org.firebirdsql.jdbc.FBCachedBlob;
 import org.firebirdsql.jdbc.FBClob;
 import org.firebirdsql.jdbc.FBSQLException;
 
@@ -82,18 +83,26 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
         if (isNull())
             return null;
 
+        final FBCachedBlob inlineBlob = getInlineBlob();
+        if (inlineBlob != null)
+            return inlineBlob;
+
         blob = new FBBlob(gdsHelper, getDatatypeCoder().decodeLong(getFieldData()));
         return blob;
     }
     
     public Clob getClob() throws SQLException {
-    	FBBlob blob = (FBBlob) getBlob();
+    	Blob blob = getBlob();
     	
     	if (blob == null){
     		return null;
     	}
     	
-    	return new FBClob(blob);
+    	if (blob instanceof FBCachedBlob) {
+    		return new FBCachedClob((FBCachedBlob) blob, gdsHelper.getJavaEncoding());
+    	}
+    	
+    	return new FBClob((FBBlob) blob);
     }
     
     public InputStream getBinaryStream() throws SQLException {
@@ -45,7 +45,7 @@ class FBShortField extends FBField {
     public byte getByte() throws SQLException {
         if (isNull()) return BYTE_NULL_VALUE;
 
-        short value = getDatatypeCoder().decodeShort(getFieldData());
+        short value = getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset());
 
         // check if value is within bounds
         if (value > MAX_BYTE_VALUE ||
@@ -58,49 +58,49 @@ class FBShortField extends FBField {
     public short getShort() throws SQLException {
         if (isNull()) return SHORT_NULL_VALUE;
 
-        return getDatatypeCoder().decodeShort(getFieldData());
+        return getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset());
     }
     
     public int getInt() throws SQLException {
         if (isNull()) return INT_NULL_VALUE;
 
-        return getDatatypeCoder().decodeShort(getFieldData());
+        return getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset());
     }
     
     public long getLong() throws SQLException {
         if (isNull()) return LONG_NULL_VALUE;
 
-        return getDatatypeCoder().decodeShort(getFieldData());
+        return getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset());
     }
     
     public float getFloat() throws SQLException {
         if (isNull()) return FLOAT_NULL_VALUE;
 
-        return getDatatypeCoder().decodeShort(getFieldData());
+        return getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset());
     }
     
     public double getDouble() throws SQLException {
         if (isNull()) return DOUBLE_NULL_VALUE;
 
-        return getDatatypeCoder().decodeShort(getFieldData());
+        return getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset());
     }
     
     public BigDecimal getBigDecimal() throws SQLException {
         if (isNull()) return null;
 
-        return BigDecimal.valueOf(getDatatypeCoder().decodeShort(getFieldData()));
+        return BigDecimal.valueOf(getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     public boolean getBoolean() throws SQLException {
         if (isNull()) return BOOLEAN_NULL_VALUE;
 
-        return getDatatypeCoder().decodeShort(getFieldData()) == 1;
+        return getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset()) == 1;
     }
     
     public String getString() throws SQLException {
         if (isNull()) return null;
 
-        return String.valueOf(getDatatypeCoder().decodeShort(getFieldData()));
+        return String.valueOf(getDatatypeCoder().decodeShort(getFieldDataBuffer(), getFieldDataOffset()));
     }
 
     //--- setXXX methods
@@ -26,6 +26,7 @@ import org.firebirdsql.util.IOUtils;
 import java.io.*;
 import java.math.BigDecimal;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Calendar;
 
 /**
@@ -164,14 +165,15 @@ class FBStringField extends FBField {
 
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeString(getFieldData(), javaEncoding, mappingPath);
+        return getDatatypeCoder().decodeString(getFieldDataBuffer(), getFieldDataOffset(), getFieldDataLength(),
+                javaEncoding, mappingPath);
     }
     
     //----- getXXXStream code
 
     public InputStream getBinaryStream() throws SQLException {
         if (isNull()) return null;
-        return new ByteArrayInputStream(getFieldData());
+        return new ByteArrayInputStream(getFieldDataBuffer(), getFieldDataOffset(), getFieldDataLength());
     }
     
     public InputStream getAsciiStream() throws SQLException {
@@ -181,7 +183,8 @@ class FBStringField extends FBField {
     public byte[] getBytes() throws SQLException {
         if (isNull()) return null;
         // protect against unintentional modification of cached or shared byte-arrays (eg in DatabaseMetaData)
-        return getFieldData().clone();
+        final int offset = getFieldDataOffset();
+        return Arrays.copyOfRange(getFieldDataBuffer(), offset, offset + getFieldDataLength());
     }
 
     //----- getDate, getTime and getTimestamp code
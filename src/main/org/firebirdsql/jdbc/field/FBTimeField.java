@@ -23,6 +23,7 @@ package org.firebirdsql.jdbc.field;
 import java.sql.Timestamp;
 import java.sql.SQLException;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
 import org.firebirdsql.gds.XSQLVAR;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 
@@ -42,21 +43,21 @@ final class FBTimeField extends FBField {
 
     public String getString() throws SQLException {
         if (isNull()) return null;
-        return String.valueOf(getDatatypeCoder().decodeTime(getFieldData()));
+        return String.valueOf(decodeTime(new GregorianCalendar()));
     }
     public Time getTime(Calendar cal) throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeTimeCalendar(getFieldData(), cal);
+        return decodeTime(cal);
     }
 
     public Time getTime() throws SQLException {
         if (isNull()) return null;
-        return getDatatypeCoder().decodeTime(getFieldData());
+        return decodeTime(new GregorianCalendar());
     }
 
     public Timestamp getTimestamp(Calendar cal) throws SQLException {
         if (isNull()) return null;
-        return new java.sql.Timestamp(getDatatypeCoder().decodeTimeCalendar(getFieldData(), cal).getTime());
+        return new java.sql.Timestamp(decodeTime(cal).getTime());
     }
 
     public Timestamp getTimestamp() throws SQLException {
@@ -64,6 +65,10 @@ final class FBTimeField extends FBField {
         return new Timestamp(getTime().getTime());
     }
 
+    private Time decodeTime(Calendar cal) {
+        return getDatatypeCoder().decodeTimeCalendar(getFieldDataBuffer(), getFieldDataOffset(), cal);
+    }
+
     //--- setXXX methods
 
     public void setString(String value) throws SQLException {
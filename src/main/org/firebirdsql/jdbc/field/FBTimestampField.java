@@ -27,6 +27,7 @@ import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
 
 /**
  * Describe class <code>FBTimestampField</code> here.
@@ -44,12 +45,12 @@ class FBTimestampField extends FBField {
     public String getString() throws SQLException {
         if (isNull()) return null;
 
-        return String.valueOf(getDatatypeCoder().decodeTimestamp(getFieldData()));
+        return String.valueOf(decodeTimestamp(new GregorianCalendar()));
     }
     public Date getDate(Calendar cal) throws SQLException {
         if (isNull()) return null;
 
-        return new java.sql.Date(getDatatypeCoder().decodeTimestampCalendar(getFieldData(),cal).getTime());
+        return new java.sql.Date(decodeTimestamp(cal).getTime());
     }
     public Date getDate() throws SQLException {
         if (isNull()) return null;
@@ -59,7 +60,7 @@ class FBTimestampField extends FBField {
     public Time getTime(Calendar cal) throws SQLException {
         if (isNull()) return null;
 
-        return new java.sql.Time(getDatatypeCoder().decodeTimestampCalendar(getFieldData(), cal).getTime());
+        return new java.sql.Time(decodeTimestamp(cal).getTime());
     }
     public Time getTime() throws SQLException {
         if (isNull()) return null;
@@ -69,13 +70,18 @@ class FBTimestampField extends FBField {
     public Timestamp getTimestamp(Calendar cal) throws SQLException {
         if (isNull()) return null;
 		  
-        return getDatatypeCoder().decodeTimestampCalendar(getFieldData(), cal);
+        return decodeTimestamp(cal);
     }
     public Timestamp getTimestamp() throws SQLException {
         if (isNull()) return null;
 
-        return getDatatypeCoder().decodeTimestamp(getFieldData());
+        return decodeTimestamp(new GregorianCalendar());
     }
+
+    private Timestamp decodeTimestamp(Calendar cal) {
+        return getDatatypeCoder().decodeTimestampCalendar(getFieldDataBuffer(), getFieldDataOffset(), cal);
+    }
+
     //--- setXXX methods
 
     public void setString(String value) throws SQLException {
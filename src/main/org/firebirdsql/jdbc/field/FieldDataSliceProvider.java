@@ -0,0 +1,53 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.field;
+
+/**
+ * Provider of the row data that can expose the field data as a range of a (possibly shared) byte array.
+ * <p>
+ * This allows fields to decode their value without first copying the data to an array of its own (see
+ * {@link org.firebirdsql.gds.ng.fields.FieldValue#setFieldData(byte[], int, int)}).
+ * </p>
+ *
+ * @since 3.0
+ */
+public interface FieldDataSliceProvider extends FieldDataProvider {
+
+    /**
+     * Get the array containing the field data, without copying it.
+     * <p>
+     * The array may contain other data outside the range described by {@link #getFieldDataOffset()} and
+     * {@link #getFieldDataLength()}, and must not be modified.
+     * </p>
+     *
+     * @return array containing the field data, or <code>null</code> if NULL value was sent from the server.
+     */
+    byte[] getFieldDataBuffer();
+
+    /**
+     * @return offset of the field data in {@link #getFieldDataBuffer()}
+     */
+    int getFieldDataOffset();
+
+    /**
+     * @return length of the field data in {@link #getFieldDataBuffer()}
+     */
+    int getFieldDataLength();
+
+}
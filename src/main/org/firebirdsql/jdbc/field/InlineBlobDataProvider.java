@@ -0,0 +1,37 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.field;
+
+import org.firebirdsql.jdbc.FBCachedBlob;
+
+/**
+ * Provider of the row data that can also provide blob content that was read together with the row.
+ *
+ * @since 3.0
+ */
+public interface InlineBlobDataProvider extends FieldDataProvider {
+
+    /**
+     * Get the content of the blob of this field if it was read together with the row.
+     *
+     * @return cached blob, or <code>null</code> if the field is not a blob, or the blob was not read with the row.
+     */
+    FBCachedBlob getInlineBlob();
+
+}
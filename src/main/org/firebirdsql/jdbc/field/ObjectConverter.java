@@ -48,4 +48,18 @@ interface ObjectConverter {
      * @throws java.sql.SQLException For exceptions when setting the object on the field (eg unsupported conversion).
      */
     boolean setObject(FBField field, Object object) throws java.sql.SQLException;
+
+    /**
+     * Gets the value of the <code>field</code> as an object of <code>type</code>, if the conversion is allowed by JDBC.
+     * <p>
+     * Like {@link #setObject(FBField, Object)}, this method only supports the new conversions in JDBC 4.2. The caller
+     * handles <code>NULL</code> values and the conversions to the other types.
+     * </p>
+     *
+     * @param field FBField implementation to get (value is not <code>NULL</code>)
+     * @param type Type of the object to return
+     * @return The (converted) value
+     * @throws java.sql.SQLException When there is no conversion for the type and field, or the conversion fails
+     */
+    <T> T getObject(FBField field, Class<T> type) throws java.sql.SQLException;
 }
@@ -0,0 +1,99 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.parser;
+
+import org.firebirdsql.util.BoundedLruMap;
+
+import java.util.Map;
+
+/**
+ * Statement parser that caches the results of another statement parser by SQL text.
+ * <p>
+ * Both statement models and parse failures are cached. Cached statement models are shared: callers must not modify
+ * the returned statement model. SQL longer than {@link #MAX_SQL_LENGTH} is not cached.
+ * </p>
+ * <p>
+ * This class is thread-safe if the wrapped parser is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+public final class CachingStatementParser implements StatementParser {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+    static final int MAX_SQL_LENGTH = 8192;
+
+    private final StatementParser parser;
+    private final Map<String, ParseResult> parseResults;
+
+    /**
+     * Creates a caching statement parser.
+     *
+     * @param parser
+     *         Statement parser to cache the results of
+     * @param maxSize
+     *         Maximum number of cached parse results
+     */
+    public CachingStatementParser(StatementParser parser, int maxSize) {
+        this.parser = parser;
+        parseResults = new BoundedLruMap<>(maxSize);
+    }
+
+    @Override
+    public JaybirdStatementModel parseInsertStatement(String sql) throws ParseException {
+        ParseResult parseResult = getParseResult(sql);
+        if (parseResult == null) {
+            try {
+                parseResult = new ParseResult(parser.parseInsertStatement(sql), null);
+            } catch (ParseException e) {
+                parseResult = new ParseResult(null, e.getMessage());
+                putParseResult(sql, parseResult);
+                throw e;
+            }
+            putParseResult(sql, parseResult);
+        }
+        if (parseResult.statementModel == null) {
+            throw new ParseException(parseResult.errorMessage);
+        }
+        return parseResult.statementModel;
+    }
+
+    synchronized int size() {
+        return parseResults.size();
+    }
+
+    private synchronized ParseResult getParseResult(String sql) {
+        return parseResults.get(sql);
+    }
+
+    private synchronized void putParseResult(String sql, ParseResult parseResult) {
+        if (sql.length() > MAX_SQL_LENGTH) return;
+        parseResults.put(sql, parseResult);
+    }
+
+    private static final class ParseResult {
+        private final JaybirdStatementModel statementModel;
+        private final String errorMessage;
+
+        private ParseResult(JaybirdStatementModel statementModel, String errorMessage) {
+            this.statementModel = statementModel;
+            this.errorMessage = errorMessage;
+        }
+    }
+}
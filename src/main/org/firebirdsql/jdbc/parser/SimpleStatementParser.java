@@ -0,0 +1,261 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.parser;
+
+/**
+ * Hand-written statement parser that recognises the statement type, table name and existing {@code RETURNING} clause
+ * of {@code INSERT}, {@code UPDATE}, {@code DELETE} and {@code UPDATE OR INSERT} statements.
+ * <p>
+ * Contrary to {@link StatementParserImpl}, this parser only scans the tokens needed to detect the information used for
+ * generated keys, and does not depend on the ANTLR runtime. The columns and values of the statement are not
+ * populated in the statement model.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+public final class SimpleStatementParser implements StatementParser {
+
+    @Override
+    public JaybirdStatementModel parseInsertStatement(String sql) throws ParseException {
+        final Tokenizer tokenizer = new Tokenizer(sql);
+        final JaybirdStatementModel statementModel = new JaybirdStatementModel();
+        final String firstToken = tokenizer.next();
+        if ("INSERT".equalsIgnoreCase(firstToken)) {
+            expectKeyword(tokenizer, "INTO");
+            statementModel.setStatementType(JaybirdStatementModel.INSERT_TYPE);
+        } else if ("UPDATE".equalsIgnoreCase(firstToken)) {
+            if ("OR".equalsIgnoreCase(tokenizer.peek())) {
+                tokenizer.next();
+                expectKeyword(tokenizer, "INSERT");
+                expectKeyword(tokenizer, "INTO");
+                statementModel.setStatementType(JaybirdStatementModel.UPDATE_OR_INSERT_TYPE);
+            } else {
+                statementModel.setStatementType(JaybirdStatementModel.UPDATE_TYPE);
+            }
+        } else if ("DELETE".equalsIgnoreCase(firstToken)) {
+            expectKeyword(tokenizer, "FROM");
+            statementModel.setStatementType(JaybirdStatementModel.DELETE_TYPE);
+        } else {
+            throw new ParseException("Unable to detect statement type or unsupported statement type");
+        }
+
+        final String tableName = tokenizer.next();
+        if (!isIdentifier(tableName)) {
+            throw new ParseException("Unable to parse query: no table name found");
+        }
+        statementModel.setTableName(tableName);
+
+        if (statementModel.getStatementType() == JaybirdStatementModel.INSERT_TYPE
+                && "DEFAULT".equalsIgnoreCase(tokenizer.peek())) {
+            tokenizer.next();
+            expectKeyword(tokenizer, "VALUES");
+            statementModel.setDefaultValues(true);
+        }
+
+        scanForReturning(tokenizer, statementModel);
+        return statementModel;
+    }
+
+    /**
+     * Scans the remainder of the statement for a {@code RETURNING} clause outside parentheses, and adds the items of
+     * the clause as returning columns.
+     */
+    private static void scanForReturning(Tokenizer tokenizer, JaybirdStatementModel statementModel) {
+        int depth = 0;
+        String token;
+        while ((token = tokenizer.next()) != null) {
+            if ("(".equals(token)) {
+                depth++;
+            } else if (")".equals(token)) {
+                depth--;
+            } else if (depth == 0 && "RETURNING".equalsIgnoreCase(token)) {
+                addReturningColumns(tokenizer, statementModel);
+                return;
+            }
+        }
+    }
+
+    private static void addReturningColumns(Tokenizer tokenizer, JaybirdStatementModel statementModel) {
+        int depth = 0;
+        int itemStart = -1;
+        int itemEnd = -1;
+        String token;
+        while ((token = tokenizer.next()) != null) {
+            if (depth == 0 && (",".equals(token) || ";".equals(token))) {
+                if (itemStart != -1) {
+                    statementModel.addReturningColumn(tokenizer.getSql().substring(itemStart, itemEnd));
+                }
+                itemStart = -1;
+                continue;
+            }
+            if ("(".equals(token)) {
+                depth++;
+            } else if (")".equals(token)) {
+                depth--;
+            }
+            if (itemStart == -1) {
+                itemStart = tokenizer.getTokenStart();
+            }
+            itemEnd = tokenizer.getTokenEnd();
+        }
+        if (itemStart != -1) {
+            statementModel.addReturningColumn(tokenizer.getSql().substring(itemStart, itemEnd));
+        }
+    }
+
+    private static void expectKeyword(Tokenizer tokenizer, String keyword) throws ParseException {
+        final String token = tokenizer.next();
+        if (!keyword.equalsIgnoreCase(token)) {
+            throw new ParseException("Unable to parse query: expected " + keyword + ", found " + token);
+        }
+    }
+
+    private static boolean isIdentifier(String token) {
+        if (token == null) return false;
+        final char firstChar = token.charAt(0);
+        return (firstChar == '"' && token.length() > 2) || Character.isLetter(firstChar);
+    }
+
+    /**
+     * Splits SQL into tokens, skipping whitespace and comments.
+     * <p>
+     * Tokens are identifiers and keywords, quoted identifiers (including the quotes), string literals (including the
+     * quotes), and single characters for everything else.
+     * </p>
+     */
+    static final class Tokenizer {
+
+        private final String sql;
+        private int position;
+        private int tokenStart;
+        private int tokenEnd;
+        private String peekedToken;
+        private int peekedStart;
+        private int peekedEnd;
+
+        Tokenizer(String sql) {
+            this.sql = sql;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * @return Start position of the last token returned by {@link #next()}
+         */
+        int getTokenStart() {
+            return tokenStart;
+        }
+
+        /**
+         * @return End position (exclusive) of the last token returned by {@link #next()}
+         */
+        int getTokenEnd() {
+            return tokenEnd;
+        }
+
+        /**
+         * @return Next token without consuming it, or {@code null} at the end of the SQL
+         */
+        String peek() {
+            if (peekedToken == null) {
+                final int previousStart = tokenStart;
+                final int previousEnd = tokenEnd;
+                peekedToken = readToken();
+                peekedStart = tokenStart;
+                peekedEnd = tokenEnd;
+                tokenStart = previousStart;
+                tokenEnd = previousEnd;
+            }
+            return peekedToken;
+        }
+
+        /**
+         * @return Next token, or {@code null} at the end of the SQL
+         */
+        String next() {
+            if (peekedToken != null) {
+                final String token = peekedToken;
+                peekedToken = null;
+                tokenStart = peekedStart;
+                tokenEnd = peekedEnd;
+                return token;
+            }
+            return readToken();
+        }
+
+        private String readToken() {
+            skipWhitespaceAndComments();
+            final int length = sql.length();
+            if (position >= length) {
+                tokenStart = tokenEnd = length;
+                return null;
+            }
+            final int start = position;
+            final char firstChar = sql.charAt(position++);
+            if (firstChar == '"' || firstChar == '\'') {
+                // Quoted identifier or string literal, a doubled quote is an escaped quote
+                while (position < length) {
+                    if (sql.charAt(position++) == firstChar) {
+                        if (position < length && sql.charAt(position) == firstChar) {
+                            position++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            } else if (isIdentifierPart(firstChar)) {
+                while (position < length && isIdentifierPart(sql.charAt(position))) {
+                    position++;
+                }
+            }
+            tokenStart = start;
+            tokenEnd = position;
+            return sql.substring(start, position);
+        }
+
+        private void skipWhitespaceAndComments() {
+            final int length = sql.length();
+            while (position < length) {
+                final char currentChar = sql.charAt(position);
+                if (Character.isWhitespace(currentChar)) {
+                    position++;
+                } else if (currentChar == '-' && position + 1 < length && sql.charAt(position + 1) == '-') {
+                    position += 2;
+                    while (position < length && sql.charAt(position) != '\n' && sql.charAt(position) != '\r') {
+                        position++;
+                    }
+                } else if (currentChar == '/' && position + 1 < length && sql.charAt(position + 1) == '*') {
+                    final int endOfComment = sql.indexOf("*/", position + 2);
+                    position = endOfComment == -1 ? length : endOfComment + 2;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static boolean isIdentifierPart(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+    }
+}
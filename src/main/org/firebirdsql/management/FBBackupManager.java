@@ -173,6 +173,31 @@ public class FBBackupManager extends FBServiceManager implements BackupManager {
         }
     }
 
+    /**
+     * Starts a backup and returns a channel to read its output (the verbose output if {@link #setVerbose(boolean)} is
+     * enabled), instead of writing the output to the logger.
+     * <p>
+     * The backup is complete when the end of the channel is reached. Closing the channel closes the service
+     * attachment.
+     * </p>
+     *
+     * @param options
+     *         Bitmask of backup options, see {@link #backupDatabase(int)}
+     * @return Channel to read the backup output
+     * @throws SQLException
+     *         For errors starting the backup
+     * @since 3.0
+     */
+    public ServiceOutputChannel startBackup(int options) throws SQLException {
+        final FbService service = attachServiceManager();
+        try {
+            return openServiceOutput(service, getBackupSRB(service, options));
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(service, e);
+            throw e;
+        }
+    }
+
     /**
      * Creates and returns the "backup" service request buffer for the Service Manager.
      *
@@ -220,6 +245,31 @@ public class FBBackupManager extends FBServiceManager implements BackupManager {
         }
     }
 
+    /**
+     * Starts a restore and returns a channel to read its output (the verbose output if {@link #setVerbose(boolean)}
+     * is enabled), instead of writing the output to the logger.
+     * <p>
+     * The restore is complete when the end of the channel is reached. Closing the channel closes the service
+     * attachment.
+     * </p>
+     *
+     * @param options
+     *         Bitmask of restore options, see {@link #restoreDatabase(int)}
+     * @return Channel to read the restore output
+     * @throws SQLException
+     *         For errors starting the restore
+     * @since 3.0
+     */
+    public ServiceOutputChannel startRestore(int options) throws SQLException {
+        final FbService service = attachServiceManager();
+        try {
+            return openServiceOutput(service, getRestoreSRB(service, options));
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(service, e);
+            throw e;
+        }
+    }
+
     /**
      * Set whether the operations of this {@code BackupManager} will result in verbose logging to the configured logger.
      *
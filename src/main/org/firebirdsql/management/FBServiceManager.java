@@ -32,7 +32,6 @@ import java.io.OutputStream;
 import java.sql.SQLException;
 
 import static org.firebirdsql.gds.ISCConstants.*;
-import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger2;
 
 /**
  * An implementation of the basic Firebird Service API functionality.
@@ -46,7 +45,13 @@ public class FBServiceManager implements ServiceManager {
     private FbDatabaseFactory dbFactory;
     private String database;
     private OutputStream logger;
+    private int serviceOutputChunkSize = ServiceOutputChannel.DEFAULT_CHUNK_SIZE;
 
+    /**
+     * @deprecated Service output is retrieved in chunks of {@link #getServiceOutputChunkSize()}; this constant is no
+     * longer used and will be removed in a future version.
+     */
+    @Deprecated
     public final static int BUFFER_SIZE = 1024; //1K
 
     /**
@@ -166,6 +171,33 @@ public class FBServiceManager implements ServiceManager {
         this.logger = logger;
     }
 
+    /**
+     * @return Chunk size used to retrieve service output
+     * @see #setServiceOutputChunkSize(int)
+     */
+    public synchronized int getServiceOutputChunkSize() {
+        return serviceOutputChunkSize;
+    }
+
+    /**
+     * Sets the chunk size used to retrieve service output for the logger.
+     * <p>
+     * Larger chunks require fewer round trips for operations with a lot of output (eg verbose backup or restore),
+     * but output is only written to the logger when a chunk has been filled or the operation has ended.
+     * </p>
+     *
+     * @param serviceOutputChunkSize
+     *         Chunk size (between 16 and {@link ServiceOutputChannel#MAX_CHUNK_SIZE}, default
+     *         {@link ServiceOutputChannel#DEFAULT_CHUNK_SIZE})
+     */
+    public synchronized void setServiceOutputChunkSize(int serviceOutputChunkSize) {
+        if (serviceOutputChunkSize < 16 || serviceOutputChunkSize > ServiceOutputChannel.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("serviceOutputChunkSize should be between 16 and "
+                    + ServiceOutputChannel.MAX_CHUNK_SIZE + ", was: " + serviceOutputChunkSize);
+        }
+        this.serviceOutputChunkSize = serviceOutputChunkSize;
+    }
+
     public String getServiceName() {
         StringBuilder sb = new StringBuilder();
         if (getHost() != null) {
@@ -195,42 +227,13 @@ public class FBServiceManager implements ServiceManager {
     public void queueService(FbService service) throws SQLException, IOException {
         OutputStream currentLogger = getLogger();
 
-        ServiceRequestBuffer infoSRB = service.createServiceRequestBuffer();
-        infoSRB.addArgument(isc_info_svc_to_eof);
-
-        int bufferSize = BUFFER_SIZE;
-
-        boolean processing = true;
-        while (processing) {
-            byte[] buffer = service.getServiceInfo(null, infoSRB, bufferSize);
-
-            switch (buffer[0]) {
-            case isc_info_svc_to_eof:
-
-                int dataLength = iscVaxInteger2(buffer, 1);
-                if (dataLength == 0) {
-                    if (buffer[3] != isc_info_end)
-                        throw new SQLException("Unexpected end of stream reached.");
-                    else {
-                        processing = false;
-                        break;
-                    }
-                }
-
-                if (currentLogger != null) {
-                    currentLogger.write(buffer, 3, dataLength);
-                }
-
-                break;
-
-            case isc_info_truncated:
-                bufferSize = bufferSize * 2;
-                break;
-
-            case isc_info_end:
-                processing = false;
-                break;
+        try (ServiceOutputChannel serviceOutput = new ServiceOutputChannel(service, getServiceOutputChunkSize())) {
+            serviceOutput.transferTo(currentLogger);
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
             }
+            throw e;
         }
     }
 
@@ -265,6 +268,45 @@ public class FBServiceManager implements ServiceManager {
         }
     }
 
+    /**
+     * Starts a service action and returns a channel to read the output of the action.
+     * <p>
+     * The returned channel owns {@code service}: closing the channel closes the service. The caller is responsible
+     * for closing {@code service} if this method throws an exception (see {@link #closeAfterFailure(FbService,
+     * Exception)}).
+     * </p>
+     *
+     * @param service
+     *         Attached service
+     * @param srb
+     *         The buffer containing the task request
+     * @return Channel to read the service output
+     * @throws SQLException
+     *         For errors starting the service action
+     */
+    protected final ServiceOutputChannel openServiceOutput(FbService service, ServiceRequestBuffer srb)
+            throws SQLException {
+        service.startServiceAction(srb);
+        return new ServiceOutputChannel(service, getServiceOutputChunkSize(), true);
+    }
+
+    /**
+     * Closes a service after a failure to start a service action, adding exceptions closing the service as suppressed
+     * exceptions to {@code failure}.
+     *
+     * @param service
+     *         Service to close
+     * @param failure
+     *         Exception that caused the failure
+     */
+    protected static void closeAfterFailure(FbService service, Exception failure) {
+        try {
+            service.close();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
     protected ServiceRequestBuffer createRequestBuffer(FbService service, int operation, int options) {
         ServiceRequestBuffer srb = service.createServiceRequestBuffer();
         srb.addArgument(operation);
@@ -113,11 +113,7 @@ public class FBStatisticsManager extends FBServiceManager implements StatisticsM
     }
 
     public void getDatabaseStatistics(int options) throws SQLException {
-        if (options != 0 && (options | possibleStatistics) != possibleStatistics) {
-            throw new IllegalArgumentException("options must be 0 or a "
-                    + "combination of DATA_TABLE_STATISTICS, "
-                    + "SYSTEM_TABLE_STATISTICS, INDEX_STATISTICS, or 0");
-        }
+        checkStatisticsOptions(options);
 
         try (FbService service = attachServiceManager()) {
             ServiceRequestBuffer srb = createStatsSRB(service, options);
@@ -125,6 +121,32 @@ public class FBStatisticsManager extends FBServiceManager implements StatisticsM
         }
     }
 
+    /**
+     * Starts retrieving the database statistics and returns a channel to read them, instead of writing them to the
+     * logger.
+     * <p>
+     * Closing the channel closes the service attachment.
+     * </p>
+     *
+     * @param options
+     *         Bitmask of statistics options, see {@link #getDatabaseStatistics(int)}
+     * @return Channel to read the statistics output
+     * @throws SQLException
+     *         For errors starting the statistics service action
+     * @since 3.0
+     */
+    public ServiceOutputChannel startDatabaseStatistics(int options) throws SQLException {
+        checkStatisticsOptions(options);
+
+        final FbService service = attachServiceManager();
+        try {
+            return openServiceOutput(service, createStatsSRB(service, options));
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(service, e);
+            throw e;
+        }
+    }
+
     public void getTableStatistics(String[] tableNames) throws SQLException {
         // create space-separated list of tables
         StringBuilder commandLine = new StringBuilder();
@@ -143,6 +165,14 @@ public class FBStatisticsManager extends FBServiceManager implements StatisticsM
 
     //---------- Private implementation methods -----------------
 
+    private static void checkStatisticsOptions(int options) {
+        if (options != 0 && (options | possibleStatistics) != possibleStatistics) {
+            throw new IllegalArgumentException("options must be 0 or a "
+                    + "combination of DATA_TABLE_STATISTICS, "
+                    + "SYSTEM_TABLE_STATISTICS, INDEX_STATISTICS, or 0");
+        }
+    }
+
     /**
      * Get a mostly empty buffer that can be filled in as needed.
      * The buffer created by this method cannot have the options bitmask
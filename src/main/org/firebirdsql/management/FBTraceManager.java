@@ -27,6 +27,7 @@ import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static org.firebirdsql.gds.ISCConstants.*;
 
@@ -38,6 +39,7 @@ import static org.firebirdsql.gds.ISCConstants.*;
 public class FBTraceManager extends FBServiceManager implements TraceManager {
 
     private Map<String, Integer> traceSessions = Collections.synchronizedMap(new HashMap<String, Integer>());
+    private volatile Executor executor;
 
     private class TraceTask implements Runnable {
 
@@ -88,6 +90,28 @@ public class FBTraceManager extends FBServiceManager implements TraceManager {
         super(gdsType);
     }
 
+    /**
+     * @return Executor used to retrieve the output of trace sessions, or {@code null} if a new thread is started for
+     * each trace session
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor used to retrieve the output of trace sessions started by
+     * {@link #startTraceSession(String, String)}.
+     * <p>
+     * Retrieving the output of a trace session occupies a thread of the executor until the trace session is stopped.
+     * </p>
+     *
+     * @param executor
+     *         Executor, or {@code null} to start a new thread for each trace session (the default)
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     /**
      * Creates and returns the "trace" service request buffer for the Service Manager.
      *
@@ -172,8 +196,14 @@ public class FBTraceManager extends FBServiceManager implements TraceManager {
             ServiceRequestBuffer traceSPB = getTraceSPB(service, isc_action_svc_trace_start,
                     traceSessionName, configuration);
 
-            Thread t = new Thread(new TraceTask(service, traceSPB));
-            t.start();
+            final TraceTask traceTask = new TraceTask(service, traceSPB);
+            final Executor currentExecutor = executor;
+            if (currentExecutor != null) {
+                currentExecutor.execute(traceTask);
+            } else {
+                Thread t = new Thread(traceTask);
+                t.start();
+            }
         }
     }
 
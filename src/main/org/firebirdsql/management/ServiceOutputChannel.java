@@ -0,0 +1,247 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.management;
+
+import org.firebirdsql.gds.ServiceRequestBuffer;
+import org.firebirdsql.gds.ng.FbService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+
+import static org.firebirdsql.gds.ISCConstants.*;
+import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger2;
+
+/**
+ * Channel to read the output of a started service action (eg backup, restore or statistics) as raw bytes.
+ * <p>
+ * The output is retrieved from the server with {@code isc_info_svc_to_eof} in chunks of up to the chunk size; the
+ * next chunk is only requested when the data of the previous chunk has been read. The consumer thus controls the
+ * rate at which the output is retrieved.
+ * </p>
+ * <p>
+ * Closing a channel created with one of the public constructors does not close the service. Closing a channel
+ * obtained from a service manager (eg {@link FBBackupManager#startBackup(int)}) also closes the service attachment
+ * of that channel.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+public final class ServiceOutputChannel implements ReadableByteChannel {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+    /**
+     * Maximum chunk size (the length of the data in the response is a 2-byte integer).
+     */
+    public static final int MAX_CHUNK_SIZE = 0xFFFF;
+
+    private final FbService service;
+    private final ServiceRequestBuffer infoSrb;
+    private final boolean closeService;
+    private int chunkSize;
+    private byte[] chunk;
+    private int chunkPosition;
+    private int chunkLimit;
+    private boolean endOfOutput;
+    private boolean open = true;
+
+    /**
+     * Creates a service output channel with the default chunk size.
+     *
+     * @param service
+     *         Service with a started service action
+     */
+    public ServiceOutputChannel(FbService service) {
+        this(service, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a service output channel.
+     *
+     * @param service
+     *         Service with a started service action
+     * @param chunkSize
+     *         Chunk size to request (between 16 and {@link #MAX_CHUNK_SIZE})
+     */
+    public ServiceOutputChannel(FbService service, int chunkSize) {
+        this(service, chunkSize, false);
+    }
+
+    /**
+     * Creates a service output channel.
+     *
+     * @param service
+     *         Service with a started service action
+     * @param chunkSize
+     *         Chunk size to request (between 16 and {@link #MAX_CHUNK_SIZE})
+     * @param closeService
+     *         {@code true} to close {@code service} when this channel is closed
+     */
+    ServiceOutputChannel(FbService service, int chunkSize, boolean closeService) {
+        if (chunkSize < 16 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize should be between 16 and " + MAX_CHUNK_SIZE
+                    + ", was: " + chunkSize);
+        }
+        this.service = service;
+        this.chunkSize = chunkSize;
+        this.closeService = closeService;
+        infoSrb = service.createServiceRequestBuffer();
+        infoSrb.addArgument(isc_info_svc_to_eof);
+    }
+
+    /**
+     * Reads service output into the buffer, blocking until output is available or the end of the output is reached.
+     *
+     * @param dst
+     *         Buffer to read into
+     * @return Number of bytes read, or {@code -1} at the end of the service output
+     * @throws IOException
+     *         If this channel is closed, or for errors retrieving the service output (with the
+     *         {@link SQLException} as the cause)
+     */
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!open) throw new ClosedChannelException();
+        if (!dst.hasRemaining()) return 0;
+        if (chunkPosition == chunkLimit) {
+            if (endOfOutput || !fetchChunk()) return -1;
+        }
+        final int count = Math.min(dst.remaining(), chunkLimit - chunkPosition);
+        dst.put(chunk, chunkPosition, count);
+        chunkPosition += count;
+        return count;
+    }
+
+    /**
+     * Writes the remaining service output to an output stream.
+     * <p>
+     * The output is written directly from the retrieved chunks, without intermediate copies.
+     * </p>
+     *
+     * @param out
+     *         Output stream to write to, or {@code null} to discard the output
+     * @return Number of bytes transferred
+     * @throws IOException
+     *         If this channel is closed, for errors writing to {@code out}, or for errors retrieving the service
+     *         output (with the {@link SQLException} as the cause)
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        if (!open) throw new ClosedChannelException();
+        long count = 0;
+        while (chunkPosition < chunkLimit || !endOfOutput && fetchChunk()) {
+            final int length = chunkLimit - chunkPosition;
+            if (out != null) {
+                out.write(chunk, chunkPosition, length);
+            }
+            chunkPosition = chunkLimit;
+            count += length;
+        }
+        return count;
+    }
+
+    /**
+     * Creates a reader to read the service output line by line.
+     * <p>
+     * The reader reads from this channel, and closing the reader closes this channel.
+     * </p>
+     *
+     * @param charset
+     *         Character set of the service output (usually the character set of the service encoding)
+     * @return Buffered reader of the service output
+     */
+    public BufferedReader newReader(Charset charset) {
+        return new BufferedReader(Channels.newReader(this, charset.newDecoder(), -1));
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Closes this channel, and - if this channel owns the service - the service.
+     *
+     * @throws IOException
+     *         For errors closing the service (with the {@link SQLException} as the cause)
+     */
+    @Override
+    public void close() throws IOException {
+        if (!open) return;
+        open = false;
+        chunk = null;
+        chunkPosition = chunkLimit = 0;
+        if (closeService) {
+            try {
+                service.close();
+            } catch (SQLException e) {
+                throw new IOException("Unable to close service", e);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the next chunk of service output.
+     *
+     * @return {@code true} if data was retrieved, {@code false} at the end of the service output
+     */
+    private boolean fetchChunk() throws IOException {
+        try {
+            while (true) {
+                final byte[] response = service.getServiceInfo(null, infoSrb, chunkSize);
+                switch (response[0]) {
+                case isc_info_svc_to_eof:
+                    final int dataLength = iscVaxInteger2(response, 1);
+                    if (dataLength == 0) {
+                        if (response[3] != isc_info_end) {
+                            throw new SQLException("Unexpected end of stream reached.");
+                        }
+                        endOfOutput = true;
+                        return false;
+                    }
+                    chunk = response;
+                    chunkPosition = 3;
+                    chunkLimit = 3 + dataLength;
+                    return true;
+                case isc_info_truncated:
+                    if (chunkSize == MAX_CHUNK_SIZE) {
+                        throw new SQLException("Service output truncated at maximum chunk size " + MAX_CHUNK_SIZE);
+                    }
+                    chunkSize = Math.min(chunkSize * 2, MAX_CHUNK_SIZE);
+                    break;
+                case isc_info_end:
+                    endOfOutput = true;
+                    return false;
+                default:
+                    throw new SQLException("Unexpected service info response item: " + response[0]);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Unable to retrieve service output", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free collection of the {@link PoolEntry} instances of a pool.
+ * <p>
+ * Entries are claimed by changing their state from {@link PoolEntry#STATE_IDLE} to {@link PoolEntry#STATE_IN_USE}
+ * with a compare-and-set. A thread first tries the entries it returned itself (a thread-local list, which is likely
+ * to still be idle and avoids contention with other threads), and then scans the shared list. Threads waiting for an
+ * entry receive returned entries through a hand-off queue.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class ConnectionBag {
+
+    private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+
+    private final CopyOnWriteArrayList<PoolEntry> entries = new CopyOnWriteArrayList<>();
+    private final SynchronousQueue<PoolEntry> handoffQueue = new SynchronousQueue<>(true);
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ThreadLocal<List<WeakReference<PoolEntry>>> threadLocalEntries =
+            new ThreadLocal<List<WeakReference<PoolEntry>>>() {
+                @Override
+                protected List<WeakReference<PoolEntry>> initialValue() {
+                    return new ArrayList<>(MAX_THREAD_LOCAL_ENTRIES);
+                }
+            };
+
+    /**
+     * Claims an idle entry without waiting.
+     *
+     * @return Claimed entry (state {@link PoolEntry#STATE_IN_USE}), or {@code null} if no entry is idle
+     */
+    PoolEntry poll() {
+        final List<WeakReference<PoolEntry>> localEntries = threadLocalEntries.get();
+        for (int index = localEntries.size() - 1; index >= 0; index--) {
+            final PoolEntry entry = localEntries.remove(index).get();
+            if (entry != null && entry.compareAndSetState(PoolEntry.STATE_IDLE, PoolEntry.STATE_IN_USE)) {
+                return entry;
+            }
+        }
+        return scan();
+    }
+
+    /**
+     * Waits for an entry to become idle, and claims it.
+     *
+     * @param timeoutNanos
+     *         Maximum time to wait in nanoseconds
+     * @return Claimed entry (state {@link PoolEntry#STATE_IN_USE}), or {@code null} if the timeout expired
+     * @throws InterruptedException
+     *         If the thread was interrupted while waiting
+     */
+    PoolEntry await(long timeoutNanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        waiters.incrementAndGet();
+        try {
+            long remaining = timeoutNanos;
+            while (remaining > 0) {
+                // An entry may have been returned before this thread was registered as waiter
+                PoolEntry entry = scan();
+                if (entry != null) {
+                    return entry;
+                }
+                entry = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (entry != null && entry.compareAndSetState(PoolEntry.STATE_IDLE, PoolEntry.STATE_IN_USE)) {
+                    return entry;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            return null;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Adds an entry to this bag.
+     *
+     * @param entry
+     *         Entry to add
+     */
+    void add(PoolEntry entry) {
+        entries.add(entry);
+        offerToWaiter(entry);
+    }
+
+    /**
+     * Returns a claimed entry to this bag, making it available to other threads.
+     *
+     * @param entry
+     *         Entry to return (state {@link PoolEntry#STATE_IN_USE})
+     */
+    void requite(PoolEntry entry) {
+        entry.setState(PoolEntry.STATE_IDLE);
+        if (offerToWaiter(entry)) {
+            return;
+        }
+        final List<WeakReference<PoolEntry>> localEntries = threadLocalEntries.get();
+        if (localEntries.size() < MAX_THREAD_LOCAL_ENTRIES) {
+            localEntries.add(new WeakReference<>(entry));
+        }
+    }
+
+    /**
+     * Removes an entry from this bag.
+     *
+     * @param entry
+     *         Entry to remove
+     */
+    void remove(PoolEntry entry) {
+        entry.setState(PoolEntry.STATE_REMOVED);
+        entries.remove(entry);
+    }
+
+    /**
+     * @return Snapshot of all entries in this bag
+     */
+    List<PoolEntry> values() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * @return Number of entries in this bag
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param state
+     *         Entry state
+     * @return Number of entries in the specified state
+     */
+    int count(int state) {
+        int count = 0;
+        for (PoolEntry entry : entries) {
+            if (entry.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of threads waiting for an entry
+     */
+    int getWaiterCount() {
+        return waiters.get();
+    }
+
+    private PoolEntry scan() {
+        for (PoolEntry entry : entries) {
+            if (entry.compareAndSetState(PoolEntry.STATE_IDLE, PoolEntry.STATE_IN_USE)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands an idle entry to a waiting thread, if any.
+     *
+     * @return {@code true} if a waiting thread received the entry (or the entry is no longer idle)
+     */
+    private boolean offerToWaiter(PoolEntry entry) {
+        while (waiters.get() > 0) {
+            if (entry.getState() != PoolEntry.STATE_IDLE || handoffQueue.offer(entry)) {
+                return true;
+            }
+            Thread.yield();
+        }
+        return false;
+    }
+}
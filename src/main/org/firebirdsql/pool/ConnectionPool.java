@@ -0,0 +1,361 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.pool;
+
+import org.firebirdsql.jdbc.FBSQLException;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of physical connections obtained from a {@link ConnectionPoolDataSource}.
+ * <p>
+ * Borrowing does not take locks (see {@link ConnectionBag}). A housekeeping thread closes connections that have been
+ * idle longer than the idle timeout (while keeping the minimum pool size), tops up the pool to its minimum size, and
+ * reports connections that have been borrowed longer than the leak detection threshold.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class ConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final ConnectionPoolDataSource dataSource;
+    private final PoolConfiguration configuration;
+    private final ConnectionBag bag = new ConnectionBag();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    ConnectionPool(ConnectionPoolDataSource dataSource, PoolConfiguration configuration) {
+        this.dataSource = dataSource;
+        this.configuration = configuration;
+        final String threadName = "Jaybird connection pool housekeeper " + POOL_SEQUENCE.incrementAndGet();
+        housekeeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Starts the background housekeeping, which immediately fills the pool to its minimum size, and then runs every
+     * housekeeping interval.
+     */
+    void start() {
+        housekeeper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                housekeep();
+            }
+        }, 0, configuration.getHousekeepingInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, creating a new physical connection if no connection is idle and the pool
+     * has not reached its maximum size.
+     *
+     * @return Logical connection, closing it returns the physical connection to the pool
+     * @throws SQLException
+     *         If the pool is closed, no connection became available within the connection timeout, or a new connection
+     *         could not be created
+     */
+    Connection getConnection() throws SQLException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configuration.getConnectionTimeout());
+        while (true) {
+            checkNotClosed();
+            PoolEntry entry = bag.poll();
+            if (entry == null) {
+                entry = createEntryIfBelow(configuration.getMaxPoolSize(), PoolEntry.STATE_IN_USE);
+            }
+            if (entry == null) {
+                try {
+                    entry = bag.await(deadline - System.nanoTime());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FBSQLException("Interrupted while waiting for a pooled connection",
+                            FBSQLException.SQL_STATE_CONNECTION_FAILURE);
+                }
+            }
+            if (entry == null) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTransientConnectionException(String.format(
+                        "No pooled connection available within %d ms (active: %d, idle: %d, max: %d)",
+                        configuration.getConnectionTimeout(), getActiveCount(), getIdleCount(),
+                        configuration.getMaxPoolSize()), FBSQLException.SQL_STATE_CONNECTION_FAILURE);
+            }
+
+            final Connection connection = activate(entry);
+            if (connection != null) {
+                borrowCount.incrementAndGet();
+                return connection;
+            }
+        }
+    }
+
+    /**
+     * Returns a borrowed entry to the pool. Called when the logical connection is closed.
+     *
+     * @param entry
+     *         Entry to return
+     */
+    void release(PoolEntry entry) {
+        if (entry.getState() != PoolEntry.STATE_IN_USE) {
+            return;
+        }
+        if (closed) {
+            destroy(entry);
+            return;
+        }
+        entry.markReturned();
+        bag.requite(entry);
+    }
+
+    /**
+     * Removes an entry from the pool and closes its physical connection. Called for fatal connection errors.
+     *
+     * @param entry
+     *         Entry to discard
+     */
+    void discard(PoolEntry entry) {
+        destroy(entry);
+    }
+
+    /**
+     * Closes the pool: idle connections are closed immediately, borrowed connections are closed when they are
+     * returned.
+     */
+    void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        for (PoolEntry entry : bag.values()) {
+            if (entry.compareAndSetState(PoolEntry.STATE_IDLE, PoolEntry.STATE_REMOVED)) {
+                destroy(entry);
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    int getIdleCount() {
+        return bag.count(PoolEntry.STATE_IDLE);
+    }
+
+    int getActiveCount() {
+        return bag.count(PoolEntry.STATE_IN_USE);
+    }
+
+    int getWaitingCount() {
+        return bag.getWaiterCount();
+    }
+
+    long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    long getDestroyedCount() {
+        return destroyedCount.get();
+    }
+
+    long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    long getLeakCount() {
+        return leakCount.get();
+    }
+
+    /**
+     * Obtains the logical connection of a claimed entry, validating the connection if it has been idle longer than the
+     * validation interval.
+     *
+     * @return Logical connection, or {@code null} if the connection was invalid and has been discarded
+     */
+    private Connection activate(PoolEntry entry) throws SQLException {
+        final long idleNanos = System.nanoTime() - entry.getLastAccessNanos();
+        final long validationInterval = configuration.getValidationInterval();
+        final Connection connection;
+        try {
+            connection = entry.getPooledConnection().getConnection();
+            if (validationInterval >= 0 && idleNanos > TimeUnit.MILLISECONDS.toNanos(validationInterval)
+                    && !connection.isValid(0)) {
+                log.debug("Discarding pooled connection that failed validation");
+                destroy(entry);
+                return null;
+            }
+        } catch (SQLException e) {
+            log.debug("Discarding pooled connection that could not be activated", e);
+            destroy(entry);
+            return null;
+        }
+        entry.markBorrowed(configuration.getLeakDetectionThreshold() > 0);
+        return connection;
+    }
+
+    /**
+     * Creates a new entry if the total number of connections (including connections being created) is below a limit.
+     * <p>
+     * The slot for the new connection is reserved before the connection is created, so concurrent callers cannot
+     * exceed the limit.
+     * </p>
+     *
+     * @param limit
+     *         Maximum total number of connections (at most the maximum pool size)
+     * @param initialState
+     *         Initial state of the entry
+     * @return New entry (added to the pool), or {@code null} if the pool has reached {@code limit}
+     * @throws SQLException
+     *         If the physical connection could not be created
+     */
+    private PoolEntry createEntryIfBelow(int limit, int initialState) throws SQLException {
+        int total;
+        do {
+            total = totalConnections.get();
+            if (total >= limit) {
+                return null;
+            }
+        } while (!totalConnections.compareAndSet(total, total + 1));
+
+        final PooledConnection pooledConnection;
+        try {
+            pooledConnection = dataSource.getPooledConnection();
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+        createdCount.incrementAndGet();
+        final PoolEntry entry = new PoolEntry(pooledConnection, this, initialState);
+        pooledConnection.addConnectionEventListener(entry);
+        bag.add(entry);
+        return entry;
+    }
+
+    private void destroy(PoolEntry entry) {
+        if (!entry.markDestroyed()) {
+            return;
+        }
+        bag.remove(entry);
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            entry.closeConnection();
+        } catch (SQLException e) {
+            log.debug("Exception closing pooled connection", e);
+        }
+    }
+
+    /**
+     * Performs idle eviction, fills the pool to its minimum size and reports leaked connections.
+     */
+    void housekeep() {
+        if (closed) return;
+        try {
+            evictIdleConnections();
+            fillPool();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            log.error("Unexpected exception in connection pool housekeeping", e);
+        }
+    }
+
+    private void evictIdleConnections() {
+        final long idleTimeout = configuration.getIdleTimeout();
+        if (idleTimeout <= 0) return;
+        final long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        final long now = System.nanoTime();
+        for (PoolEntry entry : bag.values()) {
+            if (totalConnections.get() <= configuration.getMinPoolSize()) {
+                return;
+            }
+            if (now - entry.getLastAccessNanos() > idleTimeoutNanos
+                    && entry.compareAndSetState(PoolEntry.STATE_IDLE, PoolEntry.STATE_REMOVED)) {
+                destroy(entry);
+            }
+        }
+    }
+
+    private void fillPool() {
+        while (!closed) {
+            try {
+                if (createEntryIfBelow(configuration.getMinPoolSize(), PoolEntry.STATE_IDLE) == null) {
+                    return;
+                }
+            } catch (SQLException e) {
+                log.warn("Unable to create connection to fill pool to its minimum size", e);
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        final long threshold = configuration.getLeakDetectionThreshold();
+        if (threshold <= 0) return;
+        final long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        final long now = System.nanoTime();
+        for (PoolEntry entry : bag.values()) {
+            if (entry.getState() == PoolEntry.STATE_IN_USE && !entry.isLeakReported()
+                    && now - entry.getBorrowedNanos() > thresholdNanos) {
+                entry.setLeakReported();
+                leakCount.incrementAndGet();
+                log.warn(String.format("Possible connection leak: connection borrowed for more than %d ms", threshold),
+                        entry.getBorrowTrace());
+            }
+        }
+    }
+
+    private void checkNotClosed() throws SQLException {
+        if (closed) {
+            throw new FBSQLException("Connection pool is closed", FBSQLException.SQL_STATE_CONNECTION_CLOSED);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.pool;
+
+import org.firebirdsql.ds.FBConnectionPoolDataSource;
+import org.firebirdsql.jdbc.FBDriverNotCapableException;
+import org.firebirdsql.jdbc.FBSQLException;
+
+import javax.naming.NamingException;
+import javax.naming.Reference;
+import javax.naming.StringRefAddr;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link DataSource} with a built-in connection pool.
+ * <p>
+ * The physical connections are {@link javax.sql.PooledConnection} instances of {@link FBConnectionPoolDataSource}:
+ * closing a connection obtained from this data source returns its physical connection to the pool. Connections are
+ * borrowed without locking, validated when they have been idle for longer than the validation interval, and closed
+ * when they have been idle for longer than the idle timeout (while keeping the minimum pool size).
+ * </p>
+ * <p>
+ * The pool is started by the first call to {@link #getConnection()}, after which the configuration can no longer be
+ * changed. Call {@link #close()} to close the pool and its connections.
+ * </p>
+ * <p>
+ * The inherited {@link #getPooledConnection()} methods create physical connections that are not managed by the pool,
+ * use {@link #getConnection()} to obtain a pooled connection.
+ * </p>
+ *
+ * @since 3.0
+ */
+public class FBPoolingDataSource extends FBConnectionPoolDataSource implements DataSource, AutoCloseable {
+
+    public static final int DEFAULT_MAX_POOL_SIZE = 10;
+    public static final long DEFAULT_CONNECTION_TIMEOUT = 30000;
+    public static final long DEFAULT_IDLE_TIMEOUT = 600000;
+    public static final long DEFAULT_VALIDATION_INTERVAL = 1000;
+    public static final long DEFAULT_HOUSEKEEPING_INTERVAL = 30000;
+
+    private int minPoolSize;
+    private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    private long connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+    private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private long validationInterval = DEFAULT_VALIDATION_INTERVAL;
+    private long leakDetectionThreshold;
+    private long housekeepingInterval = DEFAULT_HOUSEKEEPING_INTERVAL;
+    private volatile ConnectionPool pool;
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ConnectionPool currentPool = pool;
+        if (currentPool == null) {
+            currentPool = startPool();
+        }
+        return currentPool.getConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only supported for the user and password configured on this data source, as all pooled connections use the same
+     * credentials.
+     * </p>
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!equals(username, getUser()) || !equals(password, getPassword())) {
+            throw new FBDriverNotCapableException(
+                    "FBPoolingDataSource only supports connections with the configured user and password");
+        }
+        return getConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned connection is a new physical connection that is not managed by the pool of this data source (the
+     * pool uses this method to create its connections). Use {@link #getConnection()} to obtain a pooled connection.
+     * </p>
+     */
+    @Override
+    public PooledConnection getPooledConnection() throws SQLException {
+        return super.getPooledConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned connection is a new physical connection that is not managed by the pool of this data source. Use
+     * {@link #getConnection()} to obtain a pooled connection.
+     * </p>
+     */
+    @Override
+    public PooledConnection getPooledConnection(String user, String password) throws SQLException {
+        return super.getPooledConnection(user, password);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Besides the connection properties, the reference contains the pool configuration.
+     * </p>
+     */
+    @Override
+    public Reference getReference() throws NamingException {
+        final Reference ref = super.getReference();
+        synchronized (lock) {
+            ref.add(new StringRefAddr(REF_MIN_POOL_SIZE, Integer.toString(minPoolSize)));
+            ref.add(new StringRefAddr(REF_MAX_POOL_SIZE, Integer.toString(maxPoolSize)));
+            ref.add(new StringRefAddr(REF_CONNECTION_TIMEOUT, Long.toString(connectionTimeout)));
+            ref.add(new StringRefAddr(REF_IDLE_TIMEOUT, Long.toString(idleTimeout)));
+            ref.add(new StringRefAddr(REF_VALIDATION_INTERVAL, Long.toString(validationInterval)));
+            ref.add(new StringRefAddr(REF_LEAK_DETECTION_THRESHOLD, Long.toString(leakDetectionThreshold)));
+            ref.add(new StringRefAddr(REF_HOUSEKEEPING_INTERVAL, Long.toString(housekeepingInterval)));
+        }
+        return ref;
+    }
+
+    /**
+     * Closes the pool. Idle connections are closed immediately, borrowed connections are closed when they are
+     * returned to the pool.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (pool != null) {
+                pool.close();
+            }
+        }
+    }
+
+    private ConnectionPool startPool() throws SQLException {
+        synchronized (lock) {
+            if (pool == null) {
+                final PoolConfiguration configuration;
+                try {
+                    configuration = new PoolConfiguration(minPoolSize, maxPoolSize, connectionTimeout, idleTimeout,
+                            validationInterval, leakDetectionThreshold, housekeepingInterval);
+                } catch (IllegalArgumentException e) {
+                    throw new FBSQLException(e.getMessage(), FBSQLException.SQL_STATE_INVALID_ARG_VALUE);
+                }
+                pool = new ConnectionPool(this, configuration);
+                pool.start();
+            }
+            return pool;
+        }
+    }
+
+    @Override
+    protected void checkNotStarted() {
+        if (pool != null) {
+            throw new IllegalStateException("DataSource already in use. Change of this property is not allowed");
+        }
+        super.checkNotStarted();
+    }
+
+    /**
+     * @return Minimum number of connections kept in the pool
+     */
+    public int getMinPoolSize() {
+        synchronized (lock) {
+            return minPoolSize;
+        }
+    }
+
+    /**
+     * @param minPoolSize
+     *         Minimum number of connections kept in the pool (default {@code 0})
+     */
+    public void setMinPoolSize(int minPoolSize) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.minPoolSize = minPoolSize;
+        }
+    }
+
+    /**
+     * @return Maximum number of connections in the pool
+     */
+    public int getMaxPoolSize() {
+        synchronized (lock) {
+            return maxPoolSize;
+        }
+    }
+
+    /**
+     * @param maxPoolSize
+     *         Maximum number of connections in the pool (default {@value #DEFAULT_MAX_POOL_SIZE})
+     */
+    public void setMaxPoolSize(int maxPoolSize) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.maxPoolSize = maxPoolSize;
+        }
+    }
+
+    /**
+     * @return Maximum time in milliseconds to wait for a connection when the pool is exhausted
+     */
+    public long getConnectionTimeout() {
+        synchronized (lock) {
+            return connectionTimeout;
+        }
+    }
+
+    /**
+     * @param connectionTimeout
+     *         Maximum time in milliseconds to wait for a connection when the pool is exhausted (default
+     *         {@value #DEFAULT_CONNECTION_TIMEOUT})
+     */
+    public void setConnectionTimeout(long connectionTimeout) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+
+    /**
+     * @return Time in milliseconds after which an idle connection is closed
+     */
+    public long getIdleTimeout() {
+        synchronized (lock) {
+            return idleTimeout;
+        }
+    }
+
+    /**
+     * @param idleTimeout
+     *         Time in milliseconds after which an idle connection above the minimum pool size is closed, {@code 0}
+     *         never closes idle connections (default {@value #DEFAULT_IDLE_TIMEOUT})
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.idleTimeout = idleTimeout;
+        }
+    }
+
+    /**
+     * @return Idle time in milliseconds after which a connection is validated before it is handed out
+     */
+    public long getValidationInterval() {
+        synchronized (lock) {
+            return validationInterval;
+        }
+    }
+
+    /**
+     * @param validationInterval
+     *         Idle time in milliseconds after which a connection is validated (with a database info request) before
+     *         it is handed out, {@code 0} validates every time, a negative value disables validation (default
+     *         {@value #DEFAULT_VALIDATION_INTERVAL})
+     */
+    public void setValidationInterval(long validationInterval) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.validationInterval = validationInterval;
+        }
+    }
+
+    /**
+     * @return Time in milliseconds a connection can be borrowed before it is reported as a possible leak
+     */
+    public long getLeakDetectionThreshold() {
+        synchronized (lock) {
+            return leakDetectionThreshold;
+        }
+    }
+
+    /**
+     * @param leakDetectionThreshold
+     *         Time in milliseconds a connection can be borrowed before a possible leak is logged (with the stack trace
+     *         of the borrower), {@code 0} disables leak detection (default)
+     */
+    public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.leakDetectionThreshold = leakDetectionThreshold;
+        }
+    }
+
+    /**
+     * @return Interval in milliseconds between runs of idle eviction, minimum size maintenance and leak detection
+     */
+    public long getHousekeepingInterval() {
+        synchronized (lock) {
+            return housekeepingInterval;
+        }
+    }
+
+    /**
+     * @param housekeepingInterval
+     *         Interval in milliseconds between runs of idle eviction, minimum size maintenance and leak detection
+     *         (default {@value #DEFAULT_HOUSEKEEPING_INTERVAL})
+     */
+    public void setHousekeepingInterval(long housekeepingInterval) {
+        synchronized (lock) {
+            checkNotStarted();
+            this.housekeepingInterval = housekeepingInterval;
+        }
+    }
+
+    /**
+     * @return Number of physical connections in the pool
+     */
+    public int getTotalConnections() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getTotalCount() : 0;
+    }
+
+    /**
+     * @return Number of idle physical connections in the pool
+     */
+    public int getIdleConnections() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getIdleCount() : 0;
+    }
+
+    /**
+     * @return Number of borrowed physical connections
+     */
+    public int getActiveConnections() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getActiveCount() : 0;
+    }
+
+    /**
+     * @return Number of threads waiting for a connection
+     */
+    public int getThreadsAwaitingConnection() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getWaitingCount() : 0;
+    }
+
+    /**
+     * @return Number of physical connections created by the pool
+     */
+    public long getConnectionsCreatedCount() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getCreatedCount() : 0;
+    }
+
+    /**
+     * @return Number of physical connections closed by the pool
+     */
+    public long getConnectionsClosedCount() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getDestroyedCount() : 0;
+    }
+
+    /**
+     * @return Number of times a connection was handed out
+     */
+    public long getBorrowCount() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getBorrowCount() : 0;
+    }
+
+    /**
+     * @return Number of times no connection became available within the connection timeout
+     */
+    public long getConnectionTimeoutCount() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getTimeoutCount() : 0;
+    }
+
+    /**
+     * @return Number of connections reported as possible leak
+     */
+    public long getLeakCount() {
+        final ConnectionPool currentPool = pool;
+        return currentPool != null ? currentPool.getLeakCount() : 0;
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface != null && iface.isAssignableFrom(getClass());
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (!isWrapperFor(iface))
+            throw new SQLException("Unable to unwrap to class " + iface.getName());
+
+        return iface.cast(this);
+    }
+
+    private static boolean equals(String value1, String value2) {
+        return value1 == null ? value2 == null : value1.equals(value2);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.pool;
+
+/**
+ * Immutable configuration of a {@link ConnectionPool}.
+ * <p>
+ * All durations are in milliseconds.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class PoolConfiguration {
+
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final long connectionTimeout;
+    private final long idleTimeout;
+    private final long validationInterval;
+    private final long leakDetectionThreshold;
+    private final long housekeepingInterval;
+
+    PoolConfiguration(int minPoolSize, int maxPoolSize, long connectionTimeout, long idleTimeout,
+            long validationInterval, long leakDetectionThreshold, long housekeepingInterval) {
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("maxPoolSize should be larger than 0, was: " + maxPoolSize);
+        }
+        if (minPoolSize < 0 || minPoolSize > maxPoolSize) {
+            throw new IllegalArgumentException(String.format(
+                    "minPoolSize should be between 0 and maxPoolSize (%d), was: %d", maxPoolSize, minPoolSize));
+        }
+        if (housekeepingInterval <= 0) {
+            throw new IllegalArgumentException(
+                    "housekeepingInterval should be larger than 0, was: " + housekeepingInterval);
+        }
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.connectionTimeout = connectionTimeout;
+        this.idleTimeout = idleTimeout;
+        this.validationInterval = validationInterval;
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        this.housekeepingInterval = housekeepingInterval;
+    }
+
+    int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    long getValidationInterval() {
+        return validationInterval;
+    }
+
+    long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    long getHousekeepingInterval() {
+        return housekeepingInterval;
+    }
+}
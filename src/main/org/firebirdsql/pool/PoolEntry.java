@@ -0,0 +1,151 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.pool;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Physical connection of a {@link ConnectionPool} with its pool state.
+ * <p>
+ * The entry listens to the connection events of its {@link PooledConnection}: closing the logical connection returns
+ * the entry to the pool, a connection error removes it from the pool.
+ * </p>
+ *
+ * @since 3.0
+ */
+final class PoolEntry implements ConnectionEventListener {
+
+    static final int STATE_IDLE = 0;
+    static final int STATE_IN_USE = 1;
+    static final int STATE_REMOVED = 2;
+
+    private final PooledConnection pooledConnection;
+    private final ConnectionPool pool;
+    private final AtomicInteger state;
+    private volatile long lastAccessNanos;
+    private volatile long borrowedNanos;
+    private volatile Throwable borrowTrace;
+    private volatile boolean leakReported;
+    private final AtomicBoolean destroyed = new AtomicBoolean();
+
+    PoolEntry(PooledConnection pooledConnection, ConnectionPool pool, int initialState) {
+        this.pooledConnection = pooledConnection;
+        this.pool = pool;
+        state = new AtomicInteger(initialState);
+        lastAccessNanos = System.nanoTime();
+        borrowedNanos = lastAccessNanos;
+    }
+
+    PooledConnection getPooledConnection() {
+        return pooledConnection;
+    }
+
+    int getState() {
+        return state.get();
+    }
+
+    boolean compareAndSetState(int expectedState, int newState) {
+        return state.compareAndSet(expectedState, newState);
+    }
+
+    void setState(int newState) {
+        state.set(newState);
+    }
+
+    /**
+     * @return Value of {@link System#nanoTime()} when this entry was last returned to the pool (or created)
+     */
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /**
+     * @return Value of {@link System#nanoTime()} when this entry was last borrowed
+     */
+    long getBorrowedNanos() {
+        return borrowedNanos;
+    }
+
+    /**
+     * @return Stack trace of the borrower (only recorded when leak detection is enabled), or {@code null}
+     */
+    Throwable getBorrowTrace() {
+        return borrowTrace;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported() {
+        leakReported = true;
+    }
+
+    /**
+     * Records that this entry was borrowed.
+     *
+     * @param recordTrace
+     *         {@code true} to record the stack trace of the borrower for leak detection
+     */
+    void markBorrowed(boolean recordTrace) {
+        borrowedNanos = System.nanoTime();
+        borrowTrace = recordTrace ? new Throwable("Connection borrowed here") : null;
+        leakReported = false;
+    }
+
+    /**
+     * Records that this entry was returned to the pool.
+     */
+    void markReturned() {
+        lastAccessNanos = System.nanoTime();
+        borrowTrace = null;
+    }
+
+    /**
+     * Marks this entry as destroyed.
+     *
+     * @return {@code true} if this call marked the entry as destroyed, {@code false} if it was already destroyed
+     */
+    boolean markDestroyed() {
+        return destroyed.compareAndSet(false, true);
+    }
+
+    /**
+     * Closes the physical connection.
+     */
+    void closeConnection() throws SQLException {
+        pooledConnection.removeConnectionEventListener(this);
+        pooledConnection.close();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionEvent event) {
+        pool.release(this);
+    }
+
+    @Override
+    public void connectionErrorOccurred(ConnectionEvent event) {
+        pool.discard(this);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Access-ordered map that removes the least recently used entry when it grows beyond its maximum size.
+ * <p>
+ * This class is not thread-safe, users need to synchronize access themselves.
+ * </p>
+ *
+ * @param <K>
+ *         Key type
+ * @param <V>
+ *         Value type
+ * @since 3.0
+ */
+public final class BoundedLruMap<K, V> extends LinkedHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+
+    /**
+     * Creates a bounded LRU map.
+     *
+     * @param maxSize
+     *         Maximum number of entries (larger than 0)
+     */
+    public BoundedLruMap(int maxSize) {
+        super(16, 0.75f, true);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be larger than 0, was: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return Maximum number of entries
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+}
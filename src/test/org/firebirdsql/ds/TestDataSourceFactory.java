@@ -20,6 +20,7 @@
  */
 package org.firebirdsql.ds;
 
+import org.firebirdsql.pool.FBPoolingDataSource;
 import org.junit.Test;
 
 import java.sql.Connection;
@@ -31,7 +32,7 @@ import static org.junit.Assert.*;
 
 /**
  * Tests for {@link DataSourceFactory} and - indirectly - the correctness of the getReference() method of
- * {@link FBConnectionPoolDataSource}  and {@link FBXADataSource}.
+ * {@link FBConnectionPoolDataSource}, {@link FBXADataSource} and {@link FBPoolingDataSource}.
  * 
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 2.2
@@ -202,4 +203,46 @@ public class TestDataSourceFactory {
         assertEquals("madeUpValue", newDS.getNonStandardProperty("madeUpProperty"));
         assertNull(newDS.getDescription());
     }
+
+    /**
+     * Tests reconstruction of a {@link FBPoolingDataSource} using a reference.
+     * <p>
+     * This test is done with the basic properties exposed through setters and the pool configuration. It tests
+     * <ol>
+     * <li>If the reference returned has the right factory name</li>
+     * <li>If the reference returned has the right classname</li>
+     * <li>If the object returned by the factory is a distinct new instance</li>
+     * <li>If all the properties set on the original are also set on the new instance</li>
+     * </ol>
+     * </p>
+     * @throws Exception
+     */
+    @Test
+    public void testBuildFBPoolingDataSource_poolProperties() throws Exception {
+        final FBPoolingDataSource originalDS = new FBPoolingDataSource();
+
+        fillFBAbstractCommonDataSourceProperties(originalDS);
+        originalDS.setMinPoolSize(2);
+        originalDS.setMaxPoolSize(7);
+        originalDS.setConnectionTimeout(1234);
+        originalDS.setIdleTimeout(56789);
+        originalDS.setValidationInterval(-1);
+        originalDS.setLeakDetectionThreshold(4321);
+        originalDS.setHousekeepingInterval(9876);
+        Reference ref = originalDS.getReference();
+
+        assertEquals("Unexpected factory name", DataSourceFactory.class.getName(), ref.getFactoryClassName());
+        assertEquals("Unexpected class name", FBPoolingDataSource.class.getName(), ref.getClassName());
+
+        FBPoolingDataSource newDS = (FBPoolingDataSource) new DataSourceFactory().getObjectInstance(ref, null, null, null);
+        assertNotSame("Expected distinct new object", originalDS, newDS);
+        assertFBAbstractCommonDataSourceProperties(newDS);
+        assertEquals(2, newDS.getMinPoolSize());
+        assertEquals(7, newDS.getMaxPoolSize());
+        assertEquals(1234, newDS.getConnectionTimeout());
+        assertEquals(56789, newDS.getIdleTimeout());
+        assertEquals(-1, newDS.getValidationInterval());
+        assertEquals(4321, newDS.getLeakDetectionThreshold());
+        assertEquals(9876, newDS.getHousekeepingInterval());
+    }
 }
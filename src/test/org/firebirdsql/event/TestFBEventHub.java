@@ -0,0 +1,274 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.event;
+
+import org.firebirdsql.encodings.Encoding;
+import org.firebirdsql.encodings.EncodingFactory;
+import org.firebirdsql.gds.EventHandle;
+import org.firebirdsql.gds.EventHandler;
+import org.firebirdsql.gds.ng.FbDatabase;
+import org.firebirdsql.gds.ng.wire.AsynchronousChannelListener;
+import org.firebirdsql.gds.ng.wire.FbWireAsynchronousChannel;
+import org.firebirdsql.gds.ng.wire.WireEventHandle;
+import org.hamcrest.core.IsAnything;
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FBEventHub}, using a mocked database with wire event handles.
+ *
+ * @since 3.0
+ */
+public class TestFBEventHub {
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private static final Object OWNER = new Object();
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final Encoding encoding = EncodingFactory.getDefaultInstance().getEncodingForFirebirdName("NONE");
+    private final List<WireEventHandle> queued = new ArrayList<>();
+    private final List<EventHandle> cancelled = new ArrayList<>();
+    private final List<DatabaseEvent> receivedEvents = new ArrayList<>();
+    private final EventListener listener = new EventListener() {
+        @Override
+        public void eventOccurred(DatabaseEvent event) {
+            receivedEvents.add(event);
+        }
+    };
+    private FbDatabase database;
+    private FbWireAsynchronousChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        database = context.mock(FbDatabase.class);
+        channel = context.mock(FbWireAsynchronousChannel.class);
+        context.checking(new Expectations() {{
+            allowing(database).createEventBlockHandle(with(new IsAnything<List<String>>()), with(any(EventHandler.class)));
+            will(new CustomAction("create event block handle") {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object invoke(Invocation invocation) throws Throwable {
+                    return new WireEventHandle((List<String>) invocation.getParameter(0),
+                            (EventHandler) invocation.getParameter(1), encoding);
+                }
+            });
+            allowing(database).createEventHandle(with(any(String.class)), with(any(EventHandler.class)));
+            will(new CustomAction("create event handle") {
+                @Override
+                public Object invoke(Invocation invocation) throws Throwable {
+                    return new WireEventHandle((String) invocation.getParameter(0),
+                            (EventHandler) invocation.getParameter(1), encoding);
+                }
+            });
+            allowing(database).queueEvent(with(any(EventHandle.class)));
+            will(new CustomAction("queue event") {
+                @Override
+                public Object invoke(Invocation invocation) throws Throwable {
+                    final WireEventHandle handle = (WireEventHandle) invocation.getParameter(0);
+                    handle.assignNewLocalId();
+                    queued.add(handle);
+                    return null;
+                }
+            });
+            allowing(database).cancelEvent(with(any(EventHandle.class)));
+            will(new CustomAction("cancel event") {
+                @Override
+                public Object invoke(Invocation invocation) throws Throwable {
+                    cancelled.add((EventHandle) invocation.getParameter(0));
+                    return null;
+                }
+            });
+            allowing(database).countEvents(with(any(EventHandle.class)));
+            will(new CustomAction("count events") {
+                @Override
+                public Object invoke(Invocation invocation) throws Throwable {
+                    ((WireEventHandle) invocation.getParameter(0)).calculateCount();
+                    return null;
+                }
+            });
+            allowing(channel).removeChannelListener(with(any(AsynchronousChannelListener.class)));
+        }});
+    }
+
+    @Test
+    public void testEventsCombinedIntoSingleBlock() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, true);
+
+        hub.addEventListener(OWNER, "A", listener, DIRECT_EXECUTOR);
+        hub.addEventListener(OWNER, "B", listener, DIRECT_EXECUTOR);
+        hub.addEventListener(OWNER, "C", listener, DIRECT_EXECUTOR);
+
+        assertEquals("event blocks", 1, hub.getEventBlockCount());
+        assertEquals(Arrays.asList("A", "B", "C"), lastQueued().getEventNames());
+        assertEquals("Expected replaced blocks to be cancelled", 2, cancelled.size());
+    }
+
+    @Test
+    public void testEventBlocksLimitedToMaxEventCount() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, true);
+
+        for (int idx = 0; idx <= WireEventHandle.MAX_EVENT_COUNT; idx++) {
+            hub.addEventListener(OWNER, "EVENT_" + idx, listener, DIRECT_EXECUTOR);
+        }
+
+        assertEquals("event blocks", 2, hub.getEventBlockCount());
+        assertEquals(Collections.singletonList("EVENT_" + WireEventHandle.MAX_EVENT_COUNT),
+                lastQueued().getEventNames());
+    }
+
+    @Test
+    public void testWithoutEventBlocks_eventPerHandle() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, false);
+
+        hub.addEventListener(OWNER, "A", listener, DIRECT_EXECUTOR);
+        hub.addEventListener(OWNER, "B", listener, DIRECT_EXECUTOR);
+
+        assertEquals("event blocks", 2, hub.getEventBlockCount());
+        assertTrue("Expected no cancellations", cancelled.isEmpty());
+    }
+
+    @Test
+    public void testDispatchAfterInitialNotification() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, true);
+        hub.addEventListener(OWNER, "A", listener, DIRECT_EXECUTOR);
+        hub.addEventListener(OWNER, "B", listener, DIRECT_EXECUTOR);
+
+        // Initial notification reports current counts
+        notifyEvents(new String[] { "A", "B" }, new int[] { 5, 3 });
+        assertTrue("Expected no events for initial notification", receivedEvents.isEmpty());
+
+        notifyEvents(new String[] { "A", "B" }, new int[] { 7, 3 });
+
+        assertEquals("received events", 1, receivedEvents.size());
+        assertEquals("A", receivedEvents.get(0).getEventName());
+        assertEquals(2, receivedEvents.get(0).getEventCount());
+        assertEquals("Expected handle to be queued again after notification", 4, queued.size());
+    }
+
+    @Test
+    public void testReplacedBlockCarriesOverCounts() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, true);
+        hub.addEventListener(OWNER, "A", listener, DIRECT_EXECUTOR);
+        notifyEvents(new String[] { "A" }, new int[] { 5 });
+
+        hub.addEventListener(OWNER, "B", listener, DIRECT_EXECUTOR);
+
+        final WireEventHandle handle = lastQueued();
+        assertEquals(Arrays.asList("A", "B"), handle.getEventNames());
+        assertEquals("Expected count of A to be carried over", 5, handle.getServerEventCount(0));
+
+        // Initial notification for B; A has occurred twice in the mean time
+        notifyEvents(new String[] { "A", "B" }, new int[] { 7, 10 });
+
+        assertEquals("received events", 1, receivedEvents.size());
+        assertEquals("A", receivedEvents.get(0).getEventName());
+        assertEquals(2, receivedEvents.get(0).getEventCount());
+    }
+
+    @Test
+    public void testRemoveLastListenerCancelsEvent() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, true);
+        final EventListener otherListener = new EventListener() {
+            @Override
+            public void eventOccurred(DatabaseEvent event) {
+            }
+        };
+        hub.addEventListener(OWNER, "A", listener, DIRECT_EXECUTOR);
+        hub.addEventListener(OWNER, "A", otherListener, DIRECT_EXECUTOR);
+
+        hub.removeEventListener(OWNER, "A", listener);
+        assertEquals("event blocks", 1, hub.getEventBlockCount());
+        assertTrue("Expected no cancellations", cancelled.isEmpty());
+
+        hub.removeEventListener(OWNER, "A", otherListener);
+        assertEquals("event blocks", 0, hub.getEventBlockCount());
+        assertEquals("cancellations", 1, cancelled.size());
+    }
+
+    @Test
+    public void testRemoveListenerOfOtherOwnerKeepsRegistration() throws Exception {
+        final FBEventHub hub = new FBEventHub(null, database, true);
+        final Object otherOwner = new Object();
+        hub.addEventListener(OWNER, "A", listener, DIRECT_EXECUTOR);
+        hub.addEventListener(otherOwner, "A", listener, DIRECT_EXECUTOR);
+
+        hub.removeEventListener(otherOwner, "A", listener);
+        assertEquals("event blocks", 1, hub.getEventBlockCount());
+        hub.removeEventListener(otherOwner, "A", listener);
+        assertEquals("event blocks", 1, hub.getEventBlockCount());
+        assertTrue("Expected no cancellations", cancelled.isEmpty());
+
+        notifyEvents(new String[] { "A" }, new int[] { 1 });
+        notifyEvents(new String[] { "A" }, new int[] { 2 });
+        assertEquals("received events", 1, receivedEvents.size());
+
+        hub.removeEventListener(OWNER, "A", listener);
+        assertEquals("event blocks", 0, hub.getEventBlockCount());
+        assertEquals("cancellations", 1, cancelled.size());
+    }
+
+    private WireEventHandle lastQueued() {
+        return queued.get(queued.size() - 1);
+    }
+
+    /**
+     * Simulates the server notifying the last queued handle with the specified (total) counts.
+     */
+    private void notifyEvents(String[] eventNames, int[] counts) {
+        final WireEventHandle handle = lastQueued();
+        // Like the asynchronous channel, report the count of the last event as the event count
+        handle.eventReceived(channel, new AsynchronousChannelListener.Event(handle.getLocalId(),
+                counts[counts.length - 1], eventBuffer(eventNames, counts)));
+    }
+
+    private static byte[] eventBuffer(String[] eventNames, int[] counts) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        for (int idx = 0; idx < eventNames.length; idx++) {
+            final byte[] name = eventNames[idx].getBytes();
+            out.write(name.length);
+            out.write(name, 0, name.length);
+            for (int shift = 0; shift <= 24; shift += 8) {
+                out.write((counts[idx] >> shift) & 0xff);
+            }
+        }
+        return out.toByteArray();
+    }
+}
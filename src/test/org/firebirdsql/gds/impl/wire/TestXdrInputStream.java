@@ -0,0 +1,209 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.impl.wire;
+
+import org.junit.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link XdrInputStream}.
+ *
+ * @since 3.0
+ */
+public class TestXdrInputStream {
+
+    @Test
+    public void testReadPrimitives() throws Exception {
+        XdrInputStream xdrIn = createStream(
+                0x01, 0x02, 0x03, 0x04,
+                0xFF, 0xFF, 0xFF, 0xFE,
+                0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08,
+                0xFF, 0xFE);
+
+        assertEquals(0x01020304, xdrIn.readInt());
+        assertEquals(-2, xdrIn.readInt());
+        assertEquals(0x0102030405060708L, xdrIn.readLong());
+        assertEquals("Expected unsigned short", 0xFFFE, xdrIn.readShort());
+    }
+
+    @Test
+    public void testReadBufferSkipsPadding() throws Exception {
+        XdrInputStream xdrIn = createStream(
+                0x00, 0x00, 0x00, 0x03,
+                'a', 'b', 'c', 0x20,
+                0x00, 0x00, 0x00, 0x2A);
+
+        assertArrayEquals(new byte[] { 'a', 'b', 'c' }, xdrIn.readBuffer());
+        assertEquals(42, xdrIn.readInt());
+    }
+
+    @Test
+    public void testValuesAcrossBufferBoundary() throws Exception {
+        // Stream returning one byte per read with a buffer smaller than the data forces refills and compaction
+        byte[] data = new byte[20];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        XdrInputStream xdrIn = new XdrInputStream(new TrickleInputStream(data), 8);
+
+        xdrIn.skipFully(3);
+        assertEquals(0x03040506, xdrIn.readInt());
+        assertEquals(0x0708090A0B0C0D0EL, xdrIn.readLong());
+        byte[] rest = new byte[5];
+        xdrIn.readFully(rest, 0, 5);
+        assertArrayEquals(new byte[] { 15, 16, 17, 18, 19 }, rest);
+    }
+
+    @Test
+    public void testLargeReadFully() throws Exception {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        XdrInputStream xdrIn = new XdrInputStream(new TrickleInputStream(data), 16);
+
+        assertEquals(0x00010203, xdrIn.readInt());
+        byte[] result = xdrIn.readRawBuffer(96);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals("Unexpected value at index " + i, (byte) (i + 4), result[i]);
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadIntAtEndOfStream() throws Exception {
+        XdrInputStream xdrIn = createStream(0x01, 0x02);
+
+        xdrIn.readInt();
+    }
+
+    @Test
+    public void testSkipFullyAtEndOfStream() throws Exception {
+        XdrInputStream xdrIn = createStream(0x01, 0x02);
+
+        assertEquals("Expected number of bytes actually skipped", 2, xdrIn.skipFully(4));
+    }
+
+    @Test
+    public void testArc4DecryptsBufferedAndSubsequentData() throws Exception {
+        byte[] key = { 1, 2, 3, 4, 5, 6, 7, 8 };
+        byte[] plain = new byte[64];
+        for (int i = 0; i < plain.length; i++) {
+            plain[i] = (byte) (i * 3);
+        }
+        Cipher rc4 = Cipher.getInstance("ARCFOUR");
+        rc4.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "ARCFOUR"));
+        byte[] encrypted = rc4.doFinal(plain, 4, plain.length - 4);
+        byte[] data = new byte[plain.length];
+        // first int is sent unencrypted
+        System.arraycopy(plain, 0, data, 0, 4);
+        System.arraycopy(encrypted, 0, data, 4, encrypted.length);
+        XdrInputStream xdrIn = new XdrInputStream(new ByteArrayInputStream(data), 16);
+
+        assertEquals(0x00030609, xdrIn.readInt());
+        xdrIn.setArc4Key(key);
+        byte[] result = xdrIn.readRawBuffer(60);
+
+        for (int i = 0; i < result.length; i++) {
+            assertEquals("Unexpected value at index " + i, plain[i + 4], result[i]);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testSetArc4KeyTwice() throws Exception {
+        XdrInputStream xdrIn = createStream();
+        xdrIn.setArc4Key(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        xdrIn.setArc4Key(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+    }
+
+    @Test
+    public void testDecompression() throws Exception {
+        byte[] plain = new byte[1000];
+        for (int i = 0; i < plain.length; i++) {
+            plain[i] = (byte) (i % 10);
+        }
+        Deflater deflater = new Deflater();
+        deflater.setInput(plain, 4, plain.length - 4);
+        byte[] compressed = new byte[plain.length];
+        int compressedLength = deflater.deflate(compressed, 0, compressed.length, Deflater.SYNC_FLUSH);
+        deflater.end();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        // first int is sent uncompressed
+        data.write(plain, 0, 4);
+        data.write(compressed, 0, compressedLength);
+        XdrInputStream xdrIn = new XdrInputStream(new TrickleInputStream(data.toByteArray()), 16);
+
+        assertEquals(0x00010203, xdrIn.readInt());
+        xdrIn.enableDecompression();
+        assertTrue(xdrIn.isDecompressionEnabled());
+        byte[] result = new byte[plain.length - 4];
+        xdrIn.readFully(result, 0, result.length);
+
+        for (int i = 0; i < result.length; i++) {
+            assertEquals("Unexpected value at index " + i, plain[i + 4], result[i]);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testEnableDecompressionTwice() throws Exception {
+        XdrInputStream xdrIn = createStream();
+        xdrIn.enableDecompression();
+
+        xdrIn.enableDecompression();
+    }
+
+    private static XdrInputStream createStream(int... values) {
+        byte[] data = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[i] = (byte) values[i];
+        }
+        return new XdrInputStream(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Input stream returning at most one byte per read.
+     */
+    private static class TrickleInputStream extends InputStream {
+        private final ByteArrayInputStream in;
+
+        TrickleInputStream(byte[] data) {
+            in = new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return in.read(b, off, Math.min(len, 1));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.impl.wire;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link XdrOutputStream}.
+ *
+ * @since 3.0
+ */
+public class TestXdrOutputStream {
+
+    @Test
+    public void testWritePrimitives() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+
+        xdrOut.writeInt(0x01020304);
+        xdrOut.writeLong(0x0102030405060708L);
+        xdrOut.write(0xFF);
+        xdrOut.writeAlignment(1);
+        xdrOut.flush();
+
+        assertArrayEquals(new byte[] {
+                1, 2, 3, 4,
+                1, 2, 3, 4, 5, 6, 7, 8,
+                (byte) 0xFF, 0, 0, 0 }, byteOut.toByteArray());
+    }
+
+    @Test
+    public void testBufferedOnlyWrittenOnFlush() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+
+        xdrOut.writeInt(1);
+        assertEquals("Expected no data before flush", 0, byteOut.size());
+
+        xdrOut.flush();
+        assertEquals(4, byteOut.size());
+    }
+
+    @Test
+    public void testUnbufferedWritesThrough() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut, false);
+
+        xdrOut.writeInt(1);
+        xdrOut.writeBuffer(new byte[] { 'a' });
+
+        assertArrayEquals(new byte[] { 0, 0, 0, 1, 0, 0, 0, 1, 'a', 0x20, 0x20, 0x20 }, byteOut.toByteArray());
+    }
+
+    @Test
+    public void testWritePaddingLargerThanBuffer() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+
+        xdrOut.writePadding(40000, XdrOutputStream.SPACE_BYTE);
+        xdrOut.flush();
+
+        byte[] expected = new byte[40000];
+        Arrays.fill(expected, (byte) 0x20);
+        assertArrayEquals(expected, byteOut.toByteArray());
+    }
+
+    @Test
+    public void testLargeWriteAfterBufferedData() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+        byte[] data = new byte[50000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        xdrOut.writeInt(data.length);
+        xdrOut.write(data, 0, data.length);
+        xdrOut.flush();
+
+        XdrInputStream xdrIn = new XdrInputStream(new ByteArrayInputStream(byteOut.toByteArray()));
+        assertEquals(data.length, xdrIn.readInt());
+        assertArrayEquals(data, xdrIn.readRawBuffer(data.length));
+    }
+
+    @Test
+    public void testWriteBlobSegments() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+        byte[] data = { 9, 1, 2, 3, 4, 5, 9 };
+
+        xdrOut.writeBlobSegments(data, 1, 5, 3);
+        xdrOut.flush();
+
+        assertArrayEquals(new byte[] {
+                0, 0, 0, 9,
+                0, 0, 0, 9,
+                3, 0, 1, 2, 3,
+                2, 0, 4, 5,
+                0, 0, 0 }, byteOut.toByteArray());
+    }
+
+    @Test
+    public void testWriteBlobSegmentsLengthLittleEndian() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+        byte[] data = new byte[0x1234];
+
+        xdrOut.writeBlobSegments(data, 0, data.length, Short.MAX_VALUE - 2);
+        xdrOut.flush();
+
+        byte[] result = byteOut.toByteArray();
+        assertEquals(8 + 2 + 0x1234 + 2, result.length);
+        assertEquals(0x34, result[8]);
+        assertEquals(0x12, result[9]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteBlobSegmentsTooLargeSegmentSize() throws Exception {
+        XdrOutputStream xdrOut = new XdrOutputStream(new ByteArrayOutputStream());
+
+        xdrOut.writeBlobSegments(new byte[1], 0, 1, 0x10000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteBlobSegmentsTooLargeBuffer() throws Exception {
+        XdrOutputStream xdrOut = new XdrOutputStream(new ByteArrayOutputStream());
+
+        // three segments: 0xFFFC + 3 * 2 bytes exceeds the maximum buffer length of 0xFFFF
+        xdrOut.writeBlobSegments(new byte[0xFFFC], 0, 0xFFFC, 0x7FFD);
+    }
+
+    @Test
+    public void testArc4RoundTrip() throws Exception {
+        byte[] key = { 8, 7, 6, 5, 4, 3, 2, 1 };
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+        byte[] data = new byte[40000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 7);
+        }
+
+        xdrOut.writeInt(42);
+        xdrOut.setArc4Key(key);
+        xdrOut.writeInt(43);
+        xdrOut.writeBuffer(data);
+        xdrOut.writeLong(44);
+        xdrOut.flush();
+
+        byte[] written = byteOut.toByteArray();
+        assertFalse("Expected encrypted data",
+                Arrays.equals(data, Arrays.copyOfRange(written, 12, 12 + data.length)));
+        XdrInputStream xdrIn = new XdrInputStream(new ByteArrayInputStream(written));
+        assertEquals(42, xdrIn.readInt());
+        xdrIn.setArc4Key(key);
+        assertEquals(43, xdrIn.readInt());
+        assertArrayEquals(data, xdrIn.readBuffer());
+        assertEquals(44, xdrIn.readLong());
+    }
+
+    @Test
+    public void testCompressionRoundTrip() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(byteOut);
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 7);
+        }
+
+        xdrOut.writeInt(42);
+        xdrOut.enableCompression();
+        assertTrue(xdrOut.isCompressionEnabled());
+        xdrOut.writeInt(43);
+        xdrOut.writeBuffer(data);
+        xdrOut.flush();
+        xdrOut.writeLong(44);
+        xdrOut.flush();
+
+        XdrInputStream xdrIn = new XdrInputStream(new ByteArrayInputStream(byteOut.toByteArray()));
+        assertEquals(42, xdrIn.readInt());
+        xdrIn.enableDecompression();
+        assertEquals(43, xdrIn.readInt());
+        assertArrayEquals(data, xdrIn.readBuffer());
+        assertEquals(44, xdrIn.readLong());
+    }
+
+    /**
+     * Measures the bytes on the wire for text-heavy row data with and without compression.
+     */
+    @Test
+    public void testCompressionReducesTextRowSize() throws Exception {
+        byte[] rows = createTextRows(5000);
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        XdrOutputStream plainOut = new XdrOutputStream(uncompressed);
+        XdrOutputStream compressedOut = new XdrOutputStream(compressed);
+        compressedOut.enableCompression();
+
+        for (int i = 0; i < 10; i++) {
+            plainOut.writeBuffer(rows);
+            plainOut.flush();
+            compressedOut.writeBuffer(rows);
+            compressedOut.flush();
+        }
+
+        assertTrue(String.format("Expected compressed size %d to be less than a quarter of uncompressed size %d",
+                compressed.size(), uncompressed.size()), compressed.size() * 4 < uncompressed.size());
+    }
+
+    private static byte[] createTextRows(int rowCount) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            sb.append("Customer ").append(i).append(";Main Street ").append(i % 100)
+                    .append(";Amsterdam;The Netherlands;Order status: SHIPPED\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.firebirdsql.gds.JaybirdErrorCodes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.firebirdsql.common.matchers.SQLExceptionMatchers.errorCodeEquals;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConnectionLock}.
+ *
+ * @since 3.0
+ */
+public class TestConnectionLock {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final ConnectionLock connectionLock = new ConnectionLock();
+
+    @Test
+    public void testLock_uncontended() throws Exception {
+        try (LockCloseable ignored = connectionLock.lock()) {
+            assertTrue("Expected lock to be held", connectionLock.isHeldByCurrentThread());
+        }
+
+        assertFalse("Expected lock to be released", connectionLock.isHeldByCurrentThread());
+        final LockStatistics statistics = connectionLock.getStatistics();
+        assertEquals("acquireCount", 1, statistics.getAcquireCount());
+        assertEquals("contendedCount", 0, statistics.getContendedCount());
+        assertEquals("timeoutCount", 0, statistics.getTimeoutCount());
+        assertEquals("totalWaitTime", 0, statistics.getTotalWaitTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testLock_reentrant() throws Exception {
+        connectionLock.setTimeout(10);
+        try (LockCloseable ignored = connectionLock.lock()) {
+            try (LockCloseable ignored2 = connectionLock.lock()) {
+                assertTrue("Expected lock to be held", connectionLock.isHeldByCurrentThread());
+            }
+            assertTrue("Expected lock to be held after inner release", connectionLock.isHeldByCurrentThread());
+        }
+
+        assertFalse("Expected lock to be released", connectionLock.isHeldByCurrentThread());
+        assertEquals("acquireCount", 2, connectionLock.getStatistics().getAcquireCount());
+    }
+
+    @Test
+    public void testLock_timeout() throws Exception {
+        connectionLock.setTimeout(50);
+        final CountDownLatch release = holdLockInOtherThread();
+        try {
+            connectionLock.lock();
+            fail("Expected lock timeout");
+        } catch (SQLTimeoutException e) {
+            assertThat(e, errorCodeEquals(JaybirdErrorCodes.jb_connectionLockTimeout));
+        } finally {
+            release.countDown();
+        }
+
+        assertFalse("Expected lock not to be held", connectionLock.isHeldByCurrentThread());
+        final LockStatistics statistics = connectionLock.getStatistics();
+        assertEquals("timeoutCount", 1, statistics.getTimeoutCount());
+        assertEquals("contendedCount", 1, statistics.getContendedCount());
+        assertTrue("Expected wait time to be recorded", statistics.getMaxWaitTime(TimeUnit.MILLISECONDS) >= 40);
+    }
+
+    @Test
+    public void testLockWithoutTimeout_waitsForRelease() throws Exception {
+        connectionLock.setTimeout(1);
+        final CountDownLatch release = holdLockInOtherThread();
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                release.countDown();
+            }
+        }.start();
+
+        try (LockCloseable ignored = connectionLock.lockWithoutTimeout()) {
+            assertTrue("Expected lock to be held", connectionLock.isHeldByCurrentThread());
+        }
+
+        final LockStatistics statistics = connectionLock.getStatistics();
+        assertEquals("contendedCount", 1, statistics.getContendedCount());
+        assertEquals("timeoutCount", 0, statistics.getTimeoutCount());
+        assertEquals("acquireCount", 2, statistics.getAcquireCount());
+    }
+
+    @Test
+    public void testSetTimeout_negative() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        connectionLock.setTimeout(-1);
+    }
+
+    /**
+     * Acquires the lock in another thread, and holds it until the returned latch is counted down.
+     */
+    private CountDownLatch holdLockInOtherThread() throws InterruptedException {
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = new Thread() {
+            @Override
+            public void run() {
+                try (LockCloseable ignored = connectionLock.lockWithoutTimeout()) {
+                    acquired.countDown();
+                    release.await();
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        };
+        holder.setDaemon(true);
+        holder.start();
+        assertTrue("Lock not acquired by other thread", acquired.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the Calendar-free java.time decoding of {@link DefaultDatatypeCoder}.
+ *
+ * @since 3.0
+ */
+public class TestDefaultDatatypeCoder {
+
+    private final DatatypeCoder datatypeCoder = DefaultDatatypeCoder.getDefaultInstance();
+
+    @Test
+    public void testDecodeLocalDateEpochDay() {
+        assertEquals(0, datatypeCoder.decodeLocalDateEpochDay(datatypeCoder.encodeLocalDate(1970, 1, 1)));
+        assertEquals(-40587, datatypeCoder.decodeLocalDateEpochDay(datatypeCoder.encodeLocalDate(1858, 11, 17)));
+        // 2016-02-29
+        assertEquals(16860, datatypeCoder.decodeLocalDateEpochDay(datatypeCoder.encodeLocalDate(2016, 2, 29)));
+    }
+
+    @Test
+    public void testDecodeLocalTimeNanoOfDay() {
+        final long expected = TimeUnit.HOURS.toNanos(13) + TimeUnit.MINUTES.toNanos(45)
+                + TimeUnit.SECONDS.toNanos(7) + 123400000;
+
+        assertEquals(expected,
+                datatypeCoder.decodeLocalTimeNanoOfDay(datatypeCoder.encodeLocalTime(13, 45, 7, 123456789)));
+    }
+
+    @Test
+    public void testDecodeLocalDateTime() {
+        final byte[] timestamp = datatypeCoder.encodeLocalDateTime(2016, 2, 29, 23, 59, 59, 999900000);
+
+        assertEquals(16860, datatypeCoder.decodeLocalDateTimeEpochDay(timestamp));
+        assertEquals(TimeUnit.DAYS.toNanos(1) - 100000, datatypeCoder.decodeLocalDateTimeNanoOfDay(timestamp));
+    }
+
+    @Test
+    public void testDecodeLocalDateTimeAtOffset() {
+        final byte[] data = new byte[11];
+        System.arraycopy(datatypeCoder.encodeLocalDateTime(2016, 2, 29, 23, 59, 59, 999900000), 0, data, 3, 8);
+
+        assertEquals(16860, datatypeCoder.decodeLocalDateTimeEpochDay(data, 3));
+        assertEquals(TimeUnit.DAYS.toNanos(1) - 100000, datatypeCoder.decodeLocalDateTimeNanoOfDay(data, 3));
+        assertEquals(16860, datatypeCoder.decodeLocalDateEpochDay(data, 3));
+        assertEquals(TimeUnit.DAYS.toNanos(1) - 100000, datatypeCoder.decodeLocalTimeNanoOfDay(data, 7));
+    }
+
+    @Test
+    public void testDecodeAtOffset() {
+        final byte[] data = new byte[21];
+        System.arraycopy(datatypeCoder.encodeShort(-1234), 0, data, 1, 4);
+        System.arraycopy(datatypeCoder.encodeLong(Long.MIN_VALUE + 5), 0, data, 5, 8);
+        System.arraycopy(datatypeCoder.encodeDouble(1.5), 0, data, 13, 8);
+
+        assertEquals(-1234, datatypeCoder.decodeShort(data, 1));
+        assertEquals(Long.MIN_VALUE + 5, datatypeCoder.decodeLong(data, 5));
+        assertEquals(1.5, datatypeCoder.decodeDouble(data, 13), 0);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.fields;
+
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.DatatypeCoder;
+import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.firebirdsql.jdbc.field.FBField;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FieldDataArena} and the slice support of {@link FieldValue}.
+ *
+ * @since 3.0
+ */
+public class TestFieldDataArena {
+
+    @Test
+    public void testAllocationsShareChunk() {
+        FieldDataArena arena = new FieldDataArena(64);
+
+        byte[] first = arena.allocate(4);
+        assertEquals("Unexpected offset of first allocation", 0, arena.getLastOffset());
+        byte[] second = arena.allocate(8);
+        assertEquals("Unexpected offset of second allocation", 4, arena.getLastOffset());
+
+        assertSame("Expected allocations to share chunk", first, second);
+    }
+
+    @Test
+    public void testNewChunkWhenFull() {
+        FieldDataArena arena = new FieldDataArena(64);
+
+        byte[] first = arena.allocate(16);
+        arena.allocate(16);
+        arena.allocate(16);
+        arena.allocate(16);
+        byte[] fifth = arena.allocate(4);
+
+        assertNotSame("Expected new chunk", first, fifth);
+        assertEquals("Unexpected offset in new chunk", 0, arena.getLastOffset());
+    }
+
+    @Test
+    public void testLargeAllocationGetsOwnArray() {
+        FieldDataArena arena = new FieldDataArena(64);
+        byte[] chunk = arena.allocate(4);
+
+        byte[] large = arena.allocate(17);
+
+        assertNotSame("Expected separate array", chunk, large);
+        assertEquals("Unexpected length", 17, large.length);
+        assertEquals("Unexpected offset", 0, arena.getLastOffset());
+        assertSame("Expected next allocation to continue in chunk", chunk, arena.allocate(4));
+        assertEquals("Unexpected offset", 4, arena.getLastOffset());
+    }
+
+    @Test
+    public void testReleaseLast() {
+        FieldDataArena arena = new FieldDataArena(64);
+        arena.allocate(4);
+        arena.allocate(8);
+
+        arena.releaseLast();
+        arena.allocate(2);
+
+        assertEquals("Expected released space to be reused", 4, arena.getLastOffset());
+    }
+
+    @Test
+    public void testFieldValueSliceIsMaterializedOnAccess() {
+        byte[] buffer = { 1, 2, 3, 4, 5, 6 };
+        FieldValue fieldValue = new FieldValue();
+
+        fieldValue.setFieldData(buffer, 2, 3);
+
+        assertTrue("Expected initialized", fieldValue.isInitialized());
+        assertFalse("Expected not null", fieldValue.isNull());
+        byte[] fieldData = fieldValue.getFieldData();
+        assertArrayEquals(new byte[] { 3, 4, 5 }, fieldData);
+        assertSame("Expected materialized data to be retained", fieldData, fieldValue.getFieldData());
+    }
+
+    @Test
+    public void testFieldValueCloneOfSliceIsCopy() {
+        byte[] buffer = { 1, 2, 3, 4, 5, 6 };
+        FieldValue fieldValue = new FieldValue();
+        fieldValue.setFieldData(buffer, 1, 2);
+
+        FieldValue clone = fieldValue.clone();
+        buffer[1] = 10;
+
+        assertArrayEquals(new byte[] { 2, 3 }, clone.getFieldData());
+    }
+
+    @Test
+    public void testFieldValueFullRangeIsNotSliced() {
+        byte[] buffer = { 1, 2, 3 };
+        FieldValue fieldValue = new FieldValue();
+
+        fieldValue.setFieldData(buffer, 0, 3);
+
+        assertSame(buffer, fieldValue.getFieldData());
+    }
+
+    @Test
+    public void testFieldValueNull() {
+        FieldValue fieldValue = new FieldValue();
+        fieldValue.setFieldData(new byte[] { 1, 2, 3 }, 1, 1);
+
+        fieldValue.setFieldData(null);
+
+        assertTrue("Expected null", fieldValue.isNull());
+        assertNull(fieldValue.getFieldData());
+    }
+
+    @Test
+    public void testFieldValueSliceBufferAccessDoesNotMaterialize() {
+        byte[] buffer = { 1, 2, 3, 4, 5, 6 };
+        FieldValue fieldValue = new FieldValue();
+        fieldValue.setFieldData(buffer, 2, 3);
+
+        assertSame(buffer, fieldValue.getFieldDataBuffer());
+        assertEquals(2, fieldValue.getFieldDataOffset());
+        assertEquals(3, fieldValue.getFieldDataLength());
+        assertSame("Expected slice to be retained", buffer, fieldValue.getFieldDataBuffer());
+    }
+
+    @Test
+    public void testFieldDecodesSliceWithoutMaterializing() throws SQLException {
+        final DatatypeCoder datatypeCoder = DefaultDatatypeCoder.getDefaultInstance();
+        final byte[] buffer = new byte[32];
+        System.arraycopy(datatypeCoder.encodeInt(1234), 0, buffer, 3, 4);
+        System.arraycopy(datatypeCoder.encodeLong(-98765L), 0, buffer, 7, 8);
+        System.arraycopy(datatypeCoder.encodeDate(Date.valueOf("2016-02-29")), 0, buffer, 15, 4);
+        buffer[19] = 'a';
+        buffer[20] = 'b';
+        buffer[21] = 'c';
+        final FieldValue intValue = createSlice(buffer, 3, 4);
+        final FieldValue longValue = createSlice(buffer, 7, 8);
+        final FieldValue dateValue = createSlice(buffer, 15, 4);
+        final FieldValue stringValue = createSlice(buffer, 19, 3);
+
+        assertEquals(1234, createField(ISCConstants.SQL_LONG, 0, 4, intValue).getInt());
+        assertEquals(new BigDecimal("-987.65"), createField(ISCConstants.SQL_INT64, -2, 8, longValue).getBigDecimal());
+        assertEquals(Date.valueOf("2016-02-29"), createField(ISCConstants.SQL_TYPE_DATE, 0, 4, dateValue).getDate());
+        final FBField stringField = createField(ISCConstants.SQL_VARYING, 0, 3, stringValue);
+        assertEquals("abc", stringField.getString());
+        assertArrayEquals(new byte[] { 'a', 'b', 'c' }, stringField.getBytes());
+
+        for (FieldValue fieldValue : new FieldValue[] { intValue, longValue, dateValue, stringValue }) {
+            assertSame("Expected slice not to be materialized", buffer, fieldValue.getFieldDataBuffer());
+        }
+    }
+
+    private static FieldValue createSlice(byte[] buffer, int offset, int length) {
+        final FieldValue fieldValue = new FieldValue();
+        fieldValue.setFieldData(buffer, offset, length);
+        return fieldValue;
+    }
+
+    private static FBField createField(int type, int scale, int length, FieldValue fieldValue) throws SQLException {
+        final FieldDescriptor fieldDescriptor = new RowDescriptorBuilder(1, DefaultDatatypeCoder.getDefaultInstance())
+                .setType(type)
+                .setScale(scale)
+                .setLength(length)
+                .toFieldDescriptor();
+        return FBField.createField(fieldDescriptor, fieldValue, null, false);
+    }
+}
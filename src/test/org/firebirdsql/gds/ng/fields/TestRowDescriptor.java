@@ -0,0 +1,94 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.fields;
+
+import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link RowDescriptor}.
+ *
+ * @since 3.0
+ */
+public class TestRowDescriptor {
+
+    private static final RowDescriptor ROW_DESCRIPTOR = RowDescriptor.createRowDescriptor(new FieldDescriptor[] {
+            createFieldDescriptor("ID", "ID"),
+            createFieldDescriptor("NAME", "NAME"),
+            createFieldDescriptor("ALIAS", "COLUMN1"),
+            createFieldDescriptor("name", "OTHER_NAME"),
+            createFieldDescriptor("COLUMN2", "ALIAS"),
+            createFieldDescriptor("Mixed", "MIXED")
+    });
+
+    @Test
+    public void testFindFieldIndex_caseInsensitive() {
+        assertEquals(0, ROW_DESCRIPTOR.findFieldIndex("id", false));
+        assertEquals(5, ROW_DESCRIPTOR.findFieldIndex("MIXED", false));
+    }
+
+    @Test
+    public void testFindFieldIndex_caseSensitive() {
+        assertEquals(-1, ROW_DESCRIPTOR.findFieldIndex("id", true));
+        assertEquals(5, ROW_DESCRIPTOR.findFieldIndex("Mixed", true));
+        assertEquals("Expected original name match", 5, ROW_DESCRIPTOR.findFieldIndex("MIXED", true));
+    }
+
+    @Test
+    public void testFindFieldIndex_duplicateReturnsFirst() {
+        assertEquals(1, ROW_DESCRIPTOR.findFieldIndex("Name", false));
+        assertEquals(3, ROW_DESCRIPTOR.findFieldIndex("name", true));
+    }
+
+    @Test
+    public void testFindFieldIndex_fieldNameBeforeOriginalName() {
+        assertEquals(2, ROW_DESCRIPTOR.findFieldIndex("ALIAS", false));
+        assertEquals(2, ROW_DESCRIPTOR.findFieldIndex("COLUMN1", false));
+    }
+
+    @Test
+    public void testFindFieldIndex_notFound() {
+        assertEquals(-1, ROW_DESCRIPTOR.findFieldIndex("DOES_NOT_EXIST", false));
+        assertEquals(-1, ROW_DESCRIPTOR.findFieldIndex(null, false));
+        assertEquals(-1, RowDescriptor.EMPTY.findFieldIndex("ID", false));
+    }
+
+    @Test
+    public void testFindFieldIndex_manyFields() {
+        final FieldDescriptor[] fieldDescriptors = new FieldDescriptor[500];
+        for (int idx = 0; idx < fieldDescriptors.length; idx++) {
+            fieldDescriptors[idx] = createFieldDescriptor("FIELD" + idx, "COLUMN" + idx);
+        }
+        final RowDescriptor rowDescriptor = RowDescriptor.createRowDescriptor(fieldDescriptors);
+
+        for (int idx = 0; idx < fieldDescriptors.length; idx++) {
+            assertEquals(idx, rowDescriptor.findFieldIndex("field" + idx, false));
+            assertEquals(idx, rowDescriptor.findFieldIndex("COLUMN" + idx, true));
+        }
+    }
+
+    private static FieldDescriptor createFieldDescriptor(String fieldName, String originalName) {
+        return new RowDescriptorBuilder(1, DefaultDatatypeCoder.getDefaultInstance())
+                .setFieldName(fieldName)
+                .setOriginalName(originalName)
+                .toFieldDescriptor();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire;
+
+import org.firebirdsql.common.SimpleServer;
+import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.wire.version10.V10AsynchronousChannel;
+import org.firebirdsql.gds.ng.listeners.DatabaseListener;
+import org.jmock.Expectations;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.op_event;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AsynchronousProcessor} with {@link V10AsynchronousChannel}, using a simple server instead of
+ * a Firebird server.
+ *
+ * @since 3.0
+ */
+public class TestAsynchronousProcessor {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private final List<SimpleServer> servers = new ArrayList<>();
+    private AsynchronousProcessor processor;
+
+    @After
+    public void tearDown() throws Exception {
+        if (processor != null) {
+            processor.shutdown();
+        }
+        for (SimpleServer server : servers) {
+            server.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectorCountZero_notAllowed() {
+        new AsynchronousProcessor(0);
+    }
+
+    @Test
+    public void testEventLargerThanInitialBuffer() throws Exception {
+        processor = new AsynchronousProcessor(1);
+        final SimpleChannelListener listener = new SimpleChannelListener();
+        final SimpleServer server = new SimpleServer();
+        servers.add(server);
+        final FbWireAsynchronousChannel channel = connectChannel(server, listener);
+
+        // 15 events with the maximum name length of 255 requires an event buffer of 3901 bytes
+        final byte[] eventBuffer = createEventBuffer(15, 255);
+        final XdrOutputStream out = new XdrOutputStream(server.getOutputStream());
+        writeEvent(out, eventBuffer, 7);
+        writeEvent(out, createEventBuffer(1, 5), 8);
+        out.flush();
+
+        waitFor(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return listener.getReceivedEvents().size() == 2;
+            }
+        });
+        final List<AsynchronousChannelListener.Event> receivedEvents = listener.getReceivedEvents();
+        assertEquals("Unexpected eventId", 7, receivedEvents.get(0).getEventId());
+        assertArrayEquals("Unexpected event buffer", eventBuffer, receivedEvents.get(0).getEventBuffer());
+        assertEquals("Unexpected eventId", 8, receivedEvents.get(1).getEventId());
+        assertTrue("Expected connected channel", channel.isConnected());
+    }
+
+    @Test
+    public void testMultipleSelectors() throws Exception {
+        processor = new AsynchronousProcessor(2);
+        assertEquals("selectorCount", 2, processor.getSelectorCount());
+        final int channelCount = 4;
+        final int eventsPerChannel = 100;
+        final List<SimpleChannelListener> listeners = new ArrayList<>();
+        final List<XdrOutputStream> outputStreams = new ArrayList<>();
+        for (int idx = 0; idx < channelCount; idx++) {
+            final SimpleChannelListener listener = new SimpleChannelListener();
+            final SimpleServer server = new SimpleServer();
+            servers.add(server);
+            connectChannel(server, listener);
+            listeners.add(listener);
+            outputStreams.add(new XdrOutputStream(server.getOutputStream()));
+        }
+
+        final byte[] eventBuffer = createEventBuffer(1, 5);
+        for (int count = 1; count <= eventsPerChannel; count++) {
+            for (XdrOutputStream out : outputStreams) {
+                writeEvent(out, eventBuffer, count);
+            }
+        }
+        for (XdrOutputStream out : outputStreams) {
+            out.flush();
+        }
+
+        waitFor(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                for (SimpleChannelListener listener : listeners) {
+                    if (listener.getReceivedEvents().size() != eventsPerChannel) return false;
+                }
+                return true;
+            }
+        });
+        for (SimpleChannelListener listener : listeners) {
+            final List<AsynchronousChannelListener.Event> receivedEvents = listener.getReceivedEvents();
+            assertEquals("Unexpected eventId of last event", eventsPerChannel,
+                    receivedEvents.get(eventsPerChannel - 1).getEventId());
+        }
+        final AsynchronousProcessorStatistics statistics = processor.getStatistics();
+        assertEquals("eventCount", channelCount * eventsPerChannel, statistics.getEventCount());
+        // Each event: op_event (4), db handle (4), buffer length (4), buffer + padding (12), AST (8), event id (4)
+        assertEquals("bytesRead", channelCount * eventsPerChannel * 36, statistics.getBytesRead());
+    }
+
+    @Test
+    public void testServerClosesConnection_closesChannel() throws Exception {
+        processor = new AsynchronousProcessor(1);
+        final SimpleChannelListener listener = new SimpleChannelListener();
+        final SimpleServer server = new SimpleServer();
+        servers.add(server);
+        final FbWireAsynchronousChannel channel = connectChannel(server, listener);
+
+        server.closeConnection();
+
+        waitFor(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return !channel.isConnected();
+            }
+        });
+        assertTrue("Expected channel closing notification", listener.hasReceivedChannelClosing());
+    }
+
+    private FbWireAsynchronousChannel connectChannel(final SimpleServer server,
+            AsynchronousChannelListener listener) throws Exception {
+        final FbWireDatabase database = context.mock(FbWireDatabase.class, "database" + servers.size());
+        context.checking(new Expectations() {{
+            allowing(database).addDatabaseListener(with(any(DatabaseListener.class)));
+        }});
+        final FbWireAsynchronousChannel channel = new V10AsynchronousChannel(database);
+        channel.addChannelListener(listener);
+        Thread establishChannel = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    channel.connect("localhost", server.getPort(), 1);
+                } catch (SQLException e) {
+                    // suppress
+                }
+            }
+        });
+        establishChannel.start();
+        server.acceptConnection();
+        establishChannel.join(TIMEOUT_MILLIS);
+        assertTrue("Expected connected channel", channel.isConnected());
+        processor.registerAsynchronousChannel(channel);
+        return channel;
+    }
+
+    private static void writeEvent(XdrOutputStream out, byte[] eventBuffer, int eventId) throws IOException {
+        out.writeInt(op_event);
+        out.writeInt(513);
+        out.writeBuffer(eventBuffer);
+        out.writeLong(0);
+        out.writeInt(eventId);
+    }
+
+    /**
+     * Creates an event buffer with {@code eventCount} events with names of {@code nameLength}, each with count 1.
+     */
+    private static byte[] createEventBuffer(int eventCount, int nameLength) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        final byte[] name = new byte[nameLength];
+        for (int idx = 0; idx < eventCount; idx++) {
+            Arrays.fill(name, (byte) ('A' + idx));
+            out.write(nameLength);
+            out.write(name, 0, nameLength);
+            out.write(new byte[] { 1, 0, 0, 0 }, 0, 4);
+        }
+        return out.toByteArray();
+    }
+
+    private static void waitFor(Callable<Boolean> condition) throws Exception {
+        final long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.call()) {
+            if (System.currentTimeMillis() > end) {
+                fail("Condition not met within " + TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire;
+
+import org.firebirdsql.gds.impl.wire.XdrInputStream;
+import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SocketChannelInputStream} and {@link SocketChannelOutputStream} against a local echo server.
+ * <p>
+ * The number of concurrent connections of {@link #testConcurrentConnections()} can be set with system property
+ * {@code test.socketChannel.connections} (default 1000); each connection uses two file descriptors.
+ * </p>
+ *
+ * @since 3.0
+ */
+public class TestSocketChannelStreams {
+
+    private static final int CONNECTIONS = Integer.getInteger("test.socketChannel.connections", 1000);
+    private static final int ROUND_TRIPS = 10;
+
+    private EchoServer server;
+    private Thread serverThread;
+
+    @Before
+    public void startServer() throws IOException {
+        server = new EchoServer();
+        serverThread = new Thread(server, "echo-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @After
+    public void stopServer() throws Exception {
+        server.stop();
+        serverThread.join(5000);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        try (SocketChannel channel = connect()) {
+            final XdrOutputStream xdrOut = new XdrOutputStream(new SocketChannelOutputStream(channel));
+            final XdrInputStream xdrIn = new XdrInputStream(new SocketChannelInputStream(channel));
+            final byte[] data = new byte[32000];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) i;
+            }
+
+            xdrOut.writeInt(42);
+            xdrOut.writeBuffer(data);
+            xdrOut.flush();
+
+            assertEquals(42, xdrIn.readInt());
+            assertArrayEquals(data, xdrIn.readBuffer());
+        }
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        try (SocketChannel channel = connect()) {
+            channel.socket().setSoTimeout(100);
+            final SocketChannelInputStream in = new SocketChannelInputStream(channel);
+
+            try {
+                in.read(new byte[10], 0, 10);
+                fail("Expected read to time out");
+            } catch (SocketTimeoutException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testEndOfStream() throws Exception {
+        try (SocketChannel channel = connect()) {
+            final SocketChannelInputStream in = new SocketChannelInputStream(channel);
+            channel.socket().shutdownOutput();
+
+            assertEquals("Expected end of stream after server closed", -1, in.read());
+        }
+    }
+
+    /**
+     * Opens a large number of concurrent connections, each doing several round trips through the XDR streams.
+     */
+    @Test
+    public void testConcurrentConnections() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(CONNECTIONS);
+        try {
+            final CyclicBarrier allConnected = new CyclicBarrier(CONNECTIONS);
+            final List<Future<Void>> results = new ArrayList<>(CONNECTIONS);
+            for (int i = 0; i < CONNECTIONS; i++) {
+                final int connectionId = i;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        try (SocketChannel channel = connect()) {
+                            final XdrOutputStream xdrOut =
+                                    new XdrOutputStream(new SocketChannelOutputStream(channel));
+                            final XdrInputStream xdrIn = new XdrInputStream(new SocketChannelInputStream(channel));
+                            allConnected.await(30, TimeUnit.SECONDS);
+                            for (int roundTrip = 0; roundTrip < ROUND_TRIPS; roundTrip++) {
+                                xdrOut.writeInt(connectionId);
+                                xdrOut.writeInt(roundTrip);
+                                xdrOut.flush();
+                                assertEquals("connectionId", connectionId, xdrIn.readInt());
+                                assertEquals("roundTrip", roundTrip, xdrIn.readInt());
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("Unexpected number of accepted connections", CONNECTIONS, server.getAcceptCount());
+    }
+
+    private SocketChannel connect() throws IOException {
+        final SocketChannel channel = SocketChannel.open();
+        channel.socket().setTcpNoDelay(true);
+        channel.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+        return channel;
+    }
+
+    /**
+     * Single-threaded, selector-based server echoing everything sent to it.
+     */
+    private static final class EchoServer implements Runnable {
+
+        private final ServerSocketChannel serverChannel;
+        private final Selector selector;
+        private volatile boolean active = true;
+        private volatile int acceptCount;
+
+        private EchoServer() throws IOException {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.socket().bind(new InetSocketAddress("127.0.0.1", 0), CONNECTIONS);
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        }
+
+        private int getPort() {
+            return serverChannel.socket().getLocalPort();
+        }
+
+        private int getAcceptCount() {
+            return acceptCount;
+        }
+
+        private void stop() {
+            active = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            final ByteBuffer buffer = ByteBuffer.allocate(8192);
+            try {
+                while (active) {
+                    selector.select(500);
+                    final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        final SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isAcceptable()) {
+                            final SocketChannel channel = serverChannel.accept();
+                            if (channel == null) continue;
+                            acceptCount++;
+                            channel.configureBlocking(false);
+                            channel.register(selector, SelectionKey.OP_READ);
+                        } else if (key.isReadable()) {
+                            echo((SocketChannel) key.channel(), key, buffer);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    closeQuietly(key.channel());
+                }
+                closeQuietly(selector);
+                closeQuietly(serverChannel);
+            }
+        }
+
+        private void echo(SocketChannel channel, SelectionKey key, ByteBuffer buffer) {
+            try {
+                buffer.clear();
+                if (channel.read(buffer) == -1) {
+                    key.cancel();
+                    channel.close();
+                    return;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    // Clients read the response before sending more data, so the send buffer does not fill up
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                key.cancel();
+                closeQuietly(channel);
+            }
+        }
+
+        private static void closeQuietly(java.io.Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
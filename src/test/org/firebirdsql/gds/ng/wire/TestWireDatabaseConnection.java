@@ -150,6 +150,56 @@ public class TestWireDatabaseConnection extends FBJUnit4TestBase {
         }
     }
 
+    /**
+     * Tests a successful connection identification phase and attach with wire compression requested.
+     * <p>
+     * Whether compression is actually used depends on the {@code WireCompression} setting of the server.
+     * </p>
+     */
+    @Test
+    public void testIdentifyExistingDb_v13_wireCompression() throws Exception {
+        assumeTrue("Requires protocol v13 support", FBTestProperties.getDefaultSupportInfo().supportsProtocol(13));
+        connectionInfo.setWireCompression(true);
+        connectionInfo.setUser(FBTestProperties.DB_USER);
+        connectionInfo.setPassword(FBTestProperties.DB_PASSWORD);
+        ProtocolDescriptor expectedProtocol = new Version13Descriptor();
+        try (WireDatabaseConnection gdsConnection = new WireDatabaseConnection(connectionInfo,
+                EncodingFactory.getDefaultInstance(), ProtocolCollection.create(expectedProtocol))) {
+            gdsConnection.socketConnect();
+            FbWireDatabase database = gdsConnection.identify();
+            assertEquals("Unexpected type", expectedProtocol.getMaximumType(), gdsConnection.getProtocolMinimumType());
+
+            database.attach();
+            try {
+                assertTrue("Expected attached database", database.isAttached());
+            } finally {
+                database.close();
+            }
+        }
+    }
+
+    /**
+     * Tests a successful connection identification phase and attach using a socket channel.
+     */
+    @Test
+    public void testIdentifyExistingDb_socketChannel() throws Exception {
+        connectionInfo.setUseSocketChannel(true);
+        connectionInfo.setUser(FBTestProperties.DB_USER);
+        connectionInfo.setPassword(FBTestProperties.DB_PASSWORD);
+        try (WireDatabaseConnection gdsConnection = new WireDatabaseConnection(connectionInfo)) {
+            gdsConnection.socketConnect();
+            assertTrue(gdsConnection.isConnected());
+            FbWireDatabase database = gdsConnection.identify();
+
+            database.attach();
+            try {
+                assertTrue("Expected attached database", database.isAttached());
+            } finally {
+                database.close();
+            }
+        }
+    }
+
     /**
      * Tests the connect timeout when connecting to a non-existent server.
      */
@@ -0,0 +1,133 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire;
+
+import org.firebirdsql.encodings.Encoding;
+import org.firebirdsql.encodings.EncodingFactory;
+import org.firebirdsql.gds.EventHandle;
+import org.firebirdsql.gds.EventHandler;
+import org.jmock.Expectations;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WireEventHandle}.
+ *
+ * @since 3.0
+ */
+public class TestWireEventHandle {
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private final Encoding encoding = EncodingFactory.getDefaultInstance().getEncodingForFirebirdName("NONE");
+    private final List<EventHandle> notifiedHandles = new ArrayList<>();
+    private final EventHandler eventHandler = new EventHandler() {
+        @Override
+        public void eventOccurred(EventHandle eventHandle) {
+            notifiedHandles.add(eventHandle);
+        }
+    };
+
+    @Test
+    public void testToByteArray_singleEvent() throws Exception {
+        final WireEventHandle handle = new WireEventHandle("EVENT_A", eventHandler, encoding);
+
+        assertArrayEquals(eventBuffer(new String[] { "EVENT_A" }, new int[] { 0 }), handle.toByteArray());
+    }
+
+    @Test
+    public void testToByteArray_eventBlock() throws Exception {
+        final WireEventHandle handle = new WireEventHandle(Arrays.asList("A", "BB", "CCC"), eventHandler, encoding);
+        handle.setServerEventCount(1, 0x01020304);
+
+        assertArrayEquals(eventBuffer(new String[] { "A", "BB", "CCC" }, new int[] { 0, 0x01020304, 0 }),
+                handle.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyEvents() {
+        final List<String> eventNames = new ArrayList<>();
+        for (int idx = 0; idx <= WireEventHandle.MAX_EVENT_COUNT; idx++) {
+            eventNames.add("EVENT_" + idx);
+        }
+
+        new WireEventHandle(eventNames, eventHandler, encoding);
+    }
+
+    @Test
+    public void testEventReceived_eventBlock() throws Exception {
+        final WireEventHandle handle = new WireEventHandle(Arrays.asList("A", "B"), eventHandler, encoding);
+        handle.setServerEventCount(0, 5);
+        final int localId = handle.assignNewLocalId();
+        final FbWireAsynchronousChannel channel = context.mock(FbWireAsynchronousChannel.class);
+        context.checking(new Expectations() {{
+            allowing(channel).removeChannelListener(handle);
+        }});
+
+        handle.eventReceived(channel, new AsynchronousChannelListener.Event(localId, 3,
+                eventBuffer(new String[] { "A", "B" }, new int[] { 8, 3 })));
+        handle.calculateCount();
+
+        assertEquals("Expected handler to be notified", 1, notifiedHandles.size());
+        assertEquals("count A", 3, handle.getEventCount(0));
+        assertEquals("count B", 3, handle.getEventCount(1));
+        assertEquals("getEventCount() is count of first event", 3, handle.getEventCount());
+        assertEquals("server count A", 8, handle.getServerEventCount(0));
+        assertEquals("server count B", 3, handle.getServerEventCount(1));
+    }
+
+    @Test
+    public void testEventReceived_otherLocalIdIgnored() throws Exception {
+        final WireEventHandle handle = new WireEventHandle(Arrays.asList("A", "B"), eventHandler, encoding);
+        final int localId = handle.assignNewLocalId();
+        final FbWireAsynchronousChannel channel = context.mock(FbWireAsynchronousChannel.class);
+
+        handle.eventReceived(channel, new AsynchronousChannelListener.Event(localId + 1000, 3,
+                eventBuffer(new String[] { "A", "B" }, new int[] { 1, 3 })));
+
+        assertTrue("Expected no notification", notifiedHandles.isEmpty());
+        assertEquals(0, handle.getServerEventCount(0));
+    }
+
+    /**
+     * Builds an event parameter block as sent by the server.
+     */
+    static byte[] eventBuffer(String[] eventNames, int[] counts) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        for (int idx = 0; idx < eventNames.length; idx++) {
+            final byte[] name = eventNames[idx].getBytes();
+            out.write(name.length);
+            out.write(name, 0, name.length);
+            for (int shift = 0; shift <= 24; shift += 8) {
+                out.write((counts[idx] >> shift) & 0xff);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -91,6 +91,44 @@ public class TestV10InputBlob extends BaseTestV10Blob {
         }
     }
 
+    /**
+     * Tests retrieval of a blob with {@link FbBlob#get(byte[], int, int)}, mixed with
+     * {@link FbBlob#getSegment(int)}.
+     */
+    @Test
+    public void testBlobRetrieval_get() throws Exception {
+        final int testId = 1;
+        final byte[] baseContent = generateBaseContent();
+        // Use sufficiently large value so that multiple pipelined segment requests are used
+        final int requiredSize = 20 * Short.MAX_VALUE;
+        populateBlob(testId, baseContent, requiredSize);
+
+        try (FbWireDatabase db = createDatabaseConnection()) {
+            try {
+                long blobId = getBlobId(testId, db);
+
+                final FbBlob blob = db.createBlobForInput(transaction, null, blobId);
+                blob.open();
+                final byte[] result = new byte[requiredSize + 10];
+                final byte[] segment = blob.getSegment(100);
+                System.arraycopy(segment, 0, result, 0, segment.length);
+                final int firstPart = 10 * Short.MAX_VALUE;
+                assertEquals("Expected get to read requested length", firstPart,
+                        blob.get(result, segment.length, firstPart));
+                final int remaining = requiredSize - segment.length - firstPart;
+                assertEquals("Expected get to read remaining length", remaining,
+                        blob.get(result, segment.length + firstPart, remaining + 10));
+                assertTrue("Expected blob to be EOF", blob.isEof());
+                blob.close();
+                statement.close();
+                assertTrue("Unexpected blob content",
+                        validateBlobContent(Arrays.copyOf(result, requiredSize), baseContent, requiredSize));
+            } finally {
+                if (transaction != null) transaction.commit();
+            }
+        }
+    }
+
     /**
      * Tests absolute seek on a segmented blob. Expectation: fails with an exception
      */
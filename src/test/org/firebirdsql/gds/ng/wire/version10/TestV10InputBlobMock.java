@@ -142,6 +142,56 @@ public class TestV10InputBlobMock {
         blob.getSegment(1);
     }
 
+    /**
+     * Test if {@link org.firebirdsql.gds.ng.wire.version10.V10InputBlob#get(byte[], int, int, float)} with a fill
+     * factor of zero throws an exception
+     */
+    @Test
+    public void testGet_minFillFactorZero() throws Exception {
+        expectedException.expect(IllegalArgumentException.class);
+
+        V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
+
+        blob.get(new byte[10], 0, 10, 0f);
+    }
+
+    /**
+     * Test if {@link org.firebirdsql.gds.ng.wire.version10.V10InputBlob#get(byte[], int, int)} with a range outside
+     * the buffer throws an exception
+     */
+    @Test
+    public void testGet_rangeOutsideBuffer() throws Exception {
+        expectedException.expect(IndexOutOfBoundsException.class);
+
+        V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
+
+        blob.get(new byte[10], 5, 6);
+    }
+
+    /**
+     * Test if {@link org.firebirdsql.gds.ng.wire.version10.V10InputBlob#get(byte[], int, int)} on closed blob
+     * throws exception
+     */
+    @Test
+    public void testGet_blobClosed() throws Exception {
+        expectedException.expect(SQLNonTransientException.class);
+        expectedException.expect(allOf(
+                errorCodeEquals(ISCConstants.isc_bad_segstr_handle),
+                fbMessageStartsWith(ISCConstants.isc_bad_segstr_handle)
+        ));
+
+        V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
+
+        final Expectations exp = new Expectations();
+        exp.oneOf(db).isAttached();
+        exp.will(returnValue(true));
+        exp.oneOf(transaction).getState();
+        exp.will(returnValue(TransactionState.ACTIVE));
+        context.checking(exp);
+
+        blob.get(new byte[10], 0, 10);
+    }
+
     @Test
     public void testIsEof_newBlob() {
         V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
@@ -20,6 +20,7 @@ package org.firebirdsql.gds.ng.wire.version10;
 
 import org.firebirdsql.common.FBTestProperties;
 import org.firebirdsql.gds.ng.*;
+import org.firebirdsql.gds.ng.ConnectionLock;
 import org.firebirdsql.gds.ng.wire.*;
 
 import java.sql.SQLException;
@@ -102,7 +103,7 @@ public class V10CommonConnectionInfo {
     public final AbstractWireOperations createDummyWireOperations(WarningMessageCallback warningMessageCallback)
             throws SQLException {
         return (AbstractWireOperations) getProtocolDescriptor().createWireOperations(getDummyDatabaseConnection(),
-                warningMessageCallback, new Object());
+                warningMessageCallback, new ConnectionLock());
     }
 
     public final Class<? extends FbWireDatabase> getExpectedDatabaseType() {
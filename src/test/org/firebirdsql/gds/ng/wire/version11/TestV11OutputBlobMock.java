@@ -0,0 +1,270 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version11;
+
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
+import org.firebirdsql.gds.impl.wire.XdrInputStream;
+import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.ConnectionLock;
+import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.TransactionState;
+import org.firebirdsql.gds.ng.WarningMessageCallback;
+import org.firebirdsql.gds.ng.listeners.DatabaseListener;
+import org.firebirdsql.gds.ng.listeners.TransactionListener;
+import org.firebirdsql.gds.ng.wire.*;
+import org.jmock.Expectations;
+import org.jmock.api.Action;
+import org.jmock.api.Invocation;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.jmock.lib.action.CustomAction;
+import org.hamcrest.Description;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the deferred <code>op_batch_segments</code> responses of {@link V11OutputBlob}, using a mocked database
+ * connection.
+ *
+ * @since 3.0
+ */
+public class TestV11OutputBlobMock {
+
+    private static final int BLOB_HANDLE = 3;
+    private static final int TRANSACTION_HANDLE = 5;
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    private final List<DeferredAction> deferredActions = new ArrayList<>();
+    private FbWireDatabase db;
+    private FbWireTransaction transaction;
+
+    @Before
+    public void setUp() throws Exception {
+        db = context.mock(FbWireDatabase.class);
+        transaction = context.mock(FbWireTransaction.class);
+        final ConnectionLock connectionLock = new ConnectionLock();
+        context.checking(new Expectations() {{
+            allowing(db).withLock();
+            will(new CustomAction("acquire connection lock") {
+                @Override
+                public Object invoke(Invocation invocation) throws Throwable {
+                    return connectionLock.lock();
+                }
+            });
+            allowing(db).isAttached();
+            will(returnValue(true));
+            allowing(db).addDatabaseListener(with(any(DatabaseListener.class)));
+            allowing(db).removeDatabaseListener(with(any(DatabaseListener.class)));
+            allowing(transaction).getState();
+            will(returnValue(TransactionState.ACTIVE));
+            allowing(transaction).getHandle();
+            will(returnValue(TRANSACTION_HANDLE));
+            allowing(transaction).addTransactionListener(with(any(TransactionListener.class)));
+            allowing(transaction).removeTransactionListener(with(any(TransactionListener.class)));
+            allowing(db).getXdrStreamAccess();
+            will(returnValue(new XdrStreamAccess() {
+                private final XdrOutputStream xdrOut = new XdrOutputStream(sent);
+
+                @Override
+                public XdrInputStream getXdrIn() {
+                    return new XdrInputStream(new ByteArrayInputStream(new byte[0]));
+                }
+
+                @Override
+                public XdrOutputStream getXdrOut() {
+                    return xdrOut;
+                }
+            }));
+            allowing(db).enqueueDeferredAction(with(any(DeferredAction.class)));
+            will(new EnqueueAction());
+            oneOf(db).readGenericResponse(with(aNull(WarningMessageCallback.class)));
+            will(returnValue(new GenericResponse(BLOB_HANDLE, 1L, null, null)));
+        }});
+    }
+
+    @Test
+    public void testPutDefersResponse() throws Exception {
+        final V11OutputBlob blob = createOpenBlob();
+
+        blob.put(new byte[] { 1, 2, 3, 4, 5 }, 1, 3);
+
+        assertEquals("Expected one deferred response", 1, deferredActions.size());
+        assertEquals("Expected op_batch_segments not to be flushed", 0, sent.size());
+    }
+
+    @Test
+    public void testPutSplitsIntoPackets() throws Exception {
+        final V11OutputBlob blob = createOpenBlob();
+        final int maxSegmentSize = blob.getMaximumSegmentSize();
+        final byte[] data = new byte[2 * maxSegmentSize + 10];
+        for (int idx = 0; idx < data.length; idx++) {
+            data[idx] = (byte) idx;
+        }
+
+        blob.put(data, 0, data.length);
+        db.getXdrStreamAccess().getXdrOut().flush();
+
+        assertEquals("Expected two op_batch_segments packets", 2, deferredActions.size());
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final DataOutputStream expectedOut = new DataOutputStream(expected);
+        // First packet: two segments of the maximum segment size, buffer length within 65535
+        final int firstBufferLength = 2 * (maxSegmentSize + 2);
+        assertTrue("Expected buffer length of at most 65535", firstBufferLength <= 0xFFFF);
+        expectedOut.writeInt(WireProtocolConstants.op_batch_segments);
+        expectedOut.writeInt(BLOB_HANDLE);
+        expectedOut.writeInt(firstBufferLength);
+        expectedOut.writeInt(firstBufferLength);
+        writeSegment(expectedOut, data, 0, maxSegmentSize);
+        writeSegment(expectedOut, data, maxSegmentSize, maxSegmentSize);
+        expectedOut.write(new byte[(4 - firstBufferLength) & 3]);
+        // Second packet: remaining 10 bytes
+        expectedOut.writeInt(WireProtocolConstants.op_batch_segments);
+        expectedOut.writeInt(BLOB_HANDLE);
+        expectedOut.writeInt(12);
+        expectedOut.writeInt(12);
+        writeSegment(expectedOut, data, 2 * maxSegmentSize, 10);
+        expectedOut.flush();
+        assertArrayEquals(expected.toByteArray(), sent.toByteArray());
+    }
+
+    private static void writeSegment(DataOutputStream out, byte[] data, int off, int len) throws IOException {
+        out.write(len & 0xff);
+        out.write((len >> 8) & 0xff);
+        out.write(data, off, len);
+    }
+
+    @Test
+    public void testCloseProcessesDeferredResponses() throws Exception {
+        final V11OutputBlob blob = createOpenBlob();
+        blob.put(new byte[] { 1, 2, 3 }, 0, 3);
+        context.checking(new Expectations() {{
+            oneOf(db).processDeferredActions();
+            will(new ProcessDeferredAction(new GenericResponse(0, 0, null, null)));
+            oneOf(db).releaseObject(WireProtocolConstants.op_close_blob, BLOB_HANDLE);
+        }});
+
+        blob.close();
+
+        assertFalse(blob.isOpen());
+        final DataInputStream request = new DataInputStream(new ByteArrayInputStream(sent.toByteArray()));
+        assertEquals(WireProtocolConstants.op_batch_segments, request.readInt());
+        assertEquals(BLOB_HANDLE, request.readInt());
+        assertEquals("buffer length", 5, request.readInt());
+        assertEquals("buffer length", 5, request.readInt());
+        assertEquals("segment length (little endian)", 3, request.readUnsignedByte());
+        assertEquals(0, request.readUnsignedByte());
+    }
+
+    @Test
+    public void testCloseWithDeferredErrorCancelsBlob() throws Exception {
+        final V11OutputBlob blob = createOpenBlob();
+        blob.put(new byte[] { 1, 2, 3 }, 0, 3);
+        final SQLException serverException =
+                new FbExceptionBuilder().exception(ISCConstants.isc_segstr_no_write).toSQLException();
+        context.checking(new Expectations() {{
+            oneOf(db).processDeferredActions();
+            will(new ProcessDeferredAction(new GenericResponse(0, 0, null, serverException)));
+            oneOf(db).releaseObject(WireProtocolConstants.op_cancel_blob, BLOB_HANDLE);
+            never(db).releaseObject(WireProtocolConstants.op_close_blob, BLOB_HANDLE);
+        }});
+
+        try {
+            blob.close();
+            fail("Expected close to throw the deferred exception");
+        } catch (SQLException e) {
+            assertSame(serverException, e);
+        }
+        assertFalse(blob.isOpen());
+    }
+
+    @Test
+    public void testUnprocessedDeferredResponsesOnClose() throws Exception {
+        final V11OutputBlob blob = createOpenBlob();
+        blob.put(new byte[] { 1, 2, 3 }, 0, 3);
+        context.checking(new Expectations() {{
+            // Simulates failure reading the response: deferred action is not called
+            oneOf(db).processDeferredActions();
+            oneOf(db).releaseObject(WireProtocolConstants.op_cancel_blob, BLOB_HANDLE);
+        }});
+
+        try {
+            blob.close();
+            fail("Expected close to throw an exception");
+        } catch (SQLException e) {
+            assertEquals(ISCConstants.isc_net_read_err, e.getErrorCode());
+        }
+    }
+
+    private V11OutputBlob createOpenBlob() throws SQLException {
+        final V11OutputBlob blob = new V11OutputBlob(db, transaction, null);
+        blob.open();
+        sent.reset();
+        return blob;
+    }
+
+    private class EnqueueAction implements Action {
+        @Override
+        public Object invoke(Invocation invocation) throws Throwable {
+            deferredActions.add((DeferredAction) invocation.getParameter(0));
+            return null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("enqueues deferred action");
+        }
+    }
+
+    private class ProcessDeferredAction implements Action {
+        private final Response response;
+
+        private ProcessDeferredAction(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public Object invoke(Invocation invocation) throws Throwable {
+            for (DeferredAction deferredAction : deferredActions) {
+                deferredAction.processResponse(response);
+            }
+            deferredActions.clear();
+            return null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("processes deferred actions with ").appendValue(response);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowDescriptorBuilder;
+import org.firebirdsql.gds.ng.wire.DefaultBlrCalculator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AdaptiveFetchSize}.
+ *
+ * @since 3.0
+ */
+public class TestAdaptiveFetchSize {
+
+    private static final long MS = 1000000L;
+
+    @Test
+    public void testEstimateRowSize() throws Exception {
+        RowDescriptor rowDescriptor = new RowDescriptorBuilder(3, DefaultDatatypeCoder.getDefaultInstance())
+                .setType(ISCConstants.SQL_LONG).setLength(4).addField()
+                .setType(ISCConstants.SQL_VARYING).setLength(10).addField()
+                .setType(ISCConstants.SQL_TEXT).setLength(5).addField()
+                .toRowDescriptor();
+
+        // 4 + 4, 4 + 12 + 4, 8 + 4
+        assertEquals(40, AdaptiveFetchSize.estimateRowSize(rowDescriptor, DefaultBlrCalculator.CALCULATOR_DIALECT_3));
+    }
+
+    @Test
+    public void testNarrowRowsStartWithLargerBatch() throws Exception {
+        AdaptiveFetchSize narrow = new AdaptiveFetchSize(varcharRow(10), 16 * 1024 * 1024);
+        AdaptiveFetchSize wide = new AdaptiveFetchSize(varcharRow(8000), 16 * 1024 * 1024);
+
+        assertTrue("Expected larger batch for narrow rows", narrow.getFetchSize() > wide.getFetchSize());
+        assertEquals(AdaptiveFetchSize.MIN_FETCH_SIZE, wide.getFetchSize());
+    }
+
+    @Test
+    public void testMemoryLimit() throws Exception {
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(varcharRow(8000), 64 * 1024);
+
+        assertEquals("Expected memory limit to cap fetch size", 8, fetchSize.getMaxFetchSize());
+        assertEquals(8, fetchSize.getFetchSize());
+        fetchSize.recordFetch(8, 8, 10 * MS);
+        assertEquals(8, fetchSize.getFetchSize());
+    }
+
+    @Test
+    public void testGrowsWhenLatencyBound() throws Exception {
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(varcharRow(100), 16 * 1024 * 1024);
+        int initial = fetchSize.getFetchSize();
+
+        fetchSize.recordFetch(initial, initial, 50 * MS);
+        assertEquals("Expected fetch size to double", 2 * initial, fetchSize.getFetchSize());
+        fetchSize.recordFetch(2 * initial, 2 * initial, 50 * MS);
+        assertEquals("Expected fetch size to double", 4 * initial, fetchSize.getFetchSize());
+    }
+
+    @Test
+    public void testShrinksWhenTransferBound() throws Exception {
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(varcharRow(100), 16 * 1024 * 1024);
+        int initial = fetchSize.getFetchSize();
+
+        fetchSize.recordFetch(initial, initial, 10 * MS);
+        int grown = fetchSize.getFetchSize();
+        // Transfer time dominates: 10 ms round trip, 200 ms transfer; target is 90 ms transfer
+        fetchSize.recordFetch(grown, grown, 210 * MS);
+
+        assertTrue("Expected fetch size to shrink", fetchSize.getFetchSize() < grown);
+        assertTrue("Expected shrink by at most half", fetchSize.getFetchSize() >= grown / 2);
+    }
+
+    @Test
+    public void testLastBatchDoesNotChangeFetchSize() throws Exception {
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(varcharRow(100), 16 * 1024 * 1024);
+        int initial = fetchSize.getFetchSize();
+
+        fetchSize.recordFetch(initial, 3, 50 * MS);
+
+        assertEquals(initial, fetchSize.getFetchSize());
+    }
+
+    private static RowDescriptor varcharRow(int length) {
+        return new RowDescriptorBuilder(1, DefaultDatatypeCoder.getDefaultInstance())
+                .setType(ISCConstants.SQL_VARYING).setLength(length).addField()
+                .toRowDescriptor();
+    }
+}
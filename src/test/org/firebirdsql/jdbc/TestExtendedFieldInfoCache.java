@@ -0,0 +1,82 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.jdbc.AbstractFieldMetaData.ExtendedFieldInfo;
+import org.firebirdsql.jdbc.AbstractFieldMetaData.FieldKey;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ExtendedFieldInfoCache}.
+ *
+ * @since 3.0
+ */
+public class TestExtendedFieldInfoCache {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeZeroNotAllowed() {
+        new ExtendedFieldInfoCache(0);
+    }
+
+    @Test
+    public void testGet_countsHitsAndMisses() {
+        ExtendedFieldInfoCache cache = new ExtendedFieldInfoCache(10);
+        FieldKey key = new FieldKey("TABLE1", "COLUMN1");
+
+        assertNull(cache.get(key));
+        ExtendedFieldInfo info = new ExtendedFieldInfo();
+        cache.put(key, info);
+        assertSame(info, cache.get(new FieldKey("TABLE1", "COLUMN1")));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        ExtendedFieldInfoCache cache = new ExtendedFieldInfoCache(2);
+        FieldKey key1 = new FieldKey("TABLE1", "COLUMN1");
+        FieldKey key2 = new FieldKey("TABLE1", "COLUMN2");
+        FieldKey key3 = new FieldKey("TABLE1", "COLUMN3");
+        cache.put(key1, new ExtendedFieldInfo());
+        cache.put(key2, new ExtendedFieldInfo());
+        cache.get(key1);
+
+        cache.put(key3, new ExtendedFieldInfo());
+
+        assertEquals(2, cache.size());
+        assertNotNull("Expected recently used field to be retained", cache.get(key1));
+        assertNull("Expected least recently used field to be evicted", cache.get(key2));
+        assertNotNull(cache.get(key3));
+    }
+
+    @Test
+    public void testClear() {
+        ExtendedFieldInfoCache cache = new ExtendedFieldInfoCache(10);
+        FieldKey key = new FieldKey("TABLE1", "COLUMN1");
+        cache.put(key, new ExtendedFieldInfo());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(key));
+    }
+}
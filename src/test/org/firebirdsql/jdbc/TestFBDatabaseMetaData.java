@@ -29,10 +29,13 @@ import org.junit.Test;
 import java.sql.*;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
 
 import static org.firebirdsql.common.FBTestProperties.getConnectionViaDriverManager;
+import static org.firebirdsql.common.FBTestProperties.getDefaultPropertiesForConnection;
 import static org.firebirdsql.common.FBTestProperties.getProperty;
+import static org.firebirdsql.common.FBTestProperties.getUrl;
 import static org.firebirdsql.common.JdbcResourceHelper.closeQuietly;
 import static org.firebirdsql.util.FirebirdSupportInfo.supportInfoFor;
 import static org.junit.Assert.*;
@@ -838,4 +841,30 @@ public class TestFBDatabaseMetaData extends FBJUnit4TestBase {
         String expectedVersion = String.format("%d.%d", dmd.getDriverMajorVersion(), dmd.getDriverMinorVersion());
         assertEquals(expectedVersion, dmd.getDriverVersion());
     }
+
+    @Test
+    public void testMetaDataResultCache() throws Exception {
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("metaDataCacheTimeToLive", "60000");
+        Connection cachingConnection = DriverManager.getConnection(getUrl(), props);
+        try {
+            FirebirdDatabaseMetaData metaData = (FirebirdDatabaseMetaData) cachingConnection.getMetaData();
+            metaData.clearMetaDataCache();
+            MetaDataResultCache cache = cachingConnection.unwrap(FBConnection.class).getMetaDataResultCache();
+            assertNotNull("Expected metadata result cache", cache);
+
+            assertFalse(metaData.getTables(null, null, "TEST_MD_CACHE", null).next());
+            long hitCount = cache.getHitCount();
+            assertFalse(metaData.getTables(null, null, "TEST_MD_CACHE", null).next());
+            assertEquals("Expected cached result", hitCount + 1, cache.getHitCount());
+
+            DdlHelper.executeCreateTable(cachingConnection, "CREATE TABLE test_md_cache (id INTEGER)");
+
+            ResultSet tables = metaData.getTables(null, null, "TEST_MD_CACHE", null);
+            assertTrue("Expected cache to be cleared by DDL", tables.next());
+            assertEquals("TEST_MD_CACHE", tables.getString("TABLE_NAME"));
+        } finally {
+            closeQuietly(cachingConnection);
+        }
+    }
 }
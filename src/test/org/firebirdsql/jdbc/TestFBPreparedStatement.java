@@ -396,6 +396,76 @@ public class TestFBPreparedStatement extends FBJUnit4TestBase {
         }
     }
 
+    /**
+     * Test if a pipelined batch execution reports the update counts of all rows.
+     */
+    @Test
+    public void testPipelinedBatch() throws Exception {
+        executeCreateTable(con, CREATE_TABLE);
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("pipelinedBatch", "true");
+
+        try (Connection connection = DriverManager.getConnection(getUrl(), props)) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_DATA)) {
+                for (int i = 0; i < 1500; i++) {
+                    ps.setInt(1, i);
+                    ps.addBatch();
+                }
+                int[] updateCounts = ps.executeBatch();
+
+                assertEquals("Expected update count for each row", 1500, updateCounts.length);
+                for (int updateCount : updateCounts) {
+                    assertEquals(1, updateCount);
+                }
+            }
+            connection.commit();
+
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM test")) {
+                assertTrue(rs.next());
+                assertEquals(1500, rs.getInt(1));
+            }
+        }
+    }
+
+    /**
+     * Test if a failing pipelined batch execution reports the same failure as a sequential execution, and does not
+     * apply rows after the failing row.
+     */
+    @Test
+    public void testPipelinedBatch_failure() throws Exception {
+        executeCreateTable(con, "CREATE TABLE test ( col1 INTEGER PRIMARY KEY )");
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("pipelinedBatch", "true");
+
+        try (Connection connection = DriverManager.getConnection(getUrl(), props)) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_DATA)) {
+                for (int value : new int[] { 1, 2, 1, 3 }) {
+                    ps.setInt(1, value);
+                    ps.addBatch();
+                }
+                try {
+                    ps.executeBatch();
+                    fail("Expected BatchUpdateException");
+                } catch (BatchUpdateException e) {
+                    assertArrayEquals(new int[] { 1, 1 }, e.getUpdateCounts());
+                }
+            }
+            connection.commit();
+
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(SELECT_DATA)) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+                assertFalse("Rows after the failing row should not be applied", rs.next());
+            }
+        }
+    }
+
     @Test
     public void testTimestampWithCalendar() throws Exception {
         executeCreateTable(con, CREATE_TEST_BLOB_TABLE);
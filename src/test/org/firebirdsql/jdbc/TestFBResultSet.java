@@ -744,6 +744,232 @@ public class TestFBResultSet extends FBJUnit4TestBase {
         }
     }
 
+    @Test
+    public void testScrollableResultSet_spilled() throws Exception {
+        executeCreateTable(connection, CREATE_TABLE_STATEMENT);
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("resultSetSpillThreshold", "5");
+        Connection spillConnection = DriverManager.getConnection(getUrl(), props);
+        try {
+            spillConnection.setAutoCommit(false);
+            final int recordCount = 50;
+            PreparedStatement ps = spillConnection.prepareStatement(
+                    "INSERT INTO test_table(id, str, blob_str) VALUES (?, ?, ?)");
+            try {
+                for (int i = 0; i < recordCount; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, i % 2 == 0 ? null : "str" + i);
+                    ps.setString(3, "blob" + i);
+                    ps.executeUpdate();
+                }
+            } finally {
+                ps.close();
+            }
+
+            Statement stmt = spillConnection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE,
+                    ResultSet.CONCUR_READ_ONLY);
+            try {
+                ResultSet rs = stmt.executeQuery("SELECT id, str, blob_str FROM test_table ORDER BY id");
+                assertTrue("Expected last row", rs.last());
+                assertEquals(recordCount, rs.getRow());
+                for (int i = recordCount - 1; i >= 0; i--) {
+                    assertEquals(i, rs.getInt(1));
+                    assertEquals(i % 2 == 0 ? null : "str" + i, rs.getString(2));
+                    assertEquals("blob" + i, rs.getString(3));
+                    rs.previous();
+                }
+                assertTrue("Expected absolute positioning", rs.absolute(25));
+                assertEquals(24, rs.getInt(1));
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            spillConnection.close();
+        }
+    }
+
+    @Test
+    public void testInlineBlobs() throws Exception {
+        executeCreateTable(connection, CREATE_TABLE_STATEMENT);
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("inlineBlobThreshold", "100");
+        Connection inlineConnection = DriverManager.getConnection(getUrl(), props);
+        try {
+            inlineConnection.setAutoCommit(false);
+            final int recordCount = 20;
+            final StringBuilder longValue = new StringBuilder();
+            while (longValue.length() <= 1000) {
+                longValue.append("long blob value ");
+            }
+            PreparedStatement ps = inlineConnection.prepareStatement(
+                    "INSERT INTO test_table(id, blob_str) VALUES (?, ?)");
+            try {
+                for (int i = 0; i < recordCount; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, i % 3 == 0 ? null : (i % 3 == 1 ? "blob" + i : longValue + String.valueOf(i)));
+                    ps.executeUpdate();
+                }
+            } finally {
+                ps.close();
+            }
+
+            Statement stmt = inlineConnection.createStatement();
+            try {
+                stmt.setFetchSize(7);
+                ResultSet rs = stmt.executeQuery("SELECT id, blob_str FROM test_table ORDER BY id");
+                for (int i = 0; i < recordCount; i++) {
+                    assertTrue("Expected row " + i, rs.next());
+                    assertEquals(i, rs.getInt(1));
+                    final String expected = i % 3 == 0 ? null : (i % 3 == 1 ? "blob" + i : longValue + String.valueOf(i));
+                    assertEquals(expected, rs.getString(2));
+                    final Clob clob = rs.getClob(2);
+                    if (expected == null) {
+                        assertNull(clob);
+                    } else {
+                        assertEquals(expected, clob.getSubString(1, (int) clob.length()));
+                    }
+                }
+                assertFalse("Expected no more rows", rs.next());
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            inlineConnection.close();
+        }
+    }
+
+    @Test
+    public void testUpdatableResultSet_batched() throws Exception {
+        executeCreateTable(connection, CREATE_TABLE_STATEMENT);
+
+        connection.setAutoCommit(false);
+
+        final int recordCount = 10;
+        PreparedStatement ps = connection.prepareStatement("INSERT INTO test_table(id, long_str) VALUES (?, ?)");
+        try {
+            for (int i = 0; i < recordCount; i++) {
+                ps.setInt(1, i);
+                ps.setString(2, "oldString" + i);
+                ps.executeUpdate();
+            }
+        } finally {
+            ps.close();
+        }
+
+        Statement stmt = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+        try {
+            FirebirdResultSet rs = (FirebirdResultSet) stmt.executeQuery(
+                    "SELECT id, long_str, str FROM test_table ORDER BY id");
+            rs.setRowUpdateBatchSize(4);
+            assertEquals(4, rs.getRowUpdateBatchSize());
+
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                if (id == recordCount - 1) {
+                    rs.deleteRow();
+                } else {
+                    rs.updateString(2, "newString" + id);
+                    rs.updateRow();
+                }
+            }
+            rs.moveToInsertRow();
+            rs.updateInt(1, recordCount);
+            rs.updateString(2, "newString" + recordCount);
+            rs.insertRow();
+            rs.moveToCurrentRow();
+
+            rs.flushRowUpdates();
+            connection.commit();
+
+            ResultSet rs2 = stmt.executeQuery("SELECT id, long_str FROM test_table ORDER BY id");
+            int count = 0;
+            while (rs2.next()) {
+                int id = rs2.getInt(1);
+                assertTrue("Unexpected id " + id, id != recordCount - 1);
+                assertEquals("newString" + id, rs2.getString(2));
+                count++;
+            }
+            assertEquals(recordCount, count);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testUpdatableResultSet_batchedCommitSendsQueuedChanges() throws Exception {
+        executeCreateTable(connection, CREATE_TABLE_STATEMENT);
+        insertBatchTestRows(4);
+
+        Statement stmt = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+        try {
+            FirebirdResultSet rs = (FirebirdResultSet) stmt.executeQuery(
+                    "SELECT id, long_str, str FROM test_table ORDER BY id");
+            rs.setRowUpdateBatchSize(10);
+            while (rs.next()) {
+                rs.updateString(2, "newString" + rs.getInt(1));
+                rs.updateRow();
+            }
+
+            connection.commit();
+
+            assertBatchTestRows(stmt, 4, "newString");
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testUpdatableResultSet_batchedRollbackDiscardsQueuedChanges() throws Exception {
+        executeCreateTable(connection, CREATE_TABLE_STATEMENT);
+        insertBatchTestRows(4);
+
+        Statement stmt = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+        try {
+            FirebirdResultSet rs = (FirebirdResultSet) stmt.executeQuery(
+                    "SELECT id, long_str, str FROM test_table ORDER BY id");
+            rs.setRowUpdateBatchSize(10);
+            while (rs.next()) {
+                rs.updateString(2, "newString" + rs.getInt(1));
+                rs.updateRow();
+            }
+
+            connection.rollback();
+            rs.close();
+            connection.commit();
+
+            assertBatchTestRows(stmt, 4, "oldString");
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private void insertBatchTestRows(int recordCount) throws SQLException {
+        connection.setAutoCommit(false);
+        PreparedStatement ps = connection.prepareStatement("INSERT INTO test_table(id, long_str) VALUES (?, ?)");
+        try {
+            for (int i = 0; i < recordCount; i++) {
+                ps.setInt(1, i);
+                ps.setString(2, "oldString" + i);
+                ps.executeUpdate();
+            }
+        } finally {
+            ps.close();
+        }
+        connection.commit();
+    }
+
+    private static void assertBatchTestRows(Statement stmt, int recordCount, String prefix) throws SQLException {
+        ResultSet rs = stmt.executeQuery("SELECT id, long_str FROM test_table ORDER BY id");
+        int count = 0;
+        while (rs.next()) {
+            assertEquals(prefix + rs.getInt(1), rs.getString(2));
+            count++;
+        }
+        assertEquals(recordCount, count);
+    }
+
     @Test
     public void testUpdatableResultSetNoPK() throws Exception {
         executeCreateTable(connection, CREATE_TABLE_STATEMENT2);
@@ -324,4 +324,26 @@ public class TestFBResultSetMetaData extends FBJUnit4TestBase {
             closeQuietly(con);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void extendedFieldInfoCachedPerConnection() throws Exception {
+        Connection con = getConnectionViaDriverManager();
+        try {
+            FBConnection fbConnection = con.unwrap(FBConnection.class);
+            Statement stmt = con.createStatement();
+            ResultSet rs = stmt.executeQuery(TEST_QUERY);
+            assertEquals(60, rs.getMetaData().getPrecision(1));
+            rs.close();
+            long missCount = fbConnection.getExtendedFieldInfoCacheMissCount();
+            long hitCount = fbConnection.getExtendedFieldInfoCacheHitCount();
+
+            rs = stmt.executeQuery(TEST_QUERY);
+            assertEquals(15, rs.getMetaData().getPrecision(4));
+
+            assertEquals("Unexpected cache misses", missCount, fbConnection.getExtendedFieldInfoCacheMissCount());
+            assertTrue("Expected cache hits", fbConnection.getExtendedFieldInfoCacheHitCount() > hitCount);
+        } finally {
+            closeQuietly(con);
+        }
+    }
+}
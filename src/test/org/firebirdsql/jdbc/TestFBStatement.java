@@ -22,6 +22,7 @@ package org.firebirdsql.jdbc;
 
 import java.sql.*;
 import java.util.Arrays;
+import java.util.Properties;
 
 import org.firebirdsql.common.FBJUnit4TestBase;
 import org.junit.After;
@@ -31,7 +32,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import static org.firebirdsql.common.DdlHelper.*;
-import static org.firebirdsql.common.FBTestProperties.getConnectionViaDriverManager;
+import static org.firebirdsql.common.FBTestProperties.*;
 import static org.firebirdsql.common.JdbcResourceHelper.*;
 import static org.firebirdsql.common.matchers.SQLExceptionMatchers.*;
 import static org.firebirdsql.util.FirebirdSupportInfo.supportInfoFor;
@@ -608,6 +609,81 @@ public class TestFBStatement extends FBJUnit4TestBase {
         }
     }
 
+    /**
+     * Test the pipelined batch update facility with insert statements, interrupted by a non-pipelined statement.
+     */
+    @Test
+    public void testPipelinedBatch_Insert() throws SQLException {
+        executeCreateTable(con, CREATE_TABLE);
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("pipelinedBatch", "true");
+
+        try (Connection connection = DriverManager.getConnection(getUrl(), props);
+             Statement stmt = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            for (int item = 1; item <= DATA_ITEMS; item++) {
+                stmt.addBatch(String.format("INSERT INTO test(col1) VALUES(%d)", item));
+                if (item == 2) {
+                    stmt.addBatch("EXECUTE BLOCK AS BEGIN END");
+                }
+            }
+            int[] updateCounts = stmt.executeBatch();
+
+            assertArrayEquals(new int[] { 1, 1, 0, 1, 1, 1 }, updateCounts);
+            assertEquals(1, stmt.getUpdateCount());
+        }
+    }
+
+    /**
+     * Test if a failing pipelined batch reports the same failure as a sequential execution, and does not apply
+     * statements after the failing statement.
+     */
+    @Test
+    public void testPipelinedBatch_failure() throws SQLException {
+        executeCreateTable(con, CREATE_TABLE);
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("pipelinedBatch", "true");
+
+        try (Connection connection = DriverManager.getConnection(getUrl(), props);
+             Statement stmt = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            stmt.addBatch("INSERT INTO test(col1) VALUES(1)");
+            stmt.addBatch("INSERT INTO test(col1) VALUES(2)");
+            stmt.addBatch("INSERT INTO non_existent_table(col1) VALUES(3)");
+            stmt.addBatch("INSERT INTO test(col1) VALUES(4)");
+            try {
+                stmt.executeBatch();
+                fail("Expected BatchUpdateException");
+            } catch (BatchUpdateException e) {
+                assertArrayEquals(new int[] { 1, 1 }, e.getUpdateCounts());
+            }
+
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM test")) {
+                assertTrue(rs.next());
+                assertEquals("Statements after the failing statement should not be applied", 2, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testIsPipelinedBatchStatement() {
+        assertTrue(FBStatement.isPipelinedBatchStatement("INSERT INTO test(col1) VALUES(1)"));
+        assertTrue(FBStatement.isPipelinedBatchStatement("  update test set col1 = 1"));
+        assertTrue(FBStatement.isPipelinedBatchStatement("DELETE\nFROM test"));
+        assertTrue(FBStatement.isPipelinedBatchStatement("MERGE INTO test USING rdb$database ON 1 = 0 "
+                + "WHEN NOT MATCHED THEN INSERT (col1) VALUES (1)"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("CREATE TABLE test2 (col1 INTEGER)"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("ALTER TABLE test ADD col2 INTEGER"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("DROP TABLE test2"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("RECREATE TABLE test2 (col1 INTEGER)"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("SELECT col1 FROM test"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("COMMIT"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("SET TRANSACTION"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("{call proc}"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("/* comment */ INSERT INTO test(col1) VALUES(1)"));
+        assertFalse(FBStatement.isPipelinedBatchStatement("INSERT"));
+    }
+
     /**
      * Tests if the default value of {@link FBStatement#getFetchSize()} is <code>0</code>.
      */
@@ -0,0 +1,182 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.FbConnectionProperties;
+import org.firebirdsql.gds.ng.FbDatabase;
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.gds.ng.listeners.StatementListener;
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.api.Action;
+import org.jmock.api.Invocation;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.hamcrest.Description;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for prefetching of rows by {@link FBStatementFetcher}.
+ *
+ * @since 3.0
+ */
+public class TestFBStatementFetcherPrefetch {
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private FbStatement statement;
+    private FBObjectListener.FetcherListener fetcherListener;
+    private StatementListener statementListener;
+
+    @Before
+    public void setUp() throws Exception {
+        statement = context.mock(FbStatement.class);
+        fetcherListener = context.mock(FBObjectListener.FetcherListener.class);
+        context.checking(new Expectations() {{
+            allowing(fetcherListener).rowChanged(with(any(FBFetcher.class)), with(any(RowValue.class)));
+            allowing(fetcherListener).allRowsFetched(with(any(FBFetcher.class)));
+            oneOf(statement).addStatementListener(with(any(StatementListener.class)));
+            will(new CaptureListenerAction());
+        }});
+    }
+
+    @Test
+    public void testPrefetchAtWatermark() throws Exception {
+        final Sequence fetchSequence = context.sequence("fetch");
+        context.checking(new Expectations() {{
+            oneOf(statement).fetchRows(4);
+            inSequence(fetchSequence);
+            will(new DeliverRowsAction(4, false));
+            oneOf(statement).prefetchRows(4);
+            inSequence(fetchSequence);
+            oneOf(statement).fetchRows(4);
+            inSequence(fetchSequence);
+            will(new DeliverRowsAction(2, true));
+        }});
+        FBStatementFetcher fetcher = createFetcher(50, 0, 4);
+
+        int count = 0;
+        while (fetcher.next()) {
+            count++;
+        }
+
+        assertEquals("Unexpected number of rows", 6, count);
+    }
+
+    @Test
+    public void testNoPrefetchWhenDisabled() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(statement).fetchRows(4);
+            will(new DeliverRowsAction(4, false));
+            oneOf(statement).fetchRows(4);
+            will(new DeliverRowsAction(1, true));
+            never(statement).prefetchRows(with(any(Integer.class)));
+        }});
+        FBStatementFetcher fetcher = createFetcher(0, 0, 4);
+
+        int count = 0;
+        while (fetcher.next()) {
+            count++;
+        }
+
+        assertEquals("Unexpected number of rows", 5, count);
+    }
+
+    @Test
+    public void testNoPrefetchBeyondMaxRows() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(statement).fetchRows(4);
+            will(new DeliverRowsAction(4, false));
+            // existing behaviour: fetcher reads ahead one row beyond maxRows
+            allowing(statement).fetchRows(1);
+            will(new DeliverRowsAction(1, false));
+            never(statement).prefetchRows(with(any(Integer.class)));
+        }});
+        FBStatementFetcher fetcher = createFetcher(50, 4, 4);
+
+        int count = 0;
+        while (fetcher.next()) {
+            count++;
+        }
+
+        assertEquals("Unexpected number of rows", 4, count);
+    }
+
+    private FBStatementFetcher createFetcher(int prefetchWatermark, int maxRows, int fetchSize) throws Exception {
+        final FbConnectionProperties connectionProperties = new FbConnectionProperties();
+        connectionProperties.setPrefetchWatermark(prefetchWatermark);
+        final FbDatabase database = context.mock(FbDatabase.class);
+        context.checking(new Expectations() {{
+            allowing(database).getConnectionProperties();
+            will(returnValue(connectionProperties));
+        }});
+        final Object syncObject = new Object();
+        return new FBStatementFetcher(new GDSHelper(null, database), new Synchronizable() {
+            @Override
+            public Object getSynchronizationObject() {
+                return syncObject;
+            }
+        }, statement, fetcherListener, maxRows, fetchSize);
+    }
+
+    private class CaptureListenerAction implements Action {
+        @Override
+        public Object invoke(Invocation invocation) {
+            statementListener = (StatementListener) invocation.getParameter(0);
+            return null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("captures statement listener");
+        }
+    }
+
+    private class DeliverRowsAction implements Action {
+        private final int rowCount;
+        private final boolean allRowsFetched;
+
+        DeliverRowsAction(int rowCount, boolean allRowsFetched) {
+            this.rowCount = rowCount;
+            this.allRowsFetched = allRowsFetched;
+        }
+
+        @Override
+        public Object invoke(Invocation invocation) {
+            for (int i = 0; i < rowCount; i++) {
+                statementListener.receivedRow(statement, RowValue.EMPTY_ROW_VALUE);
+            }
+            if (allRowsFetched) {
+                statementListener.allRowsFetched(statement);
+            }
+            return null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("delivers ").appendValue(rowCount).appendText(" rows");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.DatatypeCoder;
+import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.firebirdsql.gds.ng.FbConnectionProperties;
+import org.firebirdsql.gds.ng.FbDatabase;
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.fields.FieldValue;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowDescriptorBuilder;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.jmock.Expectations;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link InlineBlobLoader}.
+ *
+ * @since 3.0
+ */
+public class TestInlineBlobLoader {
+
+    private static final DatatypeCoder datatypeCoder = DefaultDatatypeCoder.getDefaultInstance();
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private final FbConnectionProperties connectionProperties = new FbConnectionProperties();
+    private FbDatabase database;
+    private FbStatement statement;
+    private FbTransaction transaction;
+    private GDSHelper gdsHelper;
+
+    @Before
+    public void setUp() {
+        database = context.mock(FbDatabase.class);
+        statement = context.mock(FbStatement.class);
+        transaction = context.mock(FbTransaction.class);
+        context.checking(new Expectations() {{
+            allowing(database).getConnectionProperties();
+            will(returnValue(connectionProperties));
+        }});
+        gdsHelper = new GDSHelper(null, database);
+        gdsHelper.setCurrentTransaction(transaction);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        context.checking(new Expectations() {{
+            never(statement).getFieldDescriptor();
+        }});
+
+        assertNull(InlineBlobLoader.create(gdsHelper, statement));
+    }
+
+    @Test
+    public void testNoBlobColumns() {
+        connectionProperties.setInlineBlobThreshold(100);
+        final RowDescriptor rowDescriptor = new RowDescriptorBuilder(1, datatypeCoder)
+                .setType(ISCConstants.SQL_LONG).setLength(4).addField()
+                .toRowDescriptor();
+        context.checking(new Expectations() {{
+            allowing(statement).getFieldDescriptor();
+            will(returnValue(rowDescriptor));
+        }});
+
+        assertNull(InlineBlobLoader.create(gdsHelper, statement));
+    }
+
+    @Test
+    public void testLoadInlineBlobs() throws Exception {
+        final InlineBlobLoader loader = createLoader(100);
+        final List<RowValue> rows = Arrays.asList(row(1, 11), row(2, 12), row(3, null));
+        final byte[] content = { 1, 2, 3 };
+        context.checking(new Expectations() {{
+            oneOf(database).getBlobContents(transaction, new long[] { 11, 12 }, 100);
+            will(returnValue(new byte[][] { content, null }));
+        }});
+
+        loader.loadInlineBlobs(rows);
+
+        final FBCachedBlob inlineBlob = InlineBlobLoader.getInlineBlob(rows.get(0).getFieldValue(1));
+        assertNotNull("Expected inline blob for first row", inlineBlob);
+        assertArrayEquals(content, inlineBlob.getBytes(1, (int) inlineBlob.length()));
+        assertNull("Expected no inline blob for second row", InlineBlobLoader.getInlineBlob(rows.get(1).getFieldValue(1)));
+        assertNull("Expected no inline blob for null blob", InlineBlobLoader.getInlineBlob(rows.get(2).getFieldValue(1)));
+    }
+
+    @Test
+    public void testNoRequestWithoutBlobIds() throws Exception {
+        final InlineBlobLoader loader = createLoader(100);
+        context.checking(new Expectations() {{
+            never(database).getBlobContents(with(any(FbTransaction.class)), with(any(long[].class)),
+                    with(any(Integer.class)));
+        }});
+
+        loader.loadInlineBlobs(Arrays.asList(row(1, null), null));
+    }
+
+    @Test
+    public void testInlineBlobInvalidatedByNewBlobId() throws Exception {
+        final InlineBlobLoader loader = createLoader(100);
+        final RowValue row = row(1, 11);
+        context.checking(new Expectations() {{
+            oneOf(database).getBlobContents(transaction, new long[] { 11 }, 100);
+            will(returnValue(new byte[][] { { 1 } }));
+        }});
+        loader.loadInlineBlobs(Arrays.asList(row));
+        assertNotNull(InlineBlobLoader.getInlineBlob(row.getFieldValue(1)));
+
+        row.getFieldValue(1).setFieldData(datatypeCoder.encodeLong(13));
+
+        assertNull("Expected inline blob to be invalid after replacing blob id",
+                InlineBlobLoader.getInlineBlob(row.getFieldValue(1)));
+    }
+
+    private InlineBlobLoader createLoader(int threshold) {
+        connectionProperties.setInlineBlobThreshold(threshold);
+        final RowDescriptor rowDescriptor = new RowDescriptorBuilder(2, datatypeCoder)
+                .setType(ISCConstants.SQL_LONG).setLength(4).addField()
+                .setType(ISCConstants.SQL_BLOB).setSubType(0).setLength(8).addField()
+                .toRowDescriptor();
+        context.checking(new Expectations() {{
+            allowing(statement).getFieldDescriptor();
+            will(returnValue(rowDescriptor));
+        }});
+        final InlineBlobLoader loader = InlineBlobLoader.create(gdsHelper, statement);
+        assertNotNull("Expected inline blob loader", loader);
+        return loader;
+    }
+
+    private static RowValue row(int id, Integer blobId) {
+        return RowValue.of(new FieldValue(datatypeCoder.encodeInt(id)),
+                new FieldValue(blobId != null ? datatypeCoder.encodeLong(blobId) : null));
+    }
+}
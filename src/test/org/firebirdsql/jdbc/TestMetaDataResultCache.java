@@ -0,0 +1,109 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MetaDataResultCache}.
+ *
+ * @since 3.0
+ */
+public class TestMetaDataResultCache {
+
+    private static final String SQL = "SELECT RDB$RELATION_NAME FROM RDB$RELATIONS WHERE RDB$RELATION_NAME = ?";
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeZeroNotAllowed() {
+        new MetaDataResultCache(0, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimeToLiveZeroNotAllowed() {
+        new MetaDataResultCache(10, 0);
+    }
+
+    @Test
+    public void testGet_countsHitsAndMisses() {
+        MetaDataResultCache cache = new MetaDataResultCache(10, 60000);
+
+        assertNull(cache.get(key("SYSDBA", "TABLE1")));
+        MetaDataResultCache.CachedResult result =
+                cache.put(key("SYSDBA", "TABLE1"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+
+        assertSame(result, cache.get(key("SYSDBA", "TABLE1")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGet_keyIncludesUserAndParameters() {
+        MetaDataResultCache cache = new MetaDataResultCache(10, 60000);
+        cache.put(key("SYSDBA", "TABLE1"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+
+        assertNull("Expected no result for other user", cache.get(key("OTHER", "TABLE1")));
+        assertNull("Expected no result for null user", cache.get(key(null, "TABLE1")));
+        assertNull("Expected no result for other parameter", cache.get(key("SYSDBA", "TABLE2")));
+    }
+
+    @Test
+    public void testGet_expiredResultRemoved() throws Exception {
+        MetaDataResultCache cache = new MetaDataResultCache(10, 1);
+        cache.put(key("SYSDBA", "TABLE1"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+        Thread.sleep(10);
+
+        assertNull(cache.get(key("SYSDBA", "TABLE1")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        MetaDataResultCache cache = new MetaDataResultCache(2, 60000);
+        cache.put(key("SYSDBA", "TABLE1"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+        cache.put(key("SYSDBA", "TABLE2"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+        cache.get(key("SYSDBA", "TABLE1"));
+
+        cache.put(key("SYSDBA", "TABLE3"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(key("SYSDBA", "TABLE1")));
+        assertNull(cache.get(key("SYSDBA", "TABLE2")));
+    }
+
+    @Test
+    public void testClear() {
+        MetaDataResultCache cache = new MetaDataResultCache(10, 60000);
+        cache.put(key("SYSDBA", "TABLE1"), RowDescriptor.EMPTY, Collections.<RowValue>emptyList());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+
+    private static MetaDataResultCache.Key key(String user, String tableName) {
+        return new MetaDataResultCache.Key(user, null, SQL, Arrays.asList(tableName));
+    }
+}
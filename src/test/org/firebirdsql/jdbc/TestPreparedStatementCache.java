@@ -0,0 +1,150 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.StatementState;
+import org.jmock.Expectations;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PreparedStatementCache}.
+ *
+ * @since 3.0
+ */
+public class TestPreparedStatementCache {
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    @Test
+    public void testTakeReleasedStatement() throws Exception {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final FbStatement statement = preparedStatement("statement");
+
+        assertNull("Expected miss for empty cache", cache.take(key("SELECT 1 FROM RDB$DATABASE")));
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), statement);
+
+        assertSame(statement, cache.take(key("SELECT 1 FROM RDB$DATABASE")));
+        assertNull("Statement should have been removed from cache by take",
+                cache.take(key("SELECT 1 FROM RDB$DATABASE")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testKeyIncludesResultSetProperties() throws Exception {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), preparedStatement("statement"));
+
+        assertNull(cache.take(new PreparedStatementCache.Key("SELECT 1 FROM RDB$DATABASE",
+                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT,
+                false)));
+        assertNull(cache.take(new PreparedStatementCache.Key("SELECT 1 FROM RDB$DATABASE",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT,
+                true)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testReleaseNotPreparedClosesStatement() throws Exception {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final FbStatement statement = context.mock(FbStatement.class);
+        context.checking(new Expectations() {{
+            allowing(statement).getState();
+            will(returnValue(StatementState.ERROR));
+            oneOf(statement).close();
+        }});
+
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), statement);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final FbStatement statement1 = preparedStatement("statement1");
+        final FbStatement statement2 = preparedStatement("statement2");
+        final FbStatement statement3 = preparedStatement("statement3");
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), statement1);
+        cache.release(key("SELECT 2 FROM RDB$DATABASE"), statement2);
+        context.checking(new Expectations() {{
+            oneOf(statement1).close();
+        }});
+
+        cache.release(key("SELECT 3 FROM RDB$DATABASE"), statement3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.take(key("SELECT 1 FROM RDB$DATABASE")));
+        assertSame(statement2, cache.take(key("SELECT 2 FROM RDB$DATABASE")));
+    }
+
+    @Test
+    public void testReleaseDuplicateKeyClosesReplacedStatement() throws Exception {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final FbStatement statement1 = preparedStatement("statement1");
+        final FbStatement statement2 = preparedStatement("statement2");
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), statement1);
+        context.checking(new Expectations() {{
+            oneOf(statement1).close();
+        }});
+
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), statement2);
+
+        assertSame(statement2, cache.take(key("SELECT 1 FROM RDB$DATABASE")));
+    }
+
+    @Test
+    public void testClearClosesStatements() throws Exception {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final FbStatement statement1 = preparedStatement("statement1");
+        final FbStatement statement2 = preparedStatement("statement2");
+        cache.release(key("SELECT 1 FROM RDB$DATABASE"), statement1);
+        cache.release(key("SELECT 2 FROM RDB$DATABASE"), statement2);
+        context.checking(new Expectations() {{
+            oneOf(statement1).close();
+            oneOf(statement2).close();
+        }});
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+
+    private FbStatement preparedStatement(String name) {
+        final FbStatement statement = context.mock(FbStatement.class, name);
+        context.checking(new Expectations() {{
+            allowing(statement).getState();
+            will(returnValue(StatementState.PREPARED));
+        }});
+        return statement;
+    }
+
+    private static PreparedStatementCache.Key key(String sql) {
+        return new PreparedStatementCache.Key(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+                ResultSet.CLOSE_CURSORS_AT_COMMIT, false);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.firebirdsql.gds.ng.fields.FieldDescriptor;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowDescriptorBuilder;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SpillableRowList}.
+ *
+ * @since 3.0
+ */
+public class TestSpillableRowList {
+
+    private static final RowDescriptor ROW_DESCRIPTOR = RowDescriptor.createRowDescriptor(new FieldDescriptor[] {
+            new RowDescriptorBuilder(1, DefaultDatatypeCoder.getDefaultInstance()).toFieldDescriptor(),
+            new RowDescriptorBuilder(1, DefaultDatatypeCoder.getDefaultInstance()).toFieldDescriptor()
+    });
+
+    private final SpillableRowList rows = new SpillableRowList(ROW_DESCRIPTOR, 3);
+
+    @After
+    public void tearDown() {
+        rows.close();
+    }
+
+    @Test
+    public void testRowsInMemoryBelowThreshold() throws Exception {
+        addRows(3);
+
+        assertFalse("Expected rows in memory", rows.isSpilled());
+        assertEquals(3, rows.size());
+        assertRow(rows.get(2), 2);
+    }
+
+    @Test
+    public void testRowsSpilledAboveThreshold() throws Exception {
+        addRows(100);
+
+        assertTrue("Expected rows spilled", rows.isSpilled());
+        assertEquals(100, rows.size());
+        for (int idx = 0; idx < 100; idx++) {
+            assertRow(rows.get(idx), idx);
+        }
+    }
+
+    @Test
+    public void testNullAndLargeFields() throws Exception {
+        addRows(5);
+        final byte[] largeData = new byte[200 * 1024];
+        Arrays.fill(largeData, (byte) 7);
+        rows.add(RowValue.of(ROW_DESCRIPTOR, null, largeData));
+        rows.add(RowValue.of(ROW_DESCRIPTOR, new byte[0], null));
+
+        final RowValue large = rows.get(5);
+        assertNull(large.getFieldValue(0).getFieldData());
+        assertArrayEquals(largeData, large.getFieldValue(1).getFieldData());
+        final RowValue empty = rows.get(6);
+        assertArrayEquals(new byte[0], empty.getFieldValue(0).getFieldData());
+        assertNull(empty.getFieldValue(1).getFieldData());
+    }
+
+    @Test
+    public void testReadInReverseReusesWindow() throws Exception {
+        addRows(20000);
+
+        for (int idx = 19999; idx >= 0; idx--) {
+            assertRow(rows.get(idx), idx);
+        }
+
+        assertEquals("Expected a single mapped window", 1, rows.getMapCount());
+    }
+
+    @Test
+    public void testReadLargeRowsInReverseMapsWindowPerPartOfFile() throws Exception {
+        // 100 rows of 200 KiB: about 20 MiB, spanning 3 windows of 8 MiB
+        final int dataLength = 200 * 1024;
+        for (int idx = 0; idx < 100; idx++) {
+            final byte[] largeData = new byte[dataLength];
+            Arrays.fill(largeData, (byte) idx);
+            rows.add(RowValue.of(ROW_DESCRIPTOR, DefaultDatatypeCoder.getDefaultInstance().encodeInt(idx), largeData));
+        }
+
+        for (int idx = 99; idx >= 0; idx--) {
+            final RowValue row = rows.get(idx);
+            assertEquals(idx, DefaultDatatypeCoder.getDefaultInstance().decodeInt(row.getFieldValue(0).getFieldData()));
+            final byte[] data = row.getFieldValue(1).getFieldData();
+            assertEquals(dataLength, data.length);
+            assertEquals((byte) idx, data[0]);
+            assertEquals((byte) idx, data[data.length - 1]);
+        }
+
+        // Per window at most one mapping, and one extended mapping for the row crossing into the next window
+        assertTrue("Expected at most 2 mappings per window, was: " + rows.getMapCount(), rows.getMapCount() <= 6);
+    }
+
+    @Test
+    public void testModificationsAfterSpill() throws Exception {
+        addRows(10);
+
+        rows.set(4, createRow(40));
+        rows.add(0, createRow(-1));
+        rows.remove(2);
+
+        assertEquals(10, rows.size());
+        assertRow(rows.get(0), -1);
+        assertRow(rows.get(1), 0);
+        assertRow(rows.get(2), 2);
+        assertRow(rows.get(4), 40);
+        assertRow(rows.get(9), 9);
+    }
+
+    @Test
+    public void testCopyRows() throws Exception {
+        addRows(10);
+
+        final List<RowValue> copies = rows.copyRows();
+
+        assertEquals(10, copies.size());
+        assertRow(copies.get(7), 7);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        addRows(10);
+
+        rows.close();
+
+        assertFalse(rows.isSpilled());
+        assertEquals(0, rows.size());
+    }
+
+    private void addRows(int count) throws Exception {
+        for (int idx = 0; idx < count; idx++) {
+            rows.add(createRow(idx));
+        }
+    }
+
+    private static RowValue createRow(int value) {
+        return RowValue.of(ROW_DESCRIPTOR, DefaultDatatypeCoder.getDefaultInstance().encodeInt(value),
+                ("row " + value).getBytes());
+    }
+
+    private static void assertRow(RowValue row, int expectedValue) {
+        assertEquals(expectedValue, DefaultDatatypeCoder.getDefaultInstance().decodeInt(
+                row.getFieldValue(0).getFieldData()));
+        assertEquals("row " + expectedValue, new String(row.getFieldValue(1).getFieldData()));
+    }
+}
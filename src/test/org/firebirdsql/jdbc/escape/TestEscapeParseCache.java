@@ -0,0 +1,90 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.escape;
+
+import org.firebirdsql.jdbc.escape.FBEscapedParser.EscapeParserMode;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link EscapeParseCache}.
+ *
+ * @since 3.0
+ */
+public class TestEscapeParseCache {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeZeroNotAllowed() {
+        new EscapeParseCache<String>(0);
+    }
+
+    @Test
+    public void testGet_keyedBySqlAndMode() {
+        EscapeParseCache<String> cache = new EscapeParseCache<>(10);
+        cache.put(EscapeParserMode.USE_BUILT_IN, "SELECT {fn ucase('a')} FROM RDB$DATABASE", "built-in");
+
+        assertEquals("built-in",
+                cache.get(EscapeParserMode.USE_BUILT_IN, "SELECT {fn ucase('a')} FROM RDB$DATABASE"));
+        assertNull("Expected no result for other mode",
+                cache.get(EscapeParserMode.USE_STANDARD_UDF, "SELECT {fn ucase('a')} FROM RDB$DATABASE"));
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        EscapeParseCache<String> cache = new EscapeParseCache<>(2);
+        cache.put(EscapeParserMode.USE_BUILT_IN, "sql1", "native1");
+        cache.put(EscapeParserMode.USE_BUILT_IN, "sql2", "native2");
+        cache.get(EscapeParserMode.USE_BUILT_IN, "sql1");
+
+        cache.put(EscapeParserMode.USE_BUILT_IN, "sql3", "native3");
+
+        assertEquals(2, cache.size());
+        assertNotNull("Expected recently used result to be retained", cache.get(EscapeParserMode.USE_BUILT_IN, "sql1"));
+        assertNull("Expected least recently used result to be evicted",
+                cache.get(EscapeParserMode.USE_BUILT_IN, "sql2"));
+        assertNotNull(cache.get(EscapeParserMode.USE_BUILT_IN, "sql3"));
+    }
+
+    @Test
+    public void testPut_longSqlNotCached() {
+        EscapeParseCache<String> cache = new EscapeParseCache<>(10);
+        char[] chars = new char[EscapeParseCache.MAX_SQL_LENGTH + 1];
+        Arrays.fill(chars, 'x');
+        String longSql = new String(chars);
+
+        cache.put(EscapeParserMode.USE_BUILT_IN, longSql, "native");
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(EscapeParserMode.USE_BUILT_IN, longSql));
+    }
+
+    @Test
+    public void testClear() {
+        EscapeParseCache<String> cache = new EscapeParseCache<>(10);
+        cache.put(EscapeParserMode.USE_BUILT_IN, "sql1", "native1");
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(EscapeParserMode.USE_BUILT_IN, "sql1"));
+    }
+}
@@ -88,6 +88,24 @@ public class TestFBEscapedCallParser {
         testProcedureCall.getInputParam(2).setValue("test value");
     }
 
+    @Test
+    public void testParseCall_returnsIndependentCopyOfCachedCall() throws Exception {
+        FBEscapedCallParser parser = new FBEscapedCallParser(EscapeParserMode.USE_BUILT_IN);
+        final String sql = "{call cache_test_proc(?, ?)}";
+
+        FBProcedureCall procedureCall1 = parser.parseCall(sql);
+        procedureCall1.registerOutParam(2, Types.INTEGER);
+        procedureCall1.getInputParam(1).setValue("value");
+        FBProcedureCall procedureCall2 = new FBEscapedCallParser(EscapeParserMode.USE_BUILT_IN).parseCall(sql);
+
+        assertNotNull("Expected call to be cached",
+                FBEscapedCallParser.PROCEDURE_CALL_CACHE.get(EscapeParserMode.USE_BUILT_IN, sql));
+        assertNotSame(procedureCall1, procedureCall2);
+        assertEquals("Expected no output parameters in new copy", 0, procedureCall2.getOutputParams().size());
+        assertEquals(2, procedureCall2.getInputParams().size());
+        assertFalse("Expected no value in new copy", procedureCall2.getInputParam(1).isValueSet());
+    }
+
     // TODO Split into multiple tests
 
     @Test
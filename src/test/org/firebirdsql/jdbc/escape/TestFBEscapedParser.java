@@ -44,6 +44,28 @@ public class TestFBEscapedParser {
         assertEquals("Expected output identical to input for string without escapes", input, parseResult);
     }
     
+    @Test
+    public void testStringWithoutEscapes_notCached() throws Exception {
+        final FBEscapedParser parser = new FBEscapedParser(EscapeParserMode.USE_BUILT_IN);
+        final String input = "SELECT * FROM some_table WHERE x = 'cache test'";
+
+        assertSame("Expected input for string without escapes", input, parser.parse(input));
+        assertNull("Expected no cached result for string without escapes",
+                FBEscapedParser.NATIVE_SQL_CACHE.get(EscapeParserMode.USE_BUILT_IN, input));
+    }
+
+    @Test
+    public void testParseResultCached() throws Exception {
+        final String input = "SELECT * FROM some_table WHERE x = {d '2017-01-01'} AND y = 'cache test'";
+        final String expectedOutput = "SELECT * FROM some_table WHERE x = DATE '2017-01-01' AND y = 'cache test'";
+
+        assertEquals(expectedOutput, new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(input));
+
+        assertEquals("Expected cached result", expectedOutput,
+                FBEscapedParser.NATIVE_SQL_CACHE.get(EscapeParserMode.USE_BUILT_IN, input));
+        assertEquals(expectedOutput, new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(input));
+    }
+
     @Test
     public void testEscapeEscape() throws Exception {
         final FBEscapedParser parser = new FBEscapedParser(EscapeParserMode.USE_BUILT_IN);
@@ -446,6 +446,34 @@ public class TestFBBigDecimalField extends BaseJUnit4TestFBField<FBBigDecimalFie
         
         assertEquals("Unexpected value from getLong()", Long.MAX_VALUE / 100, field.getLong());
     }
+
+    @Test
+    public void getLongNegativeValueTruncated() throws SQLException {
+        fieldDescriptor = createLongFieldDescriptor(-2);
+        field = new FBBigDecimalField(fieldDescriptor, fieldData, Types.NUMERIC);
+        toReturnLongExpectations(-12399);
+
+        assertEquals("Unexpected value from getLong()", -123, field.getLong());
+    }
+
+    @Test
+    public void getObjectTyped() throws SQLException {
+        fieldDescriptor = createIntegerFieldDescriptor(-2);
+        field = new FBBigDecimalField(fieldDescriptor, fieldData, Types.NUMERIC);
+        toReturnIntegerExpectations(12345);
+
+        assertEquals("Unexpected value from getObject(Integer.class)", Integer.valueOf(123),
+                field.getObject(Integer.class));
+        assertEquals("Unexpected value from getObject(BigDecimal.class)", new BigDecimal("123.45"),
+                field.getObject(BigDecimal.class));
+    }
+
+    @Test
+    public void getObjectTypedNull() throws SQLException {
+        toReturnNullExpectations();
+
+        assertNull("Expected null from getObject(Long.class)", field.getObject(Long.class));
+    }
     
     @Test
     @Override
@@ -0,0 +1,106 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.parser;
+
+import org.firebirdsql.jdbc.parser.StatementParser.ParseException;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CachingStatementParser}.
+ *
+ * @since 3.0
+ */
+public class TestCachingStatementParser {
+
+    private final CountingStatementParser countingParser = new CountingStatementParser();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeZeroNotAllowed() {
+        new CachingStatementParser(countingParser, 0);
+    }
+
+    @Test
+    public void testStatementModelCached() throws Exception {
+        CachingStatementParser parser = new CachingStatementParser(countingParser, 10);
+        final String sql = "INSERT INTO someTable (a) VALUES (1)";
+
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(sql);
+
+        assertSame(statementModel, parser.parseInsertStatement(sql));
+        assertEquals("parse count", 1, countingParser.parseCount);
+    }
+
+    @Test
+    public void testParseFailureCached() throws Exception {
+        CachingStatementParser parser = new CachingStatementParser(countingParser, 10);
+        final String sql = "SELECT * FROM RDB$DATABASE";
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                parser.parseInsertStatement(sql);
+                fail("Expected ParseException");
+            } catch (ParseException e) {
+                // expected
+            }
+        }
+        assertEquals("parse count", 1, countingParser.parseCount);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() throws Exception {
+        CachingStatementParser parser = new CachingStatementParser(countingParser, 2);
+        parser.parseInsertStatement("DELETE FROM table1");
+        parser.parseInsertStatement("DELETE FROM table2");
+        parser.parseInsertStatement("DELETE FROM table1");
+        parser.parseInsertStatement("DELETE FROM table3");
+        assertEquals(2, parser.size());
+
+        parser.parseInsertStatement("DELETE FROM table1");
+        assertEquals("Expected recently used statement to be retained", 3, countingParser.parseCount);
+        parser.parseInsertStatement("DELETE FROM table2");
+        assertEquals("Expected least recently used statement to be evicted", 4, countingParser.parseCount);
+    }
+
+    @Test
+    public void testLongSqlNotCached() throws Exception {
+        CachingStatementParser parser = new CachingStatementParser(countingParser, 10);
+        char[] padding = new char[CachingStatementParser.MAX_SQL_LENGTH];
+        Arrays.fill(padding, ' ');
+        final String sql = "DELETE FROM someTable" + new String(padding);
+
+        parser.parseInsertStatement(sql);
+
+        assertEquals(0, parser.size());
+    }
+
+    private static final class CountingStatementParser implements StatementParser {
+        private final StatementParser parser = new SimpleStatementParser();
+        private int parseCount;
+
+        @Override
+        public JaybirdStatementModel parseInsertStatement(String sql) throws ParseException {
+            parseCount++;
+            return parser.parseInsertStatement(sql);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.parser;
+
+import org.firebirdsql.jdbc.parser.StatementParser.ParseException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SimpleStatementParser}.
+ *
+ * @since 3.0
+ */
+public class TestSimpleStatementParser {
+
+    /**
+     * Statements for which the result of {@link SimpleStatementParser} should match the result of the ANTLR based
+     * {@link StatementParserImpl} (statement type, table name and presence of returning).
+     */
+    private static final List<String> CORPUS = Arrays.asList(
+            "insert into someTable(a, \"\u0442\u0435\"\"\u0441\u0442\", aaa) values('a', -1.23, a(a,aa))",
+            "insert into \"someTable\"(a, b, c) values('a', -1.23, a(a,aa))",
+            "insert into someTable(a, b, c) values('a', -1.23, a(a,aa)) returning id",
+            "Insert Into someTable Select * From anotherTable",
+            "INSERT INTO someTable DEFAULT VALUES",
+            "INSERT INTO someTable DEFAULT VALUES RETURNING \"ID\"",
+            "INSERT INTO GENERATED_KEYS_TBL(NAME, TEXT_VALUE) VALUES (?, ?)",
+            "INSERT INTO GENERATED_KEYS_TBL(NAME, TEXT_VALUE) VALUES (?, ?) RETURNING ID, NAME",
+            "INSERT INTO GENERATED_KEYS_TBL(NAME) VALUES ('returning');",
+            "Update someTable Set col1 = 25, col2 = 'abc' Where 1=0",
+            "Update \"someTable\" Set col1 = 25, col2 = 'abc' Where 1=0",
+            "Update someTable Set col1 = 25, col2 = 'abc' Where 1=0 Returning col3",
+            "DELETE FROM someTable Where 1=0",
+            "delete from \"someTable\"",
+            "Delete From someTable Returning col3",
+            "update or insert into someTable (id, name) values (?, ?) matching (id)",
+            "update or insert into someTable (id, name) values (?, ?) matching (id) returning id",
+            "select * from RDB$DATABASE",
+            "EXECUTE PROCEDURE some_procedure(1, 2)");
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final StatementParser parser = new SimpleStatementParser();
+
+    @Test
+    public void insert_values() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into someTable(a, \"\u0442\u0435\"\"\u0441\u0442\", aaa) values('a', -1.23, a(a,aa))");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertEquals("Unexpected table name", "someTable", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void insert_quotedTableWithEscapedQuote() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into \"some\"\"Table\"(a) values (1)");
+
+        assertEquals("Unexpected table name", "\"some\"\"Table\"", statementModel.getTableName());
+    }
+
+    @Test
+    public void insert_withReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into someTable(a, b, c) values('a', -1.23, a(a,aa)) returning id, \"Name\", upper(c) as C;");
+
+        assertTrue("Statement should have returning", statementModel.hasReturning());
+        assertThat(statementModel.getReturningColumns(), contains("id", "\"Name\"", "upper(c) as C"));
+    }
+
+    @Test
+    public void insert_returningInStringLiteralAndComments_noReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "/* returning */ insert into someTable(a, b) -- returning x\n"
+                        + "values('returning x', (select 1 from RDB$DATABASE)) /* returning y */");
+
+        assertEquals("Unexpected table name", "someTable", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void insertIntoSelect_withReturning() throws Exception {
+        JaybirdStatementModel statementModel =
+                parser.parseInsertStatement("Insert Into someTable Select * From anotherTable returning id");
+
+        assertEquals("someTable", statementModel.getTableName());
+        assertTrue("Statement should have returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void insertDefaultValues() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement("INSERT INTO someTable DEFAULT VALUES");
+
+        assertTrue("Expected default values", statementModel.isDefaultValues());
+        assertEquals("someTable", statementModel.getTableName());
+    }
+
+    @Test
+    public void updateOrInsert() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "UPDATE OR INSERT INTO someTable (id, name) VALUES (?, ?) MATCHING (id)");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.UPDATE_OR_INSERT_TYPE,
+                statementModel.getStatementType());
+        assertEquals("someTable", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void select_notSupported() throws Exception {
+        expectedException.expect(ParseException.class);
+
+        parser.parseInsertStatement("select * from RDB$DATABASE");
+    }
+
+    @Test
+    public void insertWithoutTableName_notSupported() throws Exception {
+        expectedException.expect(ParseException.class);
+
+        parser.parseInsertStatement("insert into (a) values (1)");
+    }
+
+    @Test
+    public void corpus_sameResultAsAntlrParser() throws Exception {
+        final StatementParser antlrParser = new StatementParserImpl();
+        for (String sql : CORPUS) {
+            JaybirdStatementModel expected = null;
+            try {
+                expected = antlrParser.parseInsertStatement(sql);
+            } catch (ParseException e) {
+                // expected stays null
+            }
+            JaybirdStatementModel actual = null;
+            try {
+                actual = parser.parseInsertStatement(sql);
+            } catch (ParseException e) {
+                // actual stays null
+            }
+
+            if (expected == null) {
+                assertNull("Expected parse failure for: " + sql, actual);
+                continue;
+            }
+            assertNotNull("Expected parse success for: " + sql, actual);
+            assertEquals("Unexpected statement type for: " + sql,
+                    expected.getStatementType(), actual.getStatementType());
+            assertEquals("Unexpected table name for: " + sql, expected.getTableName(), actual.getTableName());
+            assertEquals("Unexpected returning for: " + sql, expected.hasReturning(), actual.hasReturning());
+            assertEquals("Unexpected default values for: " + sql,
+                    expected.isDefaultValues(), actual.isDefaultValues());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.management;
+
+import org.firebirdsql.gds.ServiceParameterBuffer;
+import org.firebirdsql.gds.ServiceRequestBuffer;
+import org.firebirdsql.gds.impl.ServiceRequestBufferImp;
+import org.firebirdsql.gds.ng.FbService;
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.firebirdsql.gds.ISCConstants.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ServiceOutputChannel}, using a mocked service.
+ *
+ * @since 3.0
+ */
+public class TestServiceOutputChannel {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    @Rule
+    public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+    private final Deque<byte[]> responses = new ArrayDeque<>();
+    private final List<Integer> requestedSizes = new ArrayList<>();
+    private FbService service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = context.mock(FbService.class);
+        context.checking(new Expectations() {{
+            allowing(service).createServiceRequestBuffer();
+            will(returnValue(new ServiceRequestBufferImp()));
+            allowing(service).getServiceInfo(with(aNull(ServiceParameterBuffer.class)),
+                    with(any(ServiceRequestBuffer.class)), with(any(Integer.class)));
+            will(new CustomAction("service info response") {
+                @Override
+                public Object invoke(Invocation invocation) throws Throwable {
+                    requestedSizes.add((Integer) invocation.getParameter(2));
+                    return responses.isEmpty() ? endOfOutput() : responses.removeFirst();
+                }
+            });
+        }});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunkSizeTooLarge_notAllowed() {
+        new ServiceOutputChannel(service, ServiceOutputChannel.MAX_CHUNK_SIZE + 1);
+    }
+
+    @Test
+    public void testRead_multipleChunks() throws Exception {
+        responses.add(chunk("first "));
+        responses.add(chunk("second"));
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service, 1024);
+        final ByteBuffer buffer = ByteBuffer.allocate(4);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int count;
+        while ((count = channel.read(buffer)) != -1) {
+            out.write(buffer.array(), 0, count);
+            buffer.clear();
+        }
+
+        assertEquals("first second", new String(out.toByteArray(), ASCII));
+        assertEquals("Expected one request per chunk and one for the end",
+                Arrays.asList(1024, 1024, 1024), requestedSizes);
+        assertEquals("Expected no further requests after end of output", -1, channel.read(buffer));
+        assertEquals(3, requestedSizes.size());
+    }
+
+    @Test
+    public void testRead_truncated_increasesChunkSize() throws Exception {
+        responses.add(new byte[] { isc_info_truncated });
+        responses.add(chunk("data"));
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service, 1024);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        assertEquals(4, channel.read(buffer));
+
+        assertEquals(Arrays.asList(1024, 2048), requestedSizes);
+    }
+
+    @Test
+    public void testTransferTo() throws Exception {
+        responses.add(chunk("first\n"));
+        responses.add(chunk("second\n"));
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(13, channel.transferTo(out));
+
+        assertEquals("first\nsecond\n", new String(out.toByteArray(), ASCII));
+    }
+
+    @Test
+    public void testNewReader_readsLines() throws Exception {
+        responses.add(chunk("line 1\nline"));
+        responses.add(chunk(" 2\nline 3\n"));
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service);
+
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = channel.newReader(ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+
+        assertEquals(Arrays.asList("line 1", "line 2", "line 3"), lines);
+        assertFalse("Expected channel closed by reader", channel.isOpen());
+    }
+
+    @Test
+    public void testRead_unexpectedEndOfStream() throws Exception {
+        responses.add(new byte[] { isc_info_svc_to_eof, 0, 0, isc_info_truncated });
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service);
+
+        try {
+            channel.read(ByteBuffer.allocate(16));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue("Expected SQLException as cause", e.getCause() instanceof SQLException);
+        }
+    }
+
+    @Test(expected = ClosedChannelException.class)
+    public void testRead_closed() throws Exception {
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service);
+        channel.close();
+
+        channel.read(ByteBuffer.allocate(16));
+    }
+
+    @Test
+    public void testClose_doesNotCloseService() throws Exception {
+        context.checking(new Expectations() {{
+            never(service).close();
+        }});
+        final ServiceOutputChannel channel = new ServiceOutputChannel(service);
+
+        channel.close();
+    }
+
+    @Test
+    public void testClose_closesOwnedServiceOnce() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(service).close();
+        }});
+        final ServiceOutputChannel channel =
+                new ServiceOutputChannel(service, ServiceOutputChannel.DEFAULT_CHUNK_SIZE, true);
+
+        channel.close();
+        channel.close();
+
+        assertFalse("Expected channel to be closed", channel.isOpen());
+    }
+
+    private static byte[] chunk(String data) {
+        final byte[] dataBytes = data.getBytes(ASCII);
+        final byte[] response = new byte[dataBytes.length + 4];
+        response[0] = isc_info_svc_to_eof;
+        response[1] = (byte) dataBytes.length;
+        response[2] = (byte) (dataBytes.length >> 8);
+        System.arraycopy(dataBytes, 0, response, 3, dataBytes.length);
+        response[response.length - 1] = isc_info_end;
+        return response;
+    }
+
+    private static byte[] endOfOutput() {
+        return new byte[] { isc_info_svc_to_eof, 0, 0, isc_info_end };
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.pool;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.sql.*;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConnectionPool}, using fake pooled connections.
+ *
+ * @since 3.0
+ */
+public class TestConnectionPool {
+
+    private static final long NO_HOUSEKEEPING = TimeUnit.HOURS.toMillis(1);
+
+    private final FakeConnectionPoolDataSource dataSource = new FakeConnectionPoolDataSource();
+    private ConnectionPool pool;
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testConnectionReused() throws Exception {
+        pool = createPool(0, 2, 1000, 0, -1, 0);
+
+        Connection connection1 = pool.getConnection();
+        connection1.close();
+        Connection connection2 = pool.getConnection();
+
+        assertEquals("Expected a single physical connection", 1, dataSource.created.size());
+        assertEquals(1, pool.getTotalCount());
+        assertEquals(1, pool.getActiveCount());
+        assertEquals(2, pool.getBorrowCount());
+        connection2.close();
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testPoolExhaustedTimesOut() throws Exception {
+        pool = createPool(0, 1, 50, 0, -1, 0);
+        Connection connection = pool.getConnection();
+
+        try {
+            pool.getConnection();
+            fail("Expected timeout");
+        } catch (SQLTransientConnectionException e) {
+            assertEquals(1, pool.getTimeoutCount());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testReturnedConnectionHandedToWaiter() throws Exception {
+        pool = createPool(0, 1, 10000, 0, -1, 0);
+        final Connection connection = pool.getConnection();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Connection> waiter = executor.submit(new Callable<Connection>() {
+                @Override
+                public Connection call() throws Exception {
+                    return pool.getConnection();
+                }
+            });
+            while (pool.getWaitingCount() == 0) {
+                Thread.sleep(1);
+            }
+
+            connection.close();
+            Connection handedOff = waiter.get(5, TimeUnit.SECONDS);
+
+            assertNotNull(handedOff);
+            assertEquals("Expected a single physical connection", 1, dataSource.created.size());
+            handedOff.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidConnectionReplaced() throws Exception {
+        pool = createPool(0, 2, 1000, 0, 0, 0);
+        pool.getConnection().close();
+        dataSource.created.get(0).valid = false;
+
+        Connection connection = pool.getConnection();
+
+        assertEquals("Expected invalid connection to be replaced", 2, dataSource.created.size());
+        assertTrue("Expected invalid connection to be closed", dataSource.created.get(0).closed);
+        assertEquals(1, pool.getDestroyedCount());
+        assertEquals(1, pool.getTotalCount());
+        connection.close();
+    }
+
+    @Test
+    public void testConnectionErrorDiscardsConnection() throws Exception {
+        pool = createPool(0, 2, 1000, 0, -1, 0);
+        pool.getConnection();
+
+        dataSource.created.get(0).fireConnectionError();
+
+        assertTrue(dataSource.created.get(0).closed);
+        assertEquals(0, pool.getTotalCount());
+    }
+
+    @Test
+    public void testIdleConnectionEvicted() throws Exception {
+        pool = createPool(0, 2, 1000, 1, -1, 0);
+        pool.getConnection().close();
+        Thread.sleep(10);
+
+        pool.housekeep();
+
+        assertEquals(0, pool.getTotalCount());
+        assertTrue(dataSource.created.get(0).closed);
+    }
+
+    @Test
+    public void testIdleConnectionNotEvictedBelowMinimum() throws Exception {
+        pool = createPool(1, 2, 1000, 1, -1, 0);
+        pool.getConnection().close();
+        Thread.sleep(10);
+
+        pool.housekeep();
+
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    public void testPoolFilledToMinimum() throws Exception {
+        pool = createPool(2, 4, 1000, 0, -1, 0);
+
+        pool.housekeep();
+
+        assertEquals(2, pool.getTotalCount());
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testConcurrentFillDoesNotExceedMinimum() throws Exception {
+        pool = createPool(2, 4, 1000, 0, -1, 0);
+        dataSource.creationDelay = 20;
+        final List<Thread> threads = new ArrayList<>();
+        for (int idx = 0; idx < 4; idx++) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    pool.housekeep();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2, pool.getTotalCount());
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(2, dataSource.created.size());
+    }
+
+    @Test
+    public void testStartFillsPoolToMinimum() throws Exception {
+        pool = createPool(2, 4, 1000, 0, -1, 0);
+
+        pool.start();
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getIdleCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, pool.getTotalCount());
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testLeakDetected() throws Exception {
+        pool = createPool(0, 2, 1000, 0, -1, 1);
+        Connection connection = pool.getConnection();
+        Thread.sleep(10);
+
+        pool.housekeep();
+        pool.housekeep();
+
+        assertEquals("Expected leak to be reported once", 1, pool.getLeakCount());
+        connection.close();
+    }
+
+    @Test
+    public void testCloseClosesConnections() throws Exception {
+        pool = createPool(0, 2, 1000, 0, -1, 0);
+        Connection borrowed = pool.getConnection();
+        pool.getConnection().close();
+
+        pool.close();
+
+        assertTrue("Expected idle connection to be closed", dataSource.created.get(1).closed);
+        assertFalse("Expected borrowed connection to remain open", dataSource.created.get(0).closed);
+        borrowed.close();
+        assertTrue("Expected borrowed connection to be closed when returned", dataSource.created.get(0).closed);
+        try {
+            pool.getConnection();
+            fail("Expected exception for closed pool");
+        } catch (SQLException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Creates a pool without starting the background housekeeping (tests call {@code housekeep()} explicitly).
+     */
+    private ConnectionPool createPool(int minPoolSize, int maxPoolSize, long connectionTimeout, long idleTimeout,
+            long validationInterval, long leakDetectionThreshold) {
+        return new ConnectionPool(dataSource, new PoolConfiguration(minPoolSize, maxPoolSize, connectionTimeout,
+                idleTimeout, validationInterval, leakDetectionThreshold, NO_HOUSEKEEPING));
+    }
+
+    private static final class FakeConnectionPoolDataSource implements ConnectionPoolDataSource {
+        final List<FakePooledConnection> created = new CopyOnWriteArrayList<>();
+        volatile long creationDelay;
+
+        @Override
+        public PooledConnection getPooledConnection() throws SQLException {
+            if (creationDelay > 0) {
+                try {
+                    Thread.sleep(creationDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            FakePooledConnection pooledConnection = new FakePooledConnection();
+            created.add(pooledConnection);
+            return pooledConnection;
+        }
+
+        @Override
+        public PooledConnection getPooledConnection(String user, String password) throws SQLException {
+            return getPooledConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return 0;
+        }
+
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+
+    private static final class FakePooledConnection implements PooledConnection, InvocationHandler {
+        private final List<ConnectionEventListener> listeners = new ArrayList<>();
+        volatile boolean valid = true;
+        volatile boolean closed;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "close":
+                for (ConnectionEventListener listener : new ArrayList<>(listeners)) {
+                    listener.connectionClosed(new ConnectionEvent(this));
+                }
+                return null;
+            case "isValid":
+                return valid;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        void fireConnectionError() {
+            for (ConnectionEventListener listener : new ArrayList<>(listeners)) {
+                listener.connectionErrorOccurred(new ConnectionEvent(this, new SQLException("Connection error")));
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            closed = true;
+        }
+
+        @Override
+        public synchronized void addConnectionEventListener(ConnectionEventListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public synchronized void removeConnectionEventListener(ConnectionEventListener listener) {
+            listeners.remove(listener);
+        }
+
+        @Override
+        public void addStatementEventListener(StatementEventListener listener) {
+        }
+
+        @Override
+        public void removeStatementEventListener(StatementEventListener listener) {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BoundedLruMap}.
+ *
+ * @since 3.0
+ */
+public class TestBoundedLruMap {
+
+    @Test
+    public void testRemovesLeastRecentlyUsedEntry() {
+        final Map<String, Integer> map = new BoundedLruMap<>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.get("a");
+
+        map.put("c", 3);
+
+        assertEquals(2, map.size());
+        assertEquals(Arrays.asList("a", "c"), Arrays.asList(map.keySet().toArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeZeroNotAllowed() {
+        new BoundedLruMap<String, Integer>(0);
+    }
+}
@@ -614,4 +614,39 @@ public class TestJDBC42JavaTimeConversions extends FBJUnit4TestBase {
             stmt.close();
         }
     }
+
+    @Test
+    public void testGetObject_javaTimeTypes() throws Exception {
+        final LocalDateTime localDateTime = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        PreparedStatement pstmt = connection.prepareStatement(
+                "INSERT INTO javatimetest (ID, aDate, aTime, aTimestamp) VALUES (1, ?, ?, ?)");
+        try {
+            pstmt.setObject(1, localDateTime.toLocalDate());
+            pstmt.setObject(2, localDateTime.toLocalTime());
+            pstmt.setObject(3, localDateTime);
+            pstmt.execute();
+        } finally {
+            pstmt.close();
+        }
+
+        Statement stmt = connection.createStatement();
+        try {
+            ResultSet rs = stmt.executeQuery("SELECT aDate, aTime, aTimestamp FROM javatimetest WHERE ID = 1");
+            try {
+                assertTrue("Expected a row", rs.next());
+                assertEquals("Unexpected DATE as java.time.LocalDate",
+                        localDateTime.toLocalDate(), rs.getObject(1, LocalDate.class));
+                assertEquals("Unexpected TIME as java.time.LocalTime",
+                        localDateTime.toLocalTime(), rs.getObject("aTime", LocalTime.class));
+                assertEquals("Unexpected TIMESTAMP as java.time.LocalDateTime",
+                        localDateTime, rs.getObject(3, LocalDateTime.class));
+                assertEquals("Unexpected TIMESTAMP as java.time.LocalDate",
+                        localDateTime.toLocalDate(), rs.getObject(3, LocalDate.class));
+            } finally {
+                rs.close();
+            }
+        } finally {
+            stmt.close();
+        }
+    }
 }